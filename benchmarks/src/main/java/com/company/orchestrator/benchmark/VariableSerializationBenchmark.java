@@ -0,0 +1,203 @@
+package com.company.orchestrator.benchmark;
+
+import com.company.orchestrator.infrastructure.variable.CompactValueSerializer;
+import org.camunda.bpm.engine.ProcessEngine;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.cfg.StandaloneInMemProcessEngineConfiguration;
+import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.variable.serializer.AbstractObjectValueSerializer;
+import org.camunda.bpm.engine.impl.variable.serializer.JavaObjectSerializer;
+import org.camunda.bpm.engine.impl.variable.serializer.ValueFields;
+import org.camunda.bpm.engine.variable.Variables;
+import org.camunda.bpm.engine.variable.value.ObjectValue;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sérialisation par le moteur des variables {@code Map} écrites à chaque instance
+ * ({@code formData}, {@code simulatorResponse}) : sans format configuré, Camunda
+ * les stocke via {@link JavaObjectSerializer} dans ACT_GE_BYTEARRAY. Le sérialiseur
+ * exige un contexte de commande : un moteur H2 en mémoire est démarré et un contexte
+ * de commande est attaché au thread de mesure, sans aller en base pendant la mesure.
+ * Comparé à {@link CompactValueSerializer}, le format enregistré par l'application.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VariableSerializationBenchmark {
+
+    @Param({"formData", "simulatorResponse"})
+    private String variable;
+
+    @Param({"java", "compact"})
+    private String format;
+
+    private AbstractObjectValueSerializer serializer;
+    private ProcessEngine processEngine;
+    private ObjectValue value;
+    private BenchmarkValueFields serialized;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ProcessEngineConfigurationImpl configuration = (ProcessEngineConfigurationImpl) new StandaloneInMemProcessEngineConfiguration()
+                .setJdbcUrl("jdbc:h2:mem:serialization-benchmark")
+                .setHistory(ProcessEngineConfigurationImpl.HISTORY_NONE)
+                .setJobExecutorActivate(false);
+        configuration.setMetricsEnabled(false);
+        processEngine = configuration.buildProcessEngine();
+        Context.setProcessEngineConfiguration(configuration);
+        Context.setCommandContext(new CommandContext(configuration));
+
+        serializer = "compact".equals(format) ? new CompactValueSerializer(2048) : new JavaObjectSerializer();
+        value = Variables.objectValue("formData".equals(variable) ? formData() : simulatorResponse()).create();
+        serialized = new BenchmarkValueFields(variable);
+        serializer.writeValue(value, serialized);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        Context.removeCommandContext();
+        Context.removeProcessEngineConfiguration();
+        processEngine.close();
+    }
+
+    @Benchmark
+    public byte[] serialize() {
+        BenchmarkValueFields fields = new BenchmarkValueFields(variable);
+        serializer.writeValue(value, fields);
+        return fields.getByteArrayValue();
+    }
+
+    @Benchmark
+    public Object deserialize() {
+        return serializer.readValue(serialized, true, false).getValue();
+    }
+
+    private static Map<String, Object> formData() {
+        Map<String, Object> customerData = new HashMap<>();
+        customerData.put("firstName", "Jean");
+        customerData.put("lastName", "Dupont");
+        customerData.put("birthDate", "1984-03-12");
+        customerData.put("address", Map.of("street", "12 rue de la Paix", "zipCode", "75002", "city", "Paris"));
+        customerData.put("phones", List.of("+33102030405", "+33611223344"));
+
+        Map<String, Object> formData = new HashMap<>();
+        formData.put("customerId", "CUST-000123");
+        formData.put("customerType", "INDIVIDUAL");
+        formData.put("requestedAmount", 250000.00);
+        formData.put("requestedProduct", "HOME_INSURANCE");
+        formData.put("riskProfile", "MEDIUM");
+        formData.put("customerData", customerData);
+        formData.put("formSubmissionId", "FORM-2024-000987");
+        formData.put("submissionTimestamp", 1717243200000L);
+        formData.put("processInstanceId", "4f1c2a9e-1b7d-11ef-9a3c-0242ac120002");
+        formData.put("activityId", "send-to-simulator");
+        return formData;
+    }
+
+    private static Map<String, Object> simulatorResponse() {
+        Map<String, Object> response = new HashMap<>();
+        response.put("result", "STANDARD");
+        response.put("recommendation", "Apply the catalogue tariff for this risk profile");
+        response.put("tariffType", "STANDARD");
+        response.put("score", 0.72);
+        response.put("details", new HashMap<>(Map.of(
+                "riskClass", "B",
+                "baseRate", 0.034,
+                "adjustments", List.of("LOYALTY", "MULTI_PRODUCT"),
+                "simulationId", "SIM-7f3e1c")));
+        return response;
+    }
+
+    /**
+     * Champs de stockage d'une variable, en mémoire.
+     */
+    static class BenchmarkValueFields implements ValueFields {
+
+        private final String name;
+        private String textValue;
+        private String textValue2;
+        private Long longValue;
+        private Double doubleValue;
+        private byte[] byteArrayValue;
+
+        BenchmarkValueFields(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public String getTextValue() {
+            return textValue;
+        }
+
+        @Override
+        public void setTextValue(String textValue) {
+            this.textValue = textValue;
+        }
+
+        @Override
+        public String getTextValue2() {
+            return textValue2;
+        }
+
+        @Override
+        public void setTextValue2(String textValue2) {
+            this.textValue2 = textValue2;
+        }
+
+        @Override
+        public Long getLongValue() {
+            return longValue;
+        }
+
+        @Override
+        public void setLongValue(Long longValue) {
+            this.longValue = longValue;
+        }
+
+        @Override
+        public Double getDoubleValue() {
+            return doubleValue;
+        }
+
+        @Override
+        public void setDoubleValue(Double doubleValue) {
+            this.doubleValue = doubleValue;
+        }
+
+        @Override
+        public byte[] getByteArrayValue() {
+            return byteArrayValue;
+        }
+
+        @Override
+        public void setByteArrayValue(byte[] byteArrayValue) {
+            this.byteArrayValue = byteArrayValue;
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.company.orchestrator.infrastructure.delegate;
+
+import com.company.orchestrator.infrastructure.cache.SimulatorResultCache;
+import com.company.orchestrator.infrastructure.document.DocumentVariables;
+import com.company.orchestrator.infrastructure.http.PartnerHttpClientProperties;
+import com.company.orchestrator.infrastructure.http.PartnerResilience;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.web.client.RestTemplate;
+
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Travail CPU des delegates pour une instance, hors appels HTTP : analyse de la
+ * réponse du simulateur, préparation et rendu du contrat simulé, calcul de
+ * rentabilité de repli. Les delegates sont construits sans contexte Spring et
+ * lisent un {@link ServiceTaskContext} en mémoire.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DelegateHotPathBenchmark {
+
+    private SimulatorApiDelegate simulatorApiDelegate;
+    private ContractGenerationDelegate contractGenerationDelegate;
+    private ProfitabilitySimulatorDelegate profitabilitySimulatorDelegate;
+
+    private Map<String, Object> simulatorResponse;
+    private ServiceTaskContext contractExecution;
+    private Map<String, Object> contractData;
+    private Map<String, Object> profitabilityData;
+
+    @Setup
+    public void setUp() throws Exception {
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        RestTemplate restTemplate = new RestTemplate();
+        PartnerResilience partnerResilience = new PartnerResilience(CircuitBreakerRegistry.ofDefaults(), BulkheadRegistry.ofDefaults());
+        DelegateMetrics delegateMetrics = new DelegateMetrics(meterRegistry);
+
+        simulatorApiDelegate = new SimulatorApiDelegate(restTemplate,
+                new SimulatorResultCache(meterRegistry, false, Duration.ofMinutes(30), 10_000, BigDecimal.ZERO),
+                partnerResilience, delegateMetrics, new PartnerHttpClientProperties(), meterRegistry, false, List.of());
+
+        contractGenerationDelegate = new ContractGenerationDelegate(restTemplate, new DocumentVariables(null),
+                partnerResilience, delegateMetrics);
+        setField(contractGenerationDelegate, "contractTemplatePath", "templates/");
+
+        profitabilitySimulatorDelegate = new ProfitabilitySimulatorDelegate(restTemplate, partnerResilience,
+                delegateMetrics, new PartnerHttpClientProperties(), meterRegistry, false, List.of());
+        setField(profitabilitySimulatorDelegate, "minimumProfitabilityThreshold", new BigDecimal("0.05"));
+        setField(profitabilitySimulatorDelegate, "targetProfitabilityThreshold", new BigDecimal("0.15"));
+
+        simulatorResponse = new HashMap<>();
+        simulatorResponse.put("result", "Standard");
+        simulatorResponse.put("recommendation", "Apply the catalogue tariff for this risk profile");
+        simulatorResponse.put("tariffType", "STANDARD");
+        simulatorResponse.put("score", 0.72);
+        simulatorResponse.put("details", Map.of("riskClass", "B", "baseRate", 0.034, "adjustments", List.of("LOYALTY", "MULTI_PRODUCT")));
+
+        Map<String, Object> variables = new HashMap<>();
+        variables.put("customerId", "CUST-000123");
+        variables.put("customerName", "Jean Dupont");
+        variables.put("customerEmail", "jean.dupont@example.com");
+        variables.put("customerAddress", "12 rue de la Paix, 75002 Paris");
+        variables.put("requestedProduct", "HOME_INSURANCE");
+        variables.put("requestedAmount", "250000.00");
+        variables.put("appliedTariff", "STANDARD");
+        variables.put("tariffConditions", "Catalogue conditions");
+        variables.put("simulatorResult", "STANDARD");
+        variables.put("profitabilityStatus", "ACCEPTABLE");
+        variables.put("profitabilityScore", new BigDecimal("0.1834"));
+        variables.put("riskProfile", "MEDIUM");
+        variables.put("businessUnit", "RETAIL");
+        variables.put("salesRepresentative", "ca-agent");
+        contractExecution = new MapServiceTaskContext("4f1c2a9e-1b7d-11ef-9a3c-0242ac120002", "generate-contract", variables);
+        contractData = contractGenerationDelegate.prepareContractData(contractExecution);
+
+        profitabilityData = new HashMap<>();
+        profitabilityData.put("customerId", "CUST-000123");
+        profitabilityData.put("requestedAmount", "250000.00");
+        profitabilityData.put("expectedRevenue", "18450.75");
+        profitabilityData.put("estimatedCosts", "14980.20");
+        profitabilityData.put("contractDuration", 36);
+    }
+
+    @Benchmark
+    public String extractSimulatorResult() {
+        return simulatorApiDelegate.extractSimulatorResult(simulatorResponse);
+    }
+
+    @Benchmark
+    public Map<String, Object> prepareContractData() {
+        return contractGenerationDelegate.prepareContractData(contractExecution);
+    }
+
+    @Benchmark
+    public String generateMockContractContent() {
+        return contractGenerationDelegate.generateMockContractContent(contractData, "CONTRACT_4f1c2a9e_20240101_120000");
+    }
+
+    @Benchmark
+    public Map<String, Object> performFallbackCalculation() {
+        return profitabilitySimulatorDelegate.performFallbackCalculation(profitabilityData);
+    }
+
+    private static void setField(Object target, String name, Object value) throws ReflectiveOperationException {
+        Field field = target.getClass().getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(target, value);
+    }
+
+    /**
+     * Contexte d'exécution en mémoire, sans moteur.
+     */
+    static class MapServiceTaskContext implements ServiceTaskContext {
+
+        private final String processInstanceId;
+        private final String activityId;
+        private final Map<String, Object> variables;
+
+        MapServiceTaskContext(String processInstanceId, String activityId, Map<String, Object> variables) {
+            this.processInstanceId = processInstanceId;
+            this.activityId = activityId;
+            this.variables = variables;
+        }
+
+        @Override
+        public String getProcessInstanceId() {
+            return processInstanceId;
+        }
+
+        @Override
+        public String getCurrentActivityId() {
+            return activityId;
+        }
+
+        @Override
+        public Object getVariable(String name) {
+            return variables.get(name);
+        }
+
+        @Override
+        public void setVariable(String name, Object value) {
+            variables.put(name, value);
+        }
+    }
+}
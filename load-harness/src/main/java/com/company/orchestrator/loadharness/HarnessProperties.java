@@ -0,0 +1,131 @@
+package com.company.orchestrator.loadharness;
+
+import com.company.orchestrator.infrastructure.http.ExternalPartner;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "harness")
+public class HarnessProperties {
+
+    /**
+     * Nombre total d'instances démarrées par le tir.
+     */
+    private int instances = 200;
+
+    /**
+     * Instances pilotées simultanément (un thread par instance en cours).
+     */
+    private int concurrency = 20;
+
+    /**
+     * Graine des tirages de chemins : deux tirs de même graine suivent les mêmes chemins.
+     */
+    private long seed = 42;
+
+    /**
+     * Attente entre deux lectures quand l'instance n'a pas de tâche utilisateur
+     * active (tâches externes ou jobs en cours).
+     */
+    private Duration pollInterval = Duration.ofMillis(20);
+
+    /**
+     * Durée maximale d'une instance avant de la compter en timeout.
+     */
+    private Duration instanceTimeout = Duration.ofMinutes(2);
+
+    /**
+     * Période d'échantillonnage du pool de connexions et du job executor.
+     */
+    private Duration sampleInterval = Duration.ofMillis(500);
+
+    /**
+     * Fichier de résultats ; par défaut {@code target/load-results/load-<horodatage>.json}.
+     */
+    private String resultFile;
+
+    private Paths paths = new Paths();
+
+    private Partner defaults = defaultPartner();
+
+    private Map<String, Partner> partners = new HashMap<>();
+
+    public Partner resolve(ExternalPartner partner) {
+        Partner specific = partners.getOrDefault(partner.getId(), new Partner());
+        Partner resolved = new Partner();
+        resolved.setDistribution(specific.getDistribution() != null ? specific.getDistribution() : defaults.getDistribution());
+        resolved.setMedian(specific.getMedian() != null ? specific.getMedian() : defaults.getMedian());
+        resolved.setSigma(specific.getSigma() != null ? specific.getSigma() : defaults.getSigma());
+        resolved.setLower(specific.getLower() != null ? specific.getLower() : defaults.getLower());
+        resolved.setUpper(specific.getUpper() != null ? specific.getUpper() : defaults.getUpper());
+        resolved.setErrorRate(specific.getErrorRate() != null ? specific.getErrorRate() : defaults.getErrorRate());
+        return resolved;
+    }
+
+    private static Partner defaultPartner() {
+        Partner partner = new Partner();
+        partner.setDistribution(LatencyDistribution.LOG_NORMAL);
+        partner.setMedian(Duration.ofMillis(50));
+        partner.setSigma(0.4);
+        partner.setLower(Duration.ofMillis(20));
+        partner.setUpper(Duration.ofMillis(100));
+        partner.setErrorRate(0.0);
+        return partner;
+    }
+
+    public enum LatencyDistribution {
+        /** Délai constant égal à {@code median}. */
+        FIXED,
+        /** Délai uniforme entre {@code lower} et {@code upper}. */
+        UNIFORM,
+        /** Délai log-normal de médiane {@code median} et d'écart-type {@code sigma}. */
+        LOG_NORMAL
+    }
+
+    /**
+     * Répartition des instances entre les chemins du processus.
+     */
+    @Data
+    public static class Paths {
+
+        /**
+         * Part des instances pour lesquelles le simulateur répond SPECIFIC.
+         */
+        private double specificTariffRatio = 0.3;
+
+        /**
+         * Part des clients qui demandent un devis plutôt qu'un contrat direct.
+         */
+        private double quoteRatio = 0.5;
+
+        /**
+         * Probabilité qu'un devis proposé soit renvoyé pour modification.
+         */
+        private double quoteModificationRatio = 0.4;
+
+        /**
+         * Nombre maximal de tours de la boucle de modification du devis.
+         */
+        private int maxQuoteModifications = 3;
+    }
+
+    /**
+     * Comportement simulé d'un partenaire ; les champs absents reprennent {@code defaults}.
+     */
+    @Data
+    public static class Partner {
+        private LatencyDistribution distribution;
+        private Duration median;
+        private Double sigma;
+        private Duration lower;
+        private Duration upper;
+        /**
+         * Part des appels qui reçoivent une réponse 503, après le délai tiré.
+         */
+        private Double errorRate;
+    }
+}
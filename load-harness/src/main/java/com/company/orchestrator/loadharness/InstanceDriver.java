@@ -0,0 +1,205 @@
+package com.company.orchestrator.loadharness;
+
+import com.company.orchestrator.domain.workflow.FormSubmissionWorkflow;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.TaskService;
+import org.camunda.bpm.engine.task.Task;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Pilote une instance du processus de bout en bout : démarrage, puis complétion
+ * des tâches utilisateur au fil de leur apparition (tarif, devis et sa boucle de
+ * modification, signatures) jusqu'à la fin de l'instance. Le chemin suivi est
+ * tiré au démarrage à partir de la graine du tir et de l'indice de l'instance.
+ */
+@Component
+class InstanceDriver {
+
+    private static final Logger logger = LoggerFactory.getLogger(InstanceDriver.class);
+
+    private static final List<String> STANDARD_RISK_PROFILES = List.of("LOW", "MEDIUM");
+
+    private final RuntimeService runtimeService;
+    private final TaskService taskService;
+    private final HarnessProperties properties;
+
+    // Latence des appels au moteur (démarrage, complétion de chaque tâche), services synchrones inclus
+    private final Map<String, LatencyRecorder> engineCalls = new ConcurrentHashMap<>();
+
+    InstanceDriver(RuntimeService runtimeService, TaskService taskService, HarnessProperties properties) {
+        this.runtimeService = runtimeService;
+        this.taskService = taskService;
+        this.properties = properties;
+    }
+
+    Map<String, LatencyRecorder> engineCalls() {
+        return engineCalls;
+    }
+
+    InstanceOutcome drive(int index) {
+        Plan plan = plan(index);
+        long startedAt = System.nanoTime();
+        long deadline = startedAt + properties.getInstanceTimeout().toNanos();
+        String processInstanceId = null;
+        Route route = new Route();
+
+        try {
+            long callStart = System.nanoTime();
+            processInstanceId = runtimeService.startProcessInstanceByKey(FormSubmissionWorkflow.PROCESS_KEY, "load-" + index,
+                    startVariables(plan)).getId();
+            record("start", callStart);
+
+            while (System.nanoTime() < deadline) {
+                List<Task> tasks = taskService.createTaskQuery()
+                        .processInstanceId(processInstanceId)
+                        .active()
+                        .list();
+                if (!tasks.isEmpty()) {
+                    Task task = tasks.get(0);
+                    Map<String, Object> variables = taskVariables(task.getTaskDefinitionKey(), plan, route);
+                    callStart = System.nanoTime();
+                    taskService.complete(task.getId(), variables);
+                    record("complete:" + task.getTaskDefinitionKey(), callStart);
+                    continue;
+                }
+                if (runtimeService.createProcessInstanceQuery().processInstanceId(processInstanceId).count() == 0) {
+                    return InstanceOutcome.completed(processInstanceId, route.label(), System.nanoTime() - startedAt);
+                }
+                // Services asynchrones (tâches externes, jobs) : l'instance avance sans nous
+                Thread.sleep(properties.getPollInterval().toMillis());
+            }
+            return InstanceOutcome.timedOut(processInstanceId, route.label(), System.nanoTime() - startedAt);
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return InstanceOutcome.failed(processInstanceId, route.label(), System.nanoTime() - startedAt, e);
+        } catch (RuntimeException e) {
+            logger.warn("Instance {} ({}) failed: {}", index, processInstanceId, e.getMessage());
+            return InstanceOutcome.failed(processInstanceId, route.label(), System.nanoTime() - startedAt, e);
+        }
+    }
+
+    private Plan plan(int index) {
+        SplittableRandom random = new SplittableRandom(properties.getSeed() * 31 + index);
+        HarnessProperties.Paths paths = properties.getPaths();
+
+        boolean specificTariff = random.nextDouble() < paths.getSpecificTariffRatio();
+        boolean quote = random.nextDouble() < paths.getQuoteRatio();
+        int modifications = 0;
+        while (quote && modifications < paths.getMaxQuoteModifications()
+                && random.nextDouble() < paths.getQuoteModificationRatio()) {
+            modifications++;
+        }
+        // Montants distincts : le cache du simulateur ne court-circuite pas les appels
+        BigDecimal amount = BigDecimal.valueOf(10_000 + random.nextInt(490_000) + random.nextInt(100) / 100.0)
+                .setScale(2, RoundingMode.HALF_UP);
+        String riskProfile = specificTariff
+                ? PartnerStubs.SPECIFIC_RISK_PROFILE
+                : STANDARD_RISK_PROFILES.get(random.nextInt(STANDARD_RISK_PROFILES.size()));
+        return new Plan(index, riskProfile, quote, modifications, amount);
+    }
+
+    private static Map<String, Object> startVariables(Plan plan) {
+        Map<String, Object> formData = new HashMap<>();
+        formData.put("source", "load-harness");
+        formData.put("instanceIndex", plan.index());
+
+        Map<String, Object> variables = new HashMap<>();
+        variables.put("customerId", UUID.randomUUID().toString());
+        variables.put("customerName", "Load Customer " + plan.index());
+        variables.put("email", "customer" + plan.index() + "@load.example");
+        variables.put("formData", formData);
+        variables.put("requestedCoverage", "HOME");
+        variables.put("premium", plan.amount().doubleValue() / 100);
+        variables.put("customerType", "INDIVIDUAL");
+        variables.put("requestedAmount", plan.amount().toPlainString());
+        variables.put("requestedProduct", "HOME_INSURANCE");
+        variables.put("riskProfile", plan.riskProfile());
+        variables.put("formSubmissionId", "LOAD-" + plan.index());
+        variables.put("submissionTimestamp", System.currentTimeMillis());
+        return variables;
+    }
+
+    private static Map<String, Object> taskVariables(String taskKey, Plan plan, Route route) {
+        Map<String, Object> variables = new HashMap<>();
+        switch (taskKey) {
+            case "apply-specific-tariff", "apply-standard-tariff" -> {
+                boolean specific = "apply-specific-tariff".equals(taskKey);
+                route.tariff = specific ? "specific" : "standard";
+                route.choice = plan.quote() ? "quote" : "contract";
+                BigDecimal revenue = plan.amount().multiply(new BigDecimal("0.074")).setScale(2, RoundingMode.HALF_UP);
+                variables.put("appliedTariff", specific ? "SPECIFIC" : "STANDARD");
+                variables.put("tariffConditions", specific ? "Negotiated conditions" : "Catalogue conditions");
+                variables.put("expectedRevenue", revenue.toPlainString());
+                variables.put("estimatedCosts", revenue.multiply(new BigDecimal("0.81")).setScale(2, RoundingMode.HALF_UP).toPlainString());
+                variables.put("contractDuration", 36);
+                variables.put("clientChoice", plan.quote() ? "QUOTE" : "CONTRACT");
+            }
+            case "propose-quote" -> {
+                boolean modificationRequested = route.modifications < plan.modifications();
+                if (modificationRequested) {
+                    route.modifications++;
+                }
+                variables.put("quoteId", "QUOTE-" + plan.index() + "-" + route.modifications);
+                variables.put("quoteAmount", plan.amount().toPlainString());
+                variables.put("quoteModifications", modificationRequested);
+            }
+            case "client-signs-quote", "client-signs-contract" -> variables.put("signatureStatus", "SIGNED");
+            default -> {
+                // Tâche inconnue du harnais : complétée sans variable
+            }
+        }
+        return variables;
+    }
+
+    private void record(String call, long startNanos) {
+        engineCalls.computeIfAbsent(call, key -> new LatencyRecorder()).record(System.nanoTime() - startNanos);
+    }
+
+    private record Plan(int index, String riskProfile, boolean quote, int modifications, BigDecimal amount) {
+    }
+
+    /**
+     * Chemin effectivement suivi (le simulateur en repli répond STANDARD).
+     */
+    private static class Route {
+
+        private String tariff = "none";
+        private String choice = "none";
+        private int modifications;
+
+        String label() {
+            return "quote".equals(choice)
+                    ? tariff + "/quote/" + modifications + "-modifications"
+                    : tariff + "/" + choice;
+        }
+    }
+
+    record InstanceOutcome(String processInstanceId, String path, long durationNanos, Status status, String error) {
+
+        enum Status { COMPLETED, FAILED, TIMED_OUT }
+
+        static InstanceOutcome completed(String processInstanceId, String path, long durationNanos) {
+            return new InstanceOutcome(processInstanceId, path, durationNanos, Status.COMPLETED, null);
+        }
+
+        static InstanceOutcome timedOut(String processInstanceId, String path, long durationNanos) {
+            return new InstanceOutcome(processInstanceId, path, durationNanos, Status.TIMED_OUT, null);
+        }
+
+        static InstanceOutcome failed(String processInstanceId, String path, long durationNanos, Exception error) {
+            return new InstanceOutcome(processInstanceId, path, durationNanos, Status.FAILED, error.getMessage());
+        }
+    }
+}
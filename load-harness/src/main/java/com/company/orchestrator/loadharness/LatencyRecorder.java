@@ -0,0 +1,56 @@
+package com.company.orchestrator.loadharness;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latences brutes d'une mesure, en nanosecondes, résumées en percentiles exacts
+ * (rang le plus proche) à la fin du tir.
+ */
+class LatencyRecorder {
+
+    private long[] values = new long[256];
+    private int size;
+
+    synchronized void record(long nanos) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size * 2);
+        }
+        values[size++] = nanos;
+    }
+
+    synchronized int count() {
+        return size;
+    }
+
+    /**
+     * Nombre de mesures, moyenne, p50/p95/p99 et maximum, en millisecondes.
+     */
+    synchronized Map<String, Object> summary() {
+        long[] sorted = Arrays.copyOf(values, size);
+        Arrays.sort(sorted);
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("count", sorted.length);
+        if (sorted.length == 0) {
+            return summary;
+        }
+        summary.put("meanMs", toMillis((long) Arrays.stream(sorted).average().orElse(0)));
+        summary.put("p50Ms", toMillis(percentile(sorted, 0.50)));
+        summary.put("p95Ms", toMillis(percentile(sorted, 0.95)));
+        summary.put("p99Ms", toMillis(percentile(sorted, 0.99)));
+        summary.put("maxMs", toMillis(sorted[sorted.length - 1]));
+        return summary;
+    }
+
+    private static long percentile(long[] sorted, double percentile) {
+        int rank = (int) Math.ceil(percentile * sorted.length);
+        return sorted[Math.max(rank, 1) - 1];
+    }
+
+    private static double toMillis(long nanos) {
+        return Math.round(nanos / (double) TimeUnit.MILLISECONDS.toNanos(1) * 1000) / 1000.0;
+    }
+}
@@ -0,0 +1,41 @@
+package com.company.orchestrator.loadharness;
+
+import com.company.orchestrator.WorkflowOrchestratorApplication;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.MapPropertySource;
+
+/**
+ * Démarre les partenaires simulés, puis l'application complète sous le profil
+ * {@code load} (H2 en mémoire) ; {@link LoadHarnessRunner} exécute le tir et le
+ * processus s'arrête avec un code non nul si une instance n'a pas abouti.
+ */
+@Configuration
+@EnableConfigurationProperties(HarnessProperties.class)
+public class LoadHarnessApplication {
+
+    public static void main(String[] args) {
+        PartnerStubs partnerStubs = new PartnerStubs();
+        partnerStubs.start();
+
+        SpringApplication application = new SpringApplication(WorkflowOrchestratorApplication.class, LoadHarnessApplication.class);
+        application.setAdditionalProfiles("load");
+        // URLs des partenaires : prioritaires sur toute autre configuration
+        application.addInitializers(context -> {
+            context.getEnvironment().getPropertySources()
+                    .addFirst(new MapPropertySource("partnerStubs", partnerStubs.urlProperties()));
+            context.getBeanFactory().registerSingleton("partnerStubs", partnerStubs);
+        });
+
+        int exitCode;
+        try {
+            ConfigurableApplicationContext context = application.run(args);
+            exitCode = SpringApplication.exit(context);
+        } finally {
+            partnerStubs.stop();
+        }
+        System.exit(exitCode);
+    }
+}
@@ -0,0 +1,270 @@
+package com.company.orchestrator.loadharness;
+
+import com.company.orchestrator.infrastructure.http.ExternalPartner;
+import com.company.orchestrator.loadharness.InstanceDriver.InstanceOutcome;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.camunda.bpm.engine.HistoryService;
+import org.camunda.bpm.engine.history.HistoricActivityInstance;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.ExitCodeGenerator;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Exécute le tir une fois l'application démarrée : {@code harness.instances}
+ * instances pilotées par {@code harness.concurrency} threads, puis écrit le
+ * rapport JSON (débit, latences de bout en bout par chemin et par activité,
+ * attente du pool de connexions, file du job executor, appels partenaires).
+ */
+@Component
+class LoadHarnessRunner implements ApplicationRunner, ExitCodeGenerator {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoadHarnessRunner.class);
+
+    private static final String DELEGATE_TIMER = "orchestrator.delegate.execution";
+    private static final int HISTORY_PAGE_SIZE = 1000;
+
+    private final HarnessProperties properties;
+    private final PartnerStubs partnerStubs;
+    private final InstanceDriver instanceDriver;
+    private final ResourceSampler resourceSampler;
+    private final HistoryService historyService;
+    private final MeterRegistry meterRegistry;
+    private final ObjectMapper objectMapper;
+    private final Environment environment;
+
+    private int exitCode;
+
+    LoadHarnessRunner(HarnessProperties properties,
+                      PartnerStubs partnerStubs,
+                      InstanceDriver instanceDriver,
+                      ResourceSampler resourceSampler,
+                      HistoryService historyService,
+                      MeterRegistry meterRegistry,
+                      ObjectMapper objectMapper,
+                      Environment environment) {
+        this.properties = properties;
+        this.partnerStubs = partnerStubs;
+        this.instanceDriver = instanceDriver;
+        this.resourceSampler = resourceSampler;
+        this.historyService = historyService;
+        this.meterRegistry = meterRegistry;
+        this.objectMapper = objectMapper;
+        this.environment = environment;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        partnerStubs.configure(properties);
+        logger.info("Load run: {} instances, concurrency {}", properties.getInstances(), properties.getConcurrency());
+
+        AtomicInteger driverThreads = new AtomicInteger();
+        ExecutorService drivers = Executors.newFixedThreadPool(properties.getConcurrency(),
+                runnable -> new Thread(runnable, "load-driver-" + driverThreads.incrementAndGet()));
+
+        Instant startedAt = Instant.now();
+        resourceSampler.start(properties.getSampleInterval());
+        long runStart = System.nanoTime();
+
+        List<Future<InstanceOutcome>> futures = new ArrayList<>(properties.getInstances());
+        for (int i = 0; i < properties.getInstances(); i++) {
+            int index = i;
+            futures.add(drivers.submit(() -> instanceDriver.drive(index)));
+        }
+
+        List<InstanceOutcome> outcomes = new ArrayList<>(futures.size());
+        int progressStep = Math.max(futures.size() / 10, 1);
+        for (Future<InstanceOutcome> future : futures) {
+            outcomes.add(await(future));
+            if (outcomes.size() % progressStep == 0) {
+                logger.info("{}/{} instances finished", outcomes.size(), futures.size());
+            }
+        }
+
+        long runNanos = System.nanoTime() - runStart;
+        resourceSampler.stop();
+        drivers.shutdown();
+
+        Map<String, Object> report = report(startedAt, runNanos, outcomes);
+        Path resultFile = resultFile();
+        Files.createDirectories(resultFile.toAbsolutePath().getParent());
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(resultFile.toFile(), report);
+
+        @SuppressWarnings("unchecked")
+        Map<String, Object> endToEnd = (Map<String, Object>) report.get("endToEnd");
+        logger.info("Load run finished: {} instances/s, end-to-end p50={}ms p95={}ms p99={}ms. Results: {}",
+                report.get("throughputPerSecond"), endToEnd.get("p50Ms"), endToEnd.get("p95Ms"), endToEnd.get("p99Ms"),
+                resultFile.toAbsolutePath());
+
+        exitCode = outcomes.stream().allMatch(outcome -> outcome.status() == InstanceOutcome.Status.COMPLETED) ? 0 : 1;
+    }
+
+    @Override
+    public int getExitCode() {
+        return exitCode;
+    }
+
+    private Map<String, Object> report(Instant startedAt, long runNanos, List<InstanceOutcome> outcomes) {
+        LatencyRecorder endToEnd = new LatencyRecorder();
+        Map<String, LatencyRecorder> paths = new TreeMap<>();
+        Map<InstanceOutcome.Status, Integer> statuses = new LinkedHashMap<>();
+        List<Map<String, Object>> errors = new ArrayList<>();
+        for (InstanceOutcome.Status status : InstanceOutcome.Status.values()) {
+            statuses.put(status, 0);
+        }
+
+        for (InstanceOutcome outcome : outcomes) {
+            statuses.merge(outcome.status(), 1, Integer::sum);
+            if (outcome.status() == InstanceOutcome.Status.COMPLETED) {
+                endToEnd.record(outcome.durationNanos());
+                paths.computeIfAbsent(outcome.path(), path -> new LatencyRecorder()).record(outcome.durationNanos());
+            } else if (errors.size() < 20) {
+                Map<String, Object> error = new LinkedHashMap<>();
+                error.put("processInstanceId", outcome.processInstanceId());
+                error.put("status", outcome.status());
+                error.put("error", outcome.error());
+                errors.add(error);
+            }
+        }
+
+        double runSeconds = runNanos / (double) TimeUnit.SECONDS.toNanos(1);
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("startedAt", startedAt);
+        report.put("durationSeconds", Math.round(runSeconds * 1000) / 1000.0);
+        report.put("configuration", configuration());
+        report.put("instances", statuses);
+        report.put("throughputPerSecond", Math.round(endToEnd.count() / runSeconds * 100) / 100.0);
+        report.put("endToEnd", endToEnd.summary());
+        report.put("paths", summaries(paths));
+        report.put("activities", activities());
+        report.put("engineCalls", summaries(new TreeMap<>(instanceDriver.engineCalls())));
+        report.put("delegates", delegates());
+        report.put("partners", partnerStubs.statistics());
+        report.put("connectionPool", resourceSampler.connectionPoolReport());
+        report.put("jobExecutor", resourceSampler.jobExecutorReport());
+        report.put("errors", errors);
+        return report;
+    }
+
+    private Map<String, Object> configuration() {
+        Map<String, Object> configuration = new LinkedHashMap<>();
+        configuration.put("instances", properties.getInstances());
+        configuration.put("concurrency", properties.getConcurrency());
+        configuration.put("seed", properties.getSeed());
+        configuration.put("executionMode", environment.getProperty("orchestrator.service-tasks.execution-mode", "java-delegate"));
+        configuration.put("connectionPoolSize", environment.getProperty("spring.datasource.hikari.maximum-pool-size"));
+        configuration.put("paths", properties.getPaths());
+        Map<String, Object> partners = new LinkedHashMap<>();
+        for (ExternalPartner partner : ExternalPartner.values()) {
+            partners.put(partner.getId(), properties.resolve(partner));
+        }
+        configuration.put("partners", partners);
+        return configuration;
+    }
+
+    /**
+     * Durée de chaque activité du processus vue par le moteur (ACT_HI_ACTINST),
+     * passerelles et événements exclus. Pour une tâche utilisateur, il s'agit de
+     * l'attente avant sa complétion par le harnais.
+     */
+    private Map<String, Object> activities() {
+        Map<String, LatencyRecorder> recorders = new TreeMap<>();
+        Map<String, String> types = new LinkedHashMap<>();
+        int firstResult = 0;
+        List<HistoricActivityInstance> page;
+        do {
+            page = historyService.createHistoricActivityInstanceQuery()
+                    .finished()
+                    .orderPartiallyByOccurrence().asc()
+                    .listPage(firstResult, HISTORY_PAGE_SIZE);
+            for (HistoricActivityInstance activity : page) {
+                String type = activity.getActivityType();
+                if (type.endsWith("Gateway") || type.endsWith("Event") || activity.getDurationInMillis() == null) {
+                    continue;
+                }
+                types.putIfAbsent(activity.getActivityId(), type);
+                recorders.computeIfAbsent(activity.getActivityId(), id -> new LatencyRecorder())
+                        .record(TimeUnit.MILLISECONDS.toNanos(activity.getDurationInMillis()));
+            }
+            firstResult += HISTORY_PAGE_SIZE;
+        } while (page.size() == HISTORY_PAGE_SIZE);
+
+        Map<String, Object> activities = new LinkedHashMap<>();
+        recorders.forEach((activityId, recorder) -> {
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("type", types.get(activityId));
+            summary.putAll(recorder.summary());
+            activities.put(activityId, summary);
+        });
+        return activities;
+    }
+
+    /**
+     * Exécutions des delegates par issue, d'après {@code orchestrator.delegate.execution}.
+     */
+    private Map<String, Object> delegates() {
+        Map<String, Map<String, Long>> delegates = new TreeMap<>();
+        for (Timer timer : meterRegistry.find(DELEGATE_TIMER).timers()) {
+            Map<String, Long> counts = delegates.computeIfAbsent(timer.getId().getTag("delegate"), delegate -> {
+                Map<String, Long> initial = new LinkedHashMap<>();
+                initial.put("executions", 0L);
+                initial.put("errors", 0L);
+                initial.put("fallbacks", 0L);
+                return initial;
+            });
+            counts.merge("executions", timer.count(), Long::sum);
+            if ("error".equals(timer.getId().getTag("outcome"))) {
+                counts.merge("errors", timer.count(), Long::sum);
+            }
+            if ("true".equals(timer.getId().getTag("fallback"))) {
+                counts.merge("fallbacks", timer.count(), Long::sum);
+            }
+        }
+        return new LinkedHashMap<>(delegates);
+    }
+
+    private static Map<String, Object> summaries(Map<String, LatencyRecorder> recorders) {
+        Map<String, Object> summaries = new LinkedHashMap<>();
+        recorders.forEach((name, recorder) -> summaries.put(name, recorder.summary()));
+        return summaries;
+    }
+
+    private Path resultFile() {
+        if (properties.getResultFile() != null) {
+            return Path.of(properties.getResultFile());
+        }
+        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+        return Path.of("target", "load-results", "load-" + timestamp + ".json");
+    }
+
+    private static InstanceOutcome await(Future<InstanceOutcome> future) throws InterruptedException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            // drive() capture ses propres erreurs : ne reste que l'inattendu
+            throw new IllegalStateException("Instance driver failed", e.getCause());
+        }
+    }
+}
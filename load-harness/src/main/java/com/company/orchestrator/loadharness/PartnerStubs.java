@@ -0,0 +1,192 @@
+package com.company.orchestrator.loadharness;
+
+import com.company.orchestrator.infrastructure.http.ExternalPartner;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.ResponseDefinitionBuilder;
+import com.github.tomakehurst.wiremock.common.FileSource;
+import com.github.tomakehurst.wiremock.extension.Parameters;
+import com.github.tomakehurst.wiremock.extension.ResponseDefinitionTransformer;
+import com.github.tomakehurst.wiremock.extension.responsetemplating.ResponseTemplateTransformer;
+import com.github.tomakehurst.wiremock.http.LogNormal;
+import com.github.tomakehurst.wiremock.http.Request;
+import com.github.tomakehurst.wiremock.http.ResponseDefinition;
+import com.github.tomakehurst.wiremock.http.UniformDistribution;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.matchingJsonPath;
+import static com.github.tomakehurst.wiremock.client.WireMock.post;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+
+/**
+ * Les cinq partenaires simulés par un serveur WireMock unique. Chaque réponse
+ * suit la distribution de latence configurée pour son partenaire ; une part
+ * {@code errorRate} des appels reçoit un 503 après ce délai. Le simulateur
+ * répond SPECIFIC aux demandes de profil de risque {@link #SPECIFIC_RISK_PROFILE}.
+ */
+public class PartnerStubs {
+
+    public static final String SPECIFIC_RISK_PROFILE = "HIGH";
+
+    private static final String FAULTS_TRANSFORMER = "partner-faults";
+    private static final String TEMPLATE_TRANSFORMER = "response-template";
+
+    // Les délais sont servis par le pool asynchrone : les threads Jetty ne dorment pas
+    private static final int CONTAINER_THREADS = 64;
+    private static final int ASYNC_RESPONSE_THREADS = 32;
+
+    private final WireMockServer server;
+    private final PartnerFaults faults = new PartnerFaults();
+
+    public PartnerStubs() {
+        this.server = new WireMockServer(options()
+                .dynamicPort()
+                .containerThreads(CONTAINER_THREADS)
+                .asynchronousResponseEnabled(true)
+                .asynchronousResponseThreads(ASYNC_RESPONSE_THREADS)
+                .disableRequestJournal()
+                .extensions(new ResponseTemplateTransformer(false), faults));
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    public void stop() {
+        server.stop();
+    }
+
+    /**
+     * URLs des partenaires à injecter dans l'application, avant le démarrage du contexte.
+     */
+    public Map<String, Object> urlProperties() {
+        String baseUrl = server.baseUrl();
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("external.simulator.api.url", baseUrl + "/api/simulator");
+        properties.put("external.profitability.api.url", baseUrl + "/api/profitability");
+        properties.put("external.contract.generator.url", baseUrl + "/api/contract");
+        properties.put("external.esign.api.url", baseUrl + "/api/esign");
+        properties.put("external.vision.api.url", baseUrl + "/api/vision");
+        return properties;
+    }
+
+    public void configure(HarnessProperties properties) {
+        server.resetMappings();
+
+        server.stubFor(post(urlPathEqualTo("/api/simulator"))
+                .atPriority(5)
+                .willReturn(response(ExternalPartner.SIMULATOR, properties)
+                        .withBody("{\"result\":\"STANDARD\",\"tariffType\":\"STANDARD\",\"recommendation\":\"Apply the catalogue tariff\"}")));
+        server.stubFor(post(urlPathEqualTo("/api/simulator"))
+                .atPriority(1)
+                .withRequestBody(matchingJsonPath("$.riskProfile", equalTo(SPECIFIC_RISK_PROFILE)))
+                .willReturn(response(ExternalPartner.SIMULATOR, properties)
+                        .withBody("{\"result\":\"SPECIFIC\",\"tariffType\":\"SPECIFIC\",\"recommendation\":\"Specific conditions required\"}")));
+
+        server.stubFor(post(urlPathEqualTo("/api/profitability"))
+                .willReturn(response(ExternalPartner.PROFITABILITY, properties)
+                        .withBody("{\"profitabilityRatio\":0.18,\"expectedMargin\":3250.40,\"riskAdjustedReturn\":0.12}")));
+
+        String contractPdf = Base64.getEncoder().encodeToString(
+                "%PDF-1.4\n% load harness contract\n%%EOF\n".getBytes(StandardCharsets.US_ASCII));
+        server.stubFor(post(urlPathEqualTo("/api/contract/generate"))
+                .willReturn(response(ExternalPartner.CONTRACT_GENERATOR, properties)
+                        .withBody("{\"contractId\":\"CTR-{{randomValue type='UUID'}}\",\"contractPdf\":\"" + contractPdf + "\","
+                                + "\"status\":\"GENERATED\",\"duration\":36,\"terms\":\"Standard terms\"}")));
+
+        server.stubFor(post(urlPathEqualTo("/api/esign/upload"))
+                .willReturn(response(ExternalPartner.ESIGN, properties)
+                        .withBody("{\"documentId\":\"ESIGN-{{randomValue type='UUID'}}\",\"signUrl\":\"https://esign.example/sign\","
+                                + "\"webhookId\":\"WH-{{randomValue length=12 type='ALPHANUMERIC'}}\",\"status\":\"UPLOADED\"}")));
+
+        server.stubFor(post(urlPathEqualTo("/api/vision/archive"))
+                .willReturn(response(ExternalPartner.VISION, properties)
+                        .withBody("{\"documentId\":\"VIS-{{randomValue type='UUID'}}\",\"archiveReference\":\"ARCH-{{randomValue length=10 type='NUMERIC'}}\","
+                                + "\"retentionDate\":\"2033-01-01\",\"archiveLocation\":\"vision://archive\"}")));
+    }
+
+    /**
+     * Appels reçus et erreurs injectées par partenaire.
+     */
+    public Map<String, Object> statistics() {
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        for (ExternalPartner partner : ExternalPartner.values()) {
+            Map<String, Object> partnerStatistics = new LinkedHashMap<>();
+            partnerStatistics.put("requests", faults.requests.get(partner).get());
+            partnerStatistics.put("injectedErrors", faults.injectedErrors.get(partner).get());
+            statistics.put(partner.getId(), partnerStatistics);
+        }
+        return statistics;
+    }
+
+    private static ResponseDefinitionBuilder response(ExternalPartner partner, HarnessProperties properties) {
+        HarnessProperties.Partner stub = properties.resolve(partner);
+        ResponseDefinitionBuilder response = aResponse()
+                .withStatus(200)
+                .withHeader("Content-Type", "application/json")
+                .withTransformers(TEMPLATE_TRANSFORMER, FAULTS_TRANSFORMER)
+                .withTransformerParameter("partner", partner.name())
+                .withTransformerParameter("errorRate", stub.getErrorRate());
+
+        long median = stub.getMedian().toMillis();
+        return switch (stub.getDistribution()) {
+            case FIXED -> response.withFixedDelay((int) median);
+            case UNIFORM -> response.withRandomDelay(new UniformDistribution(
+                    (int) stub.getLower().toMillis(), (int) stub.getUpper().toMillis()));
+            case LOG_NORMAL -> response.withRandomDelay(new LogNormal(median, stub.getSigma()));
+        };
+    }
+
+    /**
+     * Compte les appels et remplace une part des réponses par un 503, en gardant le délai tiré.
+     */
+    static class PartnerFaults extends ResponseDefinitionTransformer {
+
+        private final Map<ExternalPartner, AtomicLong> requests = new EnumMap<>(ExternalPartner.class);
+        private final Map<ExternalPartner, AtomicLong> injectedErrors = new EnumMap<>(ExternalPartner.class);
+
+        PartnerFaults() {
+            for (ExternalPartner partner : ExternalPartner.values()) {
+                requests.put(partner, new AtomicLong());
+                injectedErrors.put(partner, new AtomicLong());
+            }
+        }
+
+        @Override
+        public ResponseDefinition transform(Request request, ResponseDefinition responseDefinition,
+                                            FileSource files, Parameters parameters) {
+            ExternalPartner partner = ExternalPartner.valueOf(parameters.getString("partner"));
+            requests.get(partner).incrementAndGet();
+
+            double errorRate = ((Number) parameters.get("errorRate")).doubleValue();
+            if (errorRate <= 0 || ThreadLocalRandom.current().nextDouble() >= errorRate) {
+                return responseDefinition;
+            }
+            injectedErrors.get(partner).incrementAndGet();
+            return ResponseDefinitionBuilder.like(responseDefinition).but()
+                    .withStatus(503)
+                    .withBody("{\"error\":\"Injected by the load harness\"}")
+                    .build();
+        }
+
+        @Override
+        public String getName() {
+            return FAULTS_TRANSFORMER;
+        }
+
+        @Override
+        public boolean applyGlobally() {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.company.orchestrator.loadharness;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import org.camunda.bpm.engine.ManagementService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Échantillonne pendant le tir le pool de connexions (connexions actives, threads
+ * en attente) et le job executor (file du pool d'exécution, jobs exécutables en
+ * base). Le temps d'attente d'une connexion vient du timer Hikari
+ * {@code hikaricp.connections.acquire}, limité aux acquisitions du tir.
+ */
+@Component
+class ResourceSampler {
+
+    private static final Logger logger = LoggerFactory.getLogger(ResourceSampler.class);
+
+    private static final String ACQUIRE_TIMER = "hikaricp.connections.acquire";
+
+    private final HikariDataSource hikariDataSource;
+    private final ThreadPoolTaskExecutor jobExecutorPool;
+    private final ManagementService managementService;
+    private final MeterRegistry meterRegistry;
+
+    private final GaugeSeries activeConnections = new GaugeSeries();
+    private final GaugeSeries pendingConnections = new GaugeSeries();
+    private final GaugeSeries jobExecutorQueue = new GaugeSeries();
+    private final GaugeSeries jobExecutorActiveThreads = new GaugeSeries();
+    private final GaugeSeries executableJobs = new GaugeSeries();
+
+    private ScheduledExecutorService scheduler;
+    private long acquireCountAtStart;
+    private double acquireTotalMsAtStart;
+
+    ResourceSampler(DataSource dataSource,
+                    @Qualifier("camundaTaskExecutor") TaskExecutor jobExecutorTaskExecutor,
+                    ManagementService managementService,
+                    MeterRegistry meterRegistry) throws SQLException {
+        this.hikariDataSource = dataSource.unwrap(HikariDataSource.class);
+        this.jobExecutorPool = jobExecutorTaskExecutor instanceof ThreadPoolTaskExecutor executor ? executor : null;
+        this.managementService = managementService;
+        this.meterRegistry = meterRegistry;
+    }
+
+    void start(Duration interval) {
+        Timer acquire = meterRegistry.find(ACQUIRE_TIMER).timer();
+        if (acquire != null) {
+            acquireCountAtStart = acquire.count();
+            acquireTotalMsAtStart = acquire.totalTime(TimeUnit.MILLISECONDS);
+        }
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "load-harness-sampler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleAtFixedRate(this::sample, 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    void stop() {
+        scheduler.shutdownNow();
+    }
+
+    Map<String, Object> connectionPoolReport() {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("acquire", acquireSummary());
+        report.put("activeConnections", activeConnections.summary());
+        report.put("threadsAwaitingConnection", pendingConnections.summary());
+        return report;
+    }
+
+    Map<String, Object> jobExecutorReport() {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("queueDepth", jobExecutorQueue.summary());
+        report.put("activeThreads", jobExecutorActiveThreads.summary());
+        report.put("executableJobs", executableJobs.summary());
+        return report;
+    }
+
+    private void sample() {
+        try {
+            HikariPoolMXBean pool = hikariDataSource.getHikariPoolMXBean();
+            if (pool != null) {
+                activeConnections.add(pool.getActiveConnections());
+                pendingConnections.add(pool.getThreadsAwaitingConnection());
+            }
+            if (jobExecutorPool != null) {
+                jobExecutorQueue.add(jobExecutorPool.getThreadPoolExecutor().getQueue().size());
+                jobExecutorActiveThreads.add(jobExecutorPool.getActiveCount());
+            }
+            executableJobs.add(managementService.createJobQuery().executable().count());
+        } catch (RuntimeException e) {
+            logger.warn("Resource sampling failed: {}", e.getMessage());
+        }
+    }
+
+    private Map<String, Object> acquireSummary() {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        Timer acquire = meterRegistry.find(ACQUIRE_TIMER).timer();
+        if (acquire == null) {
+            return summary;
+        }
+        long count = acquire.count() - acquireCountAtStart;
+        summary.put("count", count);
+        if (count > 0) {
+            summary.put("meanMs", round((acquire.totalTime(TimeUnit.MILLISECONDS) - acquireTotalMsAtStart) / count));
+        }
+        // Percentiles et maximum sur la fenêtre glissante du timer (fin du tir)
+        HistogramSnapshot snapshot = acquire.takeSnapshot();
+        for (ValueAtPercentile percentile : snapshot.percentileValues()) {
+            summary.put("p" + Math.round(percentile.percentile() * 100) + "Ms", round(percentile.value(TimeUnit.MILLISECONDS)));
+        }
+        summary.put("maxMs", round(snapshot.max(TimeUnit.MILLISECONDS)));
+        return summary;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1000) / 1000.0;
+    }
+
+    /**
+     * Série d'échantillons d'une jauge : moyenne et maximum.
+     */
+    private static class GaugeSeries {
+
+        private long samples;
+        private long sum;
+        private long max;
+
+        synchronized void add(long value) {
+            samples++;
+            sum += value;
+            max = Math.max(max, value);
+        }
+
+        synchronized Map<String, Object> summary() {
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("samples", samples);
+            summary.put("mean", samples > 0 ? round((double) sum / samples) : 0);
+            summary.put("max", max);
+            return summary;
+        }
+    }
+}
@@ -18,6 +18,98 @@ CREATE TABLE IF NOT EXISTS app.process_audit (
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
 );
 
--- Index for performance
-CREATE INDEX IF NOT EXISTS idx_process_audit_instance_id ON app.process_audit(process_instance_id);
-CREATE INDEX IF NOT EXISTS idx_process_audit_customer_id ON app.process_audit(customer_id);
\ No newline at end of file
+-- Read model columns (process status endpoint)
+ALTER TABLE app.process_audit ADD COLUMN IF NOT EXISTS business_key VARCHAR(255);
+ALTER TABLE app.process_audit ADD COLUMN IF NOT EXISTS current_activity VARCHAR(255);
+ALTER TABLE app.process_audit ADD COLUMN IF NOT EXISTS simulator_result VARCHAR(50);
+ALTER TABLE app.process_audit ADD COLUMN IF NOT EXISTS client_choice VARCHAR(50);
+ALTER TABLE app.process_audit ADD COLUMN IF NOT EXISTS profitability_status VARCHAR(50);
+ALTER TABLE app.process_audit ADD COLUMN IF NOT EXISTS contract_status VARCHAR(50);
+ALTER TABLE app.process_audit ADD COLUMN IF NOT EXISTS esign_upload_status VARCHAR(50);
+ALTER TABLE app.process_audit ADD COLUMN IF NOT EXISTS vision_archive_status VARCHAR(50);
+ALTER TABLE app.process_audit ADD COLUMN IF NOT EXISTS updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP;
+
+-- Index for performance (one row per process instance, upserted by the history projection)
+DROP INDEX IF EXISTS app.idx_process_audit_instance_id;
+CREATE UNIQUE INDEX IF NOT EXISTS uk_process_audit_instance_id ON app.process_audit(process_instance_id);
+CREATE INDEX IF NOT EXISTS idx_process_audit_customer_id ON app.process_audit(customer_id);
+
+-- Durable queue of Vision archive requests (drained by VisionArchiveDispatcher)
+CREATE TABLE IF NOT EXISTS app.archive_job (
+    id BIGSERIAL PRIMARY KEY,
+    process_instance_id VARCHAR(64) NOT NULL,
+    activity_id VARCHAR(255),
+    activity_instance_id VARCHAR(64),
+    document_category VARCHAR(50),
+    document_ref VARCHAR(80),
+    archive_data TEXT NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'PENDING',
+    attempts INT NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    vision_document_id VARCHAR(255),
+    archive_reference VARCHAR(255),
+    retention_date VARCHAR(64),
+    last_error TEXT,
+    archived_at TIMESTAMP,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+ALTER TABLE app.archive_job ADD COLUMN IF NOT EXISTS activity_instance_id VARCHAR(64);
+
+CREATE INDEX IF NOT EXISTS idx_archive_job_due ON app.archive_job(next_attempt_at)
+    WHERE status IN ('PENDING', 'IN_PROGRESS');
+CREATE INDEX IF NOT EXISTS idx_archive_job_instance_id ON app.archive_job(process_instance_id);
+
+-- E-Sign webhook inbox (one row per delivery, drained by ESignCallbackDispatcher)
+CREATE TABLE IF NOT EXISTS app.esign_callback (
+    id BIGSERIAL PRIMARY KEY,
+    delivery_id VARCHAR(128) NOT NULL,
+    document_id VARCHAR(255) NOT NULL,
+    event_type VARCHAR(50) NOT NULL,
+    signed_at VARCHAR(64),
+    payload TEXT NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'PENDING',
+    attempts INT NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    process_instance_id VARCHAR(64),
+    task_id VARCHAR(64),
+    last_error TEXT,
+    received_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    processed_at TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE UNIQUE INDEX IF NOT EXISTS uk_esign_callback_delivery_id ON app.esign_callback(delivery_id);
+CREATE INDEX IF NOT EXISTS idx_esign_callback_due ON app.esign_callback(next_attempt_at)
+    WHERE status IN ('PENDING', 'IN_PROGRESS');
+CREATE INDEX IF NOT EXISTS idx_esign_callback_document_id ON app.esign_callback(document_id);
+
+-- Outbox of partner calls (execution-mode: outbox, drained by OutboundRequestDispatcher)
+CREATE TABLE IF NOT EXISTS app.outbound_request (
+    id BIGSERIAL PRIMARY KEY,
+    idempotency_key VARCHAR(255) NOT NULL,
+    process_instance_id VARCHAR(64) NOT NULL,
+    execution_id VARCHAR(64) NOT NULL,
+    activity_id VARCHAR(255) NOT NULL,
+    handler VARCHAR(100) NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'PENDING',
+    attempts INT NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    result BYTEA,
+    result_format VARCHAR(20),
+    last_error TEXT,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    delivered_at TIMESTAMP,
+    completed_at TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE UNIQUE INDEX IF NOT EXISTS uk_outbound_request_idempotency_key ON app.outbound_request(idempotency_key);
+CREATE INDEX IF NOT EXISTS idx_outbound_request_due ON app.outbound_request(next_attempt_at)
+    WHERE status IN ('PENDING', 'IN_PROGRESS', 'DELIVERED');
+CREATE INDEX IF NOT EXISTS idx_outbound_request_instance_id ON app.outbound_request(process_instance_id);
+
+-- Camunda tables (ACT_RU_TASK...) do not exist yet when this script runs: the task inbox
+-- keyset index IDX_TASK_INBOX_KEYSET ON ACT_RU_TASK (CREATE_TIME_, ID_) is created by
+-- TaskInbox at application startup, once the engine has updated its schema.
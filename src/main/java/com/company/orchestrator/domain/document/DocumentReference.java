@@ -0,0 +1,40 @@
+package com.company.orchestrator.domain.document;
+
+import java.util.Locale;
+import java.util.Objects;
+import java.util.regex.Pattern;
+
+/**
+ * Référence d'un document adressé par son contenu (empreinte SHA-256).
+ * C'est cette valeur, et non le document, qui est stockée en variable de processus.
+ */
+public record DocumentReference(String sha256) {
+
+    private static final String SCHEME = "sha256:";
+    private static final Pattern HEX_SHA256 = Pattern.compile("[0-9a-f]{64}");
+
+    public DocumentReference {
+        Objects.requireNonNull(sha256, "sha256");
+        sha256 = sha256.toLowerCase(Locale.ROOT);
+        if (!HEX_SHA256.matcher(sha256).matches()) {
+            throw new IllegalArgumentException("Invalid SHA-256 digest: " + sha256);
+        }
+    }
+
+    public static DocumentReference parse(String value) {
+        Objects.requireNonNull(value, "value");
+        if (!value.startsWith(SCHEME)) {
+            throw new IllegalArgumentException("Not a document reference: " + value);
+        }
+        return new DocumentReference(value.substring(SCHEME.length()));
+    }
+
+    public static boolean isReference(Object value) {
+        return value instanceof String text && text.startsWith(SCHEME);
+    }
+
+    @Override
+    public String toString() {
+        return SCHEME + sha256;
+    }
+}
@@ -0,0 +1,26 @@
+package com.company.orchestrator.domain.document;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * Port de stockage des documents (devis, contrats) hors des variables de processus.
+ * Les documents sont immuables et adressés par leur contenu : stocker deux fois le
+ * même document renvoie la même référence.
+ */
+public interface DocumentStore {
+
+    DocumentReference store(byte[] content) throws IOException;
+
+    DocumentReference store(InputStream content) throws IOException;
+
+    /**
+     * Vue en lecture seule du contenu du document.
+     */
+    ByteBuffer read(DocumentReference reference) throws IOException;
+
+    long size(DocumentReference reference) throws IOException;
+
+    boolean exists(DocumentReference reference);
+}
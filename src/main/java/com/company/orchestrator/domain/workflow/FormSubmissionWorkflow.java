@@ -0,0 +1,16 @@
+package com.company.orchestrator.domain.workflow;
+
+/**
+ * Identifiants du processus de soumission de formulaire déployé
+ * ({@code onboarding-process.bpmn}).
+ */
+public final class FormSubmissionWorkflow {
+
+    /**
+     * Clé de définition du processus (attribut {@code id} de {@code bpmn:process}).
+     */
+    public static final String PROCESS_KEY = "form-submission-workflow";
+
+    private FormSubmissionWorkflow() {
+    }
+}
@@ -0,0 +1,57 @@
+package com.company.orchestrator.infrastructure.archive;
+
+import java.util.Map;
+
+/**
+ * Demande d'archivage Vision réservée par le dispatcher.
+ *
+ * @param activityInstanceId instance de la service task d'archivage, {@code null} si inconnue
+ * @param documentReference  référence {@code sha256:...} du document, {@code null} s'il n'y en a pas
+ * @param attempts           nombre de tentatives, celle en cours incluse ; sert de jeton de bail
+ */
+public record ArchiveJob(long id,
+                         String processInstanceId,
+                         String activityId,
+                         String activityInstanceId,
+                         String documentReference,
+                         Map<String, Object> archiveData,
+                         int attempts) {
+
+    public static final String STATUS_SUFFIX = "Status";
+    public static final String DOCUMENT_ID_SUFFIX = "DocumentId";
+    public static final String REFERENCE_SUFFIX = "Reference";
+    public static final String RETENTION_DATE_SUFFIX = "RetentionDate";
+    public static final String TIMESTAMP_SUFFIX = "Timestamp";
+    public static final String ERROR_SUFFIX = "Error";
+
+    /**
+     * Clé d'idempotence transmise à Vision dans {@code X-Request-ID}, au format
+     * {@code <instance>:<instance d'activité>} des appels partenaires : l'archivage du devis
+     * et celui du contrat d'une même instance ne partagent pas la même clé.
+     */
+    public String requestId() {
+        return processInstanceId + ":" + (activityInstanceId != null ? activityInstanceId : "archive-job-" + id);
+    }
+
+    /**
+     * Variable de résultat propre à la tâche d'archivage : {@code archive-quote-vision}
+     * donne {@code archiveQuoteVisionStatus}, {@code archiveQuoteVisionDocumentId}...
+     */
+    public String resultVariable(String suffix) {
+        return resultVariable(activityId != null ? activityId : "archive-job-" + id, suffix);
+    }
+
+    public static String resultVariable(String activityId, String suffix) {
+        StringBuilder name = new StringBuilder(activityId.length() + suffix.length());
+        boolean upperNext = false;
+        for (char c : activityId.toCharArray()) {
+            if (!Character.isLetterOrDigit(c)) {
+                upperNext = name.length() > 0;
+            } else {
+                name.append(upperNext ? Character.toUpperCase(c) : c);
+                upperNext = false;
+            }
+        }
+        return name.append(suffix).toString();
+    }
+}
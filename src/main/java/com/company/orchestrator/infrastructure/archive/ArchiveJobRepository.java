@@ -0,0 +1,179 @@
+package com.company.orchestrator.infrastructure.archive;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * File d'attente durable des archivages Vision (table {@code app.archive_job}).
+ * L'insertion rejoint la transaction du moteur : la demande n'existe que si
+ * l'étape du processus est validée.
+ * <p>
+ * Le résultat d'un job n'est enregistré que par le nœud qui détient encore son bail :
+ * statut {@code IN_PROGRESS} et nombre de tentatives inchangé depuis la réservation.
+ * Un bail expiré puis repris par un autre nœud rend l'écriture sans effet.
+ */
+@Repository
+public class ArchiveJobRepository {
+
+    public static final String STATUS_PENDING = "PENDING";
+    public static final String STATUS_IN_PROGRESS = "IN_PROGRESS";
+    public static final String STATUS_ARCHIVED = "ARCHIVED";
+    public static final String STATUS_FAILED = "FAILED";
+
+    private static final TypeReference<Map<String, Object>> ARCHIVE_DATA_TYPE = new TypeReference<>() { };
+
+    private static final String INSERT_SQL =
+        "INSERT INTO app.archive_job (process_instance_id, activity_id, activity_instance_id, document_category, "
+            + "document_ref, archive_data) VALUES (?, ?, ?, ?, ?, ?)";
+
+    // SKIP LOCKED : plusieurs instances de l'orchestrateur se partagent la file sans
+    // se bloquer. Le bail (next_attempt_at) rend les jobs d'un nœud arrêté à nouveau visibles.
+    private static final String CLAIM_SQL =
+        "UPDATE app.archive_job SET status = '" + STATUS_IN_PROGRESS + "', attempts = attempts + 1, "
+            + "next_attempt_at = CURRENT_TIMESTAMP + (? * INTERVAL '1 millisecond'), updated_at = CURRENT_TIMESTAMP "
+            + "WHERE id IN (SELECT id FROM app.archive_job "
+            + "WHERE status IN ('" + STATUS_PENDING + "', '" + STATUS_IN_PROGRESS + "') AND next_attempt_at <= CURRENT_TIMESTAMP "
+            + "ORDER BY next_attempt_at LIMIT ? FOR UPDATE SKIP LOCKED) "
+            + "RETURNING id, process_instance_id, activity_id, activity_instance_id, document_ref, archive_data, attempts";
+
+    private static final String LEASE_GUARD =
+        "WHERE id = ? AND status = '" + STATUS_IN_PROGRESS + "' AND attempts = ?";
+
+    private static final String ARCHIVED_SQL =
+        "UPDATE app.archive_job SET status = '" + STATUS_ARCHIVED + "', vision_document_id = ?, archive_reference = ?, "
+            + "retention_date = ?, last_error = NULL, archived_at = CURRENT_TIMESTAMP, updated_at = CURRENT_TIMESTAMP "
+            + LEASE_GUARD;
+
+    private static final String FAILED_SQL =
+        "UPDATE app.archive_job SET status = ?, last_error = ?, "
+            + "next_attempt_at = CURRENT_TIMESTAMP + (? * INTERVAL '1 millisecond'), updated_at = CURRENT_TIMESTAMP "
+            + LEASE_GUARD;
+
+    private static final String LATEST_JOBS_SQL =
+        "SELECT MAX(id) FROM app.archive_job WHERE process_instance_id IN (%s) GROUP BY process_instance_id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    public ArchiveJobRepository(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    public void enqueue(String processInstanceId, String activityId, String activityInstanceId,
+                        String documentReference, Map<String, Object> archiveData) {
+        jdbcTemplate.update(INSERT_SQL, processInstanceId, activityId, activityInstanceId,
+            archiveData.get("documentCategory"), documentReference, writeArchiveData(archiveData));
+    }
+
+    /**
+     * Réserve au plus {@code limit} jobs éligibles pour {@code leaseMillis} millisecondes.
+     */
+    public List<ArchiveJob> claim(int limit, long leaseMillis) {
+        return jdbcTemplate.query(CLAIM_SQL, (rs, rowNum) -> new ArchiveJob(
+            rs.getLong("id"),
+            rs.getString("process_instance_id"),
+            rs.getString("activity_id"),
+            rs.getString("activity_instance_id"),
+            rs.getString("document_ref"),
+            readArchiveData(rs.getString("archive_data")),
+            rs.getInt("attempts")
+        ), leaseMillis, limit);
+    }
+
+    /**
+     * Dernier job enregistré pour chacune des instances : seul son résultat alimente
+     * les variables d'archivage communes à l'instance.
+     */
+    public Set<Long> latestJobIds(Collection<String> processInstanceIds) {
+        if (processInstanceIds.isEmpty()) {
+            return Set.of();
+        }
+        String placeholders = String.join(", ", processInstanceIds.stream().map(id -> "?").toList());
+        return new HashSet<>(jdbcTemplate.queryForList(String.format(LATEST_JOBS_SQL, placeholders),
+            Long.class, processInstanceIds.toArray()));
+    }
+
+    /**
+     * Enregistre les archivages réussis.
+     *
+     * @return les résultats non enregistrés faute de bail, à ne pas reporter dans les instances
+     */
+    public List<Map.Entry<ArchiveJob, Map<String, Object>>> markArchived(
+        List<Map.Entry<ArchiveJob, Map<String, Object>>> results) {
+        int[][] counts = jdbcTemplate.batchUpdate(ARCHIVED_SQL, results, results.size(), (ps, result) -> {
+            Map<String, Object> archiveResult = result.getValue();
+            ps.setString(1, asString(archiveResult.get("documentId")));
+            ps.setString(2, asString(archiveResult.get("archiveReference")));
+            ps.setString(3, asString(archiveResult.get("retentionDate")));
+            ps.setLong(4, result.getKey().id());
+            ps.setInt(5, result.getKey().attempts());
+        });
+        return notUpdated(results, counts);
+    }
+
+    /**
+     * Enregistre les échecs : le job repasse en attente après {@code retryDelay}, ou
+     * devient définitivement {@code FAILED} lorsque {@code exhausted} le signale.
+     *
+     * @return les échecs non enregistrés faute de bail
+     */
+    public List<Failure> markFailed(List<Failure> failures) {
+        int[][] counts = jdbcTemplate.batchUpdate(FAILED_SQL, failures, failures.size(), (ps, failure) -> {
+            ps.setString(1, failure.exhausted() ? STATUS_FAILED : STATUS_PENDING);
+            ps.setString(2, failure.error());
+            ps.setLong(3, failure.retryDelayMillis());
+            ps.setLong(4, failure.job().id());
+            ps.setInt(5, failure.job().attempts());
+        });
+        return notUpdated(failures, counts);
+    }
+
+    // Statement.SUCCESS_NO_INFO (pilote sans décompte) : le bail est supposé détenu
+    private static <T> List<T> notUpdated(List<T> items, int[][] counts) {
+        List<T> lost = new ArrayList<>();
+        int index = 0;
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                if (count == 0) {
+                    lost.add(items.get(index));
+                }
+                index++;
+            }
+        }
+        return lost;
+    }
+
+    private String writeArchiveData(Map<String, Object> archiveData) {
+        try {
+            return objectMapper.writeValueAsString(archiveData);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Archive data is not serializable", e);
+        }
+    }
+
+    private Map<String, Object> readArchiveData(String json) {
+        try {
+            return objectMapper.readValue(json, ARCHIVE_DATA_TYPE);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Corrupted archive job payload", e);
+        }
+    }
+
+    private static String asString(Object value) {
+        return value != null ? value.toString() : null;
+    }
+
+    public record Failure(ArchiveJob job, String error, long retryDelayMillis, boolean exhausted) {
+    }
+}
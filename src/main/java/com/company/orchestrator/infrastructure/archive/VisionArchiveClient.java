@@ -0,0 +1,141 @@
+package com.company.orchestrator.infrastructure.archive;
+
+import com.company.orchestrator.infrastructure.document.DocumentResource;
+import com.company.orchestrator.infrastructure.http.ExternalPartner;
+import com.company.orchestrator.infrastructure.http.PartnerResilience;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.client.RestTemplate;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Appel multipart à l'API d'archivage Vision. Partagé entre l'archivage synchrone
+ * du {@code VisionArchiveDelegate} et le {@link VisionArchiveDispatcher}.
+ */
+@Component
+public class VisionArchiveClient {
+
+    private static final Logger logger = LoggerFactory.getLogger(VisionArchiveClient.class);
+
+    private final RestTemplate restTemplate;
+    private final PartnerResilience partnerResilience;
+
+    @Value("${external.vision.api.url:http://localhost:8084/api/vision}")
+    private String visionApiUrl;
+
+    @Value("${external.vision.api.key:default-vision-key}")
+    private String visionApiKey;
+
+    public VisionArchiveClient(@Qualifier("visionRestTemplate") RestTemplate restTemplate,
+                               PartnerResilience partnerResilience) {
+        this.restTemplate = restTemplate;
+        this.partnerResilience = partnerResilience;
+    }
+
+    /**
+     * Archive un document et ses métadonnées. Lève une exception si Vision ne répond
+     * pas avec un 2xx ou si son circuit breaker refuse l'appel.
+     */
+    public Map<String, Object> archive(Map<String, Object> archiveData, Resource document, String processInstanceId) {
+        return archive(archiveData, document, processInstanceId, processInstanceId);
+    }
+
+    /**
+     * Variante dont l'en-tête {@code X-Request-ID} porte {@code requestId} (clé d'idempotence en mode outbox).
+     */
+    public Map<String, Object> archive(Map<String, Object> archiveData, Resource document, String processInstanceId,
+                                       String requestId) {
+        // Préparer les headers
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.MULTIPART_FORM_DATA);
+        headers.set("Authorization", "Bearer " + visionApiKey);
+        headers.set("X-Request-ID", requestId);
+        headers.set("X-Archive-Type", "BUSINESS_DOCUMENT");
+
+        // Préparer le contenu multipart
+        MultiValueMap<String, Object> body = new LinkedMultiValueMap<>();
+
+        // Ajouter les métadonnées
+        body.add("processInstanceId", processInstanceId);
+        body.add("customerId", archiveData.get("customerId"));
+        body.add("customerName", archiveData.get("customerName"));
+        body.add("documentCategory", archiveData.get("documentCategory"));
+        body.add("documentName", archiveData.get("documentName"));
+        body.add("retentionDate", archiveData.get("retentionDate"));
+        body.add("businessUnit", archiveData.get("businessUnit"));
+        body.add("productType", archiveData.get("productType"));
+
+        // Ajouter les métadonnées spécifiques
+        if (archiveData.get("quoteId") != null) {
+            body.add("quoteId", archiveData.get("quoteId"));
+            body.add("quoteAmount", archiveData.get("quoteAmount"));
+        }
+        if (archiveData.get("contractId") != null) {
+            body.add("contractId", archiveData.get("contractId"));
+            body.add("contractAmount", archiveData.get("contractAmount"));
+        }
+        if (archiveData.get("eSignDocumentId") != null) {
+            body.add("eSignDocumentId", archiveData.get("eSignDocumentId"));
+            body.add("signatureStatus", archiveData.get("signatureStatus"));
+        }
+
+        // Ajouter le fichier document, transmis en flux depuis sa source
+        if (document != null) {
+            body.add("document", document);
+        }
+
+        HttpEntity<MultiValueMap<String, Object>> request = new HttpEntity<>(body, headers);
+
+        // Appeler l'API Vision
+        logger.info("Archiving document to Vision API: {}", visionApiUrl + "/archive");
+        ResponseEntity<Map<String, Object>> response = partnerResilience.call(ExternalPartner.VISION,
+            () -> restTemplate.exchange(
+                visionApiUrl + "/archive",
+                HttpMethod.POST,
+                request,
+                (Class<Map<String, Object>>) (Class<?>) Map.class
+            ));
+
+        if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
+            Map<String, Object> responseBody = response.getBody();
+
+            Map<String, Object> result = new HashMap<>();
+            result.put("documentId", responseBody.get("documentId"));
+            result.put("archiveReference", responseBody.get("archiveReference"));
+            result.put("retentionDate", responseBody.get("retentionDate"));
+            result.put("archiveLocation", responseBody.get("archiveLocation"));
+            result.put("archiveTimestamp", System.currentTimeMillis());
+
+            return result;
+        }
+        throw new RuntimeException("Vision API returned unsuccessful response: " + response.getStatusCode());
+    }
+
+    /**
+     * Document de test envoyé quand le processus ne porte aucun PDF.
+     */
+    public static Resource placeholderDocument(Map<String, Object> archiveData, String processInstanceId) {
+        String testContent = String.format("Test document - %s\nProcess ID: %s\nCustomer: %s\nTimestamp: %s",
+            archiveData.get("documentCategory"), processInstanceId,
+            archiveData.get("customerId"), LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss")));
+        return DocumentResource.fromBuffer(ByteBuffer.wrap(testContent.getBytes(StandardCharsets.UTF_8)),
+            archiveData.get("documentName") + ".pdf");
+    }
+}
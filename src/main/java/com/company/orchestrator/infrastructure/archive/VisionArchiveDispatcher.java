@@ -0,0 +1,278 @@
+package com.company.orchestrator.infrastructure.archive;
+
+import com.company.orchestrator.domain.document.DocumentReference;
+import com.company.orchestrator.domain.document.DocumentStore;
+import com.company.orchestrator.infrastructure.document.DocumentResource;
+import com.company.orchestrator.infrastructure.engine.TransactionalBatch;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.runtime.ProcessInstance;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Vide la file {@code app.archive_job} hors du chemin critique des processus.
+ * Les jobs sont réservés par lots bornés en taille ({@code batch-size}) et en temps
+ * ({@code flush-interval}), envoyés à Vision en parallèle, puis leurs résultats sont
+ * écrits en un seul batch JDBC et reportés dans les variables des instances encore actives.
+ */
+@Component
+@ConditionalOnProperty(name = "external.vision.archive-queue.enabled", havingValue = "true")
+public class VisionArchiveDispatcher implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(VisionArchiveDispatcher.class);
+
+    private final ArchiveJobRepository archiveJobRepository;
+    private final VisionArchiveClient visionArchiveClient;
+    private final DocumentStore documentStore;
+    private final RuntimeService runtimeService;
+    private final TransactionalBatch transactionalBatch;
+
+    @Value("${external.vision.archive-queue.batch-size:20}")
+    private int batchSize;
+
+    @Value("${external.vision.archive-queue.flush-interval:2000}")
+    private long flushInterval;
+
+    @Value("${external.vision.archive-queue.threads:4}")
+    private int threads;
+
+    @Value("${external.vision.archive-queue.lease-duration:120000}")
+    private long leaseDuration;
+
+    @Value("${external.vision.archive-queue.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${external.vision.archive-queue.retry-delay:30000}")
+    private long retryDelay;
+
+    private volatile boolean running;
+    private Thread poller;
+    private ExecutorService executor;
+
+    public VisionArchiveDispatcher(ArchiveJobRepository archiveJobRepository,
+                                   VisionArchiveClient visionArchiveClient,
+                                   DocumentStore documentStore,
+                                   RuntimeService runtimeService,
+                                   TransactionalBatch transactionalBatch) {
+        this.archiveJobRepository = archiveJobRepository;
+        this.visionArchiveClient = visionArchiveClient;
+        this.documentStore = documentStore;
+        this.runtimeService = runtimeService;
+        this.transactionalBatch = transactionalBatch;
+    }
+
+    @Override
+    public void start() {
+        AtomicInteger threadCount = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "vision-archive-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        running = true;
+        poller = new Thread(this::pollLoop, "vision-archive-dispatcher");
+        poller.setDaemon(true);
+        poller.start();
+
+        logger.info("Vision archive dispatcher started (batch size {}, flush interval {} ms, {} threads)",
+                batchSize, flushInterval, threads);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (poller != null) {
+            poller.interrupt();
+        }
+        if (executor != null) {
+            executor.shutdown();
+            try {
+                executor.awaitTermination(leaseDuration, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        logger.info("Vision archive dispatcher stopped");
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void pollLoop() {
+        while (running) {
+            try {
+                List<ArchiveJob> jobs = archiveJobRepository.claim(batchSize, leaseDuration);
+                if (!jobs.isEmpty()) {
+                    dispatch(jobs);
+                }
+                // Lot complet : la file contient probablement d'autres jobs, on enchaîne
+                if (jobs.size() < batchSize) {
+                    Thread.sleep(flushInterval);
+                }
+
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                logger.error("Vision archive dispatch failed", e);
+                sleepQuietly(flushInterval);
+            }
+        }
+    }
+
+    private void dispatch(List<ArchiveJob> jobs) {
+        logger.debug("Dispatching {} archive jobs to Vision", jobs.size());
+
+        List<CompletableFuture<Map<String, Object>>> futures = new ArrayList<>(jobs.size());
+        for (ArchiveJob job : jobs) {
+            futures.add(CompletableFuture.supplyAsync(() -> archive(job), executor));
+        }
+
+        List<Map.Entry<ArchiveJob, Map<String, Object>>> archived = new ArrayList<>();
+        List<ArchiveJobRepository.Failure> failures = new ArrayList<>();
+        for (int i = 0; i < jobs.size(); i++) {
+            ArchiveJob job = jobs.get(i);
+            try {
+                archived.add(new AbstractMap.SimpleImmutableEntry<>(job, futures.get(i).join()));
+            } catch (Exception e) {
+                Throwable cause = e.getCause() != null ? e.getCause() : e;
+                boolean exhausted = job.attempts() >= maxAttempts;
+                logger.warn("Archive job {} for process instance {} failed (attempt {}/{}): {}",
+                        job.id(), job.processInstanceId(), job.attempts(), maxAttempts, cause.getMessage());
+                failures.add(new ArchiveJobRepository.Failure(job, cause.getMessage(),
+                        retryDelay * (1L << Math.min(job.attempts() - 1, 10)), exhausted));
+            }
+        }
+
+        // Bail expiré et job repris par un autre nœud : ce dernier reportera son propre résultat
+        if (!archived.isEmpty()) {
+            List<Map.Entry<ArchiveJob, Map<String, Object>>> lost = archiveJobRepository.markArchived(archived);
+            lost.forEach(result -> logger.warn("Archive job {} for process instance {} lost its lease (attempt {}), "
+                    + "result discarded", result.getKey().id(), result.getKey().processInstanceId(),
+                    result.getKey().attempts()));
+            archived.removeAll(lost);
+        }
+        if (!failures.isEmpty()) {
+            List<ArchiveJobRepository.Failure> lost = archiveJobRepository.markFailed(failures);
+            lost.forEach(failure -> logger.warn("Archive job {} for process instance {} lost its lease (attempt {}), "
+                    + "failure discarded", failure.job().id(), failure.job().processInstanceId(),
+                    failure.job().attempts()));
+            failures.removeAll(lost);
+        }
+
+        writeBack(archived, failures);
+    }
+
+    private Map<String, Object> archive(ArchiveJob job) {
+        String filename = job.archiveData().get("documentName") + ".pdf";
+        Resource document;
+        if (job.documentReference() != null) {
+            DocumentReference reference = DocumentReference.parse(job.documentReference());
+            try {
+                document = DocumentResource.fromBuffer(documentStore.read(reference), filename);
+            } catch (Exception e) {
+                throw new IllegalStateException("Document " + reference + " cannot be read", e);
+            }
+        } else {
+            document = VisionArchiveClient.placeholderDocument(job.archiveData(), job.processInstanceId());
+        }
+        return visionArchiveClient.archive(job.archiveData(), document, job.processInstanceId(), job.requestId());
+    }
+
+    /**
+     * Le devis et le contrat d'une même instance sont archivés par deux jobs qui peuvent
+     * aboutir dans le même lot : chaque résultat est écrit sous les variables de sa tâche
+     * ({@link ArchiveJob#resultVariable}), et les variables {@code visionArchive*} communes
+     * ne reflètent que le dernier job de l'instance.
+     */
+    private void writeBack(List<Map.Entry<ArchiveJob, Map<String, Object>>> archived,
+                           List<ArchiveJobRepository.Failure> failures) {
+        List<ArchiveJobRepository.Failure> exhausted = failures.stream()
+                .filter(ArchiveJobRepository.Failure::exhausted)
+                .toList();
+        if (archived.isEmpty() && exhausted.isEmpty()) {
+            return;
+        }
+
+        Set<String> processInstanceIds = new HashSet<>();
+        archived.forEach(result -> processInstanceIds.add(result.getKey().processInstanceId()));
+        exhausted.forEach(failure -> processInstanceIds.add(failure.job().processInstanceId()));
+        Set<Long> latestJobs = archiveJobRepository.latestJobIds(processInstanceIds);
+
+        Map<String, Map<String, Object>> variablesByInstance = new HashMap<>();
+        for (Map.Entry<ArchiveJob, Map<String, Object>> result : archived) {
+            ArchiveJob job = result.getKey();
+            Map<String, Object> archiveResult = result.getValue();
+            Map<String, Object> variables = variablesByInstance.computeIfAbsent(job.processInstanceId(), id -> new HashMap<>());
+            variables.put(job.resultVariable(ArchiveJob.STATUS_SUFFIX), "SUCCESS");
+            variables.put(job.resultVariable(ArchiveJob.DOCUMENT_ID_SUFFIX), archiveResult.get("documentId"));
+            variables.put(job.resultVariable(ArchiveJob.REFERENCE_SUFFIX), archiveResult.get("archiveReference"));
+            variables.put(job.resultVariable(ArchiveJob.RETENTION_DATE_SUFFIX), archiveResult.get("retentionDate"));
+            variables.put(job.resultVariable(ArchiveJob.TIMESTAMP_SUFFIX), archiveResult.get("archiveTimestamp"));
+            if (latestJobs.contains(job.id())) {
+                variables.put("visionArchiveStatus", "SUCCESS");
+                variables.put("visionDocumentId", archiveResult.get("documentId"));
+                variables.put("visionArchiveReference", archiveResult.get("archiveReference"));
+                variables.put("visionRetentionDate", archiveResult.get("retentionDate"));
+                variables.put("archiveTimestamp", archiveResult.get("archiveTimestamp"));
+            }
+        }
+        for (ArchiveJobRepository.Failure failure : exhausted) {
+            ArchiveJob job = failure.job();
+            Map<String, Object> variables = variablesByInstance.computeIfAbsent(job.processInstanceId(), id -> new HashMap<>());
+            variables.put(job.resultVariable(ArchiveJob.STATUS_SUFFIX), "FAILED");
+            variables.put(job.resultVariable(ArchiveJob.ERROR_SUFFIX), failure.error());
+            if (latestJobs.contains(job.id())) {
+                variables.put("visionArchiveStatus", "FAILED");
+                variables.put("visionArchiveError", failure.error());
+            }
+        }
+
+        // Le job reste la trace de référence : une instance déjà terminée
+        // (archivage du contrat en fin de processus) ne reçoit pas les variables
+        Set<String> activeInstances = runtimeService.createProcessInstanceQuery()
+                .processInstanceIds(variablesByInstance.keySet())
+                .list().stream()
+                .map(ProcessInstance::getId)
+                .collect(Collectors.toSet());
+
+        List<String> targets = new ArrayList<>(activeInstances);
+        transactionalBatch.execute(targets, processInstanceId -> {
+            runtimeService.setVariables(processInstanceId, variablesByInstance.get(processInstanceId));
+            return null;
+        }).stream()
+                .filter(outcome -> !outcome.isSuccess())
+                .forEach(outcome -> logger.warn("Failed to write archive result to process instance {}: {}",
+                        outcome.item(), outcome.error().getMessage()));
+    }
+
+    private static void sleepQuietly(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
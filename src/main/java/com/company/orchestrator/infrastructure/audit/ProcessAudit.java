@@ -0,0 +1,99 @@
+package com.company.orchestrator.infrastructure.audit;
+
+import lombok.With;
+import org.camunda.bpm.engine.history.HistoricProcessInstance;
+
+import java.time.Instant;
+import java.util.Set;
+
+/**
+ * Ligne du modèle de lecture {@code app.process_audit}. Utilisée aussi comme
+ * modification partielle : un champ {@code null} laisse la colonne inchangée.
+ */
+@With
+public record ProcessAudit(String processInstanceId,
+                           String businessKey,
+                           String processKey,
+                           String customerId,
+                           String status,
+                           String currentActivity,
+                           String simulatorResult,
+                           String clientChoice,
+                           String profitabilityStatus,
+                           String contractStatus,
+                           String eSignUploadStatus,
+                           String visionArchiveStatus,
+                           Instant startTime,
+                           Instant endTime,
+                           Instant updatedAt) {
+
+    public static final String STATUS_RUNNING = "RUNNING";
+    public static final String STATUS_SUSPENDED = "SUSPENDED";
+    public static final String STATUS_COMPLETED = "COMPLETED";
+    public static final String STATUS_CANCELLED = "CANCELLED";
+
+    /** Variables de processus projetées dans le modèle de lecture. */
+    public static final Set<String> TRACKED_VARIABLES = Set.of("customerId", "simulatorResult", "clientChoice",
+            "profitabilityStatus", "contractStatus", "eSignUploadStatus", "visionArchiveStatus");
+
+    public static ProcessAudit empty(String processInstanceId) {
+        return new ProcessAudit(processInstanceId, null, null, null, null, null, null, null, null, null, null, null,
+                null, null, null);
+    }
+
+    /**
+     * Combine deux modifications successives de la même instance : les champs
+     * renseignés de {@code later} l'emportent.
+     */
+    public ProcessAudit merge(ProcessAudit later) {
+        return new ProcessAudit(processInstanceId,
+                later.businessKey != null ? later.businessKey : businessKey,
+                later.processKey != null ? later.processKey : processKey,
+                later.customerId != null ? later.customerId : customerId,
+                later.status != null ? later.status : status,
+                later.currentActivity != null ? later.currentActivity : currentActivity,
+                later.simulatorResult != null ? later.simulatorResult : simulatorResult,
+                later.clientChoice != null ? later.clientChoice : clientChoice,
+                later.profitabilityStatus != null ? later.profitabilityStatus : profitabilityStatus,
+                later.contractStatus != null ? later.contractStatus : contractStatus,
+                later.eSignUploadStatus != null ? later.eSignUploadStatus : eSignUploadStatus,
+                later.visionArchiveStatus != null ? later.visionArchiveStatus : visionArchiveStatus,
+                later.startTime != null ? later.startTime : startTime,
+                later.endTime != null ? later.endTime : endTime,
+                later.updatedAt != null ? later.updatedAt : updatedAt);
+    }
+
+    /**
+     * Statut du modèle de lecture correspondant à l'état d'une instance historique.
+     */
+    public static String statusOf(String historicState) {
+        if (historicState == null) {
+            return null;
+        }
+        return switch (historicState) {
+            case HistoricProcessInstance.STATE_ACTIVE -> STATUS_RUNNING;
+            case HistoricProcessInstance.STATE_SUSPENDED -> STATUS_SUSPENDED;
+            case HistoricProcessInstance.STATE_COMPLETED -> STATUS_COMPLETED;
+            case HistoricProcessInstance.STATE_EXTERNALLY_TERMINATED,
+                 HistoricProcessInstance.STATE_INTERNALLY_TERMINATED -> STATUS_CANCELLED;
+            default -> historicState;
+        };
+    }
+
+    /**
+     * Modification portée par une variable suivie, ou {@code null} si la variable
+     * n'est pas projetée dans le modèle de lecture.
+     */
+    public ProcessAudit withVariable(String name, String value) {
+        return switch (name) {
+            case "customerId" -> withCustomerId(value);
+            case "simulatorResult" -> withSimulatorResult(value);
+            case "clientChoice" -> withClientChoice(value);
+            case "profitabilityStatus" -> withProfitabilityStatus(value);
+            case "contractStatus" -> withContractStatus(value);
+            case "eSignUploadStatus" -> withESignUploadStatus(value);
+            case "visionArchiveStatus" -> withVisionArchiveStatus(value);
+            default -> null;
+        };
+    }
+}
@@ -0,0 +1,125 @@
+package com.company.orchestrator.infrastructure.audit;
+
+import org.camunda.bpm.engine.impl.history.event.HistoricActivityInstanceEventEntity;
+import org.camunda.bpm.engine.impl.history.event.HistoricProcessInstanceEventEntity;
+import org.camunda.bpm.engine.impl.history.event.HistoricVariableUpdateEventEntity;
+import org.camunda.bpm.engine.impl.history.event.HistoryEvent;
+import org.camunda.bpm.engine.impl.history.event.HistoryEventTypes;
+import org.camunda.bpm.engine.impl.history.handler.HistoryEventHandler;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Projette les événements d'historique (début/fin d'instance, activités, variables
+ * suivies) dans {@code app.process_audit}. Les modifications sont accumulées pendant
+ * la transaction moteur et remises au {@link ProcessAuditProjector} après son commit :
+ * aucune écriture du modèle de lecture n'a lieu dans la transaction du processus.
+ */
+public class ProcessAuditHistoryEventHandler implements HistoryEventHandler {
+
+    private final ProcessAuditProjector projector;
+
+    public ProcessAuditHistoryEventHandler(ProcessAuditProjector projector) {
+        this.projector = projector;
+    }
+
+    @Override
+    public void handleEvent(HistoryEvent historyEvent) {
+        ProcessAudit change = toChange(historyEvent);
+        if (change == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            pendingChanges().add(change);
+        } else {
+            projector.enqueue(List.of(change));
+        }
+    }
+
+    @Override
+    public void handleEvents(List<HistoryEvent> historyEvents) {
+        for (HistoryEvent historyEvent : historyEvents) {
+            handleEvent(historyEvent);
+        }
+    }
+
+    static ProcessAudit toChange(HistoryEvent event) {
+        if (event.getProcessInstanceId() == null) {
+            return null;
+        }
+        ProcessAudit change = ProcessAudit.empty(event.getProcessInstanceId());
+
+        if (event instanceof HistoricProcessInstanceEventEntity processEvent) {
+            if (event.isEventOfType(HistoryEventTypes.PROCESS_INSTANCE_START)) {
+                return change.withBusinessKey(processEvent.getBusinessKey())
+                        .withProcessKey(processEvent.getProcessDefinitionKey())
+                        .withStatus(ProcessAudit.STATUS_RUNNING)
+                        .withStartTime(toInstant(processEvent.getStartTime()));
+            }
+            if (event.isEventOfType(HistoryEventTypes.PROCESS_INSTANCE_END)) {
+                return change.withStatus(ProcessAudit.statusOf(processEvent.getState()))
+                        .withEndTime(toInstant(processEvent.getEndTime()));
+            }
+            if (event.isEventOfType(HistoryEventTypes.PROCESS_INSTANCE_UPDATE)) {
+                return change.withStatus(ProcessAudit.statusOf(processEvent.getState()));
+            }
+            return null;
+        }
+
+        if (event instanceof HistoricActivityInstanceEventEntity activityEvent) {
+            // La fin d'une activité est suivie du début de la suivante dans la même transaction
+            return event.isEventOfType(HistoryEventTypes.ACTIVITY_INSTANCE_START)
+                    ? change.withCurrentActivity(activityEvent.getActivityId())
+                    : null;
+        }
+
+        if (event instanceof HistoricVariableUpdateEventEntity variableEvent
+                && !event.isEventOfType(HistoryEventTypes.VARIABLE_INSTANCE_DELETE)) {
+            return change.withVariable(variableEvent.getVariableName(), valueOf(variableEvent));
+        }
+        return null;
+    }
+
+    private List<ProcessAudit> pendingChanges() {
+        @SuppressWarnings("unchecked")
+        List<ProcessAudit> changes = (List<ProcessAudit>) TransactionSynchronizationManager.getResource(this);
+        if (changes != null) {
+            return changes;
+        }
+
+        List<ProcessAudit> newChanges = new ArrayList<>();
+        TransactionSynchronizationManager.bindResource(this, newChanges);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(ProcessAuditHistoryEventHandler.this);
+                if (status == STATUS_COMMITTED) {
+                    projector.enqueue(newChanges);
+                }
+            }
+        });
+        return newChanges;
+    }
+
+    private static String valueOf(HistoricVariableUpdateEventEntity variableEvent) {
+        if (variableEvent.getTextValue() != null) {
+            return variableEvent.getTextValue();
+        }
+        if (variableEvent.getLongValue() != null) {
+            return variableEvent.getLongValue().toString();
+        }
+        if (variableEvent.getDoubleValue() != null) {
+            return variableEvent.getDoubleValue().toString();
+        }
+        return null;
+    }
+
+    private static Instant toInstant(Date date) {
+        return date != null ? date.toInstant() : null;
+    }
+}
@@ -0,0 +1,33 @@
+package com.company.orchestrator.infrastructure.audit;
+
+import org.camunda.bpm.engine.impl.cfg.AbstractProcessEnginePlugin;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+
+/**
+ * Ajoute {@link ProcessAuditHistoryEventHandler} aux handlers d'historique du moteur,
+ * à côté du handler par défaut qui continue d'alimenter les tables ACT_HI_*. Le handler
+ * n'est pas un bean : le starter Camunda enregistre déjà l'unique bean
+ * {@code HistoryEventHandler} du contexte, ce qui le doublerait.
+ */
+@Component
+@ConditionalOnProperty(name = "orchestrator.process-audit.enabled", havingValue = "true")
+public class ProcessAuditPlugin extends AbstractProcessEnginePlugin {
+
+    private final ProcessAuditHistoryEventHandler historyEventHandler;
+
+    public ProcessAuditPlugin(ProcessAuditProjector projector) {
+        this.historyEventHandler = new ProcessAuditHistoryEventHandler(projector);
+    }
+
+    @Override
+    public void preInit(ProcessEngineConfigurationImpl configuration) {
+        if (configuration.getCustomHistoryEventHandlers() == null) {
+            configuration.setCustomHistoryEventHandlers(new ArrayList<>());
+        }
+        configuration.getCustomHistoryEventHandlers().add(historyEventHandler);
+    }
+}
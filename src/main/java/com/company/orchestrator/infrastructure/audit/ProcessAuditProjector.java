@@ -0,0 +1,196 @@
+package com.company.orchestrator.infrastructure.audit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * File bornée entre les transactions moteur et {@code app.process_audit}. Les
+ * modifications validées y sont déposées ; un thread les regroupe par instance et
+ * les écrit par batch JDBC, en une transaction par lot. Si la file est pleine,
+ * l'appelant attend au plus {@code enqueue-timeout} puis la modification est
+ * abandonnée et comptée (une reconstruction depuis ACT_HI la rattrape).
+ */
+@Component
+@ConditionalOnProperty(name = "orchestrator.process-audit.enabled", havingValue = "true")
+public class ProcessAuditProjector implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProcessAuditProjector.class);
+
+    private final ProcessAuditRepository processAuditRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final BlockingQueue<ProcessAudit> queue;
+    private final int batchSize;
+    private final long flushInterval;
+    private final long enqueueTimeout;
+
+    private final Counter enqueued;
+    private final Counter dropped;
+    private final Counter written;
+    private final Counter failed;
+    private final Timer flushTimer;
+
+    private volatile boolean running;
+    private Thread flusher;
+
+    public ProcessAuditProjector(ProcessAuditRepository processAuditRepository,
+                                 PlatformTransactionManager transactionManager,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${orchestrator.process-audit.queue-capacity:10000}") int queueCapacity,
+                                 @Value("${orchestrator.process-audit.batch-size:500}") int batchSize,
+                                 @Value("${orchestrator.process-audit.flush-interval:200}") long flushInterval,
+                                 @Value("${orchestrator.process-audit.enqueue-timeout:50}") long enqueueTimeout) {
+        this.processAuditRepository = processAuditRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.flushInterval = flushInterval;
+        this.enqueueTimeout = enqueueTimeout;
+
+        Gauge.builder("process.audit.queue.size", queue, BlockingQueue::size)
+                .description("Read-model changes waiting to be written")
+                .register(meterRegistry);
+        Gauge.builder("process.audit.queue.remaining", queue, BlockingQueue::remainingCapacity)
+                .description("Free slots before the projection applies backpressure")
+                .register(meterRegistry);
+        this.enqueued = Counter.builder("process.audit.changes.enqueued").register(meterRegistry);
+        this.dropped = Counter.builder("process.audit.changes.dropped")
+                .description("Changes dropped because the queue stayed full")
+                .register(meterRegistry);
+        this.written = Counter.builder("process.audit.rows.written").register(meterRegistry);
+        this.failed = Counter.builder("process.audit.rows.failed").register(meterRegistry);
+        this.flushTimer = Timer.builder("process.audit.flush").register(meterRegistry);
+    }
+
+    /**
+     * Dépose les modifications d'une transaction validée.
+     */
+    public void enqueue(Collection<ProcessAudit> changes) {
+        for (ProcessAudit change : changes) {
+            try {
+                if (queue.offer(change, enqueueTimeout, TimeUnit.MILLISECONDS)) {
+                    enqueued.increment();
+                } else {
+                    dropped.increment();
+                    logger.warn("Process audit queue full, dropping change for process instance {}",
+                            change.processInstanceId());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                dropped.increment();
+                return;
+            }
+        }
+    }
+
+    public int queueSize() {
+        return queue.size();
+    }
+
+    public int remainingCapacity() {
+        return queue.remainingCapacity();
+    }
+
+    public long droppedChanges() {
+        return (long) dropped.count();
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        flusher = new Thread(this::flushLoop, "process-audit-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+        logger.info("Process audit projector started (batch size {}, flush interval {} ms)", batchSize, flushInterval);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (flusher != null) {
+            flusher.interrupt();
+            try {
+                flusher.join(flushInterval * 10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        // Écrire ce qui reste avant l'arrêt
+        List<ProcessAudit> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        if (!remaining.isEmpty()) {
+            flush(remaining);
+        }
+        logger.info("Process audit projector stopped");
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        // Phase inférieure aux workers (phase par défaut) : arrêté après eux,
+        // pour écrire leurs dernières modifications
+        return DEFAULT_PHASE - 1000;
+    }
+
+    private void flushLoop() {
+        List<ProcessAudit> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                ProcessAudit first = queue.poll(flushInterval, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                flush(batch);
+
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                logger.error("Process audit flush loop failed", e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<ProcessAudit> changes) {
+        // Une ligne par instance : les modifications successives sont fusionnées dans l'ordre
+        Map<String, ProcessAudit> folded = new LinkedHashMap<>();
+        for (ProcessAudit change : changes) {
+            folded.merge(change.processInstanceId(), change, ProcessAudit::merge);
+        }
+
+        try {
+            flushTimer.record(() -> transactionTemplate.executeWithoutResult(
+                    status -> processAuditRepository.upsert(folded.values())));
+            written.increment(folded.size());
+        } catch (RuntimeException e) {
+            failed.increment(folded.size());
+            logger.warn("Failed to write {} process audit rows: {}", folded.size(), e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.company.orchestrator.infrastructure.audit;
+
+import org.camunda.bpm.engine.HistoryService;
+import org.camunda.bpm.engine.ManagementService;
+import org.camunda.bpm.engine.history.HistoricActivityInstance;
+import org.camunda.bpm.engine.history.HistoricProcessInstance;
+import org.camunda.bpm.engine.history.HistoricVariableInstance;
+import org.camunda.bpm.engine.history.NativeHistoricActivityInstanceQuery;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Reconstruit {@code app.process_audit} à partir des tables ACT_HI_* : instances,
+ * activités en cours et variables suivies, page par page. Sert après une perte de
+ * modifications (file pleine, erreur d'écriture) ou à l'activation de la projection
+ * sur une base existante.
+ */
+@Component
+@ConditionalOnProperty(name = "orchestrator.process-audit.enabled", havingValue = "true")
+public class ProcessAuditRebuilder {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProcessAuditRebuilder.class);
+
+    private final HistoryService historyService;
+    private final ManagementService managementService;
+    private final ProcessAuditRepository processAuditRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${orchestrator.process-audit.rebuild-page-size:500}")
+    private int pageSize;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicLong processedInstances = new AtomicLong();
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+    private volatile String lastError;
+
+    public ProcessAuditRebuilder(HistoryService historyService,
+                                 ManagementService managementService,
+                                 ProcessAuditRepository processAuditRepository,
+                                 PlatformTransactionManager transactionManager) {
+        this.historyService = historyService;
+        this.managementService = managementService;
+        this.processAuditRepository = processAuditRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Lance la reconstruction en arrière-plan. Renvoie {@code false} si une
+     * reconstruction est déjà en cours.
+     */
+    public boolean startRebuild() {
+        if (!running.compareAndSet(false, true)) {
+            return false;
+        }
+        processedInstances.set(0);
+        startedAt = Instant.now();
+        finishedAt = null;
+        lastError = null;
+
+        Thread thread = new Thread(this::rebuild, "process-audit-rebuild");
+        thread.setDaemon(true);
+        thread.start();
+        return true;
+    }
+
+    public Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("running", running.get());
+        status.put("processedInstances", processedInstances.get());
+        status.put("startedAt", startedAt);
+        status.put("finishedAt", finishedAt);
+        status.put("lastError", lastError);
+        return status;
+    }
+
+    private void rebuild() {
+        logger.info("Rebuilding process_audit from history");
+        try {
+            int firstResult = 0;
+            List<HistoricProcessInstance> instances;
+            do {
+                instances = historyService.createHistoricProcessInstanceQuery()
+                        .orderByProcessInstanceId().asc()
+                        .listPage(firstResult, pageSize);
+                if (!instances.isEmpty()) {
+                    List<ProcessAudit> rows = project(instances);
+                    transactionTemplate.executeWithoutResult(status -> processAuditRepository.upsert(rows));
+                    processedInstances.addAndGet(rows.size());
+                }
+                firstResult += pageSize;
+            } while (instances.size() == pageSize);
+
+            logger.info("Process_audit rebuild finished: {} instances", processedInstances.get());
+
+        } catch (RuntimeException e) {
+            lastError = e.getMessage();
+            logger.error("Process_audit rebuild failed after {} instances", processedInstances.get(), e);
+        } finally {
+            finishedAt = Instant.now();
+            running.set(false);
+        }
+    }
+
+    private List<ProcessAudit> project(List<HistoricProcessInstance> instances) {
+        Map<String, ProcessAudit> rows = new LinkedHashMap<>();
+        for (HistoricProcessInstance instance : instances) {
+            rows.put(instance.getId(), ProcessAudit.empty(instance.getId())
+                    .withBusinessKey(instance.getBusinessKey())
+                    .withProcessKey(instance.getProcessDefinitionKey())
+                    .withStatus(ProcessAudit.statusOf(instance.getState()))
+                    .withStartTime(toInstant(instance.getStartTime()))
+                    .withEndTime(toInstant(instance.getEndTime())));
+        }
+        String[] processInstanceIds = rows.keySet().toArray(String[]::new);
+
+        // Activité courante : la dernière activité non terminée de chaque instance
+        for (HistoricActivityInstance activity : unfinishedActivities(processInstanceIds)) {
+            rows.computeIfPresent(activity.getProcessInstanceId(),
+                    (id, row) -> row.withCurrentActivity(activity.getActivityId()));
+        }
+
+        List<HistoricVariableInstance> variables = historyService.createHistoricVariableInstanceQuery()
+                .processInstanceIdIn(processInstanceIds)
+                .variableNameIn(ProcessAudit.TRACKED_VARIABLES.toArray(String[]::new))
+                .disableBinaryFetching()
+                .disableCustomObjectDeserialization()
+                .list();
+        for (HistoricVariableInstance variable : variables) {
+            if (variable.getValue() != null) {
+                rows.computeIfPresent(variable.getProcessInstanceId(),
+                        (id, row) -> row.withVariable(variable.getName(), variable.getValue().toString()));
+            }
+        }
+        return List.copyOf(rows.values());
+    }
+
+    private List<HistoricActivityInstance> unfinishedActivities(String[] processInstanceIds) {
+        StringJoiner placeholders = new StringJoiner(", ", "(", ")");
+        for (int i = 0; i < processInstanceIds.length; i++) {
+            placeholders.add("#{id" + i + "}");
+        }
+
+        NativeHistoricActivityInstanceQuery query = historyService.createNativeHistoricActivityInstanceQuery()
+                .sql("SELECT * FROM " + managementService.getTableName(HistoricActivityInstance.class)
+                        + " WHERE END_TIME_ IS NULL AND PROC_INST_ID_ IN " + placeholders
+                        + " ORDER BY START_TIME_ ASC");
+        for (int i = 0; i < processInstanceIds.length; i++) {
+            query.parameter("id" + i, processInstanceIds[i]);
+        }
+        return query.list();
+    }
+
+    private static Instant toInstant(Date date) {
+        return date != null ? date.toInstant() : null;
+    }
+}
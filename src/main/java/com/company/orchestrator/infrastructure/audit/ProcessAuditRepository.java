@@ -0,0 +1,112 @@
+package com.company.orchestrator.infrastructure.audit;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Accès JDBC au modèle de lecture {@code app.process_audit} (une ligne par instance).
+ */
+@Repository
+public class ProcessAuditRepository {
+
+    private static final String COLUMNS = "process_instance_id, business_key, process_key, customer_id, status, "
+        + "current_activity, simulator_result, client_choice, profitability_status, contract_status, "
+        + "esign_upload_status, vision_archive_status, start_time, end_time, updated_at";
+
+    private static final String SELECT_SQL = "SELECT " + COLUMNS + " FROM app.process_audit WHERE process_instance_id = ?";
+
+    // Les colonnes null de la modification conservent la valeur existante ;
+    // la fin de l'instance efface l'activité courante
+    private static final String UPSERT_SQL =
+        "INSERT INTO app.process_audit AS pa (" + COLUMNS + ") "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, CURRENT_TIMESTAMP) "
+            + "ON CONFLICT (process_instance_id) DO UPDATE SET "
+            + "business_key = COALESCE(EXCLUDED.business_key, pa.business_key), "
+            + "process_key = COALESCE(EXCLUDED.process_key, pa.process_key), "
+            + "customer_id = COALESCE(EXCLUDED.customer_id, pa.customer_id), "
+            + "status = COALESCE(EXCLUDED.status, pa.status), "
+            + "current_activity = CASE WHEN EXCLUDED.end_time IS NOT NULL THEN NULL "
+            + "ELSE COALESCE(EXCLUDED.current_activity, pa.current_activity) END, "
+            + "simulator_result = COALESCE(EXCLUDED.simulator_result, pa.simulator_result), "
+            + "client_choice = COALESCE(EXCLUDED.client_choice, pa.client_choice), "
+            + "profitability_status = COALESCE(EXCLUDED.profitability_status, pa.profitability_status), "
+            + "contract_status = COALESCE(EXCLUDED.contract_status, pa.contract_status), "
+            + "esign_upload_status = COALESCE(EXCLUDED.esign_upload_status, pa.esign_upload_status), "
+            + "vision_archive_status = COALESCE(EXCLUDED.vision_archive_status, pa.vision_archive_status), "
+            + "start_time = COALESCE(EXCLUDED.start_time, pa.start_time), "
+            + "end_time = COALESCE(EXCLUDED.end_time, pa.end_time), "
+            + "updated_at = CURRENT_TIMESTAMP";
+
+    private static final RowMapper<ProcessAudit> ROW_MAPPER = (rs, rowNum) -> new ProcessAudit(
+        rs.getString("process_instance_id"),
+        rs.getString("business_key"),
+        rs.getString("process_key"),
+        rs.getString("customer_id"),
+        rs.getString("status"),
+        rs.getString("current_activity"),
+        rs.getString("simulator_result"),
+        rs.getString("client_choice"),
+        rs.getString("profitability_status"),
+        rs.getString("contract_status"),
+        rs.getString("esign_upload_status"),
+        rs.getString("vision_archive_status"),
+        toInstant(rs.getTimestamp("start_time")),
+        toInstant(rs.getTimestamp("end_time")),
+        toInstant(rs.getTimestamp("updated_at"))
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ProcessAuditRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public Optional<ProcessAudit> findByProcessInstanceId(String processInstanceId) {
+        List<ProcessAudit> rows = jdbcTemplate.query(SELECT_SQL, ROW_MAPPER, processInstanceId);
+        return rows.stream().findFirst();
+    }
+
+    /**
+     * Applique les modifications en un seul batch JDBC, dans l'ordre fourni.
+     */
+    public void upsert(Collection<ProcessAudit> changes) {
+        if (changes.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(UPSERT_SQL, changes, changes.size(), ProcessAuditRepository::bind);
+    }
+
+    private static void bind(PreparedStatement ps, ProcessAudit change) throws SQLException {
+        ps.setString(1, change.processInstanceId());
+        ps.setString(2, change.businessKey());
+        ps.setString(3, change.processKey());
+        ps.setString(4, change.customerId());
+        ps.setString(5, change.status());
+        ps.setString(6, change.currentActivity());
+        ps.setString(7, change.simulatorResult());
+        ps.setString(8, change.clientChoice());
+        ps.setString(9, change.profitabilityStatus());
+        ps.setString(10, change.contractStatus());
+        ps.setString(11, change.eSignUploadStatus());
+        ps.setString(12, change.visionArchiveStatus());
+        ps.setTimestamp(13, toTimestamp(change.startTime()));
+        ps.setTimestamp(14, toTimestamp(change.endTime()));
+    }
+
+    private static Timestamp toTimestamp(Instant instant) {
+        return instant != null ? Timestamp.from(instant) : null;
+    }
+
+    private static Instant toInstant(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toInstant() : null;
+    }
+}
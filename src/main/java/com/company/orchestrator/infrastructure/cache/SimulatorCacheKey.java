@@ -0,0 +1,52 @@
+package com.company.orchestrator.infrastructure.cache;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Clé normalisée des entrées qui déterminent le verdict du simulateur.
+ * Le montant est ramené à la borne basse de sa tranche lorsque
+ * {@code amountBucketSize} est strictement positif. Une clé dont une entrée
+ * manque ou est invalide n'est pas {@link #isComplete() complète} et ne doit pas
+ * être mise en cache : toutes les demandes sans ces variables la partageraient.
+ */
+public record SimulatorCacheKey(String customerType, BigDecimal amountBucket, String requestedProduct, String riskProfile) {
+
+    public static SimulatorCacheKey from(Map<String, Object> formData, BigDecimal amountBucketSize) {
+        return new SimulatorCacheKey(
+                normalize(formData.get("customerType")),
+                bucket(formData.get("requestedAmount"), amountBucketSize),
+                normalize(formData.get("requestedProduct")),
+                normalize(formData.get("riskProfile")));
+    }
+
+    public boolean isComplete() {
+        return customerType != null && amountBucket != null && requestedProduct != null && riskProfile != null;
+    }
+
+    private static String normalize(Object value) {
+        if (value == null) {
+            return null;
+        }
+        String normalized = value.toString().trim().toUpperCase(Locale.ROOT);
+        return normalized.isEmpty() ? null : normalized;
+    }
+
+    private static BigDecimal bucket(Object amount, BigDecimal bucketSize) {
+        if (amount == null) {
+            return null;
+        }
+        BigDecimal value;
+        try {
+            value = new BigDecimal(amount.toString().trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        if (bucketSize == null || bucketSize.signum() <= 0) {
+            return value.stripTrailingZeros();
+        }
+        return value.divide(bucketSize, 0, RoundingMode.FLOOR).multiply(bucketSize);
+    }
+}
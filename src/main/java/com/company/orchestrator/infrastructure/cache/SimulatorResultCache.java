@@ -0,0 +1,88 @@
+package com.company.orchestrator.infrastructure.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Cache borné (taille + TTL) des verdicts STANDARD/SPECIFIC du simulateur,
+ * indexé par {@link SimulatorCacheKey}. Les métriques hit/miss/eviction sont
+ * publiées sous le nom de cache {@value #CACHE_NAME}. Les clés incomplètes ne sont
+ * ni lues ni écrites : la demande est toujours envoyée au simulateur.
+ */
+@Component
+public class SimulatorResultCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(SimulatorResultCache.class);
+    static final String CACHE_NAME = "simulatorResults";
+
+    private final Cache<SimulatorCacheKey, String> cache;
+    private final boolean enabled;
+    private final BigDecimal amountBucketSize;
+
+    public SimulatorResultCache(MeterRegistry meterRegistry,
+                                @Value("${external.simulator.cache.enabled:true}") boolean enabled,
+                                @Value("${external.simulator.cache.ttl:30m}") Duration ttl,
+                                @Value("${external.simulator.cache.maximum-size:10000}") long maximumSize,
+                                @Value("${external.simulator.cache.amount-bucket-size:0}") BigDecimal amountBucketSize) {
+        this.enabled = enabled;
+        this.amountBucketSize = amountBucketSize;
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+
+        logger.info("Simulator result cache {} (ttl={}, maximumSize={}, amountBucketSize={})",
+                enabled ? "enabled" : "disabled", ttl, maximumSize, amountBucketSize);
+    }
+
+    public SimulatorCacheKey keyFor(Map<String, Object> formData) {
+        return SimulatorCacheKey.from(formData, amountBucketSize);
+    }
+
+    public Optional<String> get(SimulatorCacheKey key) {
+        if (!enabled || !key.isComplete()) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(cache.getIfPresent(key));
+    }
+
+    public void put(SimulatorCacheKey key, String simulatorResult) {
+        if (enabled && key.isComplete()) {
+            cache.put(key, simulatorResult);
+        }
+    }
+
+    public long invalidateAll() {
+        long size = cache.estimatedSize();
+        cache.invalidateAll();
+        logger.info("Simulator result cache invalidated ({} entries)", size);
+        return size;
+    }
+
+    public Map<String, Object> statistics() {
+        CacheStats stats = cache.stats();
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put("enabled", enabled);
+        statistics.put("size", cache.estimatedSize());
+        statistics.put("hitCount", stats.hitCount());
+        statistics.put("missCount", stats.missCount());
+        statistics.put("hitRate", stats.hitRate());
+        statistics.put("evictionCount", stats.evictionCount());
+        return statistics;
+    }
+}
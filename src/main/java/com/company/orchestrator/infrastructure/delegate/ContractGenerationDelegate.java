@@ -1,9 +1,14 @@
 package com.company.orchestrator.infrastructure.delegate;
 
+import com.company.orchestrator.infrastructure.document.DocumentVariables;
+import com.company.orchestrator.infrastructure.http.ExternalPartner;
+import com.company.orchestrator.infrastructure.http.PartnerResilience;
+import com.company.orchestrator.infrastructure.tracing.ServiceTaskTracing;
 import org.camunda.bpm.engine.delegate.DelegateExecution;
 import org.camunda.bpm.engine.delegate.JavaDelegate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
@@ -16,13 +21,21 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
 @Component("contractGenerationDelegate")
-public class ContractGenerationDelegate implements JavaDelegate {
+public class ContractGenerationDelegate implements JavaDelegate, ServiceTaskHandler {
 
     private static final Logger logger = LoggerFactory.getLogger(ContractGenerationDelegate.class);
+
+    private static final List<String> VARIABLES = List.of(
+        "customerId", "customerName", "customerEmail", "customerAddress", "requestedProduct",
+        "requestedAmount", "appliedTariff", "tariffConditions", "simulatorResult", "profitabilityStatus",
+        "profitabilityScore", "quoteId", "quoteAmount", "quotedTerms", "quoteModifications", "riskProfile",
+        "businessUnit", "salesRepresentative");
+
     private static final String GENERATION_SUCCESS = "SUCCESS";
     private static final String GENERATION_FAILED = "FAILED";
     private static final String CONTRACT_TYPE_STANDARD = "STANDARD";
@@ -31,6 +44,9 @@ public class ContractGenerationDelegate implements JavaDelegate {
     private static final String CONTRACT_STATUS_READY = "READY_FOR_SIGNATURE";
     
     private final RestTemplate restTemplate;
+    private final DocumentVariables documentVariables;
+    private final PartnerResilience partnerResilience;
+    private final DelegateMetrics delegateMetrics;
     
     @Value("${external.contract.generator.url:http://localhost:8085/api/contract}")
     private String contractGeneratorUrl;
@@ -41,12 +57,34 @@ public class ContractGenerationDelegate implements JavaDelegate {
     @Value("${contract.template.path:templates/}")
     private String contractTemplatePath;
     
-    public ContractGenerationDelegate(RestTemplate restTemplate) {
+    public ContractGenerationDelegate(@Qualifier("contractGeneratorRestTemplate") RestTemplate restTemplate,
+                                      DocumentVariables documentVariables,
+                                      PartnerResilience partnerResilience,
+                                      DelegateMetrics delegateMetrics) {
         this.restTemplate = restTemplate;
+        this.documentVariables = documentVariables;
+        this.partnerResilience = partnerResilience;
+        this.delegateMetrics = delegateMetrics;
     }
     
     @Override
     public void execute(DelegateExecution execution) throws Exception {
+        ServiceTaskContext context = ServiceTaskContext.of(execution);
+        ServiceTaskTracing.execute(context, () -> delegateMetrics.execute(this, context));
+    }
+    
+    @Override
+    public ExternalPartner partner() {
+        return ExternalPartner.CONTRACT_GENERATOR;
+    }
+
+    @Override
+    public List<String> variableNames() {
+        return VARIABLES;
+    }
+    
+    @Override
+    public void execute(ServiceTaskContext execution) throws Exception {
         logger.info("Executing ContractGenerationDelegate for process instance: {}", execution.getProcessInstanceId());
         
         try {
@@ -54,12 +92,18 @@ public class ContractGenerationDelegate implements JavaDelegate {
             Map<String, Object> contractData = prepareContractData(execution);
             
             // Générer le contrat
-            Map<String, Object> generationResult = generateContract(contractData, execution.getProcessInstanceId());
+            Map<String, Object> generationResult = generateContract(contractData, execution.getProcessInstanceId(), execution.getRequestId());
             
             // Stocker les résultats
             execution.setVariable("contractGenerationStatus", GENERATION_SUCCESS);
             execution.setVariable("contractId", generationResult.get("contractId"));
-            execution.setVariable("contractPdf", generationResult.get("contractPdf"));
+            
+            // Le PDF va dans le document store, seule sa référence est une variable du processus
+            Object contractPdf = generationResult.get("contractPdf");
+            if (contractPdf != null) {
+                execution.setVariable(DocumentVariables.CONTRACT_DOCUMENT, documentVariables.store(contractPdf).toString());
+            }
+            
             execution.setVariable("contractStatus", generationResult.get("contractStatus"));
             execution.setVariable("contractType", generationResult.get("contractType"));
             execution.setVariable("contractGenerationTimestamp", System.currentTimeMillis());
@@ -82,7 +126,8 @@ public class ContractGenerationDelegate implements JavaDelegate {
         }
     }
     
-    private Map<String, Object> prepareContractData(DelegateExecution execution) {
+    // Visibilité package : mesurée par le module benchmarks
+    Map<String, Object> prepareContractData(ServiceTaskContext execution) {
         Map<String, Object> contractData = new HashMap<>();
         
         // Métadonnées de base
@@ -133,7 +178,7 @@ public class ContractGenerationDelegate implements JavaDelegate {
         return contractData;
     }
     
-    private String determineContractType(DelegateExecution execution) {
+    private String determineContractType(ServiceTaskContext execution) {
         // Vérifier si des conditions spécifiques ont été appliquées
         Object simulatorResult = execution.getVariable("simulatorResult");
         if ("SPECIFIC".equals(simulatorResult)) {
@@ -155,7 +200,7 @@ public class ContractGenerationDelegate implements JavaDelegate {
         return CONTRACT_TYPE_STANDARD;
     }
     
-    private BigDecimal calculateFinalAmount(DelegateExecution execution) {
+    private BigDecimal calculateFinalAmount(ServiceTaskContext execution) {
         // Essayer d'abord de récupérer le montant du devis s'il existe
         Object quoteAmount = execution.getVariable("quoteAmount");
         if (quoteAmount != null) {
@@ -180,24 +225,25 @@ public class ContractGenerationDelegate implements JavaDelegate {
         return BigDecimal.ZERO;
     }
     
-    private Map<String, Object> generateContract(Map<String, Object> contractData, String processInstanceId) {
+    private Map<String, Object> generateContract(Map<String, Object> contractData, String processInstanceId, String requestId) {
         try {
             // Préparer les headers
             HttpHeaders headers = new HttpHeaders();
             headers.setContentType(MediaType.APPLICATION_JSON);
             headers.set("Authorization", "Bearer " + contractGeneratorApiKey);
-            headers.set("X-Request-ID", processInstanceId);
+            headers.set("X-Request-ID", requestId);
             headers.set("X-Contract-Type", contractData.get("contractType").toString());
             
             HttpEntity<Map<String, Object>> request = new HttpEntity<>(contractData, headers);
             
             // Appeler l'API de génération de contrat
             logger.info("Calling contract generator API: {}", contractGeneratorUrl + "/generate");
-            ResponseEntity<Map<String, Object>> response = restTemplate.postForEntity(
-                contractGeneratorUrl + "/generate",
-                request,
-                (Class<Map<String, Object>>) (Class<?>) Map.class
-            );
+            ResponseEntity<Map<String, Object>> response = partnerResilience.call(ExternalPartner.CONTRACT_GENERATOR,
+                () -> restTemplate.postForEntity(
+                    contractGeneratorUrl + "/generate",
+                    request,
+                    (Class<Map<String, Object>>) (Class<?>) Map.class
+                ));
             
             if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
                 Map<String, Object> responseBody = response.getBody();
@@ -228,6 +274,7 @@ public class ContractGenerationDelegate implements JavaDelegate {
     
     private Map<String, Object> generateMockContract(Map<String, Object> contractData, String processInstanceId) {
         logger.warn("Using mock contract generation due to API failure");
+        DelegateMetrics.fallbackUsed();
         
         Map<String, Object> mockResult = new HashMap<>();
         
@@ -251,7 +298,8 @@ public class ContractGenerationDelegate implements JavaDelegate {
         return mockResult;
     }
     
-    private String generateMockContractContent(Map<String, Object> contractData, String contractId) {
+    // Visibilité package : mesurée par le module benchmarks
+    String generateMockContractContent(Map<String, Object> contractData, String contractId) {
         StringBuilder content = new StringBuilder();
         content.append("CONTRACT DOCUMENT\n");
         content.append("=================\n\n");
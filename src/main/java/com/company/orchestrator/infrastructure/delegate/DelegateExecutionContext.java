@@ -0,0 +1,37 @@
+package com.company.orchestrator.infrastructure.delegate;
+
+import org.camunda.bpm.engine.delegate.DelegateExecution;
+
+class DelegateExecutionContext implements ServiceTaskContext {
+
+    private final DelegateExecution execution;
+
+    DelegateExecutionContext(DelegateExecution execution) {
+        this.execution = execution;
+    }
+
+    @Override
+    public String getProcessInstanceId() {
+        return execution.getProcessInstanceId();
+    }
+
+    @Override
+    public String getCurrentActivityId() {
+        return execution.getCurrentActivityId();
+    }
+
+    @Override
+    public String getActivityInstanceId() {
+        return execution.getActivityInstanceId();
+    }
+
+    @Override
+    public Object getVariable(String name) {
+        return execution.getVariable(name);
+    }
+
+    @Override
+    public void setVariable(String name, Object value) {
+        execution.setVariable(name, value);
+    }
+}
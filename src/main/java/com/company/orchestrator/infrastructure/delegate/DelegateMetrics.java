@@ -0,0 +1,62 @@
+package com.company.orchestrator.infrastructure.delegate;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.beans.Introspector;
+
+/**
+ * Chronomètre chaque exécution de service task, quel que soit le mode (JavaDelegate
+ * ou external task) : timer {@code orchestrator.delegate.execution} tagué par
+ * delegate, partenaire, issue ({@code success}/{@code error}) et utilisation d'un
+ * repli ({@code fallback}). Les delegates signalent leur repli (valeur par défaut,
+ * calcul local, résultat simulé) via {@link #fallbackUsed()}, sur le thread de
+ * l'exécution en cours.
+ */
+@Component
+public class DelegateMetrics {
+
+    private static final ThreadLocal<boolean[]> FALLBACK = new ThreadLocal<>();
+
+    private final MeterRegistry meterRegistry;
+
+    public DelegateMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public void execute(ServiceTaskHandler handler, ServiceTaskContext context) throws Exception {
+        boolean[] fallback = {false};
+        boolean[] outer = FALLBACK.get();
+        FALLBACK.set(fallback);
+        String outcome = "error";
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            handler.execute(context);
+            outcome = "success";
+        } finally {
+            if (outer != null) {
+                FALLBACK.set(outer);
+            } else {
+                FALLBACK.remove();
+            }
+            sample.stop(Timer.builder("orchestrator.delegate.execution")
+                    .description("Service task execution time")
+                    .tag("delegate", Introspector.decapitalize(handler.getClass().getSimpleName()))
+                    .tag("partner", handler.partner().getId())
+                    .tag("outcome", outcome)
+                    .tag("fallback", String.valueOf(fallback[0]))
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * Signale que l'exécution en cours a remplacé la réponse du partenaire par un repli.
+     */
+    public static void fallbackUsed() {
+        boolean[] fallback = FALLBACK.get();
+        if (fallback != null) {
+            fallback[0] = true;
+        }
+    }
+}
@@ -1,11 +1,16 @@
 package com.company.orchestrator.infrastructure.delegate;
 
+import com.company.orchestrator.infrastructure.document.DocumentResource;
+import com.company.orchestrator.infrastructure.document.DocumentVariables;
+import com.company.orchestrator.infrastructure.http.ExternalPartner;
+import com.company.orchestrator.infrastructure.http.PartnerResilience;
+import com.company.orchestrator.infrastructure.tracing.ServiceTaskTracing;
 import org.camunda.bpm.engine.delegate.DelegateExecution;
 import org.camunda.bpm.engine.delegate.JavaDelegate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.io.ByteArrayResource;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
@@ -16,20 +21,32 @@ import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
 import org.springframework.web.client.RestTemplate;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
 @Component("eSignUploadDelegate")
-public class ESignUploadDelegate implements JavaDelegate {
+public class ESignUploadDelegate implements JavaDelegate, ServiceTaskHandler {
 
     private static final Logger logger = LoggerFactory.getLogger(ESignUploadDelegate.class);
+
+    private static final List<String> VARIABLES = List.of(
+        "documentType", "customerId", "customerEmail", "customerName", "quoteId", "quoteAmount",
+        "contractId", "contractAmount", "returnUrl", DocumentVariables.QUOTE_DOCUMENT, "quotePdf",
+        DocumentVariables.CONTRACT_DOCUMENT, "contractPdf");
+
     private static final String UPLOAD_SUCCESS = "SUCCESS";
     private static final String UPLOAD_FAILED = "FAILED";
     private static final String DOCUMENT_TYPE_QUOTE = "QUOTE";
     private static final String DOCUMENT_TYPE_CONTRACT = "CONTRACT";
     
     private final RestTemplate restTemplate;
+    private final DocumentVariables documentVariables;
+    private final PartnerResilience partnerResilience;
+    private final DelegateMetrics delegateMetrics;
     
     @Value("${external.esign.api.url:http://localhost:8083/api/esign}")
     private String eSignApiUrl;
@@ -40,12 +57,34 @@ public class ESignUploadDelegate implements JavaDelegate {
     @Value("${external.esign.webhook.url:http://localhost:8080/api/webhook/esign}")
     private String webhookUrl;
     
-    public ESignUploadDelegate(RestTemplate restTemplate) {
+    public ESignUploadDelegate(@Qualifier("eSignRestTemplate") RestTemplate restTemplate,
+                               DocumentVariables documentVariables,
+                               PartnerResilience partnerResilience,
+                               DelegateMetrics delegateMetrics) {
         this.restTemplate = restTemplate;
+        this.documentVariables = documentVariables;
+        this.partnerResilience = partnerResilience;
+        this.delegateMetrics = delegateMetrics;
     }
     
     @Override
     public void execute(DelegateExecution execution) throws Exception {
+        ServiceTaskContext context = ServiceTaskContext.of(execution);
+        ServiceTaskTracing.execute(context, () -> delegateMetrics.execute(this, context));
+    }
+    
+    @Override
+    public ExternalPartner partner() {
+        return ExternalPartner.ESIGN;
+    }
+
+    @Override
+    public List<String> variableNames() {
+        return VARIABLES;
+    }
+    
+    @Override
+    public void execute(ServiceTaskContext execution) throws Exception {
         logger.info("Executing ESignUploadDelegate for process instance: {}", execution.getProcessInstanceId());
         
         try {
@@ -56,7 +95,7 @@ public class ESignUploadDelegate implements JavaDelegate {
             Map<String, Object> documentData = prepareDocumentForESign(execution, documentType);
             
             // Télécharger vers E-Sign
-            Map<String, Object> uploadResult = uploadToESign(documentData, execution.getProcessInstanceId());
+            Map<String, Object> uploadResult = uploadToESign(documentData, execution.getProcessInstanceId(), execution.getRequestId());
             
             // Stocker les résultats
             execution.setVariable("eSignUploadStatus", UPLOAD_SUCCESS);
@@ -78,7 +117,7 @@ public class ESignUploadDelegate implements JavaDelegate {
         }
     }
     
-    private String determineDocumentType(DelegateExecution execution) {
+    private String determineDocumentType(ServiceTaskContext execution) {
         // Déterminer si on traite un devis ou un contrat basé sur l'activité courante
         String currentActivityId = execution.getCurrentActivityId();
         
@@ -98,7 +137,7 @@ public class ESignUploadDelegate implements JavaDelegate {
         return DOCUMENT_TYPE_QUOTE;
     }
     
-    private Map<String, Object> prepareDocumentForESign(DelegateExecution execution, String documentType) {
+    private Map<String, Object> prepareDocumentForESign(ServiceTaskContext execution, String documentType) throws IOException {
         Map<String, Object> documentData = new HashMap<>();
         
         // Métadonnées du document
@@ -112,13 +151,15 @@ public class ESignUploadDelegate implements JavaDelegate {
         if (DOCUMENT_TYPE_QUOTE.equals(documentType)) {
             documentData.put("quoteId", execution.getVariable("quoteId"));
             documentData.put("quoteAmount", execution.getVariable("quoteAmount"));
-            documentData.put("quotePdf", execution.getVariable("quotePdf")); // Document PDF encodé
-            documentData.put("documentName", "Quote_" + execution.getVariable("customerId") + "_" + System.currentTimeMillis());
+            String documentName = "Quote_" + execution.getVariable("customerId") + "_" + System.currentTimeMillis();
+            documentData.put("quotePdf", documentVariables.openDocument(execution, DocumentVariables.QUOTE_DOCUMENT, "quotePdf", documentName + ".pdf"));
+            documentData.put("documentName", documentName);
         } else if (DOCUMENT_TYPE_CONTRACT.equals(documentType)) {
             documentData.put("contractId", execution.getVariable("contractId"));
             documentData.put("contractAmount", execution.getVariable("contractAmount"));
-            documentData.put("contractPdf", execution.getVariable("contractPdf")); // Document PDF encodé
-            documentData.put("documentName", "Contract_" + execution.getVariable("customerId") + "_" + System.currentTimeMillis());
+            String documentName = "Contract_" + execution.getVariable("customerId") + "_" + System.currentTimeMillis();
+            documentData.put("contractPdf", documentVariables.openDocument(execution, DocumentVariables.CONTRACT_DOCUMENT, "contractPdf", documentName + ".pdf"));
+            documentData.put("documentName", documentName);
         }
         
         // Configuration de signature
@@ -132,13 +173,13 @@ public class ESignUploadDelegate implements JavaDelegate {
         return documentData;
     }
     
-    private Map<String, Object> uploadToESign(Map<String, Object> documentData, String processInstanceId) {
+    private Map<String, Object> uploadToESign(Map<String, Object> documentData, String processInstanceId, String requestId) {
         try {
             // Préparer les headers
             HttpHeaders headers = new HttpHeaders();
             headers.setContentType(MediaType.MULTIPART_FORM_DATA);
             headers.set("Authorization", "Bearer " + eSignApiKey);
-            headers.set("X-Request-ID", processInstanceId);
+            headers.set("X-Request-ID", requestId);
             
             // Préparer le contenu multipart
             MultiValueMap<String, Object> body = new LinkedMultiValueMap<>();
@@ -154,42 +195,32 @@ public class ESignUploadDelegate implements JavaDelegate {
             body.add("signerName", documentData.get("signerName"));
             body.add("webhookUrl", documentData.get("webhookUrl"));
             
-            // Ajouter le fichier PDF
+            // Ajouter le fichier PDF, transmis en flux depuis le document store
             Object pdfData = documentData.get("quotePdf");
             if (pdfData == null) {
                 pdfData = documentData.get("contractPdf");
             }
             
             if (pdfData != null) {
-                ByteArrayResource pdfResource = new ByteArrayResource((byte[]) pdfData) {
-                    @Override
-                    public String getFilename() {
-                        return documentData.get("documentName") + ".pdf";
-                    }
-                };
-                body.add("document", pdfResource);
+                body.add("document", pdfData);
             } else {
                 // Générer un document PDF de test si aucun n'est fourni
                 String testContent = "Test document for " + documentData.get("documentType");
-                ByteArrayResource testResource = new ByteArrayResource(testContent.getBytes()) {
-                    @Override
-                    public String getFilename() {
-                        return documentData.get("documentName") + ".pdf";
-                    }
-                };
-                body.add("document", testResource);
+                body.add("document", DocumentResource.fromBuffer(ByteBuffer.wrap(testContent.getBytes()),
+                        documentData.get("documentName") + ".pdf"));
             }
             
             HttpEntity<MultiValueMap<String, Object>> request = new HttpEntity<>(body, headers);
             
             // Appeler l'API E-Sign
             logger.info("Uploading document to E-Sign API: {}", eSignApiUrl + "/upload");
-            ResponseEntity<Map<String, Object>> response = restTemplate.exchange(
-                eSignApiUrl + "/upload",
-                HttpMethod.POST,
-                request,
-                (Class<Map<String, Object>>) (Class<?>) Map.class
-            );
+            ResponseEntity<Map<String, Object>> response = partnerResilience.call(ExternalPartner.ESIGN,
+                () -> restTemplate.exchange(
+                    eSignApiUrl + "/upload",
+                    HttpMethod.POST,
+                    request,
+                    (Class<Map<String, Object>>) (Class<?>) Map.class
+                ));
             
             if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
                 Map<String, Object> responseBody = response.getBody();
@@ -217,6 +248,7 @@ public class ESignUploadDelegate implements JavaDelegate {
     
     private Map<String, Object> createMockESignResult(Map<String, Object> documentData, String processInstanceId) {
         logger.warn("Using mock E-Sign result due to API failure");
+        DelegateMetrics.fallbackUsed();
         
         Map<String, Object> mockResult = new HashMap<>();
         mockResult.put("documentId", "MOCK_" + UUID.randomUUID().toString());
@@ -1,9 +1,16 @@
 package com.company.orchestrator.infrastructure.delegate;
 
+import com.company.orchestrator.infrastructure.http.ExternalPartner;
+import com.company.orchestrator.infrastructure.http.PartnerHttpClientProperties;
+import com.company.orchestrator.infrastructure.http.PartnerResilience;
+import com.company.orchestrator.infrastructure.http.RequestCoalescer;
+import com.company.orchestrator.infrastructure.tracing.ServiceTaskTracing;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.camunda.bpm.engine.delegate.DelegateExecution;
 import org.camunda.bpm.engine.delegate.JavaDelegate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
@@ -14,17 +21,26 @@ import org.springframework.web.client.RestTemplate;
 
 import java.math.BigDecimal;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @Component("profitabilitySimulatorDelegate")
-public class ProfitabilitySimulatorDelegate implements JavaDelegate {
+public class ProfitabilitySimulatorDelegate implements JavaDelegate, ServiceTaskHandler {
 
     private static final Logger logger = LoggerFactory.getLogger(ProfitabilitySimulatorDelegate.class);
+
+    private static final List<String> VARIABLES = List.of(
+        "customerId", "requestedAmount", "requestedProduct", "riskProfile", "simulatorResult",
+        "appliedTariff", "tariffConditions", "expectedRevenue", "estimatedCosts", "contractDuration");
+
     private static final String PROFITABILITY_ACCEPTABLE = "ACCEPTABLE";
     private static final String PROFITABILITY_MARGINAL = "MARGINAL";
     private static final String PROFITABILITY_UNACCEPTABLE = "UNACCEPTABLE";
     
     private final RestTemplate restTemplate;
+    private final RequestCoalescer<ResponseEntity<Map<String, Object>>> requestCoalescer;
+    private final PartnerResilience partnerResilience;
+    private final DelegateMetrics delegateMetrics;
     
     @Value("${external.profitability.api.url:http://localhost:8082/api/profitability}")
     private String profitabilityApiUrl;
@@ -35,12 +51,40 @@ public class ProfitabilitySimulatorDelegate implements JavaDelegate {
     @Value("${profitability.threshold.target:0.15}")
     private BigDecimal targetProfitabilityThreshold;
     
-    public ProfitabilitySimulatorDelegate(RestTemplate restTemplate) {
+    public ProfitabilitySimulatorDelegate(@Qualifier("profitabilityRestTemplate") RestTemplate restTemplate,
+                                          PartnerResilience partnerResilience,
+                                          DelegateMetrics delegateMetrics,
+                                          PartnerHttpClientProperties httpClientProperties,
+                                          MeterRegistry meterRegistry,
+                                          @Value("${external.profitability.coalescing.enabled:true}") boolean coalescingEnabled,
+                                          @Value("${external.profitability.coalescing.excluded-fields:processInstanceId,analysisTimestamp,customerId}") List<String> coalescingExcludedFields) {
         this.restTemplate = restTemplate;
+        this.partnerResilience = partnerResilience;
+        this.delegateMetrics = delegateMetrics;
+        // Un suiveur n'attend pas plus longtemps que l'appel HTTP du meneur ne peut durer
+        PartnerHttpClientProperties.Client client = httpClientProperties.resolve(ExternalPartner.PROFITABILITY);
+        this.requestCoalescer = new RequestCoalescer<>(ExternalPartner.PROFITABILITY, coalescingEnabled, coalescingExcludedFields,
+                client.getConnectTimeout().plus(client.getReadTimeout()), meterRegistry);
     }
     
     @Override
     public void execute(DelegateExecution execution) throws Exception {
+        ServiceTaskContext context = ServiceTaskContext.of(execution);
+        ServiceTaskTracing.execute(context, () -> delegateMetrics.execute(this, context));
+    }
+    
+    @Override
+    public ExternalPartner partner() {
+        return ExternalPartner.PROFITABILITY;
+    }
+
+    @Override
+    public List<String> variableNames() {
+        return VARIABLES;
+    }
+    
+    @Override
+    public void execute(ServiceTaskContext execution) throws Exception {
         logger.info("Executing ProfitabilitySimulatorDelegate for process instance: {}", execution.getProcessInstanceId());
         
         try {
@@ -48,7 +92,7 @@ public class ProfitabilitySimulatorDelegate implements JavaDelegate {
             Map<String, Object> profitabilityData = prepareProfitabilityData(execution);
             
             // Appeler l'API de simulation de rentabilité
-            Map<String, Object> profitabilityResult = callProfitabilityApi(profitabilityData, execution.getProcessInstanceId());
+            Map<String, Object> profitabilityResult = callProfitabilityApi(profitabilityData, execution.getRequestId());
             
             // Analyser les résultats
             String profitabilityStatus = analyzeProfitability(profitabilityResult);
@@ -66,6 +110,7 @@ public class ProfitabilitySimulatorDelegate implements JavaDelegate {
             logger.error("Error during profitability analysis for process instance: {}", execution.getProcessInstanceId(), e);
             
             // En cas d'erreur, utiliser des valeurs par défaut conservatrices
+            DelegateMetrics.fallbackUsed();
             execution.setVariable("profitabilityStatus", PROFITABILITY_MARGINAL);
             execution.setVariable("profitabilityScore", minimumProfitabilityThreshold);
             execution.setVariable("profitabilityCheckSuccess", false);
@@ -75,7 +120,7 @@ public class ProfitabilitySimulatorDelegate implements JavaDelegate {
         }
     }
     
-    private Map<String, Object> prepareProfitabilityData(DelegateExecution execution) {
+    private Map<String, Object> prepareProfitabilityData(ServiceTaskContext execution) {
         Map<String, Object> data = new HashMap<>();
         
         // Données du client et du produit
@@ -103,21 +148,23 @@ public class ProfitabilitySimulatorDelegate implements JavaDelegate {
         return data;
     }
     
-    private Map<String, Object> callProfitabilityApi(Map<String, Object> data, String processInstanceId) {
+    private Map<String, Object> callProfitabilityApi(Map<String, Object> data, String requestId) {
         try {
             HttpHeaders headers = new HttpHeaders();
             headers.setContentType(MediaType.APPLICATION_JSON);
-            headers.set("X-Request-ID", processInstanceId);
+            headers.set("X-Request-ID", requestId);
             headers.set("X-Analysis-Type", "CONTRACT_PROFITABILITY");
             
             HttpEntity<Map<String, Object>> request = new HttpEntity<>(data, headers);
             
             logger.info("Calling profitability API: {}", profitabilityApiUrl);
-            ResponseEntity<Map<String, Object>> response = restTemplate.postForEntity(
-                profitabilityApiUrl, request, (Class<Map<String, Object>>) (Class<?>) Map.class);
+            ResponseEntity<Map<String, Object>> response = requestCoalescer.execute(
+                requestCoalescer.keyFor(profitabilityApiUrl, data),
+                () -> partnerResilience.call(ExternalPartner.PROFITABILITY,
+                    () -> restTemplate.postForEntity(profitabilityApiUrl, request, (Class<Map<String, Object>>) (Class<?>) Map.class)));
             
             if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
-                return response.getBody();
+                return new HashMap<>(response.getBody());
             } else {
                 throw new RuntimeException("Profitability API returned unsuccessful response: " + response.getStatusCode());
             }
@@ -128,7 +175,9 @@ public class ProfitabilitySimulatorDelegate implements JavaDelegate {
         }
     }
     
-    private Map<String, Object> performFallbackCalculation(Map<String, Object> data) {
+    // Visibilité package : mesurée par le module benchmarks
+    Map<String, Object> performFallbackCalculation(Map<String, Object> data) {
+        DelegateMetrics.fallbackUsed();
         Map<String, Object> fallbackResult = new HashMap<>();
         
         // Calcul de rentabilité simplifié en cas d'échec de l'API
@@ -0,0 +1,39 @@
+package com.company.orchestrator.infrastructure.delegate;
+
+import org.camunda.bpm.engine.delegate.DelegateExecution;
+
+/**
+ * Vue minimale d'une exécution de service task utilisée par les delegates.
+ * Permet d'exécuter la même logique métier depuis un {@code JavaDelegate}
+ * (dans la transaction du moteur) ou depuis un worker d'external tasks.
+ */
+public interface ServiceTaskContext {
+
+    String getProcessInstanceId();
+
+    String getCurrentActivityId();
+
+    /**
+     * Instance d'activité de la service task, parent des spans des appels partenaires ;
+     * {@code null} si le mode d'exécution ne la connaît pas.
+     */
+    default String getActivityInstanceId() {
+        return null;
+    }
+
+    /**
+     * Identifiant transmis aux partenaires dans {@code X-Request-ID} : l'instance par
+     * défaut, la clé d'idempotence de la demande en mode outbox.
+     */
+    default String getRequestId() {
+        return getProcessInstanceId();
+    }
+
+    Object getVariable(String name);
+
+    void setVariable(String name, Object value);
+
+    static ServiceTaskContext of(DelegateExecution execution) {
+        return new DelegateExecutionContext(execution);
+    }
+}
@@ -0,0 +1,34 @@
+package com.company.orchestrator.infrastructure.delegate;
+
+import com.company.orchestrator.infrastructure.http.ExternalPartner;
+
+import java.util.List;
+
+/**
+ * Logique d'une service task du processus, indépendante du mode d'exécution
+ * (JavaDelegate ou external task).
+ */
+public interface ServiceTaskHandler {
+
+    void execute(ServiceTaskContext execution) throws Exception;
+
+    /**
+     * Système externe appelé par la tâche (tag {@code partner} des métriques).
+     */
+    ExternalPartner partner();
+
+    /**
+     * Variables de processus lues par la tâche : en mode external task, seules celles-ci
+     * sont chargées au fetch-and-lock.
+     */
+    List<String> variableNames();
+
+    /**
+     * Vrai si la tâche n'appelle aucun partenaire et n'écrit qu'en base : elle reste un
+     * {@code JavaDelegate} quel que soit le mode d'exécution, pour que ses écritures
+     * rejoignent la transaction du moteur.
+     */
+    default boolean runsInEngineTransaction() {
+        return false;
+    }
+}
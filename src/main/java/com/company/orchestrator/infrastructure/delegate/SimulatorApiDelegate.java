@@ -1,9 +1,18 @@
 package com.company.orchestrator.infrastructure.delegate;
 
+import com.company.orchestrator.infrastructure.cache.SimulatorCacheKey;
+import com.company.orchestrator.infrastructure.cache.SimulatorResultCache;
+import com.company.orchestrator.infrastructure.http.ExternalPartner;
+import com.company.orchestrator.infrastructure.http.PartnerHttpClientProperties;
+import com.company.orchestrator.infrastructure.http.PartnerResilience;
+import com.company.orchestrator.infrastructure.http.RequestCoalescer;
+import com.company.orchestrator.infrastructure.tracing.ServiceTaskTracing;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.camunda.bpm.engine.delegate.DelegateExecution;
 import org.camunda.bpm.engine.delegate.JavaDelegate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
@@ -13,46 +22,98 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestTemplate;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 @Component("simulatorApiDelegate")
-public class SimulatorApiDelegate implements JavaDelegate {
+public class SimulatorApiDelegate implements JavaDelegate, ServiceTaskHandler {
 
     private static final Logger logger = LoggerFactory.getLogger(SimulatorApiDelegate.class);
+
+    private static final List<String> VARIABLES = List.of(
+        "customerId", "customerType", "requestedAmount", "requestedProduct", "riskProfile", "customerData",
+        "formSubmissionId", "submissionTimestamp");
     
     private final RestTemplate restTemplate;
+    private final SimulatorResultCache resultCache;
+    private final RequestCoalescer<ResponseEntity<Map>> requestCoalescer;
+    private final PartnerResilience partnerResilience;
+    private final DelegateMetrics delegateMetrics;
     
     @Value("${external.simulator.api.url:http://localhost:8081/api/simulator}")
     private String simulatorApiUrl;
     
-    @Value("${external.simulator.api.timeout:5000}")
-    private int timeout;
-    
-    public SimulatorApiDelegate(RestTemplate restTemplate) {
+    public SimulatorApiDelegate(@Qualifier("simulatorRestTemplate") RestTemplate restTemplate,
+                                SimulatorResultCache resultCache,
+                                PartnerResilience partnerResilience,
+                                DelegateMetrics delegateMetrics,
+                                PartnerHttpClientProperties httpClientProperties,
+                                MeterRegistry meterRegistry,
+                                @Value("${external.simulator.coalescing.enabled:true}") boolean coalescingEnabled,
+                                @Value("${external.simulator.coalescing.excluded-fields:processInstanceId,activityId,submissionTimestamp,customerId,formSubmissionId}") List<String> coalescingExcludedFields) {
         this.restTemplate = restTemplate;
+        this.resultCache = resultCache;
+        this.partnerResilience = partnerResilience;
+        this.delegateMetrics = delegateMetrics;
+        // Un suiveur n'attend pas plus longtemps que l'appel HTTP du meneur ne peut durer
+        PartnerHttpClientProperties.Client client = httpClientProperties.resolve(ExternalPartner.SIMULATOR);
+        this.requestCoalescer = new RequestCoalescer<>(ExternalPartner.SIMULATOR, coalescingEnabled, coalescingExcludedFields,
+                client.getConnectTimeout().plus(client.getReadTimeout()), meterRegistry);
     }
     
     @Override
     public void execute(DelegateExecution execution) throws Exception {
+        ServiceTaskContext context = ServiceTaskContext.of(execution);
+        ServiceTaskTracing.execute(context, () -> delegateMetrics.execute(this, context));
+    }
+    
+    @Override
+    public ExternalPartner partner() {
+        return ExternalPartner.SIMULATOR;
+    }
+
+    @Override
+    public List<String> variableNames() {
+        return VARIABLES;
+    }
+    
+    @Override
+    public void execute(ServiceTaskContext execution) throws Exception {
         logger.info("Executing SimulatorApiDelegate for process instance: {}", execution.getProcessInstanceId());
         
         try {
             // Récupérer les données du formulaire depuis les variables du processus
             Map<String, Object> formData = extractFormData(execution);
             
+            // Réutiliser le verdict si cette combinaison d'entrées a déjà été simulée
+            SimulatorCacheKey cacheKey = resultCache.keyFor(formData);
+            Optional<String> cachedResult = resultCache.get(cacheKey);
+            if (cachedResult.isPresent()) {
+                execution.setVariable("simulatorResult", cachedResult.get());
+                execution.setVariable("simulatorApiCallSuccess", true);
+                execution.setVariable("simulatorResultCached", true);
+                
+                logger.info("Simulator result served from cache. Result: {}", cachedResult.get());
+                return;
+            }
+            
             // Préparer la requête pour l'API simulateur
             HttpHeaders headers = new HttpHeaders();
             headers.setContentType(MediaType.APPLICATION_JSON);
-            headers.set("X-Request-ID", execution.getProcessInstanceId());
+            headers.set("X-Request-ID", execution.getRequestId());
             
             HttpEntity<Map<String, Object>> request = new HttpEntity<>(formData, headers);
             
-            // Appeler l'API simulateur externe
+            // Appeler l'API simulateur externe (les requêtes identiques en vol partagent le même appel ;
+            // circuit ouvert : refus immédiat et résultat par défaut)
             logger.info("Calling external simulator API: {}", simulatorApiUrl);
-            ResponseEntity<Map> response = restTemplate.postForEntity(simulatorApiUrl, request, Map.class);
+            ResponseEntity<Map> response = requestCoalescer.execute(requestCoalescer.keyFor(simulatorApiUrl, formData),
+                    () -> partnerResilience.call(ExternalPartner.SIMULATOR,
+                            () -> restTemplate.postForEntity(simulatorApiUrl, request, Map.class)));
             
             if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
-                Map<String, Object> responseBody = response.getBody();
+                Map<String, Object> responseBody = new HashMap<>(response.getBody());
                 
                 // Extraire le résultat du simulateur
                 String simulatorResult = extractSimulatorResult(responseBody);
@@ -61,6 +122,9 @@ public class SimulatorApiDelegate implements JavaDelegate {
                 execution.setVariable("simulatorResult", simulatorResult);
                 execution.setVariable("simulatorResponse", responseBody);
                 execution.setVariable("simulatorApiCallSuccess", true);
+                execution.setVariable("simulatorResultCached", false);
+                
+                resultCache.put(cacheKey, simulatorResult);
                 
                 logger.info("Simulator API call successful. Result: {}", simulatorResult);
                 
@@ -72,6 +136,7 @@ public class SimulatorApiDelegate implements JavaDelegate {
             logger.error("Error calling simulator API for process instance: {}", execution.getProcessInstanceId(), e);
             
             // En cas d'erreur, utiliser une valeur par défaut
+            DelegateMetrics.fallbackUsed();
             execution.setVariable("simulatorResult", "STANDARD");
             execution.setVariable("simulatorApiCallSuccess", false);
             execution.setVariable("simulatorError", e.getMessage());
@@ -81,7 +146,7 @@ public class SimulatorApiDelegate implements JavaDelegate {
         }
     }
     
-    private Map<String, Object> extractFormData(DelegateExecution execution) {
+    private Map<String, Object> extractFormData(ServiceTaskContext execution) {
         Map<String, Object> formData = new HashMap<>();
         
         // Récupérer les données du formulaire depuis les variables du processus
@@ -103,7 +168,8 @@ public class SimulatorApiDelegate implements JavaDelegate {
         return formData;
     }
     
-    private String extractSimulatorResult(Map<String, Object> responseBody) {
+    // Visibilité package : mesurée par le module benchmarks
+    String extractSimulatorResult(Map<String, Object> responseBody) {
         // Extraire le résultat du simulateur depuis la réponse
         Object result = responseBody.get("result");
         Object recommendation = responseBody.get("recommendation");
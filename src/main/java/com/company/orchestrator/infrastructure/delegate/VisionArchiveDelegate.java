@@ -1,62 +1,109 @@
 package com.company.orchestrator.infrastructure.delegate;
 
+import com.company.orchestrator.domain.document.DocumentReference;
+import com.company.orchestrator.infrastructure.archive.ArchiveJob;
+import com.company.orchestrator.infrastructure.archive.ArchiveJobRepository;
+import com.company.orchestrator.infrastructure.archive.VisionArchiveClient;
+import com.company.orchestrator.infrastructure.document.DocumentVariables;
+import com.company.orchestrator.infrastructure.http.ExternalPartner;
+import com.company.orchestrator.infrastructure.tracing.ServiceTaskTracing;
 import org.camunda.bpm.engine.delegate.DelegateExecution;
 import org.camunda.bpm.engine.delegate.JavaDelegate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.io.ByteArrayResource;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.HttpMethod;
-import org.springframework.http.MediaType;
-import org.springframework.http.ResponseEntity;
+import org.springframework.core.io.Resource;
 import org.springframework.stereotype.Component;
-import org.springframework.util.LinkedMultiValueMap;
-import org.springframework.util.MultiValueMap;
-import org.springframework.web.client.RestTemplate;
 
+import java.io.IOException;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
 @Component("visionArchiveDelegate")
-public class VisionArchiveDelegate implements JavaDelegate {
+public class VisionArchiveDelegate implements JavaDelegate, ServiceTaskHandler {
 
     private static final Logger logger = LoggerFactory.getLogger(VisionArchiveDelegate.class);
+
+    private static final List<String> VARIABLES = List.of(
+        "documentType", "customerId", "customerName", "quoteId", "quoteAmount", "contractId",
+        "contractAmount", "eSignDocumentId", "signatureStatus", "signedTimestamp", "businessUnit",
+        "requestedProduct", "riskProfile", DocumentVariables.QUOTE_DOCUMENT, "quotePdf",
+        DocumentVariables.CONTRACT_DOCUMENT, "contractPdf");
+
     private static final String ARCHIVE_SUCCESS = "SUCCESS";
     private static final String ARCHIVE_FAILED = "FAILED";
+    private static final String ARCHIVE_QUEUED = "QUEUED";
     private static final String DOCUMENT_CATEGORY_QUOTE = "QUOTE";
     private static final String DOCUMENT_CATEGORY_CONTRACT = "CONTRACT";
     private static final String DOCUMENT_CATEGORY_SIGNED = "SIGNED";
     
-    private final RestTemplate restTemplate;
-    
-    @Value("${external.vision.api.url:http://localhost:8084/api/vision}")
-    private String visionApiUrl;
-    
-    @Value("${external.vision.api.key:default-vision-key}")
-    private String visionApiKey;
+    private final VisionArchiveClient visionArchiveClient;
+    private final ArchiveJobRepository archiveJobRepository;
+    private final DocumentVariables documentVariables;
+    private final DelegateMetrics delegateMetrics;
     
     @Value("${vision.retention.years:7}")
     private int retentionYears;
     
-    public VisionArchiveDelegate(RestTemplate restTemplate) {
-        this.restTemplate = restTemplate;
+    @Value("${external.vision.archive-queue.enabled:false}")
+    private boolean archiveQueueEnabled;
+    
+    public VisionArchiveDelegate(VisionArchiveClient visionArchiveClient,
+                                 ArchiveJobRepository archiveJobRepository,
+                                 DocumentVariables documentVariables,
+                                 DelegateMetrics delegateMetrics) {
+        this.visionArchiveClient = visionArchiveClient;
+        this.archiveJobRepository = archiveJobRepository;
+        this.documentVariables = documentVariables;
+        this.delegateMetrics = delegateMetrics;
     }
     
     @Override
     public void execute(DelegateExecution execution) throws Exception {
+        ServiceTaskContext context = ServiceTaskContext.of(execution);
+        ServiceTaskTracing.execute(context, () -> delegateMetrics.execute(this, context));
+    }
+    
+    // Mode file : simple insertion dans app.archive_job, liée à la validation de l'étape
+    @Override
+    public boolean runsInEngineTransaction() {
+        return archiveQueueEnabled;
+    }
+    
+    @Override
+    public ExternalPartner partner() {
+        return ExternalPartner.VISION;
+    }
+
+    @Override
+    public List<String> variableNames() {
+        return VARIABLES;
+    }
+    
+    @Override
+    public void execute(ServiceTaskContext execution) throws Exception {
         logger.info("Executing VisionArchiveDelegate for process instance: {}", execution.getProcessInstanceId());
         
+        if (archiveQueueEnabled) {
+            // Archivage différé : le dispatcher enverra le document et reportera le résultat.
+            // Un échec d'insertion est une erreur base et fait échouer l'étape.
+            enqueueArchive(execution, prepareArchiveData(execution));
+            return;
+        }
+        
         try {
             // Préparer les métadonnées du document pour archivage
             Map<String, Object> archiveData = prepareArchiveData(execution);
             
             // Archiver dans Vision
-            Map<String, Object> archiveResult = archiveToVision(archiveData, execution.getProcessInstanceId());
+            Resource documentContent = getDocumentContent(execution, (String) archiveData.get("documentCategory"),
+                archiveData.get("documentName") + ".pdf", archiveData);
+            Map<String, Object> archiveResult = archiveToVision(archiveData, documentContent, execution.getProcessInstanceId(),
+                execution.getRequestId());
             
             // Stocker les résultats
             execution.setVariable("visionArchiveStatus", ARCHIVE_SUCCESS);
@@ -79,7 +126,7 @@ public class VisionArchiveDelegate implements JavaDelegate {
         }
     }
     
-    private Map<String, Object> prepareArchiveData(DelegateExecution execution) {
+    private Map<String, Object> prepareArchiveData(ServiceTaskContext execution) {
         Map<String, Object> archiveData = new HashMap<>();
         
         // Métadonnées de base
@@ -92,10 +139,6 @@ public class VisionArchiveDelegate implements JavaDelegate {
         String documentCategory = determineDocumentCategory(execution);
         archiveData.put("documentCategory", documentCategory);
         
-        // Récupérer le document approprié
-        byte[] documentContent = getDocumentContent(execution, documentCategory);
-        archiveData.put("documentContent", documentContent);
-        
         // Métadonnées spécifiques au type de document
         if (DOCUMENT_CATEGORY_QUOTE.equals(documentCategory)) {
             archiveData.put("quoteId", execution.getVariable("quoteId"));
@@ -130,7 +173,7 @@ public class VisionArchiveDelegate implements JavaDelegate {
         return archiveData;
     }
     
-    private String determineDocumentCategory(DelegateExecution execution) {
+    private String determineDocumentCategory(ServiceTaskContext execution) {
         String currentActivityId = execution.getCurrentActivityId();
         
         if (currentActivityId != null) {
@@ -156,106 +199,48 @@ public class VisionArchiveDelegate implements JavaDelegate {
         return DOCUMENT_CATEGORY_CONTRACT; // Par défaut
     }
     
-    private byte[] getDocumentContent(DelegateExecution execution, String documentCategory) {
-        byte[] content = null;
+    private void enqueueArchive(ServiceTaskContext execution, Map<String, Object> archiveData) throws IOException {
+        String documentCategory = (String) archiveData.get("documentCategory");
+        DocumentReference documentReference = null;
         
         if (DOCUMENT_CATEGORY_QUOTE.equals(documentCategory)) {
-            Object quotePdf = execution.getVariable("quotePdf");
-            if (quotePdf instanceof byte[]) {
-                content = (byte[]) quotePdf;
-            }
+            documentReference = documentVariables.referenceOf(execution, DocumentVariables.QUOTE_DOCUMENT, "quotePdf");
         } else if (DOCUMENT_CATEGORY_CONTRACT.equals(documentCategory) || DOCUMENT_CATEGORY_SIGNED.equals(documentCategory)) {
-            Object contractPdf = execution.getVariable("contractPdf");
-            if (contractPdf instanceof byte[]) {
-                content = (byte[]) contractPdf;
-            }
+            documentReference = documentVariables.referenceOf(execution, DocumentVariables.CONTRACT_DOCUMENT, "contractPdf");
+        }
+        
+        archiveJobRepository.enqueue(execution.getProcessInstanceId(), execution.getCurrentActivityId(),
+            execution.getActivityInstanceId(), documentReference != null ? documentReference.toString() : null,
+            archiveData);
+        
+        execution.setVariable("visionArchiveStatus", ARCHIVE_QUEUED);
+        execution.setVariable(ArchiveJob.resultVariable(execution.getCurrentActivityId(), ArchiveJob.STATUS_SUFFIX), ARCHIVE_QUEUED);
+        logger.info("Document queued for Vision archiving ({}) for process instance: {}",
+            documentCategory, execution.getProcessInstanceId());
+    }
+    
+    private Resource getDocumentContent(ServiceTaskContext execution, String documentCategory, String filename,
+                                        Map<String, Object> archiveData) throws IOException {
+        Resource content = null;
+        
+        if (DOCUMENT_CATEGORY_QUOTE.equals(documentCategory)) {
+            content = documentVariables.openDocument(execution, DocumentVariables.QUOTE_DOCUMENT, "quotePdf", filename);
+        } else if (DOCUMENT_CATEGORY_CONTRACT.equals(documentCategory) || DOCUMENT_CATEGORY_SIGNED.equals(documentCategory)) {
+            content = documentVariables.openDocument(execution, DocumentVariables.CONTRACT_DOCUMENT, "contractPdf", filename);
         }
         
         // Si aucun contenu n'est trouvé, générer un document de test
         if (content == null) {
-            String testContent = String.format("Test document - %s\nProcess ID: %s\nCustomer: %s\nTimestamp: %s",
-                documentCategory, execution.getProcessInstanceId(), 
-                execution.getVariable("customerId"), getCurrentTimestamp());
-            content = testContent.getBytes();
+            content = VisionArchiveClient.placeholderDocument(archiveData, execution.getProcessInstanceId());
         }
         
         return content;
     }
     
-    private Map<String, Object> archiveToVision(Map<String, Object> archiveData, String processInstanceId) {
+    private Map<String, Object> archiveToVision(Map<String, Object> archiveData, Resource documentContent, String processInstanceId,
+                                                String requestId) {
         try {
-            // Préparer les headers
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.MULTIPART_FORM_DATA);
-            headers.set("Authorization", "Bearer " + visionApiKey);
-            headers.set("X-Request-ID", processInstanceId);
-            headers.set("X-Archive-Type", "BUSINESS_DOCUMENT");
-            
-            // Préparer le contenu multipart
-            MultiValueMap<String, Object> body = new LinkedMultiValueMap<>();
-            
-            // Ajouter les métadonnées
-            body.add("processInstanceId", processInstanceId);
-            body.add("customerId", archiveData.get("customerId"));
-            body.add("customerName", archiveData.get("customerName"));
-            body.add("documentCategory", archiveData.get("documentCategory"));
-            body.add("documentName", archiveData.get("documentName"));
-            body.add("retentionDate", archiveData.get("retentionDate"));
-            body.add("businessUnit", archiveData.get("businessUnit"));
-            body.add("productType", archiveData.get("productType"));
-            
-            // Ajouter les métadonnées spécifiques
-            if (archiveData.get("quoteId") != null) {
-                body.add("quoteId", archiveData.get("quoteId"));
-                body.add("quoteAmount", archiveData.get("quoteAmount"));
-            }
-            if (archiveData.get("contractId") != null) {
-                body.add("contractId", archiveData.get("contractId"));
-                body.add("contractAmount", archiveData.get("contractAmount"));
-            }
-            if (archiveData.get("eSignDocumentId") != null) {
-                body.add("eSignDocumentId", archiveData.get("eSignDocumentId"));
-                body.add("signatureStatus", archiveData.get("signatureStatus"));
-            }
-            
-            // Ajouter le fichier document
-            byte[] documentContent = (byte[]) archiveData.get("documentContent");
-            if (documentContent != null) {
-                ByteArrayResource documentResource = new ByteArrayResource(documentContent) {
-                    @Override
-                    public String getFilename() {
-                        return archiveData.get("documentName") + ".pdf";
-                    }
-                };
-                body.add("document", documentResource);
-            }
-            
-            HttpEntity<MultiValueMap<String, Object>> request = new HttpEntity<>(body, headers);
-            
-            // Appeler l'API Vision
-            logger.info("Archiving document to Vision API: {}", visionApiUrl + "/archive");
-            ResponseEntity<Map<String, Object>> response = restTemplate.exchange(
-                visionApiUrl + "/archive",
-                HttpMethod.POST,
-                request,
-                (Class<Map<String, Object>>) (Class<?>) Map.class
-            );
-            
-            if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
-                Map<String, Object> responseBody = response.getBody();
-                
-                Map<String, Object> result = new HashMap<>();
-                result.put("documentId", responseBody.get("documentId"));
-                result.put("archiveReference", responseBody.get("archiveReference"));
-                result.put("retentionDate", responseBody.get("retentionDate"));
-                result.put("archiveLocation", responseBody.get("archiveLocation"));
-                result.put("archiveTimestamp", System.currentTimeMillis());
-                
-                return result;
-            } else {
-                throw new RuntimeException("Vision API returned unsuccessful response: " + response.getStatusCode());
-            }
-            
+            return visionArchiveClient.archive(archiveData, documentContent, processInstanceId, requestId);
         } catch (Exception e) {
             logger.error("Failed to archive document to Vision", e);
             
@@ -266,6 +251,7 @@ public class VisionArchiveDelegate implements JavaDelegate {
     
     private Map<String, Object> createMockArchiveResult(Map<String, Object> archiveData, String processInstanceId) {
         logger.warn("Using mock Vision archive result due to API failure");
+        DelegateMetrics.fallbackUsed();
         
         Map<String, Object> mockResult = new HashMap<>();
         mockResult.put("documentId", "VISION_" + UUID.randomUUID().toString());
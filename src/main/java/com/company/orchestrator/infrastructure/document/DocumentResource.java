@@ -0,0 +1,104 @@
+package com.company.orchestrator.infrastructure.document;
+
+import org.springframework.core.io.AbstractResource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * {@link org.springframework.core.io.Resource} de taille connue, lue en flux depuis
+ * sa source. Utilisée comme part multipart : le convertisseur de RestTemplate copie
+ * le flux directement dans le corps de la requête HTTP, sans tableau intermédiaire
+ * de la taille du document.
+ */
+public class DocumentResource extends AbstractResource {
+
+    private final ContentSource source;
+    private final long contentLength;
+    private final String filename;
+
+    private DocumentResource(ContentSource source, long contentLength, String filename) {
+        this.source = source;
+        this.contentLength = contentLength;
+        this.filename = filename;
+    }
+
+    /**
+     * Document projeté en mémoire (voir {@code DocumentStore#read}) : le flux lit
+     * directement dans la projection.
+     */
+    public static DocumentResource fromBuffer(ByteBuffer buffer, String filename) {
+        ByteBuffer readOnly = buffer.asReadOnlyBuffer();
+        return new DocumentResource(() -> new ByteBufferInputStream(readOnly.duplicate()), readOnly.remaining(), filename);
+    }
+
+    @Override
+    public InputStream getInputStream() throws IOException {
+        return source.open();
+    }
+
+    @Override
+    public long contentLength() {
+        return contentLength;
+    }
+
+    @Override
+    public String getFilename() {
+        return filename;
+    }
+
+    @Override
+    public boolean exists() {
+        return true;
+    }
+
+    @Override
+    public String getDescription() {
+        return "Document resource [" + filename + ", " + contentLength + " bytes]";
+    }
+
+    @FunctionalInterface
+    private interface ContentSource {
+        InputStream open() throws IOException;
+    }
+
+    private static final class ByteBufferInputStream extends InputStream {
+
+        private final ByteBuffer buffer;
+
+        private ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] target, int offset, int length) {
+            if (length == 0) {
+                return 0;
+            }
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int count = Math.min(length, buffer.remaining());
+            buffer.get(target, offset, count);
+            return count;
+        }
+
+        @Override
+        public long skip(long n) {
+            int count = (int) Math.min(Math.max(n, 0), buffer.remaining());
+            buffer.position(buffer.position() + count);
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.company.orchestrator.infrastructure.document;
+
+import com.company.orchestrator.domain.document.DocumentReference;
+import com.company.orchestrator.domain.document.DocumentStore;
+import com.company.orchestrator.infrastructure.delegate.ServiceTaskContext;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Base64;
+
+/**
+ * Passage entre les documents et les variables de processus : les PDF sont
+ * déposés dans le {@link DocumentStore} et seule leur référence est conservée
+ * en variable. Les anciennes variables {@code byte[]} restent lisibles pour les
+ * instances démarrées avant l'introduction du store.
+ */
+@Component
+public class DocumentVariables {
+
+    public static final String CONTRACT_DOCUMENT = "contractDocumentRef";
+    public static final String QUOTE_DOCUMENT = "quoteDocumentRef";
+
+    private final DocumentStore documentStore;
+
+    public DocumentVariables(DocumentStore documentStore) {
+        this.documentStore = documentStore;
+    }
+
+    /**
+     * Stocke un document tel que renvoyé par un partenaire ({@code byte[]} ou Base64).
+     */
+    public DocumentReference store(Object encodedContent) throws IOException {
+        if (encodedContent instanceof byte[] bytes) {
+            return documentStore.store(bytes);
+        }
+        if (encodedContent instanceof String text) {
+            return documentStore.store(Base64.getMimeDecoder().decode(text));
+        }
+        throw new IllegalArgumentException("Unsupported document content type: " + encodedContent.getClass().getName());
+    }
+
+    /**
+     * Référence du document porté par le processus. Un ancien document {@code byte[]}
+     * est d'abord déposé dans le store. Renvoie {@code null} si aucun document n'est présent.
+     */
+    public DocumentReference referenceOf(ServiceTaskContext execution, String referenceVariable,
+                                         String legacyVariable) throws IOException {
+        Object reference = execution.getVariable(referenceVariable);
+        if (DocumentReference.isReference(reference)) {
+            return DocumentReference.parse((String) reference);
+        }
+
+        Object legacyContent = execution.getVariable(legacyVariable);
+        if (legacyContent instanceof byte[] bytes) {
+            return documentStore.store(bytes);
+        }
+        return null;
+    }
+
+    /**
+     * Document référencé par {@code referenceVariable}, ou à défaut celui de l'ancienne
+     * variable {@code byte[]}, exposé en flux pour un envoi multipart. Renvoie {@code null}
+     * si aucun document n'est présent.
+     */
+    public Resource openDocument(ServiceTaskContext execution, String referenceVariable, String legacyVariable,
+                                 String filename) throws IOException {
+        Object reference = execution.getVariable(referenceVariable);
+        if (DocumentReference.isReference(reference)) {
+            ByteBuffer buffer = documentStore.read(DocumentReference.parse((String) reference));
+            return DocumentResource.fromBuffer(buffer, filename);
+        }
+
+        Object legacyContent = execution.getVariable(legacyVariable);
+        if (legacyContent instanceof byte[] bytes) {
+            return DocumentResource.fromBuffer(ByteBuffer.wrap(bytes), filename);
+        }
+        return null;
+    }
+}
@@ -0,0 +1,160 @@
+package com.company.orchestrator.infrastructure.document;
+
+import com.company.orchestrator.domain.document.DocumentReference;
+import com.company.orchestrator.domain.document.DocumentStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Implémentation par défaut du {@link DocumentStore} sur un répertoire local.
+ * Chaque document est écrit une seule fois sous {@code <dir>/<ab>/<cd>/<sha256>}
+ * (écriture synchronisée dans un fichier temporaire, déplacement atomique puis
+ * synchronisation du répertoire) et relu par projection mémoire, sans copie sur le tas.
+ * Une copie existante n'est réutilisée que si sa taille et son empreinte correspondent.
+ */
+@Component
+public class FileSystemDocumentStore implements DocumentStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(FileSystemDocumentStore.class);
+
+    private final Path rootDirectory;
+
+    public FileSystemDocumentStore(@Value("${documents.store.directory:./data/documents}") String rootDirectory) throws IOException {
+        this.rootDirectory = Paths.get(rootDirectory).toAbsolutePath().normalize();
+        Files.createDirectories(this.rootDirectory);
+        logger.info("File system document store initialized at {}", this.rootDirectory);
+    }
+
+    @Override
+    public DocumentReference store(byte[] content) throws IOException {
+        return store(new ByteArrayInputStream(content));
+    }
+
+    @Override
+    public DocumentReference store(InputStream content) throws IOException {
+        Path temporaryFile = Files.createTempFile(rootDirectory, "incoming-", ".tmp");
+        try {
+            MessageDigest digest = sha256();
+            long length;
+            try (FileChannel channel = FileChannel.open(temporaryFile, StandardOpenOption.WRITE);
+                 OutputStream out = new DigestOutputStream(Channels.newOutputStream(channel), digest)) {
+                length = content.transferTo(out);
+                // Contenu sur disque avant que le renommage ne le rende visible
+                channel.force(true);
+            }
+
+            DocumentReference reference = new DocumentReference(HexFormat.of().formatHex(digest.digest()));
+            Path target = pathOf(reference);
+            if (Files.exists(target)) {
+                if (isIntact(target, reference, length)) {
+                    logger.debug("Document {} already stored", reference);
+                    return reference;
+                }
+                // Fichier tronqué ou altéré (arrêt brutal avant la synchronisation) : remplacé
+                logger.warn("Stored copy of document {} does not match its digest, replacing it", reference);
+            }
+
+            Path directory = target.getParent();
+            boolean newDirectory = !Files.isDirectory(directory);
+            Files.createDirectories(directory);
+            try {
+                Files.move(temporaryFile, target, StandardCopyOption.ATOMIC_MOVE);
+            } catch (FileAlreadyExistsException e) {
+                // Écrit en parallèle par un autre appelant : même contenu, même référence
+                logger.debug("Document {} stored concurrently", reference);
+            }
+            syncDirectory(directory);
+            if (newDirectory) {
+                syncDirectory(directory.getParent());
+                syncDirectory(rootDirectory);
+            }
+            logger.debug("Document {} stored ({} bytes)", reference, length);
+            return reference;
+
+        } finally {
+            Files.deleteIfExists(temporaryFile);
+        }
+    }
+
+    @Override
+    public ByteBuffer read(DocumentReference reference) throws IOException {
+        Path path = existingPathOf(reference);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+    }
+
+    @Override
+    public long size(DocumentReference reference) throws IOException {
+        return Files.size(existingPathOf(reference));
+    }
+
+    @Override
+    public boolean exists(DocumentReference reference) {
+        return Files.exists(pathOf(reference));
+    }
+
+    private static boolean isIntact(Path path, DocumentReference reference, long length) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() != length) {
+                return false;
+            }
+            MessageDigest digest = sha256();
+            if (length > 0) {
+                digest.update(channel.map(FileChannel.MapMode.READ_ONLY, 0, length));
+            }
+            return HexFormat.of().formatHex(digest.digest()).equals(reference.sha256());
+        }
+    }
+
+    // Rend le renommage durable ; sans effet sur les systèmes qui n'ouvrent pas les répertoires (Windows)
+    private static void syncDirectory(Path directory) {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            logger.debug("Directory {} cannot be synced: {}", directory, e.getMessage());
+        }
+    }
+
+    private Path existingPathOf(DocumentReference reference) throws FileNotFoundException {
+        Path path = pathOf(reference);
+        if (!Files.exists(path)) {
+            throw new FileNotFoundException("Document not found: " + reference);
+        }
+        return path;
+    }
+
+    private Path pathOf(DocumentReference reference) {
+        String digest = reference.sha256();
+        return rootDirectory.resolve(digest.substring(0, 2)).resolve(digest.substring(2, 4)).resolve(digest);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.company.orchestrator.infrastructure.engine;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Exécute une série de commandes moteur dans une seule transaction Spring.
+ * Les commandes Camunda rejoignent la transaction englobante : un lot entier
+ * ne coûte donc qu'une connexion et un commit. Si le lot échoue, chaque
+ * élément est rejoué dans sa propre transaction afin d'isoler les erreurs.
+ */
+@Component
+public class TransactionalBatch {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransactionalBatch.class);
+
+    private final TransactionTemplate transactionTemplate;
+
+    public TransactionalBatch(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public <T, R> List<Outcome<T, R>> execute(List<T> items, Function<T, R> action) {
+        if (items.isEmpty()) {
+            return List.of();
+        }
+
+        try {
+            return transactionTemplate.execute(status -> {
+                List<Outcome<T, R>> outcomes = new ArrayList<>(items.size());
+                for (T item : items) {
+                    outcomes.add(Outcome.success(item, action.apply(item)));
+                }
+                return outcomes;
+            });
+        } catch (RuntimeException e) {
+            logger.warn("Batch of {} items rolled back ({}), retrying items individually", items.size(), e.getMessage());
+        }
+
+        List<Outcome<T, R>> outcomes = new ArrayList<>(items.size());
+        for (T item : items) {
+            try {
+                R result = transactionTemplate.execute(status -> action.apply(item));
+                outcomes.add(Outcome.success(item, result));
+            } catch (RuntimeException e) {
+                outcomes.add(Outcome.failure(item, e));
+            }
+        }
+        return outcomes;
+    }
+
+    public record Outcome<T, R>(T item, R result, RuntimeException error) {
+
+        static <T, R> Outcome<T, R> success(T item, R result) {
+            return new Outcome<>(item, result, null);
+        }
+
+        static <T, R> Outcome<T, R> failure(T item, RuntimeException error) {
+            return new Outcome<>(item, null, error);
+        }
+
+        public boolean isSuccess() {
+            return error == null;
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.company.orchestrator.infrastructure.esign;
+
+/**
+ * Notification E-Sign reçue par le webhook et réservée par le dispatcher.
+ *
+ * @param eventType statut annoncé par E-Sign ({@code SIGNED}, {@code DECLINED}...)
+ * @param attempts  nombre de tentatives de corrélation, celle en cours incluse
+ */
+public record ESignCallback(long id,
+                            String deliveryId,
+                            String documentId,
+                            String eventType,
+                            String signedAt,
+                            int attempts) {
+
+    public static final String EVENT_SIGNED = "SIGNED";
+
+    public boolean isSigned() {
+        return EVENT_SIGNED.equalsIgnoreCase(eventType);
+    }
+}
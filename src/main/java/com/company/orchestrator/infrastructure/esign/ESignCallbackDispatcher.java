@@ -0,0 +1,301 @@
+package com.company.orchestrator.infrastructure.esign;
+
+import com.company.orchestrator.infrastructure.engine.TransactionalBatch;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.camunda.bpm.engine.ManagementService;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.TaskService;
+import org.camunda.bpm.engine.impl.persistence.entity.TaskEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.VariableInstanceEntity;
+import org.camunda.bpm.engine.runtime.VariableInstance;
+import org.camunda.bpm.engine.task.NativeTaskQuery;
+import org.camunda.bpm.engine.task.Task;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Corrèle les notifications de {@code app.esign_callback} aux instances en attente de
+ * signature : les tâches {@code client-signs-*} sont retrouvées par {@code eSignDocumentId}
+ * (posé par {@code upload-quote-esign} puis {@code upload-contract-esign}) en une requête
+ * par lot, puis complétées dans une seule transaction moteur. Le webhook
+ * réveille le dispatcher à chaque réception ; le polling ne sert qu'aux notifications
+ * reçues par un autre nœud et aux nouvelles tentatives.
+ */
+@Component
+@ConditionalOnProperty(name = "external.esign.webhook.enabled", havingValue = "true")
+public class ESignCallbackDispatcher implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(ESignCallbackDispatcher.class);
+
+    private static final String QUOTE_SIGNATURE_TASK = "client-signs-quote";
+    private static final String CONTRACT_SIGNATURE_TASK = "client-signs-contract";
+    private static final String DOCUMENT_ID_VARIABLE = "eSignDocumentId";
+    private static final String DOCUMENT_TYPE_VARIABLE = "documentType";
+
+    private final ESignCallbackRepository callbackRepository;
+    private final TaskService taskService;
+    private final RuntimeService runtimeService;
+    private final ManagementService managementService;
+    private final TransactionalBatch transactionalBatch;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${external.esign.webhook.batch-size:100}")
+    private int batchSize;
+
+    @Value("${external.esign.webhook.flush-interval:1000}")
+    private long flushInterval;
+
+    @Value("${external.esign.webhook.batch-window:20}")
+    private long batchWindow;
+
+    @Value("${external.esign.webhook.lease-duration:60000}")
+    private long leaseDuration;
+
+    @Value("${external.esign.webhook.max-attempts:10}")
+    private int maxAttempts;
+
+    @Value("${external.esign.webhook.retry-delay:2000}")
+    private long retryDelay;
+
+    private final Semaphore wakeUp = new Semaphore(0);
+    private volatile boolean running;
+    private Thread poller;
+
+    public ESignCallbackDispatcher(ESignCallbackRepository callbackRepository,
+                                   TaskService taskService,
+                                   RuntimeService runtimeService,
+                                   ManagementService managementService,
+                                   TransactionalBatch transactionalBatch,
+                                   MeterRegistry meterRegistry) {
+        this.callbackRepository = callbackRepository;
+        this.taskService = taskService;
+        this.runtimeService = runtimeService;
+        this.managementService = managementService;
+        this.transactionalBatch = transactionalBatch;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Signale une notification enregistrée ; les réveils rapprochés se regroupent en un lot.
+     */
+    public void signal() {
+        if (wakeUp.availablePermits() == 0) {
+            wakeUp.release();
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        poller = new Thread(this::pollLoop, "esign-callback-dispatcher");
+        poller.setDaemon(true);
+        poller.start();
+        logger.info("E-Sign callback dispatcher started (batch size {}, flush interval {} ms)", batchSize, flushInterval);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (poller != null) {
+            poller.interrupt();
+        }
+        logger.info("E-Sign callback dispatcher stopped");
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void pollLoop() {
+        while (running) {
+            try {
+                List<ESignCallback> callbacks = callbackRepository.claim(batchSize, leaseDuration);
+                if (!callbacks.isEmpty()) {
+                    dispatch(callbacks);
+                }
+                // Lot complet : d'autres notifications attendent, on enchaîne
+                if (callbacks.size() < batchSize && wakeUp.tryAcquire(flushInterval, TimeUnit.MILLISECONDS)) {
+                    // Courte fenêtre pour regrouper les notifications arrivées ensemble
+                    Thread.sleep(batchWindow);
+                    wakeUp.drainPermits();
+                }
+
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                logger.error("E-Sign callback dispatch failed", e);
+                sleepQuietly(flushInterval);
+            }
+        }
+    }
+
+    private void dispatch(List<ESignCallback> callbacks) {
+        List<ESignCallbackRepository.Resolution> resolutions = new ArrayList<>();
+        List<ESignCallbackRepository.Retry> retries = new ArrayList<>();
+
+        // Seules les signatures complètent une tâche ; les autres statuts restent tracés
+        Map<String, ESignCallback> signatures = new HashMap<>();
+        for (ESignCallback callback : callbacks) {
+            if (!callback.isSigned()) {
+                resolutions.add(new ESignCallbackRepository.Resolution(callback, ESignCallbackRepository.STATUS_IGNORED, null, null));
+            } else if (signatures.putIfAbsent(callback.documentId(), callback) != null) {
+                resolutions.add(new ESignCallbackRepository.Resolution(callback, ESignCallbackRepository.STATUS_DUPLICATE, null, null));
+            }
+        }
+
+        Set<String> alreadyCompleted = callbackRepository.completedDocuments(signatures.keySet());
+        alreadyCompleted.forEach(documentId -> resolutions.add(new ESignCallbackRepository.Resolution(
+                signatures.remove(documentId), ESignCallbackRepository.STATUS_DUPLICATE, null, null)));
+
+        List<Match> matches = match(signatures);
+        Set<String> matchedDocuments = new HashSet<>();
+        transactionalBatch.execute(matches, match -> {
+            taskService.complete(match.task().getId(), completionVariables(match.callback()));
+            return null;
+        }).forEach(outcome -> {
+            Match match = outcome.item();
+            matchedDocuments.add(match.callback().documentId());
+            if (outcome.isSuccess()) {
+                resolutions.add(new ESignCallbackRepository.Resolution(match.callback(),
+                        ESignCallbackRepository.STATUS_COMPLETED, match.task().getProcessInstanceId(), match.task().getId()));
+            } else {
+                retries.add(retry(match.callback(), outcome.error().getMessage()));
+            }
+        });
+
+        // La tâche peut ne pas encore exister (notification plus rapide que le commit de l'upload)
+        signatures.values().stream()
+                .filter(callback -> !matchedDocuments.contains(callback.documentId()))
+                .forEach(callback -> retries.add(retry(callback, "No signature task waiting for document " + callback.documentId())));
+
+        if (!resolutions.isEmpty()) {
+            callbackRepository.markResolved(resolutions);
+        }
+        if (!retries.isEmpty()) {
+            callbackRepository.markRetry(retries);
+        }
+        resolutions.forEach(resolution -> count(resolution.status()));
+        retries.forEach(retry -> count(retry.exhausted() ? ESignCallbackRepository.STATUS_UNMATCHED : "retry"));
+        logger.debug("Dispatched {} E-Sign callbacks: {} resolved, {} to retry", callbacks.size(), resolutions.size(), retries.size());
+    }
+
+    /**
+     * Tâches de signature en attente pour les documents du lot : une requête native sur
+     * les tâches et leur variable {@code eSignDocumentId}, puis une lecture du type de document.
+     */
+    private List<Match> match(Map<String, ESignCallback> signatures) {
+        if (signatures.isEmpty()) {
+            return List.of();
+        }
+        List<String> documentIds = new ArrayList<>(signatures.keySet());
+        StringBuilder sql = new StringBuilder("SELECT RES.* FROM ")
+                .append(managementService.getTableName(TaskEntity.class)).append(" RES INNER JOIN ")
+                .append(managementService.getTableName(VariableInstanceEntity.class)).append(" VAR ")
+                .append("ON VAR.EXECUTION_ID_ = RES.PROC_INST_ID_ AND VAR.NAME_ = #{variableName} ")
+                .append("WHERE RES.TASK_DEF_KEY_ IN (#{quoteTask}, #{contractTask}) AND VAR.TEXT_ IN (");
+        for (int i = 0; i < documentIds.size(); i++) {
+            sql.append(i > 0 ? ", " : "").append("#{document").append(i).append('}');
+        }
+        sql.append(')');
+
+        NativeTaskQuery query = taskService.createNativeTaskQuery().sql(sql.toString())
+                .parameter("variableName", DOCUMENT_ID_VARIABLE)
+                .parameter("quoteTask", QUOTE_SIGNATURE_TASK)
+                .parameter("contractTask", CONTRACT_SIGNATURE_TASK);
+        for (int i = 0; i < documentIds.size(); i++) {
+            query.parameter("document" + i, documentIds.get(i));
+        }
+        List<Task> tasks = query.list();
+        if (tasks.isEmpty()) {
+            return List.of();
+        }
+
+        Set<String> processInstanceIds = new LinkedHashSet<>();
+        tasks.forEach(task -> processInstanceIds.add(task.getProcessInstanceId()));
+        Map<String, Map<String, Object>> variables = new HashMap<>();
+        for (VariableInstance variable : runtimeService.createVariableInstanceQuery()
+                .processInstanceIdIn(processInstanceIds.toArray(String[]::new))
+                .variableNameIn(DOCUMENT_ID_VARIABLE, DOCUMENT_TYPE_VARIABLE)
+                .disableBinaryFetching()
+                .list()) {
+            if (variable.getProcessInstanceId().equals(variable.getExecutionId())) {
+                variables.computeIfAbsent(variable.getProcessInstanceId(), id -> new HashMap<>())
+                        .put(variable.getName(), variable.getValue());
+            }
+        }
+
+        List<Match> matches = new ArrayList<>();
+        Set<String> claimedDocuments = new HashSet<>();
+        for (Task task : tasks) {
+            Map<String, Object> instanceVariables = variables.getOrDefault(task.getProcessInstanceId(), Map.of());
+            Object documentId = instanceVariables.get(DOCUMENT_ID_VARIABLE);
+            ESignCallback callback = documentId != null ? signatures.get(documentId.toString()) : null;
+            // Le document signé doit être celui attendu par la tâche (devis ou contrat)
+            if (callback != null && expects(task, instanceVariables.get(DOCUMENT_TYPE_VARIABLE))
+                    && claimedDocuments.add(callback.documentId())) {
+                matches.add(new Match(callback, task));
+            }
+        }
+        return matches;
+    }
+
+    private static boolean expects(Task task, Object documentType) {
+        if (documentType == null) {
+            return true;
+        }
+        return "CONTRACT".equalsIgnoreCase(documentType.toString())
+                ? CONTRACT_SIGNATURE_TASK.equals(task.getTaskDefinitionKey())
+                : QUOTE_SIGNATURE_TASK.equals(task.getTaskDefinitionKey());
+    }
+
+    private static Map<String, Object> completionVariables(ESignCallback callback) {
+        Map<String, Object> variables = new HashMap<>();
+        variables.put("signatureStatus", ESignCallback.EVENT_SIGNED);
+        variables.put("eSignDeliveryId", callback.deliveryId());
+        if (callback.signedAt() != null) {
+            variables.put("signedAt", callback.signedAt());
+        }
+        return variables;
+    }
+
+    private ESignCallbackRepository.Retry retry(ESignCallback callback, String error) {
+        boolean exhausted = callback.attempts() >= maxAttempts;
+        if (exhausted) {
+            logger.warn("E-Sign callback {} for document {} abandoned after {} attempts: {}",
+                    callback.deliveryId(), callback.documentId(), callback.attempts(), error);
+        }
+        return new ESignCallbackRepository.Retry(callback, error,
+                retryDelay * (1L << Math.min(callback.attempts() - 1, 10)), exhausted);
+    }
+
+    private void count(String outcome) {
+        meterRegistry.counter("orchestrator.esign.callbacks", "outcome", outcome.toLowerCase()).increment();
+    }
+
+    private static void sleepQuietly(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private record Match(ESignCallback callback, Task task) {
+    }
+}
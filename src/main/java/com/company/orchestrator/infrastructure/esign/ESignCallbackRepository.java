@@ -0,0 +1,117 @@
+package com.company.orchestrator.infrastructure.esign;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Boîte de réception durable des notifications E-Sign (table {@code app.esign_callback}).
+ * L'identifiant de livraison est unique : une notification rejouée par E-Sign n'est
+ * enregistrée qu'une fois.
+ */
+@Repository
+public class ESignCallbackRepository {
+
+    public static final String STATUS_PENDING = "PENDING";
+    public static final String STATUS_IN_PROGRESS = "IN_PROGRESS";
+    public static final String STATUS_COMPLETED = "COMPLETED";
+    public static final String STATUS_DUPLICATE = "DUPLICATE";
+    public static final String STATUS_IGNORED = "IGNORED";
+    public static final String STATUS_UNMATCHED = "UNMATCHED";
+
+    private static final String INSERT_SQL =
+        "INSERT INTO app.esign_callback (delivery_id, document_id, event_type, signed_at, payload) "
+            + "VALUES (?, ?, ?, ?, ?) ON CONFLICT (delivery_id) DO NOTHING";
+
+    // Même réservation que app.archive_job : SKIP LOCKED entre nœuds, bail via next_attempt_at
+    private static final String CLAIM_SQL =
+        "UPDATE app.esign_callback SET status = '" + STATUS_IN_PROGRESS + "', attempts = attempts + 1, "
+            + "next_attempt_at = CURRENT_TIMESTAMP + (? * INTERVAL '1 millisecond'), updated_at = CURRENT_TIMESTAMP "
+            + "WHERE id IN (SELECT id FROM app.esign_callback "
+            + "WHERE status IN ('" + STATUS_PENDING + "', '" + STATUS_IN_PROGRESS + "') AND next_attempt_at <= CURRENT_TIMESTAMP "
+            + "ORDER BY next_attempt_at LIMIT ? FOR UPDATE SKIP LOCKED) "
+            + "RETURNING id, delivery_id, document_id, event_type, signed_at, attempts";
+
+    private static final String COMPLETED_DOCUMENTS_SQL =
+        "SELECT DISTINCT document_id FROM app.esign_callback WHERE status = '" + STATUS_COMPLETED + "' AND document_id IN (%s)";
+
+    private static final String RESOLVED_SQL =
+        "UPDATE app.esign_callback SET status = ?, process_instance_id = ?, task_id = ?, last_error = NULL, "
+            + "processed_at = CURRENT_TIMESTAMP, updated_at = CURRENT_TIMESTAMP WHERE id = ?";
+
+    private static final String RETRY_SQL =
+        "UPDATE app.esign_callback SET status = ?, last_error = ?, "
+            + "next_attempt_at = CURRENT_TIMESTAMP + (? * INTERVAL '1 millisecond'), updated_at = CURRENT_TIMESTAMP "
+            + "WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ESignCallbackRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Enregistre la notification ; renvoie {@code false} si cette livraison est déjà connue.
+     */
+    public boolean insert(String deliveryId, String documentId, String eventType, String signedAt, String payload) {
+        return jdbcTemplate.update(INSERT_SQL, deliveryId, documentId, eventType, signedAt, payload) > 0;
+    }
+
+    /**
+     * Réserve au plus {@code limit} notifications éligibles pour {@code leaseMillis} millisecondes.
+     */
+    public List<ESignCallback> claim(int limit, long leaseMillis) {
+        return jdbcTemplate.query(CLAIM_SQL, (rs, rowNum) -> new ESignCallback(
+            rs.getLong("id"),
+            rs.getString("delivery_id"),
+            rs.getString("document_id"),
+            rs.getString("event_type"),
+            rs.getString("signed_at"),
+            rs.getInt("attempts")
+        ), leaseMillis, limit);
+    }
+
+    /**
+     * Documents dont la signature a déjà complété une tâche.
+     */
+    public Set<String> completedDocuments(Collection<String> documentIds) {
+        if (documentIds.isEmpty()) {
+            return Set.of();
+        }
+        String placeholders = String.join(", ", documentIds.stream().map(id -> "?").toList());
+        return new HashSet<>(jdbcTemplate.queryForList(String.format(COMPLETED_DOCUMENTS_SQL, placeholders),
+            String.class, documentIds.toArray()));
+    }
+
+    public void markResolved(List<Resolution> resolutions) {
+        jdbcTemplate.batchUpdate(RESOLVED_SQL, resolutions, resolutions.size(), (ps, resolution) -> {
+            ps.setString(1, resolution.status());
+            ps.setString(2, resolution.processInstanceId());
+            ps.setString(3, resolution.taskId());
+            ps.setLong(4, resolution.callback().id());
+        });
+    }
+
+    /**
+     * Notifications sans tâche correspondante (ou en échec) : nouvel essai après
+     * {@code retryDelay}, ou {@code UNMATCHED} définitif lorsque {@code exhausted} le signale.
+     */
+    public void markRetry(List<Retry> retries) {
+        jdbcTemplate.batchUpdate(RETRY_SQL, retries, retries.size(), (ps, retry) -> {
+            ps.setString(1, retry.exhausted() ? STATUS_UNMATCHED : STATUS_PENDING);
+            ps.setString(2, retry.error());
+            ps.setLong(3, retry.retryDelayMillis());
+            ps.setLong(4, retry.callback().id());
+        });
+    }
+
+    public record Resolution(ESignCallback callback, String status, String processInstanceId, String taskId) {
+    }
+
+    public record Retry(ESignCallback callback, String error, long retryDelayMillis, boolean exhausted) {
+    }
+}
@@ -0,0 +1,68 @@
+package com.company.orchestrator.infrastructure.esign;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+
+/**
+ * Vérifie la signature HMAC-SHA256 des notifications E-Sign, calculée sur le corps
+ * brut de la requête avec le secret partagé du webhook.
+ */
+@Component
+@ConditionalOnProperty(name = "external.esign.webhook.enabled", havingValue = "true")
+public class ESignWebhookVerifier {
+
+    private static final Logger logger = LoggerFactory.getLogger(ESignWebhookVerifier.class);
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final String SIGNATURE_PREFIX = "sha256=";
+
+    private final SecretKeySpec key;
+
+    public ESignWebhookVerifier(@Value("${external.esign.webhook.secret:}") String secret) {
+        if (secret.isBlank()) {
+            // Sans secret, aucune notification n'est acceptée
+            logger.warn("external.esign.webhook.secret is not set: E-Sign callbacks will be rejected");
+            this.key = null;
+        } else {
+            this.key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM);
+        }
+    }
+
+    public boolean verify(byte[] body, String signature) {
+        if (key == null || signature == null || signature.isBlank()) {
+            return false;
+        }
+        String hex = signature.trim();
+        if (hex.regionMatches(true, 0, SIGNATURE_PREFIX, 0, SIGNATURE_PREFIX.length())) {
+            hex = hex.substring(SIGNATURE_PREFIX.length());
+        }
+        byte[] expected;
+        try {
+            expected = HexFormat.of().parseHex(hex);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        // Comparaison en temps constant
+        return MessageDigest.isEqual(sign(body), expected);
+    }
+
+    private byte[] sign(byte[] body) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac.doFinal(body);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 is not available", e);
+        }
+    }
+}
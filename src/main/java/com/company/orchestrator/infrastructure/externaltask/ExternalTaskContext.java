@@ -0,0 +1,58 @@
+package com.company.orchestrator.infrastructure.externaltask;
+
+import com.company.orchestrator.infrastructure.delegate.ServiceTaskContext;
+import org.camunda.bpm.engine.externaltask.LockedExternalTask;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Contexte d'exécution d'une external task verrouillée : les lectures se font
+ * sur les variables récupérées au fetch-and-lock, les écritures sont collectées
+ * pour être transmises au moteur lors du complete.
+ */
+class ExternalTaskContext implements ServiceTaskContext {
+
+    private final LockedExternalTask task;
+    private final Map<String, Object> outputVariables = new HashMap<>();
+
+    ExternalTaskContext(LockedExternalTask task) {
+        this.task = task;
+    }
+
+    @Override
+    public String getProcessInstanceId() {
+        return task.getProcessInstanceId();
+    }
+
+    @Override
+    public String getCurrentActivityId() {
+        return task.getActivityId();
+    }
+
+    @Override
+    public String getActivityInstanceId() {
+        return task.getActivityInstanceId();
+    }
+
+    @Override
+    public Object getVariable(String name) {
+        if (outputVariables.containsKey(name)) {
+            return outputVariables.get(name);
+        }
+        return task.getVariables().get(name);
+    }
+
+    @Override
+    public void setVariable(String name, Object value) {
+        outputVariables.put(name, value);
+    }
+
+    LockedExternalTask getTask() {
+        return task;
+    }
+
+    Map<String, Object> getOutputVariables() {
+        return outputVariables;
+    }
+}
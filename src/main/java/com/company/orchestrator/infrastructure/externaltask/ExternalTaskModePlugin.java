@@ -0,0 +1,83 @@
+package com.company.orchestrator.infrastructure.externaltask;
+
+import com.company.orchestrator.infrastructure.delegate.ServiceTaskHandler;
+import org.camunda.bpm.engine.impl.bpmn.behavior.ExternalTaskActivityBehavior;
+import org.camunda.bpm.engine.impl.bpmn.parser.AbstractBpmnParseListener;
+import org.camunda.bpm.engine.impl.bpmn.parser.BpmnParse;
+import org.camunda.bpm.engine.impl.cfg.AbstractProcessEnginePlugin;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.core.variable.mapping.value.ConstantValueProvider;
+import org.camunda.bpm.engine.impl.pvm.process.ActivityImpl;
+import org.camunda.bpm.engine.impl.pvm.process.ScopeImpl;
+import org.camunda.bpm.engine.impl.util.xml.Element;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Transforme, au déploiement, les service tasks dont le delegateExpression
+ * référence un {@link ServiceTaskHandler} en external tasks. Le topic est le
+ * nom du bean ; {@link ExternalTaskWorker} exécute ensuite le handler hors
+ * de toute transaction moteur.
+ */
+@Component
+@ConditionalOnProperty(name = "orchestrator.service-tasks.execution-mode", havingValue = "external-task")
+public class ExternalTaskModePlugin extends AbstractProcessEnginePlugin {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExternalTaskModePlugin.class);
+    private static final Pattern BEAN_EXPRESSION = Pattern.compile("^\\$\\{\\s*([A-Za-z_][\\w]*)\\s*}$");
+
+    private final ListableBeanFactory beanFactory;
+
+    public ExternalTaskModePlugin(ListableBeanFactory beanFactory) {
+        this.beanFactory = beanFactory;
+    }
+
+    @Override
+    public void preInit(ProcessEngineConfigurationImpl configuration) {
+        if (configuration.getCustomPreBPMNParseListeners() == null) {
+            configuration.setCustomPreBPMNParseListeners(new ArrayList<>());
+        }
+        configuration.getCustomPreBPMNParseListeners().add(new ExternalTaskParseListener());
+    }
+
+    private class ExternalTaskParseListener extends AbstractBpmnParseListener {
+
+        @Override
+        public void parseServiceTask(Element serviceTaskElement, ScopeImpl scope, ActivityImpl activity) {
+            String delegateExpression = serviceTaskElement.attributeNS(BpmnParse.CAMUNDA_BPMN_EXTENSIONS_NS, "delegateExpression");
+            if (delegateExpression == null) {
+                return;
+            }
+
+            Matcher matcher = BEAN_EXPRESSION.matcher(delegateExpression.trim());
+            if (!matcher.matches()) {
+                return;
+            }
+
+            String beanName = matcher.group(1);
+            if (!handlerBeanNames().contains(beanName)) {
+                return;
+            }
+
+            activity.setActivityBehavior(new ExternalTaskActivityBehavior(new ConstantValueProvider(beanName), null));
+            logger.info("Service task '{}' will run as external task on topic '{}'", activity.getId(), beanName);
+        }
+
+        private Set<String> handlerBeanNames() {
+            // Les tâches sans appel partenaire restent exécutées dans la transaction du moteur
+            return Arrays.stream(beanFactory.getBeanNamesForType(ServiceTaskHandler.class, false, false))
+                .filter(name -> !beanFactory.getBean(name, ServiceTaskHandler.class).runsInEngineTransaction())
+                .collect(Collectors.toSet());
+        }
+    }
+}
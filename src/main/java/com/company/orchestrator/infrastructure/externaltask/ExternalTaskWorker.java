@@ -0,0 +1,224 @@
+package com.company.orchestrator.infrastructure.externaltask;
+
+import com.company.orchestrator.infrastructure.delegate.DelegateMetrics;
+import com.company.orchestrator.infrastructure.delegate.ServiceTaskHandler;
+import com.company.orchestrator.infrastructure.engine.TransactionalBatch;
+import com.company.orchestrator.infrastructure.tracing.ServiceTaskTracing;
+import org.camunda.bpm.engine.ExternalTaskService;
+import org.camunda.bpm.engine.externaltask.ExternalTaskQueryBuilder;
+import org.camunda.bpm.engine.externaltask.LockedExternalTask;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.net.InetAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Worker in-process pour les external tasks créées par {@link ExternalTaskModePlugin}.
+ * Les tâches sont verrouillées par lots, les appels aux APIs partenaires sont faits
+ * hors transaction (aucune connexion Hikari n'est retenue pendant l'appel HTTP),
+ * puis les résultats sont complétés en bloc dans une seule transaction.
+ */
+@Component
+@ConditionalOnProperty(name = "orchestrator.service-tasks.execution-mode", havingValue = "external-task")
+public class ExternalTaskWorker implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExternalTaskWorker.class);
+
+    private final ExternalTaskService externalTaskService;
+    private final Map<String, ServiceTaskHandler> handlers;
+    private final TransactionalBatch transactionalBatch;
+    private final DelegateMetrics delegateMetrics;
+    private final String workerId;
+
+    @Value("${orchestrator.external-task.worker.max-tasks:50}")
+    private int maxTasks;
+
+    @Value("${orchestrator.external-task.worker.lock-duration:60000}")
+    private long lockDuration;
+
+    @Value("${orchestrator.external-task.worker.threads:16}")
+    private int threads;
+
+    @Value("${orchestrator.external-task.worker.max-idle:5000}")
+    private long maxIdle;
+
+    @Value("${orchestrator.external-task.worker.retries:3}")
+    private int retries;
+
+    @Value("${orchestrator.external-task.worker.retry-timeout:30000}")
+    private long retryTimeout;
+
+    private volatile boolean running;
+    private Thread poller;
+    private ExecutorService executor;
+
+    public ExternalTaskWorker(ExternalTaskService externalTaskService,
+                              Map<String, ServiceTaskHandler> handlers,
+                              TransactionalBatch transactionalBatch,
+                              DelegateMetrics delegateMetrics) {
+        this.externalTaskService = externalTaskService;
+        this.handlers = handlers;
+        this.transactionalBatch = transactionalBatch;
+        this.delegateMetrics = delegateMetrics;
+        this.workerId = resolveHostName() + "-" + UUID.randomUUID();
+    }
+
+    @Override
+    public void start() {
+        AtomicInteger threadCount = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "external-task-handler-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        running = true;
+        poller = new Thread(this::pollLoop, "external-task-poller");
+        poller.setDaemon(true);
+        poller.start();
+
+        logger.info("External task worker {} started for topics {}", workerId, handlers.keySet());
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (poller != null) {
+            poller.interrupt();
+        }
+        if (executor != null) {
+            executor.shutdown();
+            try {
+                executor.awaitTermination(lockDuration, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        logger.info("External task worker {} stopped", workerId);
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void pollLoop() {
+        long idle = 0;
+        while (running) {
+            try {
+                List<LockedExternalTask> tasks = fetchAndLock();
+                if (tasks.isEmpty()) {
+                    idle = Math.min(maxIdle, Math.max(100, idle * 2));
+                    Thread.sleep(idle);
+                    continue;
+                }
+
+                idle = 0;
+                process(tasks);
+
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                logger.error("External task polling failed", e);
+                sleepQuietly(maxIdle);
+            }
+        }
+    }
+
+    private List<LockedExternalTask> fetchAndLock() {
+        ExternalTaskQueryBuilder query = externalTaskService.fetchAndLock(maxTasks, workerId);
+        // Chaque topic ne charge que les variables lues par son handler
+        handlers.forEach((topic, handler) -> query.topic(topic, lockDuration)
+                .variables(handler.variableNames())
+                .enableCustomObjectDeserialization());
+        return query.execute();
+    }
+
+    private void process(List<LockedExternalTask> tasks) {
+        logger.debug("Processing {} locked external tasks", tasks.size());
+
+        List<CompletableFuture<ExternalTaskContext>> futures = new ArrayList<>(tasks.size());
+        for (LockedExternalTask task : tasks) {
+            futures.add(CompletableFuture.supplyAsync(() -> handle(task), executor));
+        }
+
+        List<ExternalTaskContext> completed = new ArrayList<>(tasks.size());
+        for (CompletableFuture<ExternalTaskContext> future : futures) {
+            ExternalTaskContext context = future.join();
+            if (context != null) {
+                completed.add(context);
+            }
+        }
+
+        // Complétion groupée : un seul commit pour l'ensemble du lot
+        transactionalBatch.execute(completed, context -> {
+            externalTaskService.complete(context.getTask().getId(), workerId, context.getOutputVariables());
+            return null;
+        }).stream()
+                .filter(outcome -> !outcome.isSuccess())
+                .forEach(outcome -> logger.warn("Failed to complete external task {}: {}",
+                        outcome.item().getTask().getId(), outcome.error().getMessage()));
+    }
+
+    private ExternalTaskContext handle(LockedExternalTask task) {
+        ExternalTaskContext context = new ExternalTaskContext(task);
+        try {
+            ServiceTaskHandler handler = handlers.get(task.getTopicName());
+            ServiceTaskTracing.execute(context, () -> delegateMetrics.execute(handler, context));
+            return context;
+        } catch (Exception e) {
+            logger.error("External task {} on topic {} failed for process instance: {}",
+                    task.getId(), task.getTopicName(), task.getProcessInstanceId(), e);
+            reportFailure(task, e);
+            return null;
+        }
+    }
+
+    private void reportFailure(LockedExternalTask task, Exception error) {
+        int remainingRetries = task.getRetries() == null ? retries - 1 : task.getRetries() - 1;
+        try {
+            externalTaskService.handleFailure(task.getId(), workerId, error.getMessage(), stackTrace(error),
+                    Math.max(remainingRetries, 0), retryTimeout);
+        } catch (Exception e) {
+            logger.warn("Failed to report failure for external task {}: {}", task.getId(), e.getMessage());
+        }
+    }
+
+    private static String stackTrace(Exception error) {
+        StringWriter writer = new StringWriter();
+        error.printStackTrace(new PrintWriter(writer));
+        return writer.toString();
+    }
+
+    private static String resolveHostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            return "worker";
+        }
+    }
+
+    private static void sleepQuietly(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.company.orchestrator.infrastructure.history;
+
+import com.company.orchestrator.infrastructure.audit.ProcessAudit;
+import org.camunda.bpm.engine.RepositoryService;
+import org.camunda.bpm.engine.impl.cfg.AbstractProcessEnginePlugin;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.history.HistoryLevel;
+import org.camunda.bpm.engine.repository.ProcessDefinition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Politique d'historique : enregistre le niveau {@link SelectiveHistoryLevel}
+ * (activé par {@code camunda.bpm.history-level: selective}) et applique au démarrage
+ * les durées de rétention configurées par définition de processus. Le nettoyage
+ * lui-même est le job de history cleanup du moteur, borné par les fenêtres et la
+ * taille de lot déclarées dans {@code camunda.bpm.generic-properties}.
+ */
+@Configuration
+@EnableConfigurationProperties(HistoryPolicyProperties.class)
+public class HistoryPolicyConfiguration {
+
+    private static final Logger logger = LoggerFactory.getLogger(HistoryPolicyConfiguration.class);
+
+    private final HistoryPolicyProperties properties;
+
+    public HistoryPolicyConfiguration(HistoryPolicyProperties properties) {
+        this.properties = properties;
+    }
+
+    @Bean
+    public AbstractProcessEnginePlugin selectiveHistoryLevelPlugin() {
+        // Les variables du modèle de lecture process_audit doivent rester historisées
+        Set<String> variables = new LinkedHashSet<>(properties.getVariables());
+        variables.addAll(ProcessAudit.TRACKED_VARIABLES);
+        SelectiveHistoryLevel historyLevel = new SelectiveHistoryLevel(variables);
+
+        return new AbstractProcessEnginePlugin() {
+            @Override
+            public void preInit(ProcessEngineConfigurationImpl configuration) {
+                if (configuration.getCustomHistoryLevels() == null) {
+                    configuration.setCustomHistoryLevels(new ArrayList<HistoryLevel>());
+                }
+                configuration.getCustomHistoryLevels().add(historyLevel);
+            }
+        };
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void applyHistoryTimeToLive(ApplicationReadyEvent event) {
+        if (properties.getTimeToLive().isEmpty()) {
+            return;
+        }
+        RepositoryService repositoryService = event.getApplicationContext().getBean(RepositoryService.class);
+
+        for (Map.Entry<String, Integer> entry : properties.getTimeToLive().entrySet()) {
+            for (ProcessDefinition definition : repositoryService.createProcessDefinitionQuery()
+                    .processDefinitionKey(entry.getKey())
+                    .list()) {
+                if (!Objects.equals(definition.getHistoryTimeToLive(), entry.getValue())) {
+                    repositoryService.updateProcessDefinitionHistoryTimeToLive(definition.getId(), entry.getValue());
+                    logger.info("History time to live of {} set to {} days", definition.getId(), entry.getValue());
+                }
+            }
+        }
+    }
+}
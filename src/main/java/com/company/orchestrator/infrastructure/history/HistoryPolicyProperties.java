@@ -0,0 +1,26 @@
+package com.company.orchestrator.infrastructure.history;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+@Data
+@ConfigurationProperties(prefix = "orchestrator.history")
+public class HistoryPolicyProperties {
+
+    /**
+     * Variables historisées par le niveau {@code selective}. Seules les valeurs
+     * scalaires sont retenues, quel que soit le nom.
+     */
+    private Set<String> variables = new LinkedHashSet<>();
+
+    /**
+     * Durée de rétention de l'historique, en jours, par clé de définition de processus.
+     * Prend le pas sur le {@code historyTimeToLive} déclaré dans le BPMN.
+     */
+    private Map<String, Integer> timeToLive = new HashMap<>();
+}
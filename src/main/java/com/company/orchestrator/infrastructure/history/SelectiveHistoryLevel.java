@@ -0,0 +1,58 @@
+package com.company.orchestrator.infrastructure.history;
+
+import org.camunda.bpm.engine.impl.history.HistoryLevel;
+import org.camunda.bpm.engine.impl.history.event.HistoricVariableUpdateEventEntity;
+import org.camunda.bpm.engine.impl.history.event.HistoryEventType;
+import org.camunda.bpm.engine.impl.history.event.HistoryEventTypes;
+import org.camunda.bpm.engine.impl.persistence.entity.VariableInstanceEntity;
+
+import java.util.Set;
+
+/**
+ * Niveau d'historique {@code full} sauf pour les variables : seules les variables
+ * de la liste blanche et de type scalaire sont copiées dans ACT_HI_VARINST et
+ * ACT_HI_DETAIL. Les réponses partenaires (maps), objets sérialisés et contenus
+ * binaires n'atteignent jamais l'historique ni ACT_GE_BYTEARRAY par ce chemin.
+ */
+public class SelectiveHistoryLevel implements HistoryLevel {
+
+    public static final int ID = 11;
+    public static final String NAME = "selective";
+
+    private static final Set<String> SCALAR_SERIALIZERS = Set.of(
+            "null", "string", "boolean", "short", "integer", "long", "double", "date");
+
+    private final Set<String> variables;
+
+    public SelectiveHistoryLevel(Set<String> variables) {
+        this.variables = Set.copyOf(variables);
+    }
+
+    @Override
+    public int getId() {
+        return ID;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public boolean isHistoryEventProduced(HistoryEventType eventType, Object entity) {
+        if (eventType == HistoryEventTypes.FORM_PROPERTY_UPDATE) {
+            return false;
+        }
+        if (entity instanceof VariableInstanceEntity variable) {
+            return isHistorized(variable.getName(), variable.getSerializerName());
+        }
+        if (entity instanceof HistoricVariableUpdateEventEntity variableUpdate) {
+            return isHistorized(variableUpdate.getVariableName(), variableUpdate.getSerializerName());
+        }
+        return true;
+    }
+
+    private boolean isHistorized(String name, String serializerName) {
+        return variables.contains(name) && (serializerName == null || SCALAR_SERIALIZERS.contains(serializerName));
+    }
+}
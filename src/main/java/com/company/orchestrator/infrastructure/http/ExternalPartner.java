@@ -0,0 +1,24 @@
+package com.company.orchestrator.infrastructure.http;
+
+/**
+ * Systèmes externes appelés par les delegates. L'identifiant sert de clé de
+ * configuration ({@code external.http.clients.<id>}) et de nom de client.
+ */
+public enum ExternalPartner {
+
+    SIMULATOR("simulator"),
+    PROFITABILITY("profitability"),
+    CONTRACT_GENERATOR("contract-generator"),
+    ESIGN("esign"),
+    VISION("vision");
+
+    private final String id;
+
+    ExternalPartner(String id) {
+        this.id = id;
+    }
+
+    public String getId() {
+        return id;
+    }
+}
@@ -0,0 +1,23 @@
+package com.company.orchestrator.infrastructure.http;
+
+import io.micrometer.common.KeyValues;
+import org.springframework.http.client.observation.ClientRequestObservationContext;
+import org.springframework.http.client.observation.DefaultClientRequestObservationConvention;
+
+/**
+ * Ajoute le tag {@code partner} aux observations {@code http.client.requests} d'un
+ * client partenaire, en plus des tags standards (uri, method, status, outcome).
+ */
+class PartnerClientRequestObservationConvention extends DefaultClientRequestObservationConvention {
+
+    private final ExternalPartner partner;
+
+    PartnerClientRequestObservationConvention(ExternalPartner partner) {
+        this.partner = partner;
+    }
+
+    @Override
+    public KeyValues getLowCardinalityKeyValues(ClientRequestObservationContext context) {
+        return super.getLowCardinalityKeyValues(context).and("partner", partner.getId());
+    }
+}
@@ -0,0 +1,129 @@
+package com.company.orchestrator.infrastructure.http;
+
+import com.company.orchestrator.infrastructure.tracing.PartnerCallTracingRequestFactory;
+import com.company.orchestrator.infrastructure.tracing.SpanExporter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import java.lang.reflect.Method;
+import java.net.http.HttpClient;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Un client HTTP nommé par système externe : chaque partenaire dispose de son
+ * propre {@link HttpClient} (pool de connexions keep-alive dédié, HTTP/2 négocié
+ * quand le serveur le supporte), de timeouts de connexion et de lecture appliqués
+ * et de son propre exécuteur. Un partenaire lent ne peut donc pas consommer les
+ * connexions ni les threads des autres.
+ */
+@Configuration
+@EnableConfigurationProperties(PartnerHttpClientProperties.class)
+public class PartnerHttpClientConfiguration implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(PartnerHttpClientConfiguration.class);
+
+    private final PartnerHttpClientProperties properties;
+    private final RestTemplateBuilder restTemplateBuilder;
+    private final ObjectProvider<SpanExporter> spanExporter;
+    private final List<ExecutorService> executors = new CopyOnWriteArrayList<>();
+
+    public PartnerHttpClientConfiguration(PartnerHttpClientProperties properties, RestTemplateBuilder restTemplateBuilder,
+                                          ObjectProvider<SpanExporter> spanExporter) {
+        this.properties = properties;
+        this.restTemplateBuilder = restTemplateBuilder;
+        this.spanExporter = spanExporter;
+    }
+
+    @Bean
+    public RestTemplate simulatorRestTemplate() {
+        return createRestTemplate(ExternalPartner.SIMULATOR);
+    }
+
+    @Bean
+    public RestTemplate profitabilityRestTemplate() {
+        return createRestTemplate(ExternalPartner.PROFITABILITY);
+    }
+
+    @Bean
+    public RestTemplate contractGeneratorRestTemplate() {
+        return createRestTemplate(ExternalPartner.CONTRACT_GENERATOR);
+    }
+
+    @Bean
+    public RestTemplate eSignRestTemplate() {
+        return createRestTemplate(ExternalPartner.ESIGN);
+    }
+
+    @Bean
+    public RestTemplate visionRestTemplate() {
+        return createRestTemplate(ExternalPartner.VISION);
+    }
+
+    private RestTemplate createRestTemplate(ExternalPartner partner) {
+        PartnerHttpClientProperties.Client client = properties.resolve(partner);
+        ExecutorService executor = createExecutor(partner, client.getExecutorThreads());
+        executors.add(executor);
+
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(Boolean.TRUE.equals(client.getHttp2()) ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1)
+                .connectTimeout(client.getConnectTimeout())
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .executor(executor)
+                .build();
+
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient, executor);
+        requestFactory.setReadTimeout(client.getReadTimeout());
+
+        logger.info("HTTP client '{}' configured: connectTimeout={}, readTimeout={}, http2={}",
+                partner.getId(), client.getConnectTimeout(), client.getReadTimeout(), client.getHttp2());
+
+        // Span par appel et en-tête traceparent quand le tracing est activé, sans intercepteur (corps non recopié)
+        SpanExporter exporter = spanExporter.getIfAvailable();
+        ClientHttpRequestFactory partnerRequestFactory = exporter != null
+                ? new PartnerCallTracingRequestFactory(requestFactory, partner, exporter)
+                : requestFactory;
+
+        RestTemplate restTemplate = restTemplateBuilder
+                .requestFactory(() -> partnerRequestFactory)
+                .build();
+        // Remplace la convention posée par le builder : timers http.client.requests tagués par partenaire
+        restTemplate.setObservationConvention(new PartnerClientRequestObservationConvention(partner));
+        return restTemplate;
+    }
+
+    private ExecutorService createExecutor(ExternalPartner partner, int threads) {
+        if (properties.isVirtualThreads()) {
+            try {
+                Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+                return (ExecutorService) factory.invoke(null);
+            } catch (ReflectiveOperationException e) {
+                logger.debug("Virtual threads not available on this runtime, using a bounded pool for '{}'", partner.getId());
+            }
+        }
+
+        AtomicInteger threadCount = new AtomicInteger();
+        return Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "http-" + partner.getId() + "-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public void destroy() {
+        executors.forEach(ExecutorService::shutdown);
+    }
+}
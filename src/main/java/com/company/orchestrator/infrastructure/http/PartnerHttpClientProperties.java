@@ -0,0 +1,50 @@
+package com.company.orchestrator.infrastructure.http;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "external.http")
+public class PartnerHttpClientProperties {
+
+    /**
+     * Exécute les échanges HTTP sur des virtual threads lorsque le runtime
+     * les supporte (Java 21+), sinon sur un pool borné par client.
+     */
+    private boolean virtualThreads = true;
+
+    private Client defaults = defaultClient();
+
+    private Map<String, Client> clients = new HashMap<>();
+
+    public Client resolve(ExternalPartner partner) {
+        Client specific = clients.getOrDefault(partner.getId(), new Client());
+        Client resolved = new Client();
+        resolved.setConnectTimeout(specific.getConnectTimeout() != null ? specific.getConnectTimeout() : defaults.getConnectTimeout());
+        resolved.setReadTimeout(specific.getReadTimeout() != null ? specific.getReadTimeout() : defaults.getReadTimeout());
+        resolved.setHttp2(specific.getHttp2() != null ? specific.getHttp2() : defaults.getHttp2());
+        resolved.setExecutorThreads(specific.getExecutorThreads() != null ? specific.getExecutorThreads() : defaults.getExecutorThreads());
+        return resolved;
+    }
+
+    private static Client defaultClient() {
+        Client client = new Client();
+        client.setConnectTimeout(Duration.ofSeconds(2));
+        client.setReadTimeout(Duration.ofSeconds(10));
+        client.setHttp2(true);
+        client.setExecutorThreads(8);
+        return client;
+    }
+
+    @Data
+    public static class Client {
+        private Duration connectTimeout;
+        private Duration readTimeout;
+        private Boolean http2;
+        private Integer executorThreads;
+    }
+}
@@ -0,0 +1,50 @@
+package com.company.orchestrator.infrastructure.http;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Circuit breaker et bulkhead par système externe, configurés sous
+ * {@code resilience4j.circuitbreaker.instances.<id>} et
+ * {@code resilience4j.bulkhead.instances.<id>}. Circuit ouvert ou bulkhead plein :
+ * l'appel est refusé immédiatement ({@code CallNotPermittedException},
+ * {@code BulkheadFullException}) et le delegate passe directement à son repli,
+ * sans attendre le timeout ni occuper un thread du job executor.
+ */
+@Component
+public class PartnerResilience {
+
+    private static final Logger logger = LoggerFactory.getLogger(PartnerResilience.class);
+
+    private final Map<ExternalPartner, CircuitBreaker> circuitBreakers = new EnumMap<>(ExternalPartner.class);
+    private final Map<ExternalPartner, Bulkhead> bulkheads = new EnumMap<>(ExternalPartner.class);
+
+    public PartnerResilience(CircuitBreakerRegistry circuitBreakerRegistry, BulkheadRegistry bulkheadRegistry) {
+        // Créés au démarrage pour apparaître dans l'actuator avant le premier appel
+        for (ExternalPartner partner : ExternalPartner.values()) {
+            CircuitBreaker circuitBreaker = circuitBreakerRegistry.circuitBreaker(partner.getId());
+            circuitBreaker.getEventPublisher().onStateTransition(event ->
+                    logger.warn("Circuit breaker '{}': {}", partner.getId(), event.getStateTransition()));
+            circuitBreakers.put(partner, circuitBreaker);
+            bulkheads.put(partner, bulkheadRegistry.bulkhead(partner.getId()));
+        }
+    }
+
+    /**
+     * Exécute l'appel sous le bulkhead puis le circuit breaker du partenaire.
+     * Les refus et les échecs remontent tels quels à l'appelant.
+     */
+    public <T> T call(ExternalPartner partner, Supplier<T> call) {
+        Supplier<T> guarded = CircuitBreaker.decorateSupplier(circuitBreakers.get(partner), call);
+        return Bulkhead.decorateSupplier(bulkheads.get(partner), guarded).get();
+    }
+}
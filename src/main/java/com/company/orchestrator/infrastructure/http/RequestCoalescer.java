@@ -0,0 +1,98 @@
+package com.company.orchestrator.infrastructure.http;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Regroupe les appels concurrents portant la même requête logique : le premier
+ * appelant exécute l'appel HTTP, les suivants attendent et partagent sa réponse
+ * (ou son exception). La clé est le payload privé des champs volatils configurés.
+ * <p>
+ * L'attente d'un suiveur est bornée par {@code maxWait} (timeouts du client du
+ * partenaire) : au-delà, il échoue comme un appel expiré et le delegate passe à son repli.
+ */
+public class RequestCoalescer<V> {
+
+    private final Map<Object, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final ExternalPartner partner;
+    private final Set<String> excludedFields;
+    private final boolean enabled;
+    private final Duration maxWait;
+    private final Counter coalescedCalls;
+
+    public RequestCoalescer(ExternalPartner partner, boolean enabled, Collection<String> excludedFields, Duration maxWait,
+                            MeterRegistry meterRegistry) {
+        this.partner = partner;
+        this.enabled = enabled;
+        this.excludedFields = Set.copyOf(excludedFields);
+        this.maxWait = maxWait;
+        this.coalescedCalls = Counter.builder("partner.requests.coalesced")
+                .description("Partner calls served by an identical in-flight request")
+                .tag("partner", partner.getId())
+                .register(meterRegistry);
+    }
+
+    public Object keyFor(String url, Map<String, Object> payload) {
+        Map<String, Object> key = new TreeMap<>();
+        payload.forEach((field, value) -> {
+            if (!excludedFields.contains(field)) {
+                key.put(field, value);
+            }
+        });
+        return Map.entry(url, key);
+    }
+
+    public V execute(Object key, Supplier<V> call) {
+        if (!enabled) {
+            return call.get();
+        }
+
+        CompletableFuture<V> leader = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, leader);
+        if (existing != null) {
+            coalescedCalls.increment();
+            return await(existing);
+        }
+
+        try {
+            V result = call.get();
+            leader.complete(result);
+            return result;
+        } catch (Throwable e) {
+            // Error compris : un suiveur ne doit jamais attendre un appel abandonné
+            leader.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, leader);
+        }
+    }
+
+    private V await(CompletableFuture<V> future) {
+        try {
+            return future.get(maxWait.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new CompletionException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("Coalesced " + partner.getId() + " call did not complete within " + maxWait, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a coalesced " + partner.getId() + " call", e);
+        }
+    }
+}
@@ -0,0 +1,319 @@
+package com.company.orchestrator.infrastructure.ingestion;
+
+import com.company.orchestrator.domain.workflow.FormSubmissionWorkflow;
+import com.company.orchestrator.infrastructure.variable.CompactValueCodec;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.camunda.bpm.engine.HistoryService;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.history.HistoricProcessInstance;
+import org.camunda.bpm.engine.runtime.ProcessInstance;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Entrée asynchrone des soumissions de formulaire : la soumission est écrite dans le
+ * {@link SubmissionJournal} puis placée dans une file bornée, et l'appelant reçoit
+ * aussitôt un identifiant de suivi. Des drainers démarrent les instances au débit du
+ * rate limiter {@code ingestion} ; file pleine, les nouvelles soumissions sont refusées.
+ * <p>
+ * L'identifiant de suivi devient la business key de l'instance : une soumission rejouée
+ * après un arrêt dont l'instance existe déjà n'est pas démarrée une seconde fois.
+ */
+@Component
+@ConditionalOnProperty(name = "orchestrator.ingestion.enabled", havingValue = "true")
+public class SubmissionIngestion implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(SubmissionIngestion.class);
+
+    public static final String RATE_LIMITER = "ingestion";
+
+    private final RuntimeService runtimeService;
+    private final HistoryService historyService;
+    private final RateLimiter rateLimiter;
+    private final MeterRegistry meterRegistry;
+    private final Path journalDirectory;
+    private final int segmentSize;
+    private final boolean sync;
+    private final BlockingDeque<QueuedSubmission> queue = new LinkedBlockingDeque<>();
+    private final AtomicInteger depth = new AtomicInteger();
+    private final Cache<String, SubmissionStatus> statuses;
+
+    @Value("${orchestrator.ingestion.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${orchestrator.ingestion.drainers:4}")
+    private int drainers;
+
+    @Value("${orchestrator.ingestion.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${orchestrator.ingestion.retry-delay:1000}")
+    private long retryDelay;
+
+    private volatile boolean running;
+    private SubmissionJournal journal;
+    private Thread[] threads = new Thread[0];
+
+    public SubmissionIngestion(RuntimeService runtimeService,
+                               HistoryService historyService,
+                               RateLimiterRegistry rateLimiterRegistry,
+                               MeterRegistry meterRegistry,
+                               @Value("${orchestrator.ingestion.journal.directory:./data/ingestion-journal}") Path journalDirectory,
+                               @Value("${orchestrator.ingestion.journal.segment-size:16777216}") int segmentSize,
+                               @Value("${orchestrator.ingestion.journal.sync:false}") boolean sync,
+                               @Value("${orchestrator.ingestion.status-retention:1h}") Duration statusRetention) {
+        this.runtimeService = runtimeService;
+        this.historyService = historyService;
+        this.rateLimiter = rateLimiterRegistry.rateLimiter(RATE_LIMITER);
+        this.meterRegistry = meterRegistry;
+        this.journalDirectory = journalDirectory;
+        this.segmentSize = segmentSize;
+        this.sync = sync;
+        this.statuses = Caffeine.newBuilder()
+                .expireAfterWrite(statusRetention)
+                .maximumSize(100_000)
+                .build();
+
+        Gauge.builder("orchestrator.ingestion.queue.depth", depth, AtomicInteger::get)
+                .description("Accepted submissions waiting for their process instance")
+                .register(meterRegistry);
+        Gauge.builder("orchestrator.ingestion.queue.age", this, SubmissionIngestion::oldestAgeSeconds)
+                .description("Age of the oldest waiting submission")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Journalise et met en file la soumission ; renvoie son identifiant de suivi, ou
+     * vide si la file est pleine.
+     */
+    public Optional<String> submit(Map<String, Object> variables) {
+        if (!running) {
+            count("rejected");
+            return Optional.empty();
+        }
+        if (depth.incrementAndGet() > queueCapacity) {
+            depth.decrementAndGet();
+            count("rejected");
+            return Optional.empty();
+        }
+        String trackingId = UUID.randomUUID().toString();
+        long acceptedAt = System.currentTimeMillis();
+        try {
+            journal.appendSubmission(trackingId, acceptedAt, CompactValueCodec.encode(variables, 0));
+        } catch (RuntimeException e) {
+            depth.decrementAndGet();
+            throw e;
+        }
+        statuses.put(trackingId, SubmissionStatus.accepted(acceptedAt));
+        queue.addLast(new QueuedSubmission(trackingId, acceptedAt, variables, false));
+        count("accepted");
+        return Optional.of(trackingId);
+    }
+
+    /**
+     * État d'une soumission : suivi en mémoire, puis instance de même business key
+     * (soumission plus ancienne que la rétention des états).
+     */
+    public Optional<SubmissionStatus> status(String trackingId) {
+        SubmissionStatus status = statuses.getIfPresent(trackingId);
+        if (status != null) {
+            return Optional.of(status);
+        }
+        return findInstance(trackingId).map(SubmissionStatus::started);
+    }
+
+    public int getQueueDepth() {
+        return depth.get();
+    }
+
+    @Override
+    public void start() {
+        // La file est reconstruite depuis le journal
+        queue.clear();
+        depth.set(0);
+        List<SubmissionJournal.JournalEntry> pending;
+        journal = new SubmissionJournal(journalDirectory, segmentSize, sync);
+        try {
+            pending = journal.open();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open the submission journal", e);
+        }
+        for (SubmissionJournal.JournalEntry entry : pending) {
+            try {
+                @SuppressWarnings("unchecked")
+                Map<String, Object> variables = (Map<String, Object>) CompactValueCodec.decode(entry.variables());
+                statuses.put(entry.trackingId(), SubmissionStatus.accepted(entry.acceptedAt()));
+                queue.addLast(new QueuedSubmission(entry.trackingId(), entry.acceptedAt(), variables, true));
+                depth.incrementAndGet();
+                count("replayed");
+            } catch (IOException e) {
+                logger.error("Journaled submission {} cannot be read, dropped: {}", entry.trackingId(), e.getMessage());
+                journal.appendFailed(entry.trackingId(), "Unreadable journal record");
+            }
+        }
+
+        running = true;
+        threads = new Thread[drainers];
+        for (int i = 0; i < drainers; i++) {
+            threads[i] = new Thread(this::drainLoop, "ingestion-drainer-" + (i + 1));
+            threads[i].setDaemon(true);
+            threads[i].start();
+        }
+        logger.info("Submission ingestion started ({} drainers, queue capacity {}, {} submissions replayed)",
+                drainers, queueCapacity, pending.size());
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        for (Thread thread : threads) {
+            thread.interrupt();
+        }
+        for (Thread thread : threads) {
+            try {
+                thread.join(TimeUnit.SECONDS.toMillis(10));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        // Les soumissions encore en file restent dans le journal et seront rejouées
+        journal.close();
+        logger.info("Submission ingestion stopped ({} submissions left in the journal)", depth.get());
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        // Démarrée avant le serveur web (journal ouvert avant la première requête), arrêtée après lui
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    private void drainLoop() {
+        while (running) {
+            QueuedSubmission submission = null;
+            try {
+                submission = queue.pollFirst(1, TimeUnit.SECONDS);
+                if (submission == null) {
+                    continue;
+                }
+                if (submission.notBefore() > System.currentTimeMillis()) {
+                    queue.addLast(submission);
+                    Thread.sleep(Math.min(100, submission.notBefore() - System.currentTimeMillis()));
+                    continue;
+                }
+                while (!rateLimiter.acquirePermission()) {
+                    if (!running) {
+                        queue.addFirst(submission);
+                        return;
+                    }
+                }
+                startInstance(submission);
+            } catch (InterruptedException e) {
+                if (submission != null) {
+                    queue.addFirst(submission);
+                }
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void startInstance(QueuedSubmission submission) {
+        String trackingId = submission.trackingId();
+        try {
+            // Soumission rejouée : l'instance a pu démarrer avant l'arrêt sans que le journal le sache
+            Optional<String> existing = submission.replayed() ? findInstance(trackingId) : Optional.empty();
+            String processInstanceId = existing.isPresent() ? existing.get()
+                    : runtimeService.startProcessInstanceByKey(FormSubmissionWorkflow.PROCESS_KEY, trackingId, submission.variables()).getId();
+            journal.appendStarted(trackingId, processInstanceId);
+            statuses.put(trackingId, SubmissionStatus.started(processInstanceId));
+            depth.decrementAndGet();
+            count(existing.isPresent() ? "deduplicated" : "started");
+            meterRegistry.timer("orchestrator.ingestion.latency")
+                    .record(Duration.ofMillis(System.currentTimeMillis() - submission.acceptedAt()));
+
+        } catch (RuntimeException e) {
+            int attempt = submission.attempts() + 1;
+            if (attempt >= maxAttempts) {
+                logger.error("Submission {} failed after {} attempts: {}", trackingId, attempt, e.getMessage());
+                journal.appendFailed(trackingId, e.getMessage());
+                statuses.put(trackingId, SubmissionStatus.failed(e.getMessage()));
+                depth.decrementAndGet();
+                count("failed");
+                return;
+            }
+            logger.warn("Submission {} could not be started (attempt {}/{}): {}", trackingId, attempt, maxAttempts, e.getMessage());
+            queue.addLast(submission.retry(attempt, System.currentTimeMillis() + retryDelay * (1L << Math.min(attempt - 1, 10))));
+        }
+    }
+
+    private Optional<String> findInstance(String trackingId) {
+        ProcessInstance instance = runtimeService.createProcessInstanceQuery()
+                .processDefinitionKey(FormSubmissionWorkflow.PROCESS_KEY)
+                .processInstanceBusinessKey(trackingId)
+                .singleResult();
+        if (instance != null) {
+            return Optional.of(instance.getId());
+        }
+        List<HistoricProcessInstance> historic = historyService.createHistoricProcessInstanceQuery()
+                .processDefinitionKey(FormSubmissionWorkflow.PROCESS_KEY)
+                .processInstanceBusinessKey(trackingId)
+                .list();
+        return historic.stream().findFirst().map(HistoricProcessInstance::getId);
+    }
+
+    private double oldestAgeSeconds() {
+        // Les soumissions en nouvel essai sont remises en fin de file : minimum sur toute la file
+        return queue.stream()
+                .mapToLong(QueuedSubmission::acceptedAt)
+                .min()
+                .stream()
+                .mapToDouble(acceptedAt -> (System.currentTimeMillis() - acceptedAt) / 1000.0)
+                .findFirst()
+                .orElse(0.0);
+    }
+
+    private void count(String outcome) {
+        meterRegistry.counter("orchestrator.ingestion.submissions", "outcome", outcome).increment();
+    }
+
+    private record QueuedSubmission(String trackingId, long acceptedAt, Map<String, Object> variables,
+                                    boolean replayed, int attempts, long notBefore) {
+
+        QueuedSubmission(String trackingId, long acceptedAt, Map<String, Object> variables, boolean replayed) {
+            this(trackingId, acceptedAt, variables, replayed, 0, 0L);
+        }
+
+        // Après un échec, l'instance a pu être créée malgré tout : vérification comme au rejeu
+        QueuedSubmission retry(int attempt, long notBefore) {
+            return new QueuedSubmission(trackingId, acceptedAt, variables, true, attempt, notBefore);
+        }
+    }
+}
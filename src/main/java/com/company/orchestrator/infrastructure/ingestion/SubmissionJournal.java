@@ -0,0 +1,250 @@
+package com.company.orchestrator.infrastructure.ingestion;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Journal local en ajout seul des soumissions acceptées, en segments de taille fixe
+ * projetés en mémoire ({@code journal-000000000001.log}...). Chaque enregistrement est
+ * précédé de sa longueur et de son CRC32 : à la relecture, un enregistrement incomplet
+ * (arrêt pendant l'écriture) marque la fin du segment.
+ * <p>
+ * Trois types d'enregistrement : soumission (identifiant de suivi, date d'acceptation,
+ * variables), démarrage (identifiant de l'instance) et échec. Le segment le plus ancien
+ * est supprimé dès que toutes ses soumissions sont résolues : c'est le point de reprise.
+ */
+class SubmissionJournal implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(SubmissionJournal.class);
+
+    private static final byte SUBMITTED = 1;
+    private static final byte STARTED = 2;
+    private static final byte FAILED = 3;
+    private static final int RECORD_HEADER = 8;
+    private static final String SEGMENT_PREFIX = "journal-";
+    private static final String SEGMENT_SUFFIX = ".log";
+
+    private final Path directory;
+    private final int segmentSize;
+    private final boolean sync;
+
+    // Segments présents sur disque, du plus ancien au segment actif
+    private final Deque<Segment> segments = new ArrayDeque<>();
+    // Soumissions non résolues et segment qui les contient
+    private final Map<String, Segment> unresolved = new HashMap<>();
+    private Segment active;
+
+    SubmissionJournal(Path directory, int segmentSize, boolean sync) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.sync = sync;
+    }
+
+    /**
+     * Relit les segments existants et renvoie les soumissions non résolues, dans
+     * l'ordre d'acceptation. Les nouveaux enregistrements vont dans un segment neuf.
+     */
+    synchronized List<JournalEntry> open() throws IOException {
+        Files.createDirectories(directory);
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(directory)) {
+            files = listing.filter(file -> file.getFileName().toString().startsWith(SEGMENT_PREFIX)
+                            && file.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                    .sorted()
+                    .toList();
+        }
+
+        Map<String, JournalEntry> pending = new LinkedHashMap<>();
+        long lastSequence = 0;
+        for (Path file : files) {
+            Segment segment = new Segment(sequenceOf(file), file, null);
+            lastSequence = Math.max(lastSequence, segment.sequence);
+            segments.addLast(segment);
+            replay(segment, pending);
+        }
+        for (Segment segment : unresolved.values()) {
+            segment.pending++;
+        }
+
+        active = createSegment(lastSequence + 1);
+        releaseResolvedSegments();
+        logger.info("Submission journal {} opened: {} segments, {} pending submissions",
+                directory, segments.size(), pending.size());
+        return new ArrayList<>(pending.values());
+    }
+
+    synchronized void appendSubmission(String trackingId, long acceptedAt, byte[] variables) {
+        byte[] id = trackingId.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer body = ByteBuffer.allocate(1 + 2 + id.length + 8 + variables.length);
+        body.put(SUBMITTED).putShort((short) id.length).put(id).putLong(acceptedAt).put(variables);
+        append(body.array());
+        active.pending++;
+        unresolved.put(trackingId, active);
+    }
+
+    synchronized void appendStarted(String trackingId, String processInstanceId) {
+        appendResolution(STARTED, trackingId, processInstanceId);
+    }
+
+    synchronized void appendFailed(String trackingId, String error) {
+        appendResolution(FAILED, trackingId, error != null ? error : "");
+    }
+
+    synchronized int segmentCount() {
+        return segments.size();
+    }
+
+    private void appendResolution(byte type, String trackingId, String detail) {
+        byte[] id = trackingId.getBytes(StandardCharsets.UTF_8);
+        byte[] text = detail.getBytes(StandardCharsets.UTF_8);
+        int textLength = Math.min(text.length, Short.MAX_VALUE);
+        ByteBuffer body = ByteBuffer.allocate(1 + 2 + id.length + 2 + textLength);
+        body.put(type).putShort((short) id.length).put(id).putShort((short) textLength).put(text, 0, textLength);
+        append(body.array());
+
+        Segment segment = unresolved.remove(trackingId);
+        if (segment != null) {
+            segment.pending--;
+            releaseResolvedSegments();
+        }
+    }
+
+    private void append(byte[] body) {
+        int length = RECORD_HEADER + body.length;
+        if (length > segmentSize) {
+            throw new IllegalArgumentException("Record of " + body.length + " bytes exceeds the journal segment size");
+        }
+        if (active.buffer.remaining() < length) {
+            active = createSegment(active.sequence + 1);
+        }
+        CRC32 crc = new CRC32();
+        crc.update(body);
+        MappedByteBuffer buffer = active.buffer;
+        int position = buffer.position();
+        // Longueur écrite en dernier : un enregistrement interrompu reste invisible à la relecture
+        buffer.position(position + 4);
+        buffer.putInt((int) crc.getValue());
+        buffer.put(body);
+        buffer.putInt(position, body.length);
+        if (sync) {
+            buffer.force(position, length);
+        }
+    }
+
+    // Segments de tête entièrement résolus : supprimés, jamais le segment actif
+    private void releaseResolvedSegments() {
+        while (segments.size() > 1 && segments.peekFirst().pending == 0) {
+            Segment released = segments.removeFirst();
+            released.buffer = null;
+            try {
+                Files.deleteIfExists(released.file);
+                logger.debug("Submission journal segment {} released", released.file.getFileName());
+            } catch (IOException e) {
+                logger.warn("Cannot delete submission journal segment {}: {}", released.file, e.getMessage());
+            }
+        }
+    }
+
+    private void replay(Segment segment, Map<String, JournalEntry> pending) throws IOException {
+        try (FileChannel channel = FileChannel.open(segment.file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            while (buffer.remaining() >= RECORD_HEADER) {
+                int length = buffer.getInt();
+                int checksum = buffer.getInt();
+                if (length <= 0 || length > buffer.remaining()) {
+                    break;
+                }
+                byte[] body = new byte[length];
+                buffer.get(body);
+                CRC32 crc = new CRC32();
+                crc.update(body);
+                if ((int) crc.getValue() != checksum) {
+                    logger.warn("Corrupted record in submission journal segment {}, rest of the segment ignored",
+                            segment.file.getFileName());
+                    break;
+                }
+
+                ByteBuffer record = ByteBuffer.wrap(body);
+                byte type = record.get();
+                String trackingId = readString(record, record.getShort());
+                if (type == SUBMITTED) {
+                    long acceptedAt = record.getLong();
+                    byte[] variables = new byte[record.remaining()];
+                    record.get(variables);
+                    pending.put(trackingId, new JournalEntry(trackingId, acceptedAt, variables));
+                    unresolved.put(trackingId, segment);
+                } else {
+                    pending.remove(trackingId);
+                    unresolved.remove(trackingId);
+                }
+            }
+        }
+    }
+
+    private Segment createSegment(long sequence) {
+        Path file = directory.resolve(String.format("%s%012d%s", SEGMENT_PREFIX, sequence, SEGMENT_SUFFIX));
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            // Le mapping reste valide après la fermeture du canal
+            Segment segment = new Segment(sequence, file, channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize));
+            segments.addLast(segment);
+            return segment;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create submission journal segment " + file, e);
+        }
+    }
+
+    private static long sequenceOf(Path file) {
+        String name = file.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    private static String readString(ByteBuffer buffer, int length) {
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public synchronized void close() {
+        if (active != null && active.buffer != null) {
+            active.buffer.force();
+        }
+    }
+
+    record JournalEntry(String trackingId, long acceptedAt, byte[] variables) {
+    }
+
+    private static final class Segment {
+
+        private final long sequence;
+        private final Path file;
+        private MappedByteBuffer buffer;
+        private int pending;
+
+        Segment(long sequence, Path file, MappedByteBuffer buffer) {
+            this.sequence = sequence;
+            this.file = file;
+            this.buffer = buffer;
+        }
+    }
+}
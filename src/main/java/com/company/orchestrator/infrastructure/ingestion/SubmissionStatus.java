@@ -0,0 +1,29 @@
+package com.company.orchestrator.infrastructure.ingestion;
+
+import java.time.Instant;
+
+/**
+ * État d'une soumission acceptée par {@link SubmissionIngestion}.
+ *
+ * @param status            {@code ACCEPTED} (en file), {@code STARTED} ou {@code FAILED}
+ * @param processInstanceId instance démarrée, {@code null} tant que la soumission est en file
+ * @param acceptedAt        date d'acceptation, inconnue pour une soumission retrouvée par sa business key
+ */
+public record SubmissionStatus(String status, String processInstanceId, String error, Instant acceptedAt) {
+
+    public static final String ACCEPTED = "ACCEPTED";
+    public static final String STARTED = "STARTED";
+    public static final String FAILED = "FAILED";
+
+    static SubmissionStatus accepted(long acceptedAt) {
+        return new SubmissionStatus(ACCEPTED, null, null, Instant.ofEpochMilli(acceptedAt));
+    }
+
+    static SubmissionStatus started(String processInstanceId) {
+        return new SubmissionStatus(STARTED, processInstanceId, null, null);
+    }
+
+    static SubmissionStatus failed(String error) {
+        return new SubmissionStatus(FAILED, null, error, null);
+    }
+}
@@ -0,0 +1,404 @@
+package com.company.orchestrator.infrastructure.jobexecutor;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.camunda.bpm.engine.ManagementService;
+import org.camunda.bpm.engine.impl.cmd.AcquireJobsCmd;
+import org.camunda.bpm.engine.impl.jobexecutor.JobExecutor;
+import org.camunda.bpm.spring.boot.starter.configuration.impl.DefaultJobConfiguration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Ajuste à chaud la concurrence du job executor : threads du pool
+ * {@code camundaTaskExecutor} (core = max) et nombre de jobs par acquisition.
+ * <p>
+ * Algorithme AIMD évalué à intervalle fixe :
+ * <ul>
+ *   <li>threads en attente d'une connexion Hikari : réduction multiplicative ;</li>
+ *   <li>latence d'un delegate au-delà de {@code latency-tolerance} fois sa référence
+ *       (moyenne lissée) : réduction proportionnelle au gradient ;</li>
+ *   <li>jobs exécutables en attente et pool occupé : augmentation additive des threads,
+ *       pool libre : augmentation de la taille d'acquisition seule.</li>
+ * </ul>
+ * Garde-fous : bornes min/max, plafond des threads sous la taille du pool Hikari
+ * (moins {@code reserved-connections}), pas d'augmentation pendant {@code cooldown}
+ * intervalles après une réduction, et mode {@code dry-run} qui ne fait que journaliser.
+ */
+@Component
+@ConditionalOnProperty(name = "orchestrator.job-executor.adaptive.enabled", havingValue = "true")
+public class AdaptiveJobExecutor implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(AdaptiveJobExecutor.class);
+
+    private static final String DELEGATE_TIMER = "orchestrator.delegate.execution";
+    // Lissage de la latence de référence par delegate
+    private static final double BASELINE_SMOOTHING = 0.1;
+    private static final double MIN_GRADIENT = 0.5;
+
+    private final JobExecutor jobExecutor;
+    private final ThreadPoolTaskExecutor taskExecutor;
+    private final HikariDataSource hikari;
+    private final ManagementService managementService;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${orchestrator.job-executor.adaptive.interval:5000}")
+    private long interval;
+
+    @Value("${orchestrator.job-executor.adaptive.dry-run:false}")
+    private boolean dryRun;
+
+    @Value("${orchestrator.job-executor.adaptive.min-threads:2}")
+    private int minThreads;
+
+    @Value("${orchestrator.job-executor.adaptive.max-threads:32}")
+    private int maxThreads;
+
+    @Value("${orchestrator.job-executor.adaptive.reserved-connections:5}")
+    private int reservedConnections;
+
+    @Value("${orchestrator.job-executor.adaptive.min-acquisition-size:1}")
+    private int minAcquisitionSize;
+
+    @Value("${orchestrator.job-executor.adaptive.max-acquisition-size:16}")
+    private int maxAcquisitionSize;
+
+    @Value("${orchestrator.job-executor.adaptive.increase-step:1}")
+    private int increaseStep;
+
+    @Value("${orchestrator.job-executor.adaptive.decrease-factor:0.75}")
+    private double decreaseFactor;
+
+    @Value("${orchestrator.job-executor.adaptive.latency-tolerance:2.0}")
+    private double latencyTolerance;
+
+    @Value("${orchestrator.job-executor.adaptive.min-samples:20}")
+    private int minSamples;
+
+    @Value("${orchestrator.job-executor.adaptive.cooldown:3}")
+    private int cooldown;
+
+    @Value("${orchestrator.job-executor.adaptive.decision-history:100}")
+    private int decisionHistory;
+
+    private final AtomicInteger threads = new AtomicInteger();
+    private final AtomicInteger acquisitionSize = new AtomicInteger();
+    // Cumuls {nombre, durée totale ms} du timer par delegate au précédent intervalle
+    private final Map<String, double[]> previousTotals = new HashMap<>();
+    private final Map<String, Double> baselines = new HashMap<>();
+    private final Deque<JobExecutorDecision> decisions = new ArrayDeque<>();
+    private int cooldownRemaining;
+
+    private volatile JobExecutorDecision lastEvaluation;
+    private volatile boolean running;
+    private Thread controller;
+
+    public AdaptiveJobExecutor(JobExecutor jobExecutor,
+                               @Qualifier(DefaultJobConfiguration.JobConfiguration.CAMUNDA_TASK_EXECUTOR_QUALIFIER) TaskExecutor taskExecutor,
+                               DataSource dataSource,
+                               ManagementService managementService,
+                               MeterRegistry meterRegistry) {
+        if (!(taskExecutor instanceof ThreadPoolTaskExecutor pool)) {
+            throw new IllegalStateException("Adaptive job executor requires a ThreadPoolTaskExecutor, found "
+                    + taskExecutor.getClass().getName());
+        }
+        this.jobExecutor = jobExecutor;
+        this.taskExecutor = pool;
+        this.hikari = unwrapHikari(dataSource);
+        this.managementService = managementService;
+        this.meterRegistry = meterRegistry;
+
+        // La stratégie d'acquisition du moteur fige sa taille au démarrage : la taille
+        // demandée est plafonnée ici, à chaque acquisition (pas de plafond avant start())
+        jobExecutor.setAcquireJobsCmdFactory(requested -> {
+            int cap = acquisitionSize.get();
+            return new AcquireJobsCmd(jobExecutor, cap > 0 ? Math.min(requested, cap) : requested);
+        });
+
+        Gauge.builder("orchestrator.jobexecutor.threads", threads, AtomicInteger::get)
+                .description("Job executor threads set by the adaptive controller")
+                .register(meterRegistry);
+        Gauge.builder("orchestrator.jobexecutor.acquisition.size", acquisitionSize, AtomicInteger::get)
+                .description("Jobs acquired per acquisition cycle")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void start() {
+        // Plafond d'acquisition : au-delà de max-jobs-per-acquisition, la stratégie du moteur ne demande pas plus
+        int engineMaximum = jobExecutor.getMaxJobsPerAcquisition();
+        if (maxAcquisitionSize > engineMaximum) {
+            logger.warn("orchestrator.job-executor.adaptive.max-acquisition-size ({}) exceeds "
+                    + "camunda.bpm.job-execution.max-jobs-per-acquisition ({}), capped", maxAcquisitionSize, engineMaximum);
+            maxAcquisitionSize = engineMaximum;
+        }
+        acquisitionSize.set(clamp(engineMaximum, minAcquisitionSize, maxAcquisitionSize));
+        threads.set(clamp(taskExecutor.getCorePoolSize(), minThreads, threadCeiling()));
+        if (!dryRun) {
+            applyThreads(threads.get());
+        }
+
+        running = true;
+        controller = new Thread(this::controlLoop, "adaptive-job-executor");
+        controller.setDaemon(true);
+        controller.start();
+        logger.info("Adaptive job executor started ({} threads, {} jobs per acquisition, ceiling {} threads{})",
+                threads.get(), acquisitionSize.get(), threadCeiling(), dryRun ? ", dry run" : "");
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (controller != null) {
+            controller.interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    public int getThreads() {
+        return threads.get();
+    }
+
+    public int getAcquisitionSize() {
+        return acquisitionSize.get();
+    }
+
+    public int getThreadCeiling() {
+        return threadCeiling();
+    }
+
+    public boolean isDryRun() {
+        return dryRun;
+    }
+
+    public JobExecutorDecision getLastEvaluation() {
+        return lastEvaluation;
+    }
+
+    /**
+     * Décisions d'ajustement les plus récentes en premier (les maintiens n'y figurent pas).
+     */
+    public List<JobExecutorDecision> getDecisions() {
+        synchronized (decisions) {
+            return new ArrayList<>(decisions);
+        }
+    }
+
+    private void controlLoop() {
+        while (running) {
+            try {
+                Thread.sleep(interval);
+                evaluate();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                logger.warn("Adaptive job executor evaluation failed: {}", e.getMessage());
+            }
+        }
+    }
+
+    private void evaluate() {
+        JobExecutorDecision.Signals signals = observe();
+        int currentThreads = threads.get();
+        int currentSize = acquisitionSize.get();
+        int ceiling = threadCeiling();
+
+        String action = JobExecutorDecision.HOLD;
+        String reason;
+        int newThreads = currentThreads;
+        int newSize = currentSize;
+        if (signals.hikariPending() > 0) {
+            action = JobExecutorDecision.DECREASE;
+            reason = "connection-pool-saturated";
+            newThreads = decrease(currentThreads, decreaseFactor, minThreads);
+            newSize = decrease(currentSize, decreaseFactor, minAcquisitionSize);
+        } else if (signals.gradient() < 1.0) {
+            // Réduction proportionnelle à la dégradation, au plus decrease-factor
+            double factor = Math.max(signals.gradient(), decreaseFactor);
+            action = JobExecutorDecision.DECREASE;
+            reason = "delegate-latency";
+            newThreads = decrease(currentThreads, factor, minThreads);
+            newSize = decrease(currentSize, factor, minAcquisitionSize);
+        } else if (currentThreads > ceiling) {
+            action = JobExecutorDecision.DECREASE;
+            reason = "thread-ceiling";
+            newThreads = ceiling;
+        } else if (cooldownRemaining > 0) {
+            cooldownRemaining--;
+            reason = "cooldown";
+        } else if (signals.jobBacklog() > currentThreads && signals.activeThreads() >= currentThreads) {
+            reason = "job-backlog";
+            newThreads = Math.min(currentThreads + increaseStep, ceiling);
+            newSize = Math.min(currentSize + increaseStep, maxAcquisitionSize);
+        } else if (signals.jobBacklog() > currentSize) {
+            // Threads disponibles : l'acquisition est le goulot
+            reason = "acquisition-backlog";
+            newSize = Math.min(currentSize + increaseStep, maxAcquisitionSize);
+        } else {
+            reason = "steady";
+        }
+        if (JobExecutorDecision.HOLD.equals(action) && (newThreads != currentThreads || newSize != currentSize)) {
+            action = JobExecutorDecision.INCREASE;
+        } else if (JobExecutorDecision.DECREASE.equals(action)) {
+            cooldownRemaining = cooldown;
+            if (newThreads == currentThreads && newSize == currentSize) {
+                // Déjà aux bornes minimales
+                action = JobExecutorDecision.HOLD;
+            }
+        }
+
+        JobExecutorDecision decision = new JobExecutorDecision(Instant.now(), action, reason,
+                currentThreads, newThreads, currentSize, newSize, signals, !dryRun);
+        lastEvaluation = decision;
+        if (JobExecutorDecision.HOLD.equals(action)) {
+            return;
+        }
+
+        if (!dryRun) {
+            applyThreads(newThreads);
+            threads.set(newThreads);
+            acquisitionSize.set(newSize);
+        }
+        record(decision);
+        logger.info("Job executor {} ({}): threads {} -> {}, acquisition size {} -> {}{}", action, reason,
+                currentThreads, newThreads, currentSize, newSize, dryRun ? " [dry run]" : "");
+    }
+
+    private JobExecutorDecision.Signals observe() {
+        // Gradient du delegate le plus dégradé par rapport à sa propre référence
+        double gradient = 1.0;
+        double latency = -1;
+        double baseline = -1;
+        String slowest = null;
+        for (Map.Entry<String, double[]> entry : delegateTotals().entrySet()) {
+            String delegate = entry.getKey();
+            double[] totals = entry.getValue();
+            double[] previous = previousTotals.put(delegate, totals);
+            if (previous == null) {
+                continue;
+            }
+            double count = totals[0] - previous[0];
+            if (count < minSamples) {
+                continue;
+            }
+            double mean = (totals[1] - previous[1]) / count;
+            Double reference = baselines.get(delegate);
+            if (reference == null) {
+                baselines.put(delegate, mean);
+                continue;
+            }
+            double delegateGradient = Math.max(MIN_GRADIENT, Math.min(1.0, reference * latencyTolerance / mean));
+            if (slowest == null || delegateGradient < gradient) {
+                gradient = delegateGradient;
+                latency = mean;
+                baseline = reference;
+                slowest = delegate;
+            }
+            baselines.put(delegate, reference + BASELINE_SMOOTHING * (mean - reference));
+        }
+
+        int pending = 0;
+        int active = 0;
+        int maximum = 0;
+        if (hikari != null) {
+            maximum = hikari.getMaximumPoolSize();
+            HikariPoolMXBean pool = hikari.getHikariPoolMXBean();
+            if (pool != null) {
+                pending = pool.getThreadsAwaitingConnection();
+                active = pool.getActiveConnections();
+            }
+        }
+
+        long backlog = managementService.createJobQuery().executable().active().count();
+        return new JobExecutorDecision.Signals(latency, baseline, slowest, gradient,
+                pending, active, maximum, backlog, taskExecutor.getActiveCount());
+    }
+
+    private Map<String, double[]> delegateTotals() {
+        Map<String, double[]> totals = new HashMap<>();
+        for (Timer timer : meterRegistry.find(DELEGATE_TIMER).timers()) {
+            double[] sum = totals.computeIfAbsent(timer.getId().getTag("delegate"), key -> new double[2]);
+            sum[0] += timer.count();
+            sum[1] += timer.totalTime(TimeUnit.MILLISECONDS);
+        }
+        return totals;
+    }
+
+    private void applyThreads(int target) {
+        // core <= max à tout instant
+        if (target > taskExecutor.getMaxPoolSize()) {
+            taskExecutor.setMaxPoolSize(target);
+            taskExecutor.setCorePoolSize(target);
+        } else {
+            taskExecutor.setCorePoolSize(target);
+            taskExecutor.setMaxPoolSize(target);
+        }
+    }
+
+    private void record(JobExecutorDecision decision) {
+        synchronized (decisions) {
+            decisions.addFirst(decision);
+            while (decisions.size() > decisionHistory) {
+                decisions.removeLast();
+            }
+        }
+        meterRegistry.counter("orchestrator.jobexecutor.adjustments",
+                "action", decision.action(), "reason", decision.reason()).increment();
+    }
+
+    private int threadCeiling() {
+        int ceiling = maxThreads;
+        if (hikari != null) {
+            // Chaque job tient une connexion pendant sa transaction
+            ceiling = Math.min(ceiling, hikari.getMaximumPoolSize() - reservedConnections);
+        }
+        return Math.max(ceiling, minThreads);
+    }
+
+    private static int decrease(int value, double factor, int minimum) {
+        return Math.max(minimum, Math.min(value - 1, (int) Math.floor(value * factor)));
+    }
+
+    private static int clamp(int value, int minimum, int maximum) {
+        return Math.max(minimum, Math.min(value, maximum));
+    }
+
+    private static HikariDataSource unwrapHikari(DataSource dataSource) {
+        try {
+            if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                return dataSource.unwrap(HikariDataSource.class);
+            }
+        } catch (SQLException e) {
+            logger.debug("Cannot unwrap the data source: {}", e.getMessage());
+        }
+        logger.warn("Data source is not a Hikari pool, connection pool signals are ignored");
+        return null;
+    }
+}
@@ -0,0 +1,38 @@
+package com.company.orchestrator.infrastructure.jobexecutor;
+
+import java.time.Instant;
+
+/**
+ * Décision du contrôleur adaptatif : réglage avant/après et signaux observés sur
+ * l'intervalle qui l'ont motivée.
+ */
+public record JobExecutorDecision(
+        Instant timestamp,
+        String action,
+        String reason,
+        int threadsBefore,
+        int threadsAfter,
+        int acquisitionSizeBefore,
+        int acquisitionSizeAfter,
+        Signals signals,
+        boolean applied) {
+
+    public static final String INCREASE = "increase";
+    public static final String DECREASE = "decrease";
+    public static final String HOLD = "hold";
+
+    /**
+     * Signaux d'un intervalle. Latences en millisecondes, {@code -1} sans échantillon suffisant.
+     */
+    public record Signals(
+            double delegateLatency,
+            double baselineLatency,
+            String slowestDelegate,
+            double gradient,
+            int hikariPending,
+            int hikariActive,
+            int hikariMaximum,
+            long jobBacklog,
+            int activeThreads) {
+    }
+}
@@ -0,0 +1,37 @@
+package com.company.orchestrator.infrastructure.jobexecutor;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * {@code /actuator/jobexecutor} : réglage courant du job executor, garde-fous, dernière
+ * évaluation du contrôleur adaptatif et historique de ses ajustements.
+ */
+@Component
+@Endpoint(id = "jobexecutor")
+@ConditionalOnProperty(name = "orchestrator.job-executor.adaptive.enabled", havingValue = "true")
+public class JobExecutorEndpoint {
+
+    private final AdaptiveJobExecutor adaptiveJobExecutor;
+
+    public JobExecutorEndpoint(AdaptiveJobExecutor adaptiveJobExecutor) {
+        this.adaptiveJobExecutor = adaptiveJobExecutor;
+    }
+
+    @ReadOperation
+    public Map<String, Object> jobExecutor() {
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("dryRun", adaptiveJobExecutor.isDryRun());
+        response.put("threads", adaptiveJobExecutor.getThreads());
+        response.put("threadCeiling", adaptiveJobExecutor.getThreadCeiling());
+        response.put("acquisitionSize", adaptiveJobExecutor.getAcquisitionSize());
+        response.put("lastEvaluation", adaptiveJobExecutor.getLastEvaluation());
+        response.put("decisions", adaptiveJobExecutor.getDecisions());
+        return response;
+    }
+}
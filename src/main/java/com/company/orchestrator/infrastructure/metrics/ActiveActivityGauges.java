@@ -0,0 +1,110 @@
+package com.company.orchestrator.infrastructure.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.MultiGauge;
+import io.micrometer.core.instrument.Tags;
+import org.camunda.bpm.engine.ManagementService;
+import org.camunda.bpm.engine.management.ActivityStatistics;
+import org.camunda.bpm.engine.management.ProcessDefinitionStatistics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Jauge {@code orchestrator.activity.active} : nombre d'instances actuellement
+ * positionnées sur chaque activité, toutes versions du processus confondues.
+ * Les statistiques du moteur sont relues à intervalle fixe ; une activité déjà
+ * vue et redevenue vide est publiée à 0 plutôt que retirée.
+ */
+@Component
+public class ActiveActivityGauges implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(ActiveActivityGauges.class);
+
+    private final ManagementService managementService;
+    private final MultiGauge activeInstances;
+    private final Set<Map.Entry<String, String>> seenActivities = new HashSet<>();
+
+    @Value("${orchestrator.metrics.active-activities.refresh-interval:15000}")
+    private long refreshInterval;
+
+    private volatile boolean running;
+    private Thread refresher;
+
+    public ActiveActivityGauges(ManagementService managementService, MeterRegistry meterRegistry) {
+        this.managementService = managementService;
+        this.activeInstances = MultiGauge.builder("orchestrator.activity.active")
+                .description("Process instances currently waiting in or executing an activity")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        refresher = new Thread(this::refreshLoop, "active-activity-gauges");
+        refresher.setDaemon(true);
+        refresher.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (refresher != null) {
+            refresher.interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void refreshLoop() {
+        while (running) {
+            try {
+                refresh();
+                Thread.sleep(refreshInterval);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                logger.warn("Failed to refresh active activity gauges: {}", e.getMessage());
+                try {
+                    Thread.sleep(refreshInterval);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void refresh() {
+        Map<Map.Entry<String, String>, Integer> counts = new HashMap<>();
+        seenActivities.forEach(key -> counts.put(key, 0));
+
+        for (ProcessDefinitionStatistics definition : managementService.createProcessDefinitionStatisticsQuery().list()) {
+            if (definition.getInstances() == 0) {
+                continue;
+            }
+            for (ActivityStatistics activity : managementService.createActivityStatisticsQuery(definition.getId()).list()) {
+                counts.merge(Map.entry(definition.getKey(), activity.getId()), activity.getInstances(), Integer::sum);
+            }
+        }
+
+        List<MultiGauge.Row<?>> rows = new ArrayList<>(counts.size());
+        counts.forEach((key, count) -> rows.add(
+                MultiGauge.Row.of(Tags.of("process", key.getKey(), "activity", key.getValue()), count)));
+        activeInstances.register(rows, true);
+        seenActivities.addAll(counts.keySet());
+    }
+}
@@ -0,0 +1,77 @@
+package com.company.orchestrator.infrastructure.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.camunda.bpm.engine.ActivityTypes;
+import org.camunda.bpm.engine.impl.cfg.TransactionState;
+import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.history.event.HistoricActivityInstanceEventEntity;
+import org.camunda.bpm.engine.impl.history.event.HistoryEvent;
+import org.camunda.bpm.engine.impl.history.event.HistoryEventTypes;
+import org.camunda.bpm.engine.impl.history.handler.HistoryEventHandler;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Temps passé dans les états d'attente du processus (user tasks, receive tasks,
+ * événements intermédiaires) : à la fin de chaque instance d'activité, sa durée est
+ * enregistrée dans le timer {@code orchestrator.activity.dwell}, tagué par clé de
+ * processus, activité et type. L'enregistrement a lieu au commit de la transaction
+ * moteur : la date de début n'est renseignée sur l'événement qu'après ce handler,
+ * par le handler d'historique par défaut.
+ */
+public class ActivityDwellTimeHistoryEventHandler implements HistoryEventHandler {
+
+    private static final Set<String> WAIT_STATES = Set.of(
+            ActivityTypes.TASK_USER_TASK,
+            ActivityTypes.TASK_RECEIVE_TASK,
+            ActivityTypes.INTERMEDIATE_EVENT_MESSAGE,
+            ActivityTypes.INTERMEDIATE_EVENT_TIMER,
+            ActivityTypes.INTERMEDIATE_EVENT_SIGNAL,
+            ActivityTypes.INTERMEDIATE_EVENT_CONDITIONAL);
+
+    private final MeterRegistry meterRegistry;
+
+    public ActivityDwellTimeHistoryEventHandler(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void handleEvent(HistoryEvent historyEvent) {
+        if (!(historyEvent instanceof HistoricActivityInstanceEventEntity activity)
+                || !historyEvent.isEventOfType(HistoryEventTypes.ACTIVITY_INSTANCE_END)
+                || !WAIT_STATES.contains(activity.getActivityType())) {
+            return;
+        }
+        CommandContext commandContext = Context.getCommandContext();
+        if (commandContext != null) {
+            commandContext.getTransactionContext()
+                    .addTransactionListener(TransactionState.COMMITTED, context -> record(activity));
+        } else {
+            record(activity);
+        }
+    }
+
+    @Override
+    public void handleEvents(List<HistoryEvent> historyEvents) {
+        for (HistoryEvent historyEvent : historyEvents) {
+            handleEvent(historyEvent);
+        }
+    }
+
+    private void record(HistoricActivityInstanceEventEntity activity) {
+        if (activity.getDurationInMillis() == null) {
+            return;
+        }
+        Timer.builder("orchestrator.activity.dwell")
+                .description("Time spent waiting in a process activity")
+                .tag("process", String.valueOf(activity.getProcessDefinitionKey()))
+                .tag("activity", activity.getActivityId())
+                .tag("type", activity.getActivityType())
+                .register(meterRegistry)
+                .record(activity.getDurationInMillis(), TimeUnit.MILLISECONDS);
+    }
+}
@@ -0,0 +1,30 @@
+package com.company.orchestrator.infrastructure.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.camunda.bpm.engine.impl.cfg.AbstractProcessEnginePlugin;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+
+/**
+ * Ajoute {@link ActivityDwellTimeHistoryEventHandler} aux handlers d'historique du moteur
+ * (créé ici plutôt qu'en bean, comme pour {@code ProcessAuditPlugin}).
+ */
+@Component
+public class ActivityMetricsPlugin extends AbstractProcessEnginePlugin {
+
+    private final ActivityDwellTimeHistoryEventHandler historyEventHandler;
+
+    public ActivityMetricsPlugin(MeterRegistry meterRegistry) {
+        this.historyEventHandler = new ActivityDwellTimeHistoryEventHandler(meterRegistry);
+    }
+
+    @Override
+    public void preInit(ProcessEngineConfigurationImpl configuration) {
+        if (configuration.getCustomHistoryEventHandlers() == null) {
+            configuration.setCustomHistoryEventHandlers(new ArrayList<>());
+        }
+        configuration.getCustomHistoryEventHandlers().add(historyEventHandler);
+    }
+}
@@ -0,0 +1,24 @@
+package com.company.orchestrator.infrastructure.outbox;
+
+/**
+ * Demande d'appel partenaire réservée par le dispatcher.
+ *
+ * @param idempotencyKey clé transmise au partenaire dans {@code X-Request-ID}
+ * @param handler        nom du bean {@code ServiceTaskHandler} à exécuter
+ * @param attempts       nombre d'appels au partenaire, celui en cours inclus
+ * @param result         variables de sortie encodées, {@code null} tant que l'appel n'a pas réussi
+ */
+public record OutboundRequest(long id,
+                              String idempotencyKey,
+                              String processInstanceId,
+                              String executionId,
+                              String activityId,
+                              String handler,
+                              int attempts,
+                              byte[] result,
+                              String resultFormat) {
+
+    public boolean isDelivered() {
+        return result != null;
+    }
+}
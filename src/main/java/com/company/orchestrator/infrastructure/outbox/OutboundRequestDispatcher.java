@@ -0,0 +1,339 @@
+package com.company.orchestrator.infrastructure.outbox;
+
+import com.company.orchestrator.infrastructure.delegate.DelegateMetrics;
+import com.company.orchestrator.infrastructure.delegate.ServiceTaskHandler;
+import com.company.orchestrator.infrastructure.engine.TransactionalBatch;
+import com.company.orchestrator.infrastructure.tracing.ServiceTaskTracing;
+import com.company.orchestrator.infrastructure.variable.CompactValueCodec;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.camunda.bpm.engine.MismatchingMessageCorrelationException;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.runtime.ProcessInstance;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Vide l'outbox {@code app.outbound_request} avec son propre pool de threads. Les
+ * demandes sont réservées par lots, les handlers appellent les partenaires hors de
+ * toute transaction moteur (l'en-tête {@code X-Request-ID} porte la clé d'idempotence),
+ * les résultats sont stockés en un batch JDBC puis reportés aux instances par
+ * corrélation du message de réponse, le lot entier dans une seule transaction.
+ * <p>
+ * Appel en échec : nouvel essai avec backoff exponentiel, puis incident sur l'activité
+ * une fois les tentatives épuisées ; résoudre l'incident relance la demande
+ * ({@link OutboundRequestIncidentHandler}). Instance disparue entre-temps : demande {@code ORPHANED}.
+ */
+@Component
+@ConditionalOnProperty(name = "orchestrator.service-tasks.execution-mode", havingValue = "outbox")
+public class OutboundRequestDispatcher implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboundRequestDispatcher.class);
+
+    public static final String INCIDENT_TYPE = "failedOutboundRequest";
+    private static final String FORMAT_COMPACT = "compact";
+    private static final String FORMAT_JAVA = "java";
+
+    private final OutboundRequestRepository repository;
+    private final Map<String, ServiceTaskHandler> handlers;
+    private final RuntimeService runtimeService;
+    private final TransactionalBatch transactionalBatch;
+    private final DelegateMetrics delegateMetrics;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${orchestrator.outbox.batch-size:50}")
+    private int batchSize;
+
+    @Value("${orchestrator.outbox.flush-interval:500}")
+    private long flushInterval;
+
+    @Value("${orchestrator.outbox.threads:16}")
+    private int threads;
+
+    @Value("${orchestrator.outbox.lease-duration:120000}")
+    private long leaseDuration;
+
+    @Value("${orchestrator.outbox.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${orchestrator.outbox.retry-delay:10000}")
+    private long retryDelay;
+
+    private volatile boolean running;
+    private Thread poller;
+    private ExecutorService executor;
+
+    public OutboundRequestDispatcher(OutboundRequestRepository repository,
+                                     Map<String, ServiceTaskHandler> handlers,
+                                     RuntimeService runtimeService,
+                                     TransactionalBatch transactionalBatch,
+                                     DelegateMetrics delegateMetrics,
+                                     MeterRegistry meterRegistry) {
+        this.repository = repository;
+        this.handlers = handlers;
+        this.runtimeService = runtimeService;
+        this.transactionalBatch = transactionalBatch;
+        this.delegateMetrics = delegateMetrics;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void start() {
+        AtomicInteger threadCount = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "outbound-request-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        running = true;
+        poller = new Thread(this::pollLoop, "outbound-request-dispatcher");
+        poller.setDaemon(true);
+        poller.start();
+
+        logger.info("Outbound request dispatcher started (batch size {}, flush interval {} ms, {} threads) for handlers {}",
+                batchSize, flushInterval, threads, handlers.keySet());
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (poller != null) {
+            poller.interrupt();
+        }
+        if (executor != null) {
+            executor.shutdown();
+            try {
+                executor.awaitTermination(leaseDuration, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        logger.info("Outbound request dispatcher stopped");
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void pollLoop() {
+        while (running) {
+            try {
+                List<OutboundRequest> requests = repository.claim(batchSize, leaseDuration);
+                if (!requests.isEmpty()) {
+                    dispatch(requests);
+                }
+                // Lot complet : l'outbox contient probablement d'autres demandes, on enchaîne
+                if (requests.size() < batchSize) {
+                    Thread.sleep(flushInterval);
+                }
+
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                logger.error("Outbound request dispatch failed", e);
+                sleepQuietly(flushInterval);
+            }
+        }
+    }
+
+    private void dispatch(List<OutboundRequest> requests) {
+        logger.debug("Dispatching {} outbound requests", requests.size());
+
+        // Instance annulée depuis l'enregistrement de la demande : pas d'appel partenaire
+        Set<String> activeInstances = runtimeService.createProcessInstanceQuery()
+                .processInstanceIds(requests.stream().map(OutboundRequest::processInstanceId).collect(Collectors.toSet()))
+                .list().stream()
+                .map(ProcessInstance::getId)
+                .collect(Collectors.toSet());
+
+        List<OutboundRequestRepository.Reschedule> reschedules = new ArrayList<>();
+        List<Response> responses = new ArrayList<>();
+        List<OutboundRequest> toDeliver = new ArrayList<>();
+        for (OutboundRequest request : requests) {
+            if (!activeInstances.contains(request.processInstanceId())) {
+                reschedules.add(orphaned(request, "Process instance no longer active"));
+            } else if (request.isDelivered()) {
+                responses.add(new Response(request, decode(request)));
+            } else {
+                toDeliver.add(request);
+            }
+        }
+
+        List<CompletableFuture<OutboxContext>> futures = new ArrayList<>(toDeliver.size());
+        for (OutboundRequest request : toDeliver) {
+            futures.add(CompletableFuture.supplyAsync(() -> deliver(request), executor));
+        }
+
+        List<OutboundRequestRepository.Delivery> deliveries = new ArrayList<>();
+        List<OutboundRequest> exhausted = new ArrayList<>();
+        for (int i = 0; i < toDeliver.size(); i++) {
+            OutboundRequest request = toDeliver.get(i);
+            try {
+                OutboxContext context = futures.get(i).join();
+                Map<String, Object> variables = context.getOutputVariables();
+                boolean compact = CompactValueCodec.isEncodable(variables);
+                deliveries.add(new OutboundRequestRepository.Delivery(request,
+                        compact ? CompactValueCodec.encode(variables, 0) : serialize(variables),
+                        compact ? FORMAT_COMPACT : FORMAT_JAVA));
+                responses.add(new Response(request, variables));
+            } catch (Exception e) {
+                Throwable cause = e.getCause() != null ? e.getCause() : e;
+                boolean failed = request.attempts() >= maxAttempts;
+                logger.warn("Outbound request {} ({}) for process instance {} failed (attempt {}/{}): {}",
+                        request.idempotencyKey(), request.handler(), request.processInstanceId(),
+                        request.attempts(), maxAttempts, cause.getMessage());
+                reschedules.add(new OutboundRequestRepository.Reschedule(request,
+                        failed ? OutboundRequestRepository.STATUS_FAILED : OutboundRequestRepository.STATUS_PENDING,
+                        cause.getMessage(), backoff(request.attempts())));
+                count(failed ? "failed" : "retried");
+                if (failed) {
+                    exhausted.add(request);
+                }
+            }
+        }
+
+        if (!deliveries.isEmpty()) {
+            repository.markDelivered(deliveries);
+            count("delivered", deliveries.size());
+        }
+        correlate(responses, reschedules);
+        if (!reschedules.isEmpty()) {
+            repository.reschedule(reschedules);
+        }
+        raiseIncidents(exhausted);
+    }
+
+    private OutboxContext deliver(OutboundRequest request) {
+        ServiceTaskHandler handler = handlers.get(request.handler());
+        if (handler == null) {
+            throw new IllegalStateException("No service task handler named " + request.handler());
+        }
+        OutboxContext context = new OutboxContext(request, runtimeService);
+        try {
+            ServiceTaskTracing.execute(context, () -> delegateMetrics.execute(handler, context));
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+        return context;
+    }
+
+    private void correlate(List<Response> responses, List<OutboundRequestRepository.Reschedule> reschedules) {
+        // La demande passe COMPLETED dans la transaction de la corrélation
+        List<TransactionalBatch.Outcome<Response, Object>> outcomes = transactionalBatch.execute(responses, response -> {
+            OutboundRequest request = response.request();
+            runtimeService.messageEventReceived(OutboxActivityBehavior.messageName(request.activityId()),
+                    request.executionId(), response.variables());
+            repository.markCompleted(request.id());
+            return null;
+        });
+
+        for (TransactionalBatch.Outcome<Response, Object> outcome : outcomes) {
+            if (outcome.isSuccess()) {
+                count("completed");
+                continue;
+            }
+            OutboundRequest request = outcome.item().request();
+            if (outcome.error() instanceof MismatchingMessageCorrelationException) {
+                // Activité quittée entre-temps (modification, migration de l'instance)
+                reschedules.add(orphaned(request, outcome.error().getMessage()));
+            } else {
+                logger.warn("Failed to report outbound request {} to process instance {}: {}",
+                        request.idempotencyKey(), request.processInstanceId(), outcome.error().getMessage());
+                reschedules.add(new OutboundRequestRepository.Reschedule(request,
+                        OutboundRequestRepository.STATUS_DELIVERED, outcome.error().getMessage(),
+                        backoff(request.attempts())));
+            }
+        }
+    }
+
+    private void raiseIncidents(List<OutboundRequest> exhausted) {
+        List<TransactionalBatch.Outcome<OutboundRequest, Object>> outcomes = transactionalBatch.execute(exhausted, request -> {
+            runtimeService.createIncident(INCIDENT_TYPE, request.executionId(), String.valueOf(request.id()),
+                    "Outbound request " + request.idempotencyKey() + " failed after " + request.attempts() + " attempts");
+            return null;
+        });
+        outcomes.stream()
+                .filter(outcome -> !outcome.isSuccess())
+                .forEach(outcome -> logger.warn("Failed to raise incident for outbound request {}: {}",
+                        outcome.item().idempotencyKey(), outcome.error().getMessage()));
+    }
+
+    private OutboundRequestRepository.Reschedule orphaned(OutboundRequest request, String reason) {
+        logger.info("Outbound request {} orphaned: {}", request.idempotencyKey(), reason);
+        count("orphaned");
+        return new OutboundRequestRepository.Reschedule(request, OutboundRequestRepository.STATUS_ORPHANED, reason, 0);
+    }
+
+    private long backoff(int attempts) {
+        return retryDelay * (1L << Math.min(Math.max(attempts, 1) - 1, 10));
+    }
+
+    private static byte[] serialize(Map<String, Object> variables) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream output = new ObjectOutputStream(bytes)) {
+            output.writeObject(new HashMap<>(variables));
+        } catch (IOException e) {
+            throw new IllegalStateException("Output variables cannot be serialized: " + e.getMessage(), e);
+        }
+        return bytes.toByteArray();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> decode(OutboundRequest request) {
+        try {
+            if (FORMAT_JAVA.equals(request.resultFormat())) {
+                try (ObjectInputStream input = new ObjectInputStream(new ByteArrayInputStream(request.result()))) {
+                    return (Map<String, Object>) input.readObject();
+                }
+            }
+            return (Map<String, Object>) CompactValueCodec.decode(request.result());
+        } catch (IOException | ClassNotFoundException e) {
+            throw new IllegalStateException("Stored result of outbound request " + request.idempotencyKey()
+                    + " cannot be read", e);
+        }
+    }
+
+    private void count(String outcome) {
+        count(outcome, 1);
+    }
+
+    private void count(String outcome, int amount) {
+        meterRegistry.counter("orchestrator.outbox.requests", "outcome", outcome).increment(amount);
+    }
+
+    private static void sleepQuietly(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private record Response(OutboundRequest request, Map<String, Object> variables) {
+    }
+}
@@ -0,0 +1,42 @@
+package com.company.orchestrator.infrastructure.outbox;
+
+import org.camunda.bpm.engine.impl.incident.DefaultIncidentHandler;
+import org.camunda.bpm.engine.impl.incident.IncidentContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Incidents {@value OutboundRequestDispatcher#INCIDENT_TYPE} levés par
+ * {@link OutboundRequestDispatcher} ; la configuration de l'incident est l'id de la demande.
+ * <p>
+ * Résoudre l'incident ({@code RuntimeService#resolveIncident}, cockpit) relance la
+ * demande : elle repasse {@code PENDING} avec un compteur de tentatives remis à zéro,
+ * dans la transaction de la résolution. Un incident supprimé avec son exécution (instance
+ * annulée, activité quittée par modification) rend la demande {@code ORPHANED}.
+ */
+public class OutboundRequestIncidentHandler extends DefaultIncidentHandler {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboundRequestIncidentHandler.class);
+
+    private final OutboundRequestRepository repository;
+
+    public OutboundRequestIncidentHandler(OutboundRequestRepository repository) {
+        super(OutboundRequestDispatcher.INCIDENT_TYPE);
+        this.repository = repository;
+    }
+
+    @Override
+    public void resolveIncident(IncidentContext context) {
+        super.resolveIncident(context);
+        long id = Long.parseLong(context.getConfiguration());
+        if (repository.retryFailed(id)) {
+            logger.info("Outbound request {} rescheduled after incident resolution", id);
+        }
+    }
+
+    @Override
+    public void deleteIncident(IncidentContext context) {
+        super.deleteIncident(context);
+        repository.orphanFailed(Long.parseLong(context.getConfiguration()), "Incident deleted with its execution");
+    }
+}
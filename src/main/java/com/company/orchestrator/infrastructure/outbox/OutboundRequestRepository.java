@@ -0,0 +1,145 @@
+package com.company.orchestrator.infrastructure.outbox;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Outbox des appels partenaires (table {@code app.outbound_request}). L'insertion
+ * rejoint la transaction du moteur : la demande n'existe que si l'étape du processus
+ * est validée, et une activité rejouée ne crée pas de second appel (clé d'idempotence unique).
+ */
+@Repository
+public class OutboundRequestRepository {
+
+    public static final String STATUS_PENDING = "PENDING";
+    public static final String STATUS_IN_PROGRESS = "IN_PROGRESS";
+    public static final String STATUS_DELIVERED = "DELIVERED";
+    public static final String STATUS_COMPLETED = "COMPLETED";
+    public static final String STATUS_ORPHANED = "ORPHANED";
+    public static final String STATUS_FAILED = "FAILED";
+
+    private static final String INSERT_SQL =
+        "INSERT INTO app.outbound_request (idempotency_key, process_instance_id, execution_id, activity_id, handler) "
+            + "VALUES (?, ?, ?, ?, ?) ON CONFLICT (idempotency_key) DO NOTHING";
+
+    // Même réservation que app.archive_job. Une demande déjà livrée (résultat stocké)
+    // n'est réservée que pour sa corrélation : le partenaire n'est pas rappelé
+    private static final String CLAIM_SQL =
+        "UPDATE app.outbound_request SET "
+            + "status = CASE WHEN result IS NULL THEN '" + STATUS_IN_PROGRESS + "' ELSE status END, "
+            + "attempts = CASE WHEN result IS NULL THEN attempts + 1 ELSE attempts END, "
+            + "next_attempt_at = CURRENT_TIMESTAMP + (? * INTERVAL '1 millisecond'), updated_at = CURRENT_TIMESTAMP "
+            + "WHERE id IN (SELECT id FROM app.outbound_request "
+            + "WHERE status IN ('" + STATUS_PENDING + "', '" + STATUS_IN_PROGRESS + "', '" + STATUS_DELIVERED + "') "
+            + "AND next_attempt_at <= CURRENT_TIMESTAMP "
+            + "ORDER BY next_attempt_at LIMIT ? FOR UPDATE SKIP LOCKED) "
+            + "RETURNING id, idempotency_key, process_instance_id, execution_id, activity_id, handler, attempts, "
+            + "result, result_format";
+
+    private static final String DELIVERED_SQL =
+        "UPDATE app.outbound_request SET status = '" + STATUS_DELIVERED + "', result = ?, result_format = ?, "
+            + "last_error = NULL, delivered_at = CURRENT_TIMESTAMP, updated_at = CURRENT_TIMESTAMP WHERE id = ?";
+
+    private static final String COMPLETED_SQL =
+        "UPDATE app.outbound_request SET status = '" + STATUS_COMPLETED + "', result = NULL, "
+            + "completed_at = CURRENT_TIMESTAMP, updated_at = CURRENT_TIMESTAMP WHERE id = ?";
+
+    private static final String RESCHEDULE_SQL =
+        "UPDATE app.outbound_request SET status = ?, last_error = ?, "
+            + "next_attempt_at = CURRENT_TIMESTAMP + (? * INTERVAL '1 millisecond'), updated_at = CURRENT_TIMESTAMP "
+            + "WHERE id = ?";
+
+    // Relance manuelle d'une demande en échec définitif (résolution de son incident)
+    private static final String RETRY_FAILED_SQL =
+        "UPDATE app.outbound_request SET status = '" + STATUS_PENDING + "', attempts = 0, last_error = NULL, "
+            + "next_attempt_at = CURRENT_TIMESTAMP, updated_at = CURRENT_TIMESTAMP "
+            + "WHERE id = ? AND status = '" + STATUS_FAILED + "'";
+
+    private static final String ORPHAN_FAILED_SQL =
+        "UPDATE app.outbound_request SET status = '" + STATUS_ORPHANED + "', last_error = ?, "
+            + "updated_at = CURRENT_TIMESTAMP WHERE id = ? AND status = '" + STATUS_FAILED + "'";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public OutboundRequestRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Enregistre la demande ; renvoie {@code false} si cette clé est déjà connue.
+     */
+    public boolean insert(String idempotencyKey, String processInstanceId, String executionId,
+                          String activityId, String handler) {
+        return jdbcTemplate.update(INSERT_SQL, idempotencyKey, processInstanceId, executionId, activityId, handler) > 0;
+    }
+
+    /**
+     * Réserve au plus {@code limit} demandes éligibles pour {@code leaseMillis} millisecondes.
+     */
+    public List<OutboundRequest> claim(int limit, long leaseMillis) {
+        return jdbcTemplate.query(CLAIM_SQL, (rs, rowNum) -> new OutboundRequest(
+            rs.getLong("id"),
+            rs.getString("idempotency_key"),
+            rs.getString("process_instance_id"),
+            rs.getString("execution_id"),
+            rs.getString("activity_id"),
+            rs.getString("handler"),
+            rs.getInt("attempts"),
+            rs.getBytes("result"),
+            rs.getString("result_format")
+        ), leaseMillis, limit);
+    }
+
+    /**
+     * Stocke le résultat des appels réussis avant toute corrélation : un arrêt du nœud
+     * entre les deux ne provoque pas de nouvel appel partenaire.
+     */
+    public void markDelivered(List<Delivery> deliveries) {
+        jdbcTemplate.batchUpdate(DELIVERED_SQL, deliveries, deliveries.size(), (ps, delivery) -> {
+            ps.setBytes(1, delivery.result());
+            ps.setString(2, delivery.resultFormat());
+            ps.setLong(3, delivery.request().id());
+        });
+    }
+
+    /**
+     * Appelé dans la transaction de la corrélation : la demande n'est close que si
+     * l'instance a effectivement quitté l'activité.
+     */
+    public void markCompleted(long id) {
+        jdbcTemplate.update(COMPLETED_SQL, id);
+    }
+
+    /**
+     * Nouvel essai après {@code delayMillis} ({@code PENDING} ou {@code DELIVERED}), ou
+     * statut définitif ({@code FAILED}, {@code ORPHANED}).
+     */
+    public void reschedule(List<Reschedule> reschedules) {
+        jdbcTemplate.batchUpdate(RESCHEDULE_SQL, reschedules, reschedules.size(), (ps, reschedule) -> {
+            ps.setString(1, reschedule.status());
+            ps.setString(2, reschedule.error());
+            ps.setLong(3, reschedule.delayMillis());
+            ps.setLong(4, reschedule.request().id());
+        });
+    }
+
+    /**
+     * Remet une demande {@code FAILED} en attente, tentatives remises à zéro ;
+     * renvoie {@code false} si la demande n'est pas (ou plus) en échec.
+     */
+    public boolean retryFailed(long id) {
+        return jdbcTemplate.update(RETRY_FAILED_SQL, id) > 0;
+    }
+
+    public void orphanFailed(long id, String reason) {
+        jdbcTemplate.update(ORPHAN_FAILED_SQL, reason, id);
+    }
+
+    public record Delivery(OutboundRequest request, byte[] result, String resultFormat) {
+    }
+
+    public record Reschedule(OutboundRequest request, String status, String error, long delayMillis) {
+    }
+}
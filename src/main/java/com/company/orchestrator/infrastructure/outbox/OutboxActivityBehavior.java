@@ -0,0 +1,46 @@
+package com.company.orchestrator.infrastructure.outbox;
+
+import org.camunda.bpm.engine.impl.bpmn.behavior.TaskActivityBehavior;
+import org.camunda.bpm.engine.impl.pvm.delegate.ActivityExecution;
+
+/**
+ * Comportement des service tasks en mode outbox : l'activité enregistre sa demande
+ * d'appel partenaire dans la transaction moteur puis attend le message de réponse
+ * corrélé par {@link OutboundRequestDispatcher}, comme une receive task.
+ */
+public class OutboxActivityBehavior extends TaskActivityBehavior {
+
+    public static final String MESSAGE_PREFIX = "outbound-response:";
+
+    private final String handler;
+    private final OutboundRequestRepository repository;
+
+    public OutboxActivityBehavior(String handler, OutboundRequestRepository repository) {
+        this.handler = handler;
+        this.repository = repository;
+    }
+
+    public static String messageName(String activityId) {
+        return MESSAGE_PREFIX + activityId;
+    }
+
+    public static String idempotencyKey(ActivityExecution execution) {
+        return execution.getProcessInstanceId() + ":" + execution.getActivityInstanceId();
+    }
+
+    @Override
+    protected void performExecution(ActivityExecution execution) {
+        // Une activité rejouée (même instance d'activité) retrouve sa demande existante
+        repository.insert(idempotencyKey(execution), execution.getProcessInstanceId(), execution.getId(),
+                execution.getActivity().getId(), handler);
+    }
+
+    @Override
+    public void signal(ActivityExecution execution, String signalName, Object signalData) throws Exception {
+        if ("compensationDone".equals(signalName)) {
+            super.signal(execution, signalName, signalData);
+            return;
+        }
+        leave(execution);
+    }
+}
@@ -0,0 +1,72 @@
+package com.company.orchestrator.infrastructure.outbox;
+
+import com.company.orchestrator.infrastructure.delegate.ServiceTaskContext;
+import org.camunda.bpm.engine.RuntimeService;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Contexte d'exécution d'une demande de l'outbox : les variables de l'instance sont
+ * lues une fois, au premier accès, les écritures sont collectées pour être reportées
+ * par la corrélation du message de réponse. L'identifiant de requête est la clé
+ * d'idempotence de la demande, identique d'une tentative à l'autre.
+ */
+class OutboxContext implements ServiceTaskContext {
+
+    private final OutboundRequest request;
+    private final RuntimeService runtimeService;
+    private final Map<String, Object> outputVariables = new HashMap<>();
+    private Map<String, Object> variables;
+
+    OutboxContext(OutboundRequest request, RuntimeService runtimeService) {
+        this.request = request;
+        this.runtimeService = runtimeService;
+    }
+
+    @Override
+    public String getProcessInstanceId() {
+        return request.processInstanceId();
+    }
+
+    @Override
+    public String getCurrentActivityId() {
+        return request.activityId();
+    }
+
+    @Override
+    public String getRequestId() {
+        return request.idempotencyKey();
+    }
+
+    @Override
+    public String getActivityInstanceId() {
+        // Clé d'idempotence : <instance>:<instance d'activité>
+        String key = request.idempotencyKey();
+        return key.substring(key.indexOf(':') + 1);
+    }
+
+    @Override
+    public Object getVariable(String name) {
+        if (outputVariables.containsKey(name)) {
+            return outputVariables.get(name);
+        }
+        if (variables == null) {
+            variables = runtimeService.getVariables(request.executionId());
+        }
+        return variables.get(name);
+    }
+
+    @Override
+    public void setVariable(String name, Object value) {
+        outputVariables.put(name, value);
+    }
+
+    OutboundRequest getRequest() {
+        return request;
+    }
+
+    Map<String, Object> getOutputVariables() {
+        return outputVariables;
+    }
+}
@@ -0,0 +1,105 @@
+package com.company.orchestrator.infrastructure.outbox;
+
+import com.company.orchestrator.infrastructure.delegate.ServiceTaskHandler;
+import org.camunda.bpm.engine.impl.bpmn.helper.BpmnProperties;
+import org.camunda.bpm.engine.impl.bpmn.parser.AbstractBpmnParseListener;
+import org.camunda.bpm.engine.impl.bpmn.parser.BpmnParse;
+import org.camunda.bpm.engine.impl.bpmn.parser.EventSubscriptionDeclaration;
+import org.camunda.bpm.engine.impl.cfg.AbstractProcessEnginePlugin;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.event.EventType;
+import org.camunda.bpm.engine.impl.pvm.process.ActivityImpl;
+import org.camunda.bpm.engine.impl.pvm.process.ScopeImpl;
+import org.camunda.bpm.engine.impl.util.xml.Element;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Transforme, au déploiement, les service tasks dont le delegateExpression
+ * référence un {@link ServiceTaskHandler} en activités d'attente : l'activité
+ * devient un scope abonné au message {@code outbound-response:<activityId>}, à la
+ * manière d'une receive task, et sa demande est exécutée par {@link OutboundRequestDispatcher}.
+ */
+@Component
+@ConditionalOnProperty(name = "orchestrator.service-tasks.execution-mode", havingValue = "outbox")
+public class OutboxModePlugin extends AbstractProcessEnginePlugin {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxModePlugin.class);
+    private static final Pattern BEAN_EXPRESSION = Pattern.compile("^\\$\\{\\s*([A-Za-z_][\\w]*)\\s*}$");
+
+    private final ListableBeanFactory beanFactory;
+    private final OutboundRequestRepository repository;
+    private ProcessEngineConfigurationImpl configuration;
+
+    public OutboxModePlugin(ListableBeanFactory beanFactory, OutboundRequestRepository repository) {
+        this.beanFactory = beanFactory;
+        this.repository = repository;
+    }
+
+    @Override
+    public void preInit(ProcessEngineConfigurationImpl configuration) {
+        this.configuration = configuration;
+        if (configuration.getCustomPreBPMNParseListeners() == null) {
+            configuration.setCustomPreBPMNParseListeners(new ArrayList<>());
+        }
+        configuration.getCustomPreBPMNParseListeners().add(new OutboxParseListener());
+
+        if (configuration.getCustomIncidentHandlers() == null) {
+            configuration.setCustomIncidentHandlers(new ArrayList<>());
+        }
+        configuration.getCustomIncidentHandlers().add(new OutboundRequestIncidentHandler(repository));
+    }
+
+    private class OutboxParseListener extends AbstractBpmnParseListener {
+
+        @Override
+        public void parseServiceTask(Element serviceTaskElement, ScopeImpl scope, ActivityImpl activity) {
+            String delegateExpression = serviceTaskElement.attributeNS(BpmnParse.CAMUNDA_BPMN_EXTENSIONS_NS, "delegateExpression");
+            if (delegateExpression == null) {
+                return;
+            }
+
+            Matcher matcher = BEAN_EXPRESSION.matcher(delegateExpression.trim());
+            if (!matcher.matches()) {
+                return;
+            }
+
+            String beanName = matcher.group(1);
+            if (!handlerBeanNames().contains(beanName)) {
+                return;
+            }
+
+            activity.setActivityBehavior(new OutboxActivityBehavior(beanName, repository));
+
+            // Même déclaration que BpmnParse pour une receive task à message
+            activity.setScope(true);
+            activity.setEventScope(activity);
+            EventSubscriptionDeclaration declaration = new EventSubscriptionDeclaration(
+                    configuration.getExpressionManager().createExpression(OutboxActivityBehavior.messageName(activity.getId())),
+                    EventType.MESSAGE);
+            declaration.setActivityId(activity.getActivityId());
+            declaration.setEventScopeActivityId(activity.getActivityId());
+            activity.getProperties().putMapEntry(BpmnProperties.EVENT_SUBSCRIPTION_DECLARATIONS,
+                    activity.getActivityId(), declaration);
+
+            logger.info("Service task '{}' will call its partner through the outbox (handler '{}')", activity.getId(), beanName);
+        }
+
+        private Set<String> handlerBeanNames() {
+            // Les tâches sans appel partenaire restent exécutées dans la transaction du moteur
+            return Arrays.stream(beanFactory.getBeanNamesForType(ServiceTaskHandler.class, false, false))
+                .filter(name -> !beanFactory.getBean(name, ServiceTaskHandler.class).runsInEngineTransaction())
+                .collect(Collectors.toSet());
+        }
+    }
+}
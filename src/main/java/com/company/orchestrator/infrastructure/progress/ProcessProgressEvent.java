@@ -0,0 +1,53 @@
+package com.company.orchestrator.infrastructure.progress;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Événement de progression poussé aux abonnés SSE. {@code snapshot} décrit l'état
+ * courant à l'ouverture du flux ; les autres types reflètent une transaction moteur
+ * validée.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ProcessProgressEvent(String type,
+                                   String processInstanceId,
+                                   String processKey,
+                                   String customerId,
+                                   String activityId,
+                                   String activityName,
+                                   String activityType,
+                                   String state,
+                                   List<String> activeActivities,
+                                   Instant timestamp) {
+
+    public static final String ACTIVITY_START = "activity-start";
+    public static final String ACTIVITY_END = "activity-end";
+    public static final String PROCESS_END = "process-end";
+    public static final String SNAPSHOT = "snapshot";
+
+    public static ProcessProgressEvent activity(String type, String processInstanceId, String processKey, String customerId,
+                                                String activityId, String activityName, String activityType, Instant timestamp) {
+        return new ProcessProgressEvent(type, processInstanceId, processKey, customerId,
+                activityId, activityName, activityType, null, null, timestamp);
+    }
+
+    public static ProcessProgressEvent processEnd(String processInstanceId, String processKey, String customerId,
+                                                  String state, Instant timestamp) {
+        return new ProcessProgressEvent(PROCESS_END, processInstanceId, processKey, customerId,
+                null, null, null, state, null, timestamp);
+    }
+
+    public static ProcessProgressEvent snapshot(String processInstanceId, String processKey, String customerId,
+                                                String state, List<String> activeActivities) {
+        return new ProcessProgressEvent(SNAPSHOT, processInstanceId, processKey, customerId,
+                null, null, null, state, activeActivities, Instant.now());
+    }
+
+    @JsonIgnore
+    public boolean isProcessEnd() {
+        return PROCESS_END.equals(type);
+    }
+}
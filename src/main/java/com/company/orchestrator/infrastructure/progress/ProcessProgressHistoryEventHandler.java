@@ -0,0 +1,116 @@
+package com.company.orchestrator.infrastructure.progress;
+
+import com.company.orchestrator.infrastructure.audit.ProcessAudit;
+import org.camunda.bpm.engine.impl.cfg.TransactionState;
+import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.history.event.HistoricActivityInstanceEventEntity;
+import org.camunda.bpm.engine.impl.history.event.HistoricProcessInstanceEventEntity;
+import org.camunda.bpm.engine.impl.history.event.HistoryEvent;
+import org.camunda.bpm.engine.impl.history.event.HistoryEventTypes;
+import org.camunda.bpm.engine.impl.history.handler.HistoryEventHandler;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Transforme les événements d'historique (début/fin d'activité, fin d'instance) en
+ * {@link ProcessProgressEvent} remis au {@link ProcessProgressHub} au commit de la
+ * transaction moteur : un abonné ne voit jamais une étape annulée par un rollback.
+ * Les instances que personne ne suit sont ignorées avant toute allocation.
+ */
+public class ProcessProgressHistoryEventHandler implements HistoryEventHandler {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProcessProgressHistoryEventHandler.class);
+
+    private static final String CUSTOMER_ID_VARIABLE = "customerId";
+
+    private final ProcessProgressHub hub;
+
+    public ProcessProgressHistoryEventHandler(ProcessProgressHub hub) {
+        this.hub = hub;
+    }
+
+    @Override
+    public void handleEvent(HistoryEvent historyEvent) {
+        String processInstanceId = historyEvent.getProcessInstanceId();
+        if (processInstanceId == null || !hub.isWatched(processInstanceId)) {
+            return;
+        }
+        ProcessProgressEvent event = toEvent(historyEvent, customerIdOf(processInstanceId));
+        if (event == null) {
+            return;
+        }
+        CommandContext commandContext = Context.getCommandContext();
+        if (commandContext != null) {
+            commandContext.getTransactionContext()
+                    .addTransactionListener(TransactionState.COMMITTED, context -> hub.publish(event));
+        } else {
+            hub.publish(event);
+        }
+    }
+
+    @Override
+    public void handleEvents(List<HistoryEvent> historyEvents) {
+        for (HistoryEvent historyEvent : historyEvents) {
+            handleEvent(historyEvent);
+        }
+    }
+
+    static ProcessProgressEvent toEvent(HistoryEvent historyEvent, String customerId) {
+        if (historyEvent instanceof HistoricActivityInstanceEventEntity activity) {
+            if (historyEvent.isEventOfType(HistoryEventTypes.ACTIVITY_INSTANCE_START)) {
+                return ProcessProgressEvent.activity(ProcessProgressEvent.ACTIVITY_START, activity.getProcessInstanceId(),
+                        activity.getProcessDefinitionKey(), customerId, activity.getActivityId(),
+                        activity.getActivityName(), activity.getActivityType(), toInstant(activity.getStartTime()));
+            }
+            if (historyEvent.isEventOfType(HistoryEventTypes.ACTIVITY_INSTANCE_END)) {
+                return ProcessProgressEvent.activity(ProcessProgressEvent.ACTIVITY_END, activity.getProcessInstanceId(),
+                        activity.getProcessDefinitionKey(), customerId, activity.getActivityId(),
+                        activity.getActivityName(), activity.getActivityType(), toInstant(activity.getEndTime()));
+            }
+            return null;
+        }
+        if (historyEvent instanceof HistoricProcessInstanceEventEntity processInstance
+                && historyEvent.isEventOfType(HistoryEventTypes.PROCESS_INSTANCE_END)) {
+            return ProcessProgressEvent.processEnd(processInstance.getProcessInstanceId(),
+                    processInstance.getProcessDefinitionKey(), customerId, ProcessAudit.statusOf(processInstance.getState()),
+                    toInstant(processInstance.getEndTime()));
+        }
+        return null;
+    }
+
+    /**
+     * Client de l'instance, lu une fois dans le cache d'exécutions de la commande en
+     * cours puis mémorisé par le hub ; inutile tant qu'aucun flux client n'est ouvert.
+     */
+    private String customerIdOf(String processInstanceId) {
+        if (!hub.hasCustomerSubscriptions()) {
+            return null;
+        }
+        String customerId = hub.cachedCustomerId(processInstanceId);
+        CommandContext commandContext = Context.getCommandContext();
+        if (customerId != null || commandContext == null) {
+            return customerId;
+        }
+        try {
+            ExecutionEntity processInstance = commandContext.getExecutionManager().findExecutionById(processInstanceId);
+            Object value = processInstance != null ? processInstance.getVariable(CUSTOMER_ID_VARIABLE) : null;
+            customerId = value != null ? value.toString() : null;
+            hub.rememberCustomerId(processInstanceId, customerId);
+            return customerId;
+        } catch (RuntimeException e) {
+            // Sans client, l'événement reste visible sur le flux de l'instance
+            logger.debug("Customer of process instance {} not resolved: {}", processInstanceId, e.getMessage());
+            return null;
+        }
+    }
+
+    private static Instant toInstant(Date date) {
+        return date != null ? date.toInstant() : Instant.now();
+    }
+}
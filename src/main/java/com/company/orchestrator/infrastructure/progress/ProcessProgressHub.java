@@ -0,0 +1,312 @@
+package com.company.orchestrator.infrastructure.progress;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Diffusion en mémoire des événements de progression vers les flux SSE, par
+ * instance de processus ou par client. La publication, appelée au commit des
+ * transactions moteur, ne fait que déposer l'événement dans la file bornée de
+ * chaque abonné concerné ; un pool d'envoi dédié vide ces files. Un abonné dont
+ * la file est pleine ne suit plus : son flux est fermé et il doit se reconnecter
+ * (le premier événement d'un flux est l'état courant).
+ */
+@Component
+@ConditionalOnProperty(name = "orchestrator.progress-events.enabled", havingValue = "true")
+public class ProcessProgressHub implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProcessProgressHub.class);
+
+    // Marqueur de keep-alive dans la file d'un abonné
+    private static final ProcessProgressEvent HEARTBEAT = new ProcessProgressEvent(
+            "heartbeat", null, null, null, null, null, null, null, null, null);
+
+    private final Map<String, Set<Subscription>> byProcessInstance = new ConcurrentHashMap<>();
+    private final Map<String, Set<Subscription>> byCustomer = new ConcurrentHashMap<>();
+    private final Set<Subscription> subscriptions = ConcurrentHashMap.newKeySet();
+    private final Cache<String, String> customerIds;
+
+    private final ExecutorService senders;
+    private final ScheduledExecutorService heartbeats;
+    private final AtomicLong sequence = new AtomicLong();
+
+    private final int bufferSize;
+    private final int maxSubscribers;
+    private final long timeout;
+
+    private final Counter published;
+    private final Counter evicted;
+
+    public ProcessProgressHub(MeterRegistry meterRegistry,
+                              @Value("${orchestrator.progress-events.subscriber-buffer:256}") int bufferSize,
+                              @Value("${orchestrator.progress-events.max-subscribers:1000}") int maxSubscribers,
+                              @Value("${orchestrator.progress-events.timeout:1800000}") long timeout,
+                              @Value("${orchestrator.progress-events.heartbeat-interval:15000}") long heartbeatInterval,
+                              @Value("${orchestrator.progress-events.sender-threads:4}") int senderThreads) {
+        this.bufferSize = bufferSize;
+        this.maxSubscribers = maxSubscribers;
+        this.timeout = timeout;
+        this.customerIds = Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .expireAfterAccess(Duration.ofHours(1))
+                .build();
+
+        AtomicInteger senderCount = new AtomicInteger();
+        this.senders = Executors.newFixedThreadPool(senderThreads, runnable -> {
+            Thread thread = new Thread(runnable, "progress-events-sender-" + senderCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.heartbeats = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "progress-events-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        heartbeats.scheduleWithFixedDelay(this::sendHeartbeats, heartbeatInterval, heartbeatInterval, TimeUnit.MILLISECONDS);
+
+        Gauge.builder("orchestrator.progress.subscribers", subscriptions, Set::size)
+                .description("Open process progress event streams")
+                .register(meterRegistry);
+        this.published = Counter.builder("orchestrator.progress.events.published").register(meterRegistry);
+        this.evicted = Counter.builder("orchestrator.progress.subscribers.evicted")
+                .description("Streams closed because the subscriber did not keep up")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Flux d'une instance de processus, fermé après son événement {@code process-end}.
+     * Vide si le nombre maximal d'abonnés est atteint.
+     */
+    public Optional<Subscription> subscribeToProcessInstance(String processInstanceId) {
+        return subscribe(byProcessInstance, processInstanceId, true);
+    }
+
+    /**
+     * Flux de toutes les instances d'un client, jusqu'au timeout ou à la déconnexion.
+     */
+    public Optional<Subscription> subscribeToCustomer(String customerId) {
+        return subscribe(byCustomer, customerId, false);
+    }
+
+    /**
+     * Indique si un événement de cette instance intéresse au moins un abonné,
+     * directement ou via son client.
+     */
+    public boolean isWatched(String processInstanceId) {
+        return byProcessInstance.containsKey(processInstanceId) || !byCustomer.isEmpty();
+    }
+
+    public boolean hasCustomerSubscriptions() {
+        return !byCustomer.isEmpty();
+    }
+
+    /**
+     * Client d'une instance déjà résolu, pour éviter une lecture de variable par événement.
+     */
+    public String cachedCustomerId(String processInstanceId) {
+        return customerIds.getIfPresent(processInstanceId);
+    }
+
+    public void rememberCustomerId(String processInstanceId, String customerId) {
+        if (customerId != null) {
+            customerIds.put(processInstanceId, customerId);
+        }
+    }
+
+    /**
+     * Dépose l'événement dans la file de chaque abonné concerné, sans jamais bloquer.
+     */
+    public void publish(ProcessProgressEvent event) {
+        published.increment();
+        offerAll(byProcessInstance.get(event.processInstanceId()), event);
+        if (event.customerId() != null) {
+            offerAll(byCustomer.get(event.customerId()), event);
+        }
+        if (event.isProcessEnd()) {
+            customerIds.invalidate(event.processInstanceId());
+        }
+    }
+
+    public int subscriberCount() {
+        return subscriptions.size();
+    }
+
+    @Override
+    public void destroy() {
+        heartbeats.shutdownNow();
+        senders.shutdownNow();
+        subscriptions.forEach(Subscription::close);
+    }
+
+    private Optional<Subscription> subscribe(Map<String, Set<Subscription>> index, String key, boolean endsWithProcess) {
+        if (subscriptions.size() >= maxSubscribers) {
+            logger.warn("Progress event subscription refused for {}: {} subscribers already open", key, subscriptions.size());
+            return Optional.empty();
+        }
+        Subscription subscription = new Subscription(index, key, endsWithProcess);
+        subscriptions.add(subscription);
+        index.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(subscription);
+        return Optional.of(subscription);
+    }
+
+    private void offerAll(Set<Subscription> targets, ProcessProgressEvent event) {
+        if (targets != null) {
+            targets.forEach(subscription -> subscription.offer(event));
+        }
+    }
+
+    private void sendHeartbeats() {
+        // File pleine : pas de keep-alive, l'abonné est déjà en retard
+        subscriptions.forEach(subscription -> subscription.offer(HEARTBEAT, false));
+    }
+
+    /**
+     * Un flux SSE ouvert : sa file bornée et son émetteur, écrit par un seul thread à la fois.
+     */
+    public class Subscription {
+
+        private final Map<String, Set<Subscription>> index;
+        private final String key;
+        private final boolean endsWithProcess;
+        private final SseEmitter emitter;
+        private final BlockingQueue<ProcessProgressEvent> queue;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private Subscription(Map<String, Set<Subscription>> index, String key, boolean endsWithProcess) {
+            this.index = index;
+            this.key = key;
+            this.endsWithProcess = endsWithProcess;
+            this.emitter = new SseEmitter(timeout);
+            this.queue = new ArrayBlockingQueue<>(bufferSize);
+            emitter.onCompletion(this::unregister);
+            emitter.onTimeout(this::close);
+            emitter.onError(error -> unregister());
+        }
+
+        public SseEmitter emitter() {
+            return emitter;
+        }
+
+        /**
+         * Dépose un événement ; file pleine : l'abonné est évincé.
+         */
+        public void offer(ProcessProgressEvent event) {
+            offer(event, true);
+        }
+
+        private void offer(ProcessProgressEvent event, boolean evictWhenFull) {
+            if (closed.get()) {
+                return;
+            }
+            if (!queue.offer(event)) {
+                if (evictWhenFull) {
+                    evict();
+                }
+                return;
+            }
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            if (draining.compareAndSet(false, true)) {
+                try {
+                    senders.execute(this::drain);
+                } catch (RuntimeException e) {
+                    // Pool arrêté (fermeture de l'application)
+                    draining.set(false);
+                }
+            }
+        }
+
+        private void drain() {
+            try {
+                ProcessProgressEvent event;
+                while (!closed.get() && (event = queue.poll()) != null) {
+                    send(event);
+                    if (endsWithProcess && event.isProcessEnd() && key.equals(event.processInstanceId())) {
+                        close();
+                    }
+                }
+            } finally {
+                draining.set(false);
+            }
+            // Événement déposé pendant la sortie de la boucle
+            if (!closed.get() && !queue.isEmpty()) {
+                scheduleDrain();
+            }
+        }
+
+        private void send(ProcessProgressEvent event) {
+            try {
+                if (event == HEARTBEAT) {
+                    emitter.send(SseEmitter.event().comment("keep-alive"));
+                } else {
+                    emitter.send(SseEmitter.event()
+                            .id(Long.toString(sequence.incrementAndGet()))
+                            .name(event.type())
+                            .data(event, MediaType.APPLICATION_JSON));
+                }
+            } catch (IOException | IllegalStateException e) {
+                // Client parti : Spring signale l'erreur à l'émetteur
+                logger.debug("Progress event stream for {} closed: {}", key, e.getMessage());
+                closed.set(true);
+                unregister();
+            }
+        }
+
+        private void evict() {
+            if (closed.compareAndSet(false, true)) {
+                evicted.increment();
+                logger.warn("Progress event subscriber for {} evicted: {} events pending", key, queue.size());
+                queue.clear();
+                unregister();
+                emitter.complete();
+            }
+        }
+
+        /**
+         * Ferme le flux (fin de l'instance suivie, timeout, instance inconnue).
+         */
+        public void close() {
+            closed.set(true);
+            unregister();
+            emitter.complete();
+        }
+
+        private void unregister() {
+            subscriptions.remove(this);
+            index.computeIfPresent(key, (k, set) -> {
+                set.remove(this);
+                return set.isEmpty() ? null : set;
+            });
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.company.orchestrator.infrastructure.progress;
+
+import org.camunda.bpm.engine.impl.cfg.AbstractProcessEnginePlugin;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+
+/**
+ * Ajoute {@link ProcessProgressHistoryEventHandler} aux handlers d'historique du moteur
+ * (créé ici plutôt qu'en bean, comme pour {@code ProcessAuditPlugin}).
+ */
+@Component
+@ConditionalOnProperty(name = "orchestrator.progress-events.enabled", havingValue = "true")
+public class ProcessProgressPlugin extends AbstractProcessEnginePlugin {
+
+    private final ProcessProgressHistoryEventHandler historyEventHandler;
+
+    public ProcessProgressPlugin(ProcessProgressHub hub) {
+        this.historyEventHandler = new ProcessProgressHistoryEventHandler(hub);
+    }
+
+    @Override
+    public void preInit(ProcessEngineConfigurationImpl configuration) {
+        if (configuration.getCustomHistoryEventHandlers() == null) {
+            configuration.setCustomHistoryEventHandlers(new ArrayList<>());
+        }
+        configuration.getCustomHistoryEventHandlers().add(historyEventHandler);
+    }
+}
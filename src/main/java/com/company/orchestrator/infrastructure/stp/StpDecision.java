@@ -0,0 +1,9 @@
+package com.company.orchestrator.infrastructure.stp;
+
+import java.util.Map;
+
+/**
+ * Règle déclenchée et variables qu'elle pose sur l'instance.
+ */
+public record StpDecision(String ruleId, Map<String, Object> variables) {
+}
@@ -0,0 +1,54 @@
+package com.company.orchestrator.infrastructure.stp;
+
+import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.Expression;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Règle de traitement automatique compilée : condition SpEL sur les variables de
+ * l'instance, variables posées à la place du chargé d'affaires (valeurs fixes ou
+ * calculées) et choix du client pré-décidé.
+ */
+public final class StpRule {
+
+    private final String id;
+    private final String description;
+    private final Expression condition;
+    private final String clientChoice;
+    private final Map<String, Object> variables;
+    private final Map<String, Expression> expressions;
+
+    StpRule(String id, String description, Expression condition, String clientChoice,
+            Map<String, Object> variables, Map<String, Expression> expressions) {
+        this.id = id;
+        this.description = description;
+        this.condition = condition;
+        this.clientChoice = clientChoice;
+        this.variables = variables;
+        this.expressions = expressions;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    boolean matches(EvaluationContext context) {
+        return Boolean.TRUE.equals(condition.getValue(context, Boolean.class));
+    }
+
+    /**
+     * Variables de complétion de {@code apply-standard-tariff} pour cette instance.
+     */
+    Map<String, Object> outputVariables(EvaluationContext context) {
+        Map<String, Object> output = new LinkedHashMap<>(variables);
+        expressions.forEach((name, expression) -> output.put(name, expression.getValue(context)));
+        output.put(StpRuleEngine.CLIENT_CHOICE_VARIABLE, clientChoice);
+        return output;
+    }
+}
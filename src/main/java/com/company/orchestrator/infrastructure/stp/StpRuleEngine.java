@@ -0,0 +1,277 @@
+package com.company.orchestrator.infrastructure.stp;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.Expression;
+import org.springframework.expression.ParseException;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelNode;
+import org.springframework.expression.spel.SpelParserConfiguration;
+import org.springframework.expression.spel.ast.VariableReference;
+import org.springframework.expression.spel.standard.SpelExpression;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.expression.spel.support.SimpleEvaluationContext;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * Moteur de règles du traitement automatique (STP) du chemin tarif standard. Les
+ * règles sont lues depuis {@code orchestrator.stp.rules-location}, compilées une
+ * fois (SpEL en mode {@link SpelCompilerMode#MIXED} : bytecode après les premières
+ * évaluations) et remplacées à chaud quand le fichier change. Un fichier invalide
+ * est refusé au démarrage ; lors d'un rechargement, les règles en place sont conservées.
+ * <p>
+ * Les conditions n'ont accès qu'aux variables de l'instance ({@code #premium},
+ * {@code #riskProfile}...) et aux opérateurs : ni types, ni constructeurs, ni méthodes.
+ * La première règle active dont la condition est vraie l'emporte.
+ */
+@Component
+public class StpRuleEngine implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(StpRuleEngine.class);
+
+    static final String CLIENT_CHOICE_VARIABLE = "clientChoice";
+    private static final Set<String> CLIENT_CHOICES = Set.of("CONTRACT", "QUOTE");
+    private static final Set<String> RESERVED_VARIABLES = Set.of(CLIENT_CHOICE_VARIABLE,
+            StpRulesDelegate.STP_DECISION_VARIABLE, StpRulesDelegate.STP_RULE_ID_VARIABLE);
+
+    private static final SpelExpressionParser PARSER = new SpelExpressionParser(
+            new SpelParserConfiguration(SpelCompilerMode.MIXED, StpRuleEngine.class.getClassLoader()));
+
+    private final ResourceLoader resourceLoader;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final String rulesLocation;
+    private final AtomicReference<RuleSet> ruleSet = new AtomicReference<>(RuleSet.EMPTY);
+
+    @Value("${orchestrator.stp.reload-interval:5000}")
+    private long reloadInterval;
+
+    private volatile boolean running;
+    private Thread watcher;
+    private long lastModified;
+
+    public StpRuleEngine(ResourceLoader resourceLoader,
+                         ObjectMapper objectMapper,
+                         MeterRegistry meterRegistry,
+                         @Value("${orchestrator.stp.enabled:true}") boolean enabled,
+                         @Value("${orchestrator.stp.rules-location:classpath:stp-rules.json}") String rulesLocation) {
+        this.resourceLoader = resourceLoader;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.rulesLocation = rulesLocation;
+        if (enabled) {
+            Resource resource = resourceLoader.getResource(rulesLocation);
+            lastModified = lastModified(resource);
+            ruleSet.set(load(resource));
+        }
+    }
+
+    /**
+     * Évalue les règles sur les variables de l'instance, lues une seule fois chacune
+     * et uniquement si une règle y fait référence.
+     */
+    public Optional<StpDecision> evaluate(Function<String, Object> variables) {
+        RuleSet current = ruleSet.get();
+        if (current.rules().isEmpty()) {
+            return Optional.empty();
+        }
+        SimpleEvaluationContext context = SimpleEvaluationContext.forReadOnlyDataBinding().build();
+        for (String name : current.inputVariables()) {
+            context.setVariable(name, variables.apply(name));
+        }
+        for (StpRule rule : current.rules()) {
+            try {
+                if (rule.matches(context)) {
+                    return Optional.of(new StpDecision(rule.getId(), rule.outputVariables(context)));
+                }
+            } catch (RuntimeException e) {
+                // Règle inapplicable à cette instance (variable absente, type inattendu) : règle suivante
+                logger.warn("STP rule {} could not be evaluated: {}", rule.getId(), e.getMessage());
+                Counter.builder("orchestrator.stp.rule.errors")
+                        .description("STP rule evaluations that failed")
+                        .tag("rule", rule.getId())
+                        .register(meterRegistry)
+                        .increment();
+            }
+        }
+        return Optional.empty();
+    }
+
+    public List<StpRule> getRules() {
+        return ruleSet.get().rules();
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        Resource resource = resourceLoader.getResource(rulesLocation);
+        if (!enabled || !resource.isFile()) {
+            // Règles embarquées dans le jar : pas de rechargement possible
+            return;
+        }
+        watcher = new Thread(() -> watchLoop(resource), "stp-rules-watcher");
+        watcher.setDaemon(true);
+        watcher.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (watcher != null) {
+            watcher.interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void watchLoop(Resource resource) {
+        while (running) {
+            try {
+                Thread.sleep(reloadInterval);
+                long modified = lastModified(resource);
+                if (modified != lastModified) {
+                    lastModified = modified;
+                    reload(resource);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void reload(Resource resource) {
+        String outcome = "success";
+        try {
+            ruleSet.set(load(resource));
+        } catch (RuntimeException e) {
+            outcome = "error";
+            logger.error("STP rules {} rejected, keeping the {} rules in place: {}",
+                    rulesLocation, ruleSet.get().rules().size(), e.getMessage());
+        }
+        meterRegistry.counter("orchestrator.stp.rules.reloads", "outcome", outcome).increment();
+    }
+
+    private RuleSet load(Resource resource) {
+        RulesFile rulesFile;
+        try (InputStream input = resource.getInputStream()) {
+            rulesFile = objectMapper.readerFor(RulesFile.class)
+                    .with(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                    .readValue(input);
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot read STP rules " + rulesLocation + ": " + e.getMessage(), e);
+        }
+
+        List<StpRule> rules = new ArrayList<>();
+        Set<String> ruleIds = new HashSet<>();
+        Set<String> inputVariables = new LinkedHashSet<>();
+        for (RuleDefinition definition : rulesFile.rules() != null ? rulesFile.rules() : List.<RuleDefinition>of()) {
+            if (definition.id() == null || definition.id().isBlank() || !ruleIds.add(definition.id())) {
+                throw new IllegalStateException("STP rule ids must be present and unique: " + definition.id());
+            }
+            if (Boolean.FALSE.equals(definition.enabled())) {
+                continue;
+            }
+            rules.add(compile(definition, inputVariables));
+        }
+        logger.info("Loaded {} active STP rules from {}", rules.size(), rulesLocation);
+        return new RuleSet(Collections.unmodifiableList(rules), Collections.unmodifiableSet(inputVariables));
+    }
+
+    private static StpRule compile(RuleDefinition definition, Set<String> inputVariables) {
+        if (definition.when() == null || definition.when().isBlank()) {
+            throw new IllegalStateException("STP rule " + definition.id() + " has no condition");
+        }
+        if (!CLIENT_CHOICES.contains(definition.clientChoice())) {
+            throw new IllegalStateException("STP rule " + definition.id() + " must set clientChoice to one of " + CLIENT_CHOICES);
+        }
+        Map<String, Object> variables = definition.variables() != null ? definition.variables() : Map.of();
+        Map<String, String> expressionSources = definition.expressions() != null ? definition.expressions() : Map.of();
+        for (String name : concat(variables.keySet(), expressionSources.keySet())) {
+            if (RESERVED_VARIABLES.contains(name)) {
+                throw new IllegalStateException("STP rule " + definition.id() + " cannot set " + name);
+            }
+        }
+
+        Expression condition = parse(definition.id(), definition.when(), inputVariables);
+        Map<String, Expression> expressions = new LinkedHashMap<>();
+        expressionSources.forEach((name, source) -> expressions.put(name, parse(definition.id(), source, inputVariables)));
+        return new StpRule(definition.id(), definition.description(), condition, definition.clientChoice(),
+                Collections.unmodifiableMap(new LinkedHashMap<>(variables)), Collections.unmodifiableMap(expressions));
+    }
+
+    private static Expression parse(String ruleId, String source, Set<String> inputVariables) {
+        try {
+            SpelExpression expression = PARSER.parseRaw(source);
+            collectVariables(expression.getAST(), inputVariables);
+            return expression;
+        } catch (ParseException e) {
+            throw new IllegalStateException("STP rule " + ruleId + " has an invalid expression: " + e.getMessage(), e);
+        }
+    }
+
+    private static void collectVariables(SpelNode node, Set<String> inputVariables) {
+        if (node instanceof VariableReference) {
+            String name = node.toStringAST().substring(1);
+            if (!"this".equals(name) && !"root".equals(name)) {
+                inputVariables.add(name);
+            }
+        }
+        for (int i = 0; i < node.getChildCount(); i++) {
+            collectVariables(node.getChild(i), inputVariables);
+        }
+    }
+
+    private static Set<String> concat(Set<String> first, Set<String> second) {
+        Set<String> names = new LinkedHashSet<>(first);
+        names.addAll(second);
+        return names;
+    }
+
+    private static long lastModified(Resource resource) {
+        try {
+            return resource.isFile() ? resource.lastModified() : 0L;
+        } catch (IOException e) {
+            return 0L;
+        }
+    }
+
+    private record RuleSet(List<StpRule> rules, Set<String> inputVariables) {
+        static final RuleSet EMPTY = new RuleSet(List.of(), Set.of());
+    }
+
+    private record RulesFile(List<RuleDefinition> rules) {
+    }
+
+    private record RuleDefinition(String id, String description, Boolean enabled, String when, String clientChoice,
+                                  Map<String, Object> variables, Map<String, String> expressions) {
+    }
+}
@@ -0,0 +1,58 @@
+package com.company.orchestrator.infrastructure.stp;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.camunda.bpm.engine.delegate.DelegateExecution;
+import org.camunda.bpm.engine.delegate.JavaDelegate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+/**
+ * Service task {@code evaluate-stp-rules}, en amont de {@code apply-standard-tariff} :
+ * quand une règle s'applique, ses variables (tarif, conditions, {@code clientChoice})
+ * sont posées sur l'instance et la tâche du chargé d'affaires est contournée. La
+ * décision ({@code AUTO}/{@code MANUAL}) et la règle déclenchée sont historisées.
+ * Aucun appel partenaire : le delegate reste en JavaDelegate dans tous les modes.
+ */
+@Component("stpRulesDelegate")
+public class StpRulesDelegate implements JavaDelegate {
+
+    private static final Logger logger = LoggerFactory.getLogger(StpRulesDelegate.class);
+
+    public static final String STP_DECISION_VARIABLE = "stpDecision";
+    public static final String STP_RULE_ID_VARIABLE = "stpRuleId";
+    public static final String DECISION_AUTO = "AUTO";
+    public static final String DECISION_MANUAL = "MANUAL";
+
+    private final StpRuleEngine ruleEngine;
+    private final MeterRegistry meterRegistry;
+
+    public StpRulesDelegate(StpRuleEngine ruleEngine, MeterRegistry meterRegistry) {
+        this.ruleEngine = ruleEngine;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void execute(DelegateExecution execution) throws Exception {
+        Optional<StpDecision> decision = ruleEngine.evaluate(execution::getVariable);
+
+        if (decision.isPresent()) {
+            execution.setVariables(decision.get().variables());
+            execution.setVariable(STP_DECISION_VARIABLE, DECISION_AUTO);
+            execution.setVariable(STP_RULE_ID_VARIABLE, decision.get().ruleId());
+            logger.info("STP rule {} applied to process instance {} (clientChoice={})", decision.get().ruleId(),
+                    execution.getProcessInstanceId(), decision.get().variables().get(StpRuleEngine.CLIENT_CHOICE_VARIABLE));
+        } else {
+            execution.setVariable(STP_DECISION_VARIABLE, DECISION_MANUAL);
+            execution.setVariable(STP_RULE_ID_VARIABLE, null);
+            logger.debug("No STP rule applies to process instance {}, routed to apply-standard-tariff",
+                    execution.getProcessInstanceId());
+        }
+
+        meterRegistry.counter("orchestrator.stp.decisions",
+                "decision", decision.isPresent() ? DECISION_AUTO : DECISION_MANUAL,
+                "rule", decision.map(StpDecision::ruleId).orElse("none")).increment();
+    }
+}
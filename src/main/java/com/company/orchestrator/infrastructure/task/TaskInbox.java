@@ -0,0 +1,274 @@
+package com.company.orchestrator.infrastructure.task;
+
+import com.company.orchestrator.infrastructure.engine.TransactionalBatch;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import org.camunda.bpm.engine.ManagementService;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.TaskService;
+import org.camunda.bpm.engine.impl.persistence.entity.TaskEntity;
+import org.camunda.bpm.engine.runtime.VariableInstance;
+import org.camunda.bpm.engine.task.NativeTaskQuery;
+import org.camunda.bpm.engine.task.Task;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Corbeille des tâches des chargés d'affaires (tarif, devis). La lecture est paginée
+ * par clé (date de création, identifiant) : chaque page est une lecture de l'index
+ * {@value #KEYSET_INDEX}, quelle que soit sa position, et une tâche complétée entre deux
+ * pages ne décale pas la suite. Les tables du moteur n'existant qu'après sa mise à jour
+ * de schéma, l'index est créé au démarrage de l'application et non par {@code init-db.sql}.
+ * La complétion en masse passe par {@link TransactionalBatch}, un commit par lot.
+ */
+@Component
+public class TaskInbox {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskInbox.class);
+
+    static final String KEYSET_INDEX = "IDX_TASK_INBOX_KEYSET";
+
+    private final TaskService taskService;
+    private final RuntimeService runtimeService;
+    private final ManagementService managementService;
+    private final TransactionalBatch transactionalBatch;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${orchestrator.task-inbox.assignee:ca-agent}")
+    private String assignee;
+
+    @Value("${orchestrator.task-inbox.task-keys:apply-specific-tariff,apply-standard-tariff,propose-quote}")
+    private Set<String> taskKeys;
+
+    @Value("${orchestrator.task-inbox.projected-variables:customerId,customerName}")
+    private List<String> projectedVariables;
+
+    @Value("${orchestrator.task-inbox.batch-size:100}")
+    private int batchSize;
+
+    public TaskInbox(TaskService taskService,
+                     RuntimeService runtimeService,
+                     ManagementService managementService,
+                     TransactionalBatch transactionalBatch,
+                     JdbcTemplate jdbcTemplate) {
+        this.taskService = taskService;
+        this.runtimeService = runtimeService;
+        this.managementService = managementService;
+        this.transactionalBatch = transactionalBatch;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Index de la pagination par clé sur la table des tâches du moteur. Sans lui, chaque
+     * page trie toutes les tâches actives : l'échec est signalé mais ne bloque pas le démarrage.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void createKeysetIndex() {
+        String table = managementService.getTableName(TaskEntity.class);
+        try {
+            jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS " + KEYSET_INDEX + " ON " + table + " (CREATE_TIME_, ID_)");
+        } catch (DataAccessException e) {
+            logger.warn("Task inbox index {} on {} could not be created, inbox pages will sort all tasks: {}",
+                    KEYSET_INDEX, table, e.getMessage());
+        }
+    }
+
+    public Set<String> taskKeys() {
+        return taskKeys;
+    }
+
+    /**
+     * Page de tâches actives après {@code cursor} ({@code null} pour la première page).
+     */
+    public Page page(String taskKey, String cursor, int limit) {
+        StringBuilder sql = new StringBuilder("SELECT RES.* FROM ")
+                .append(managementService.getTableName(TaskEntity.class)).append(" RES ")
+                .append("WHERE RES.ASSIGNEE_ = #{assignee} AND RES.SUSPENSION_STATE_ = 1 ");
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("assignee", assignee);
+
+        if (taskKey != null) {
+            sql.append("AND RES.TASK_DEF_KEY_ = #{taskKey} ");
+            parameters.put("taskKey", taskKey);
+        } else {
+            List<String> keys = new ArrayList<>(taskKeys);
+            sql.append("AND RES.TASK_DEF_KEY_ IN (");
+            for (int i = 0; i < keys.size(); i++) {
+                sql.append(i > 0 ? ", " : "").append("#{taskKey").append(i).append('}');
+                parameters.put("taskKey" + i, keys.get(i));
+            }
+            sql.append(") ");
+        }
+
+        Cursor after = Cursor.decode(cursor);
+        if (after != null) {
+            sql.append("AND (RES.CREATE_TIME_ > #{createTime} OR (RES.CREATE_TIME_ = #{createTime} AND RES.ID_ > #{taskId})) ");
+            parameters.put("createTime", Date.from(after.createTime()));
+            parameters.put("taskId", after.taskId());
+        }
+        sql.append("ORDER BY RES.CREATE_TIME_ ASC, RES.ID_ ASC");
+
+        NativeTaskQuery query = taskService.createNativeTaskQuery().sql(sql.toString());
+        parameters.forEach(query::parameter);
+        // Une tâche de plus que la page : indique s'il reste une suite
+        List<Task> tasks = query.listPage(0, limit + 1);
+
+        boolean hasMore = tasks.size() > limit;
+        List<Task> pageTasks = hasMore ? tasks.subList(0, limit) : tasks;
+        Map<String, Map<String, Object>> variables = projectedVariables(pageTasks);
+
+        List<InboxTask> items = new ArrayList<>(pageTasks.size());
+        for (Task task : pageTasks) {
+            items.add(new InboxTask(task.getId(), task.getTaskDefinitionKey(), task.getName(),
+                    task.getProcessInstanceId(), task.getCreateTime().toInstant(),
+                    variables.getOrDefault(task.getProcessInstanceId(), Map.of())));
+        }
+        Task last = hasMore ? pageTasks.get(pageTasks.size() - 1) : null;
+        return new Page(items, last != null ? new Cursor(last.getCreateTime().toInstant(), last.getId()).encode() : null);
+    }
+
+    /**
+     * Complète les tâches demandées, par lots d'une transaction. Les tâches inconnues
+     * ou hors de la corbeille sont rejetées sans être touchées.
+     */
+    public List<CompletionResult> complete(List<Completion> completions) {
+        Set<String> taskIds = completions.stream().map(Completion::taskId).collect(Collectors.toCollection(LinkedHashSet::new));
+        Map<String, Task> tasks = taskService.createTaskQuery()
+                .taskIdIn(taskIds.toArray(String[]::new))
+                .active()
+                .list().stream()
+                .collect(Collectors.toMap(Task::getId, Function.identity()));
+
+        List<CompletionResult> results = new ArrayList<>(completions.size());
+        List<Completion> eligible = new ArrayList<>(completions.size());
+        for (Completion completion : completions) {
+            Task task = tasks.get(completion.taskId());
+            if (task == null) {
+                results.add(CompletionResult.rejected(completion.taskId(), CompletionResult.NOT_FOUND, "Task not found or suspended"));
+            } else if (!taskKeys.contains(task.getTaskDefinitionKey()) || !assignee.equals(task.getAssignee())) {
+                results.add(CompletionResult.rejected(completion.taskId(), CompletionResult.NOT_IN_INBOX,
+                        "Task " + task.getTaskDefinitionKey() + " is not in the " + assignee + " inbox"));
+            } else {
+                eligible.add(completion);
+            }
+        }
+
+        for (int from = 0; from < eligible.size(); from += batchSize) {
+            List<Completion> batch = eligible.subList(from, Math.min(from + batchSize, eligible.size()));
+            List<TransactionalBatch.Outcome<Completion, Object>> outcomes = transactionalBatch.execute(batch, completion -> {
+                taskService.complete(completion.taskId(), completion.variables());
+                return null;
+            });
+            for (TransactionalBatch.Outcome<Completion, Object> outcome : outcomes) {
+                results.add(outcome.isSuccess()
+                        ? CompletionResult.completed(outcome.item().taskId())
+                        : CompletionResult.rejected(outcome.item().taskId(), CompletionResult.ERROR, outcome.error().getMessage()));
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Variables affichées dans la corbeille, lues en une requête pour toute la page.
+     */
+    private Map<String, Map<String, Object>> projectedVariables(List<Task> tasks) {
+        if (tasks.isEmpty() || projectedVariables.isEmpty()) {
+            return Map.of();
+        }
+        String[] processInstanceIds = tasks.stream().map(Task::getProcessInstanceId).distinct().toArray(String[]::new);
+        Map<String, Map<String, Object>> variables = new HashMap<>();
+        for (VariableInstance variable : runtimeService.createVariableInstanceQuery()
+                .processInstanceIdIn(processInstanceIds)
+                .variableNameIn(projectedVariables.toArray(String[]::new))
+                .disableBinaryFetching()
+                .disableCustomObjectDeserialization()
+                .list()) {
+            if (variable.getProcessInstanceId().equals(variable.getExecutionId())) {
+                variables.computeIfAbsent(variable.getProcessInstanceId(), id -> new LinkedHashMap<>())
+                        .put(variable.getName(), variable.getValue());
+            }
+        }
+        return variables;
+    }
+
+    public record InboxTask(String taskId,
+                            String taskDefinitionKey,
+                            String name,
+                            String processInstanceId,
+                            Instant created,
+                            Map<String, Object> variables) {
+    }
+
+    /**
+     * @param nextCursor curseur de la page suivante, {@code null} sur la dernière page
+     */
+    public record Page(List<InboxTask> items, String nextCursor) {
+    }
+
+    public record Completion(String taskId, Map<String, Object> variables) {
+    }
+
+    public record CompletionResult(String taskId, String status, String message) {
+
+        public static final String COMPLETED = "COMPLETED";
+        public static final String NOT_FOUND = "NOT_FOUND";
+        public static final String NOT_IN_INBOX = "NOT_IN_INBOX";
+        public static final String ERROR = "ERROR";
+
+        static CompletionResult completed(String taskId) {
+            return new CompletionResult(taskId, COMPLETED, null);
+        }
+
+        static CompletionResult rejected(String taskId, String status, String message) {
+            return new CompletionResult(taskId, status, message);
+        }
+
+        @JsonIgnore
+        public boolean isCompleted() {
+            return COMPLETED.equals(status);
+        }
+    }
+
+    /**
+     * Position dans la corbeille : date de création et identifiant de la dernière tâche lue.
+     */
+    record Cursor(Instant createTime, String taskId) {
+
+        String encode() {
+            String value = createTime.toEpochMilli() + ":" + taskId;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static Cursor decode(String cursor) {
+            if (cursor == null || cursor.isBlank()) {
+                return null;
+            }
+            try {
+                String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int separator = value.indexOf(':');
+                return new Cursor(Instant.ofEpochMilli(Long.parseLong(value.substring(0, separator))), value.substring(separator + 1));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.company.orchestrator.infrastructure.tracing;
+
+import org.camunda.bpm.engine.impl.cfg.TransactionState;
+import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.history.event.HistoricActivityInstanceEventEntity;
+import org.camunda.bpm.engine.impl.history.event.HistoricProcessInstanceEventEntity;
+import org.camunda.bpm.engine.impl.history.event.HistoryEvent;
+import org.camunda.bpm.engine.impl.history.event.HistoryEventTypes;
+import org.camunda.bpm.engine.impl.history.handler.HistoryEventHandler;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Un span par instance d'activité terminée (parent : l'activité englobante ou
+ * l'instance) et un span racine par instance terminée. Comme pour
+ * {@code ActivityDwellTimeHistoryEventHandler}, le span est publié au commit : les
+ * dates de début ne sont renseignées qu'après ce handler, et une transaction annulée
+ * ne laisse pas de span.
+ */
+public class ActivitySpanHistoryEventHandler implements HistoryEventHandler {
+
+    private final SpanExporter spanExporter;
+
+    public ActivitySpanHistoryEventHandler(SpanExporter spanExporter) {
+        this.spanExporter = spanExporter;
+    }
+
+    @Override
+    public void handleEvent(HistoryEvent historyEvent) {
+        Runnable publication;
+        if (historyEvent instanceof HistoricActivityInstanceEventEntity activity
+                && historyEvent.isEventOfType(HistoryEventTypes.ACTIVITY_INSTANCE_END)) {
+            publication = () -> publishActivity(activity);
+        } else if (historyEvent instanceof HistoricProcessInstanceEventEntity processInstance
+                && historyEvent.isEventOfType(HistoryEventTypes.PROCESS_INSTANCE_END)) {
+            publication = () -> publishProcessInstance(processInstance);
+        } else {
+            return;
+        }
+        CommandContext commandContext = Context.getCommandContext();
+        if (commandContext != null) {
+            commandContext.getTransactionContext()
+                    .addTransactionListener(TransactionState.COMMITTED, context -> publication.run());
+        } else {
+            publication.run();
+        }
+    }
+
+    @Override
+    public void handleEvents(List<HistoryEvent> historyEvents) {
+        for (HistoryEvent historyEvent : historyEvents) {
+            handleEvent(historyEvent);
+        }
+    }
+
+    private void publishActivity(HistoricActivityInstanceEventEntity activity) {
+        if (activity.getStartTime() == null || activity.getEndTime() == null) {
+            return;
+        }
+        String processInstanceId = activity.getProcessInstanceId();
+        String parent = activity.getParentActivityInstanceId() != null
+                ? activity.getParentActivityInstanceId() : processInstanceId;
+        Map<String, Object> attributes = new HashMap<>();
+        attributes.put("activity.id", activity.getActivityId());
+        attributes.put("activity.type", activity.getActivityType());
+        attributes.put("process.definition.key", activity.getProcessDefinitionKey());
+        if (activity.isCanceled()) {
+            attributes.put("activity.canceled", true);
+        }
+        spanExporter.publish(new Span(
+                TraceContext.traceIdOf(processInstanceId),
+                TraceContext.spanIdOf(activity.getActivityInstanceId()),
+                TraceContext.spanIdOf(parent),
+                activity.getActivityName() != null ? activity.getActivityName() : activity.getActivityId(),
+                Span.KIND_ACTIVITY,
+                processInstanceId,
+                toNanos(activity.getStartTime()),
+                toNanos(activity.getEndTime()),
+                Span.STATUS_OK,
+                attributes));
+    }
+
+    private void publishProcessInstance(HistoricProcessInstanceEventEntity processInstance) {
+        if (processInstance.getStartTime() == null || processInstance.getEndTime() == null) {
+            return;
+        }
+        String processInstanceId = processInstance.getProcessInstanceId();
+        Map<String, Object> attributes = new HashMap<>();
+        attributes.put("process.definition.key", processInstance.getProcessDefinitionKey());
+        attributes.put("process.state", processInstance.getState());
+        if (processInstance.getBusinessKey() != null) {
+            attributes.put("process.business.key", processInstance.getBusinessKey());
+        }
+        spanExporter.publish(new Span(
+                TraceContext.traceIdOf(processInstanceId),
+                TraceContext.spanIdOf(processInstanceId),
+                null,
+                processInstance.getProcessDefinitionKey(),
+                Span.KIND_PROCESS,
+                processInstanceId,
+                toNanos(processInstance.getStartTime()),
+                toNanos(processInstance.getEndTime()),
+                Span.STATUS_OK,
+                attributes));
+    }
+
+    private static long toNanos(Date date) {
+        return TimeUnit.MILLISECONDS.toNanos(date.getTime());
+    }
+}
@@ -0,0 +1,157 @@
+package com.company.orchestrator.infrastructure.tracing;
+
+import com.company.orchestrator.infrastructure.http.ExternalPartner;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.StreamingHttpOutputMessage;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Span {@code CLIENT} par appel partenaire, propagé en {@code traceparent} W3C. L'instance
+ * est celle du {@link TraceContext} du thread (service task en cours), à défaut celle de
+ * l'en-tête {@code X-Request-ID} : identifiant d'instance, ou
+ * {@code <instance>:<instance d'activité>} en mode outbox et pour l'archivage Vision par lots.
+ * Les appels faits hors d'une service task sont ainsi rattachés à leur instance. Un appel
+ * sans instance n'est pas tracé.
+ * <p>
+ * Décore la fabrique de requêtes plutôt qu'un intercepteur : un {@code RestTemplate} avec
+ * intercepteurs recopie chaque corps dans un {@code byte[]}, ce qui annulerait l'envoi en
+ * flux des documents E-Sign et Vision. Le corps est transmis tel quel à la requête décorée.
+ */
+public class PartnerCallTracingRequestFactory implements ClientHttpRequestFactory {
+
+    public static final String TRACEPARENT_HEADER = "traceparent";
+    private static final String REQUEST_ID_HEADER = "X-Request-ID";
+
+    private final ClientHttpRequestFactory delegate;
+    private final ExternalPartner partner;
+    private final SpanExporter spanExporter;
+
+    public PartnerCallTracingRequestFactory(ClientHttpRequestFactory delegate, ExternalPartner partner, SpanExporter spanExporter) {
+        this.delegate = delegate;
+        this.partner = partner;
+        this.spanExporter = spanExporter;
+    }
+
+    @Override
+    public ClientHttpRequest createRequest(URI uri, HttpMethod httpMethod) throws IOException {
+        return new TracedRequest(delegate.createRequest(uri, httpMethod));
+    }
+
+    private ClientHttpResponse execute(ClientHttpRequest request) throws IOException {
+        String requestId = request.getHeaders().getFirst(REQUEST_ID_HEADER);
+        TraceContext context = TraceContext.current();
+        String processInstanceId;
+        String parentInstanceId;
+        if (context != null) {
+            processInstanceId = context.processInstanceId();
+            parentInstanceId = context.activityInstanceId() != null ? context.activityInstanceId() : processInstanceId;
+        } else if (requestId != null && !requestId.isBlank()) {
+            int separator = requestId.indexOf(':');
+            processInstanceId = separator < 0 ? requestId : requestId.substring(0, separator);
+            parentInstanceId = separator < 0 ? processInstanceId : requestId.substring(separator + 1);
+        } else {
+            return request.execute();
+        }
+
+        String traceId = TraceContext.traceIdOf(processInstanceId);
+        String spanId = TraceContext.newSpanId();
+        request.getHeaders().set(TRACEPARENT_HEADER, TraceContext.traceparent(traceId, spanId));
+
+        Map<String, Object> attributes = new HashMap<>();
+        attributes.put("partner", partner.getId());
+        attributes.put("http.method", request.getMethod().name());
+        attributes.put("http.url", request.getURI().getPath());
+        if (requestId != null) {
+            attributes.put("request.id", requestId);
+        }
+        String status = Span.STATUS_OK;
+        long startEpochNanos = TimeUnit.MILLISECONDS.toNanos(System.currentTimeMillis());
+        long start = System.nanoTime();
+        try {
+            ClientHttpResponse response = request.execute();
+            int statusCode = response.getStatusCode().value();
+            attributes.put("http.status_code", statusCode);
+            if (statusCode >= 500) {
+                status = Span.STATUS_ERROR;
+            }
+            return response;
+        } catch (IOException | RuntimeException e) {
+            status = Span.STATUS_ERROR;
+            attributes.put("error.type", e.getClass().getSimpleName());
+            throw e;
+        } finally {
+            spanExporter.publish(new Span(
+                    traceId,
+                    spanId,
+                    TraceContext.spanIdOf(parentInstanceId),
+                    request.getMethod().name() + " " + partner.getId(),
+                    Span.KIND_CLIENT,
+                    processInstanceId,
+                    startEpochNanos,
+                    startEpochNanos + (System.nanoTime() - start),
+                    status,
+                    attributes));
+        }
+    }
+
+    /**
+     * Requête décorée : en-têtes et corps sont ceux de la requête sous-jacente, seule
+     * l'exécution est tracée. Un corps en flux reste en flux.
+     */
+    private class TracedRequest implements ClientHttpRequest, StreamingHttpOutputMessage {
+
+        private final ClientHttpRequest request;
+
+        TracedRequest(ClientHttpRequest request) {
+            this.request = request;
+        }
+
+        @Override
+        public ClientHttpResponse execute() throws IOException {
+            return PartnerCallTracingRequestFactory.this.execute(request);
+        }
+
+        @Override
+        public void setBody(Body body) {
+            if (request instanceof StreamingHttpOutputMessage streaming) {
+                streaming.setBody(body);
+            } else {
+                try {
+                    body.writeTo(request.getBody());
+                } catch (IOException e) {
+                    throw new IllegalStateException("Failed to write request body", e);
+                }
+            }
+        }
+
+        @Override
+        public OutputStream getBody() throws IOException {
+            return request.getBody();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return request.getHeaders();
+        }
+
+        @Override
+        public HttpMethod getMethod() {
+            return request.getMethod();
+        }
+
+        @Override
+        public URI getURI() {
+            return request.getURI();
+        }
+    }
+}
@@ -0,0 +1,242 @@
+package com.company.orchestrator.infrastructure.tracing;
+
+import org.camunda.bpm.engine.ActivityTypes;
+import org.camunda.bpm.engine.HistoryService;
+import org.camunda.bpm.engine.history.HistoricActivityInstance;
+import org.camunda.bpm.engine.history.HistoricProcessInstance;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Trace d'une instance et son chemin critique. Les spans sont ceux de l'index récent
+ * de {@link SpanExporter}, complétés par l'historique du moteur pour les activités en
+ * cours (fin = maintenant) ou sorties de l'index ; les appels partenaires ne sont
+ * connus que de l'index.
+ * <p>
+ * Chemin critique : en partant de la fin de l'instance, on retient à chaque étape le
+ * span enfant terminé le plus tard avant le curseur, puis on recommence depuis son
+ * début. Le temps non couvert par un enfant est du temps propre du parent : attente
+ * entre deux activités (file du job executor, transaction) pour l'instance, temps
+ * moteur et base de données pour une service task, attente pour un état d'attente.
+ */
+@Component
+@ConditionalOnProperty(name = "orchestrator.tracing.enabled", havingValue = "true")
+public class ProcessTraces {
+
+    public static final String CATEGORY_PARTNER = "partner-calls";
+    public static final String CATEGORY_ENGINE = "engine";
+    public static final String CATEGORY_WAITING = "waiting";
+    public static final String CATEGORY_BETWEEN_ACTIVITIES = "between-activities";
+
+    private static final Set<String> WAIT_STATES = Set.of(
+            ActivityTypes.TASK_USER_TASK,
+            ActivityTypes.TASK_RECEIVE_TASK,
+            ActivityTypes.INTERMEDIATE_EVENT_MESSAGE,
+            ActivityTypes.INTERMEDIATE_EVENT_TIMER,
+            ActivityTypes.INTERMEDIATE_EVENT_SIGNAL,
+            ActivityTypes.INTERMEDIATE_EVENT_CONDITIONAL);
+
+    private final SpanExporter spanExporter;
+    private final HistoryService historyService;
+
+    public ProcessTraces(SpanExporter spanExporter, HistoryService historyService) {
+        this.spanExporter = spanExporter;
+        this.historyService = historyService;
+    }
+
+    public Optional<ProcessTrace> trace(String processInstanceId) {
+        HistoricProcessInstance processInstance = historyService.createHistoricProcessInstanceQuery()
+                .processInstanceId(processInstanceId)
+                .singleResult();
+        Map<String, Span> spans = new LinkedHashMap<>();
+        for (Span span : spanExporter.recentSpans(processInstanceId)) {
+            spans.put(span.spanId(), span);
+        }
+        if (processInstance == null && spans.isEmpty()) {
+            return Optional.empty();
+        }
+
+        long now = TimeUnit.MILLISECONDS.toNanos(System.currentTimeMillis());
+        for (HistoricActivityInstance activity : historyService.createHistoricActivityInstanceQuery()
+                .processInstanceId(processInstanceId)
+                .list()) {
+            spans.putIfAbsent(TraceContext.spanIdOf(activity.getId()), activitySpan(activity, now));
+        }
+
+        String traceId = TraceContext.traceIdOf(processInstanceId);
+        String rootId = TraceContext.spanIdOf(processInstanceId);
+        Span root = spans.remove(rootId);
+        if (root == null) {
+            root = rootSpan(processInstanceId, processInstance, spans.values(), now);
+        }
+
+        Map<String, List<Span>> children = new HashMap<>();
+        for (Span span : spans.values()) {
+            children.computeIfAbsent(span.parentSpanId() != null ? span.parentSpanId() : rootId,
+                    key -> new ArrayList<>()).add(span);
+        }
+
+        List<Segment> path = new ArrayList<>();
+        walk(root, root.startTimeUnixNano(), root.endTimeUnixNano(), children, path, root);
+        Collections.reverse(path);
+
+        double total = millis(root.durationNanos());
+        Map<String, Double> breakdown = new LinkedHashMap<>();
+        for (String category : List.of(CATEGORY_PARTNER, CATEGORY_ENGINE, CATEGORY_WAITING, CATEGORY_BETWEEN_ACTIVITIES)) {
+            breakdown.put(category, 0.0);
+        }
+        for (Segment segment : path) {
+            breakdown.merge(segment.category(), segment.durationMs(), Double::sum);
+        }
+
+        List<Span> allSpans = new ArrayList<>(spans.values());
+        allSpans.add(0, root);
+        allSpans.sort(Comparator.comparingLong(Span::startTimeUnixNano));
+        return Optional.of(new ProcessTrace(
+                processInstanceId,
+                traceId,
+                root.name(),
+                toInstant(root.startTimeUnixNano()),
+                processInstance == null || processInstance.getEndTime() != null ? toInstant(root.endTimeUnixNano()) : null,
+                total,
+                path.stream().map(segment -> segment.withShare(total)).toList(),
+                breakdown,
+                allSpans));
+    }
+
+    // Segments ajoutés du plus récent au plus ancien
+    private static void walk(Span span, long from, long to, Map<String, List<Span>> children, List<Segment> path, Span root) {
+        long cursor = to;
+        List<Span> candidates = new ArrayList<>(children.getOrDefault(span.spanId(), List.of()));
+        candidates.sort(Comparator.comparingLong(Span::endTimeUnixNano).reversed());
+        for (Span child : candidates) {
+            if (cursor <= from) {
+                break;
+            }
+            long childEnd = Math.min(child.endTimeUnixNano(), to);
+            // Enfant terminé après le curseur : branche parallèle hors du chemin
+            if (child.endTimeUnixNano() > cursor || childEnd <= from) {
+                continue;
+            }
+            if (cursor > childEnd) {
+                path.add(selfSegment(span, root, childEnd, cursor));
+            }
+            long childStart = Math.max(child.startTimeUnixNano(), from);
+            walk(child, childStart, childEnd, children, path, root);
+            cursor = childStart;
+        }
+        if (cursor > from) {
+            path.add(selfSegment(span, root, from, cursor));
+        }
+    }
+
+    private static Segment selfSegment(Span span, Span root, long start, long end) {
+        return new Segment(span.spanId(), span.name(), span.kind(),
+                span == root ? CATEGORY_BETWEEN_ACTIVITIES : category(span),
+                millis(start - root.startTimeUnixNano()), millis(end - start), 0);
+    }
+
+    private static String category(Span span) {
+        if (Span.KIND_CLIENT.equals(span.kind())) {
+            return CATEGORY_PARTNER;
+        }
+        Object type = span.attributes() != null ? span.attributes().get("activity.type") : null;
+        return type != null && WAIT_STATES.contains(type.toString()) ? CATEGORY_WAITING : CATEGORY_ENGINE;
+    }
+
+    private static Span activitySpan(HistoricActivityInstance activity, long now) {
+        String processInstanceId = activity.getProcessInstanceId();
+        String parent = activity.getParentActivityInstanceId() != null
+                ? activity.getParentActivityInstanceId() : processInstanceId;
+        Map<String, Object> attributes = new HashMap<>();
+        attributes.put("activity.id", activity.getActivityId());
+        attributes.put("activity.type", activity.getActivityType());
+        if (activity.getEndTime() == null) {
+            attributes.put("activity.in_progress", true);
+        }
+        return new Span(
+                TraceContext.traceIdOf(processInstanceId),
+                TraceContext.spanIdOf(activity.getId()),
+                TraceContext.spanIdOf(parent),
+                activity.getActivityName() != null ? activity.getActivityName() : activity.getActivityId(),
+                Span.KIND_ACTIVITY,
+                processInstanceId,
+                TimeUnit.MILLISECONDS.toNanos(activity.getStartTime().getTime()),
+                activity.getEndTime() != null ? TimeUnit.MILLISECONDS.toNanos(activity.getEndTime().getTime()) : now,
+                Span.STATUS_OK,
+                attributes);
+    }
+
+    private static Span rootSpan(String processInstanceId, HistoricProcessInstance processInstance,
+                                 Iterable<Span> spans, long now) {
+        long start = Long.MAX_VALUE;
+        long end = Long.MIN_VALUE;
+        for (Span span : spans) {
+            start = Math.min(start, span.startTimeUnixNano());
+            end = Math.max(end, span.endTimeUnixNano());
+        }
+        String name = processInstanceId;
+        if (processInstance != null) {
+            start = TimeUnit.MILLISECONDS.toNanos(processInstance.getStartTime().getTime());
+            end = processInstance.getEndTime() != null
+                    ? TimeUnit.MILLISECONDS.toNanos(processInstance.getEndTime().getTime()) : now;
+            name = processInstance.getProcessDefinitionKey();
+        }
+        return new Span(TraceContext.traceIdOf(processInstanceId), TraceContext.spanIdOf(processInstanceId), null,
+                name, Span.KIND_PROCESS, processInstanceId, start, Math.max(start, end), Span.STATUS_OK, Map.of());
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private static Instant toInstant(long epochNanos) {
+        return Instant.ofEpochSecond(0, epochNanos);
+    }
+
+    /**
+     * Trace d'une instance ; {@code end} est nul tant que l'instance est en cours.
+     */
+    public record ProcessTrace(
+            String processInstanceId,
+            String traceId,
+            String processDefinitionKey,
+            Instant start,
+            Instant end,
+            double durationMs,
+            List<Segment> criticalPath,
+            Map<String, Double> breakdown,
+            List<Span> spans) {
+    }
+
+    /**
+     * Portion du chemin critique ; {@code offsetMs} depuis le début de l'instance,
+     * {@code sharePercent} de la durée totale.
+     */
+    public record Segment(
+            String spanId,
+            String name,
+            String kind,
+            String category,
+            double offsetMs,
+            double durationMs,
+            double sharePercent) {
+
+        Segment withShare(double totalMs) {
+            return new Segment(spanId, name, kind, category, offsetMs, durationMs,
+                    totalMs > 0 ? Math.round(durationMs / totalMs * 1000) / 10.0 : 0);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.company.orchestrator.infrastructure.tracing;
+
+import com.company.orchestrator.infrastructure.delegate.ServiceTaskContext;
+
+/**
+ * Exécute une service task sous son {@link TraceContext}, quel que soit le mode
+ * d'exécution (JavaDelegate, external task ou outbox) : les appels partenaires faits
+ * pendant l'exécution sont rattachés à l'instance d'activité.
+ */
+public final class ServiceTaskTracing {
+
+    private ServiceTaskTracing() {
+    }
+
+    public static void execute(ServiceTaskContext context, Execution execution) throws Exception {
+        TraceContext.Scope scope = TraceContext.open(context.getProcessInstanceId(), context.getActivityInstanceId());
+        try {
+            execution.run();
+        } finally {
+            scope.close();
+        }
+    }
+
+    @FunctionalInterface
+    public interface Execution {
+
+        void run() throws Exception;
+    }
+}
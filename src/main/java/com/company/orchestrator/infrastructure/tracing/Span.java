@@ -0,0 +1,30 @@
+package com.company.orchestrator.infrastructure.tracing;
+
+import java.util.Map;
+
+/**
+ * Span exporté, une ligne JSON par span (noms de champs repris d'OTLP). Les instances
+ * d'activité sont de type {@code INTERNAL}, les appels partenaires de type {@code CLIENT}.
+ */
+public record Span(
+        String traceId,
+        String spanId,
+        String parentSpanId,
+        String name,
+        String kind,
+        String processInstanceId,
+        long startTimeUnixNano,
+        long endTimeUnixNano,
+        String status,
+        Map<String, Object> attributes) {
+
+    public static final String KIND_PROCESS = "SERVER";
+    public static final String KIND_ACTIVITY = "INTERNAL";
+    public static final String KIND_CLIENT = "CLIENT";
+    public static final String STATUS_OK = "OK";
+    public static final String STATUS_ERROR = "ERROR";
+
+    public long durationNanos() {
+        return endTimeUnixNano - startTimeUnixNano;
+    }
+}
@@ -0,0 +1,254 @@
+package com.company.orchestrator.infrastructure.tracing;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Exporte les spans publiés dans le {@link SpanRingBuffer} : un thread unique les écrit
+ * en JSON lines dans un fichier par jour ({@code spans-2024-10-01.jsonl}) et les indexe
+ * en mémoire par instance pour {@code GET /api/workflow/process/{id}/trace}. Les threads
+ * producteurs ne font qu'une réservation d'emplacement ; tampon plein, le span est
+ * abandonné et compté.
+ */
+@Component
+@ConditionalOnProperty(name = "orchestrator.tracing.enabled", havingValue = "true")
+public class SpanExporter implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(SpanExporter.class);
+
+    private static final String FILE_PREFIX = "spans-";
+    private static final String FILE_SUFFIX = ".jsonl";
+    private static final int DRAIN_BATCH = 1024;
+
+    private final ObjectMapper objectMapper;
+    private final SpanRingBuffer ringBuffer;
+    private final Cache<String, List<Span>> recentSpans;
+    private final Counter exported;
+    private final Counter dropped;
+    private final Path directory;
+    private final int ringBufferSize;
+
+    @Value("${orchestrator.tracing.flush-interval:200}")
+    private long flushInterval;
+
+    @Value("${orchestrator.tracing.retention-days:7}")
+    private int retentionDays;
+
+    @Value("${orchestrator.tracing.index.max-spans-per-instance:1000}")
+    private int maxSpansPerInstance;
+
+    private volatile boolean running;
+    private Thread exporter;
+    private BufferedWriter writer;
+    private LocalDate writerDate;
+
+    public SpanExporter(ObjectMapper objectMapper,
+                        MeterRegistry meterRegistry,
+                        @Value("${orchestrator.tracing.directory:./data/traces}") Path directory,
+                        @Value("${orchestrator.tracing.ring-buffer-size:8192}") int ringBufferSize,
+                        @Value("${orchestrator.tracing.index.maximum-instances:10000}") long maximumInstances,
+                        @Value("${orchestrator.tracing.index.ttl:2h}") Duration indexTtl) {
+        this.objectMapper = objectMapper;
+        this.directory = directory;
+        // Capacité arrondie à la puissance de deux supérieure
+        this.ringBufferSize = ringBufferSize <= 1 ? 1 : Integer.highestOneBit(ringBufferSize - 1) << 1;
+        this.ringBuffer = new SpanRingBuffer(this.ringBufferSize);
+        this.recentSpans = Caffeine.newBuilder()
+                .expireAfterAccess(indexTtl)
+                .maximumSize(maximumInstances)
+                .build();
+        this.exported = meterRegistry.counter("orchestrator.tracing.spans", "outcome", "exported");
+        this.dropped = meterRegistry.counter("orchestrator.tracing.spans", "outcome", "dropped");
+        Gauge.builder("orchestrator.tracing.buffer.size", ringBuffer, SpanRingBuffer::size)
+                .description("Spans waiting in the ring buffer")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Publie un span sans bloquer ; abandonné si le tampon est plein.
+     */
+    public void publish(Span span) {
+        if (!ringBuffer.offer(span)) {
+            dropped.increment();
+        }
+    }
+
+    /**
+     * Spans récents d'une instance (vide si elle n'est plus dans l'index).
+     */
+    public List<Span> recentSpans(String processInstanceId) {
+        List<Span> spans = recentSpans.getIfPresent(processInstanceId);
+        if (spans == null) {
+            return List.of();
+        }
+        synchronized (spans) {
+            return new ArrayList<>(spans);
+        }
+    }
+
+    @Override
+    public void start() {
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot create trace directory " + directory, e);
+        }
+        running = true;
+        exporter = new Thread(this::exportLoop, "span-exporter");
+        exporter.setDaemon(true);
+        exporter.start();
+        logger.info("Span exporter started (directory {}, ring buffer {} spans)", directory.toAbsolutePath(), ringBufferSize);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (exporter != null) {
+            exporter.interrupt();
+            try {
+                exporter.join(5000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        // Spans publiés pendant l'arrêt
+        drain();
+        closeWriter();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void exportLoop() {
+        while (running) {
+            try {
+                if (drain() < DRAIN_BATCH) {
+                    Thread.sleep(flushInterval);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                logger.warn("Span export failed: {}", e.getMessage());
+                sleepQuietly(flushInterval);
+            }
+        }
+    }
+
+    private synchronized int drain() {
+        int drained = ringBuffer.drain(this::export, DRAIN_BATCH);
+        if (drained > 0 && writer != null) {
+            try {
+                writer.flush();
+            } catch (IOException e) {
+                logger.warn("Cannot flush span file: {}", e.getMessage());
+                closeWriter();
+            }
+        }
+        return drained;
+    }
+
+    private void export(Span span) {
+        index(span);
+        try {
+            BufferedWriter out = writerFor(LocalDate.now(ZoneOffset.UTC));
+            out.write(objectMapper.writeValueAsString(span));
+            out.newLine();
+            exported.increment();
+        } catch (JsonProcessingException e) {
+            logger.debug("Span {} cannot be serialized: {}", span.spanId(), e.getMessage());
+        } catch (IOException e) {
+            logger.warn("Cannot write span file: {}", e.getMessage());
+            closeWriter();
+        }
+    }
+
+    private void index(Span span) {
+        if (span.processInstanceId() == null) {
+            return;
+        }
+        List<Span> spans = recentSpans.get(span.processInstanceId(), key -> new ArrayList<>());
+        synchronized (spans) {
+            if (spans.size() < maxSpansPerInstance) {
+                spans.add(span);
+            }
+        }
+    }
+
+    private BufferedWriter writerFor(LocalDate date) throws IOException {
+        if (writer != null && date.equals(writerDate)) {
+            return writer;
+        }
+        closeWriter();
+        writer = Files.newBufferedWriter(directory.resolve(FILE_PREFIX + date + FILE_SUFFIX), StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        writerDate = date;
+        deleteExpiredFiles(date.minusDays(retentionDays));
+        return writer;
+    }
+
+    private void deleteExpiredFiles(LocalDate oldestKept) {
+        try (Stream<Path> files = Files.list(directory)) {
+            files.filter(file -> {
+                String name = file.getFileName().toString();
+                return name.startsWith(FILE_PREFIX) && name.endsWith(FILE_SUFFIX)
+                        && name.substring(FILE_PREFIX.length(), name.length() - FILE_SUFFIX.length())
+                        .compareTo(oldestKept.toString()) < 0;
+            }).forEach(file -> {
+                try {
+                    Files.deleteIfExists(file);
+                } catch (IOException e) {
+                    logger.warn("Cannot delete span file {}: {}", file, e.getMessage());
+                }
+            });
+        } catch (IOException e) {
+            logger.warn("Cannot list span files in {}: {}", directory, e.getMessage());
+        }
+    }
+
+    private void closeWriter() {
+        if (writer != null) {
+            try {
+                writer.close();
+            } catch (IOException e) {
+                logger.debug("Cannot close span file: {}", e.getMessage());
+            }
+            writer = null;
+            writerDate = null;
+        }
+    }
+
+    private static void sleepQuietly(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.company.orchestrator.infrastructure.tracing;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * Tampon circulaire borné, plusieurs producteurs et un seul consommateur. Un producteur
+ * réserve un emplacement par CAS puis y publie son span ; tampon plein, le span est
+ * abandonné plutôt que de bloquer le thread moteur ou l'appel partenaire.
+ */
+class SpanRingBuffer {
+
+    private final AtomicReferenceArray<Span> slots;
+    private final int mask;
+    // Prochain emplacement à réserver (producteurs) et à lire (consommateur)
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong head = new AtomicLong();
+
+    SpanRingBuffer(int capacity) {
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Ring buffer capacity must be a power of two: " + capacity);
+        }
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * Publie le span ; renvoie {@code false} s'il est abandonné (tampon plein).
+     */
+    boolean offer(Span span) {
+        long position;
+        do {
+            position = tail.get();
+            if (position - head.get() > mask) {
+                return false;
+            }
+        } while (!tail.compareAndSet(position, position + 1));
+        slots.lazySet((int) (position & mask), span);
+        return true;
+    }
+
+    /**
+     * Transmet au plus {@code max} spans dans l'ordre de réservation. S'arrête sur un
+     * emplacement réservé mais pas encore publié, repris au prochain appel.
+     */
+    int drain(Consumer<Span> consumer, int max) {
+        long position = head.get();
+        int drained = 0;
+        while (drained < max) {
+            int index = (int) (position & mask);
+            Span span = slots.get(index);
+            if (span == null) {
+                break;
+            }
+            // Emplacement libéré avant d'avancer la tête : un producteur ne le réutilise qu'ensuite
+            slots.lazySet(index, null);
+            head.lazySet(++position);
+            consumer.accept(span);
+            drained++;
+        }
+        return drained;
+    }
+
+    int size() {
+        return (int) Math.max(0, tail.get() - head.get());
+    }
+}
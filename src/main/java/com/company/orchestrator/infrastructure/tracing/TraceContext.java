@@ -0,0 +1,88 @@
+package com.company.orchestrator.infrastructure.tracing;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HexFormat;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Contexte de trace du thread courant : instance et instance d'activité dont une
+ * service task est en cours d'exécution, posé par {@link ServiceTaskTracing} quel que soit
+ * le mode d'exécution.
+ * <p>
+ * Les identifiants W3C sont dérivés des identifiants du moteur plutôt que tirés au
+ * hasard : trace = instance de processus, span d'activité = instance d'activité. Un
+ * appel partenaire, un span d'historique ou un autre nœud retrouvent donc le même
+ * parent sans rien partager d'autre que ces identifiants.
+ */
+public final class TraceContext {
+
+    private static final ThreadLocal<TraceContext> CURRENT = new ThreadLocal<>();
+    private static final HexFormat HEX = HexFormat.of();
+
+    private final String processInstanceId;
+    private final String activityInstanceId;
+
+    private TraceContext(String processInstanceId, String activityInstanceId) {
+        this.processInstanceId = processInstanceId;
+        this.activityInstanceId = activityInstanceId;
+    }
+
+    /**
+     * Pose le contexte jusqu'à la fermeture du scope, qui restaure le contexte englobant.
+     */
+    public static Scope open(String processInstanceId, String activityInstanceId) {
+        TraceContext outer = CURRENT.get();
+        CURRENT.set(new TraceContext(processInstanceId, activityInstanceId));
+        return () -> {
+            if (outer != null) {
+                CURRENT.set(outer);
+            } else {
+                CURRENT.remove();
+            }
+        };
+    }
+
+    static TraceContext current() {
+        return CURRENT.get();
+    }
+
+    String processInstanceId() {
+        return processInstanceId;
+    }
+
+    String activityInstanceId() {
+        return activityInstanceId;
+    }
+
+    /** Identifiant de trace (32 caractères hexadécimaux) d'une instance de processus. */
+    public static String traceIdOf(String processInstanceId) {
+        UUID uuid = UUID.nameUUIDFromBytes(processInstanceId.getBytes(StandardCharsets.UTF_8));
+        return HEX.toHexDigits(uuid.getMostSignificantBits()) + HEX.toHexDigits(uuid.getLeastSignificantBits());
+    }
+
+    /** Identifiant de span (16 caractères hexadécimaux) d'une instance de processus ou d'activité. */
+    public static String spanIdOf(String instanceId) {
+        UUID uuid = UUID.nameUUIDFromBytes(instanceId.getBytes(StandardCharsets.UTF_8));
+        return HEX.toHexDigits(uuid.getMostSignificantBits());
+    }
+
+    static String newSpanId() {
+        long id;
+        do {
+            id = ThreadLocalRandom.current().nextLong();
+        } while (id == 0);
+        return HEX.toHexDigits(id);
+    }
+
+    static String traceparent(String traceId, String spanId) {
+        return "00-" + traceId + "-" + spanId + "-01";
+    }
+
+    @FunctionalInterface
+    public interface Scope extends AutoCloseable {
+
+        @Override
+        void close();
+    }
+}
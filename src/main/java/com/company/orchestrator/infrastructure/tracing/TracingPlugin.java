@@ -0,0 +1,31 @@
+package com.company.orchestrator.infrastructure.tracing;
+
+import org.camunda.bpm.engine.impl.cfg.AbstractProcessEnginePlugin;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+
+/**
+ * Ajoute {@link ActivitySpanHistoryEventHandler} aux handlers d'historique du moteur
+ * (créé ici plutôt qu'en bean, comme pour {@code ProcessAuditPlugin}).
+ */
+@Component
+@ConditionalOnProperty(name = "orchestrator.tracing.enabled", havingValue = "true")
+public class TracingPlugin extends AbstractProcessEnginePlugin {
+
+    private final ActivitySpanHistoryEventHandler historyEventHandler;
+
+    public TracingPlugin(SpanExporter spanExporter) {
+        this.historyEventHandler = new ActivitySpanHistoryEventHandler(spanExporter);
+    }
+
+    @Override
+    public void preInit(ProcessEngineConfigurationImpl configuration) {
+        if (configuration.getCustomHistoryEventHandlers() == null) {
+            configuration.setCustomHistoryEventHandlers(new ArrayList<>());
+        }
+        configuration.getCustomHistoryEventHandlers().add(historyEventHandler);
+    }
+}
@@ -0,0 +1,364 @@
+package com.company.orchestrator.infrastructure.variable;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.Deflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Encodage binaire auto-décrit des structures {@code Map}/{@code List} : chaque valeur
+ * est précédée d'une étiquette de type, les entiers sont en varint, les chaînes en
+ * UTF-8 préfixées par leur longueur. Aucun nom de classe n'est écrit : les valeurs se
+ * relisent quel que soit le code qui les a produites, avec leur type d'origine
+ * ({@code Long} reste {@code Long}, {@code BigDecimal} reste {@code BigDecimal}).
+ * <p>
+ * En-tête de deux octets (version, options) ; au-delà du seuil, le corps est compressé
+ * (Deflate, niveau rapide).
+ */
+public final class CompactValueCodec {
+
+    private static final byte VERSION = 1;
+    private static final byte FLAG_DEFLATED = 1;
+    private static final int HEADER_LENGTH = 2;
+    private static final int MAX_DEPTH = 64;
+
+    private static final byte NULL = 0;
+    private static final byte STRING = 1;
+    private static final byte TRUE = 2;
+    private static final byte FALSE = 3;
+    private static final byte INT = 4;
+    private static final byte LONG = 5;
+    private static final byte DOUBLE = 6;
+    private static final byte FLOAT = 7;
+    private static final byte BIG_DECIMAL = 8;
+    private static final byte BIG_INTEGER = 9;
+    private static final byte DATE = 10;
+    private static final byte BYTES = 11;
+    private static final byte MAP = 12;
+    private static final byte LIST = 13;
+    private static final byte SHORT = 14;
+
+    private CompactValueCodec() {
+    }
+
+    /**
+     * Vrai si toute la structure se compose de valeurs encodables (clés de map en
+     * {@code String}, profondeur bornée) ; sinon la variable reste en sérialisation Java.
+     */
+    public static boolean isEncodable(Object value) {
+        return isEncodable(value, 0);
+    }
+
+    private static boolean isEncodable(Object value, int depth) {
+        if (value == null || value instanceof String || value instanceof Boolean || value instanceof Integer
+                || value instanceof Long || value instanceof Double || value instanceof Float || value instanceof Short
+                || value instanceof BigDecimal || value instanceof BigInteger || value instanceof byte[]
+                || (value != null && value.getClass() == Date.class)) {
+            return true;
+        }
+        if (depth >= MAX_DEPTH) {
+            return false;
+        }
+        if (value instanceof Map<?, ?> map) {
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                if (!(entry.getKey() instanceof String) || !isEncodable(entry.getValue(), depth + 1)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        if (value instanceof List<?> list) {
+            for (Object element : list) {
+                if (!isEncodable(element, depth + 1)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    public static byte[] encode(Object value, int compressionThreshold) {
+        Output output = new Output(256);
+        output.write(VERSION);
+        output.write((byte) 0);
+        writeValue(output, value);
+        int bodyLength = output.size - HEADER_LENGTH;
+        if (compressionThreshold <= 0 || bodyLength < compressionThreshold) {
+            return output.toByteArray();
+        }
+
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(output.buffer, HEADER_LENGTH, bodyLength);
+            deflater.finish();
+            Output compressed = new Output(bodyLength / 2 + 64);
+            compressed.write(VERSION);
+            compressed.write(FLAG_DEFLATED);
+            while (!deflater.finished()) {
+                compressed.ensureCapacity(1024);
+                compressed.size += deflater.deflate(compressed.buffer, compressed.size, compressed.buffer.length - compressed.size);
+            }
+            // Données peu compressibles : le corps brut est conservé
+            return compressed.size < output.size ? compressed.toByteArray() : output.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    public static Object decode(byte[] bytes) throws IOException {
+        if (bytes.length < HEADER_LENGTH || bytes[0] != VERSION) {
+            throw new IOException("Unsupported compact value encoding");
+        }
+        byte[] body = bytes;
+        int offset = HEADER_LENGTH;
+        if ((bytes[1] & FLAG_DEFLATED) != 0) {
+            try (InputStream input = new InflaterInputStream(new ByteArrayInputStream(bytes, HEADER_LENGTH, bytes.length - HEADER_LENGTH))) {
+                body = input.readAllBytes();
+            }
+            offset = 0;
+        }
+        Input input = new Input(body, offset);
+        Object value = readValue(input);
+        if (input.position != body.length) {
+            throw new IOException("Trailing bytes after compact value");
+        }
+        return value;
+    }
+
+    private static void writeValue(Output output, Object value) {
+        if (value == null) {
+            output.write(NULL);
+        } else if (value instanceof String string) {
+            output.write(STRING);
+            writeString(output, string);
+        } else if (value instanceof Boolean bool) {
+            output.write(bool ? TRUE : FALSE);
+        } else if (value instanceof Integer number) {
+            output.write(INT);
+            output.writeVarLong(zigZag(number));
+        } else if (value instanceof Long number) {
+            output.write(LONG);
+            output.writeVarLong(zigZag(number));
+        } else if (value instanceof Short number) {
+            output.write(SHORT);
+            output.writeVarLong(zigZag(number));
+        } else if (value instanceof Double number) {
+            output.write(DOUBLE);
+            output.writeFixedLong(Double.doubleToRawLongBits(number));
+        } else if (value instanceof Float number) {
+            output.write(FLOAT);
+            output.writeVarLong(Integer.toUnsignedLong(Float.floatToRawIntBits(number)));
+        } else if (value instanceof BigDecimal number) {
+            output.write(BIG_DECIMAL);
+            output.writeVarLong(zigZag(number.scale()));
+            writeBytes(output, number.unscaledValue().toByteArray());
+        } else if (value instanceof BigInteger number) {
+            output.write(BIG_INTEGER);
+            writeBytes(output, number.toByteArray());
+        } else if (value instanceof Date date) {
+            output.write(DATE);
+            output.writeVarLong(zigZag(date.getTime()));
+        } else if (value instanceof byte[] bytes) {
+            output.write(BYTES);
+            writeBytes(output, bytes);
+        } else if (value instanceof Map<?, ?> map) {
+            output.write(MAP);
+            output.writeVarLong(map.size());
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                writeString(output, (String) entry.getKey());
+                writeValue(output, entry.getValue());
+            }
+        } else if (value instanceof List<?> list) {
+            output.write(LIST);
+            output.writeVarLong(list.size());
+            for (Object element : list) {
+                writeValue(output, element);
+            }
+        } else {
+            throw new IllegalArgumentException("Type not supported by the compact encoding: " + value.getClass().getName());
+        }
+    }
+
+    private static Object readValue(Input input) throws IOException {
+        byte tag = input.read();
+        switch (tag) {
+            case NULL:
+                return null;
+            case STRING:
+                return readString(input);
+            case TRUE:
+                return Boolean.TRUE;
+            case FALSE:
+                return Boolean.FALSE;
+            case INT:
+                return (int) unZigZag(input.readVarLong());
+            case LONG:
+                return unZigZag(input.readVarLong());
+            case SHORT:
+                return (short) unZigZag(input.readVarLong());
+            case DOUBLE:
+                return Double.longBitsToDouble(input.readFixedLong());
+            case FLOAT:
+                return Float.intBitsToFloat((int) input.readVarLong());
+            case BIG_DECIMAL:
+                int scale = (int) unZigZag(input.readVarLong());
+                return new BigDecimal(new BigInteger(readBytes(input)), scale);
+            case BIG_INTEGER:
+                return new BigInteger(readBytes(input));
+            case DATE:
+                return new Date(unZigZag(input.readVarLong()));
+            case BYTES:
+                return readBytes(input);
+            case MAP:
+                int entries = input.readLength();
+                Map<String, Object> map = new LinkedHashMap<>(Math.max(4, (int) (entries / 0.75f) + 1));
+                for (int i = 0; i < entries; i++) {
+                    map.put(readString(input), readValue(input));
+                }
+                return map;
+            case LIST:
+                int elements = input.readLength();
+                List<Object> list = new ArrayList<>(elements);
+                for (int i = 0; i < elements; i++) {
+                    list.add(readValue(input));
+                }
+                return list;
+            default:
+                throw new IOException("Unknown compact value tag " + tag);
+        }
+    }
+
+    private static void writeString(Output output, String value) {
+        writeBytes(output, value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String readString(Input input) throws IOException {
+        int length = input.readLength();
+        String value = new String(input.buffer, input.position, length, StandardCharsets.UTF_8);
+        input.position += length;
+        return value;
+    }
+
+    private static void writeBytes(Output output, byte[] bytes) {
+        output.writeVarLong(bytes.length);
+        output.ensureCapacity(bytes.length);
+        System.arraycopy(bytes, 0, output.buffer, output.size, bytes.length);
+        output.size += bytes.length;
+    }
+
+    private static byte[] readBytes(Input input) throws IOException {
+        int length = input.readLength();
+        byte[] bytes = Arrays.copyOfRange(input.buffer, input.position, input.position + length);
+        input.position += length;
+        return bytes;
+    }
+
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static final class Output {
+
+        private byte[] buffer;
+        private int size;
+
+        Output(int capacity) {
+            this.buffer = new byte[capacity];
+        }
+
+        void ensureCapacity(int additional) {
+            if (size + additional > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + additional));
+            }
+        }
+
+        void write(byte value) {
+            ensureCapacity(1);
+            buffer[size++] = value;
+        }
+
+        void writeVarLong(long value) {
+            ensureCapacity(10);
+            while ((value & ~0x7FL) != 0) {
+                buffer[size++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[size++] = (byte) value;
+        }
+
+        void writeFixedLong(long value) {
+            ensureCapacity(8);
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                buffer[size++] = (byte) (value >>> shift);
+            }
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buffer, size);
+        }
+    }
+
+    private static final class Input {
+
+        private final byte[] buffer;
+        private int position;
+
+        Input(byte[] buffer, int position) {
+            this.buffer = buffer;
+            this.position = position;
+        }
+
+        byte read() throws IOException {
+            if (position >= buffer.length) {
+                throw new IOException("Truncated compact value");
+            }
+            return buffer[position++];
+        }
+
+        long readVarLong() throws IOException {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                byte current = read();
+                value |= (long) (current & 0x7F) << shift;
+                if ((current & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IOException("Malformed varint in compact value");
+        }
+
+        long readFixedLong() throws IOException {
+            if (position + 8 > buffer.length) {
+                throw new IOException("Truncated compact value");
+            }
+            long value = 0;
+            for (int i = 0; i < 8; i++) {
+                value = (value << 8) | (buffer[position++] & 0xFF);
+            }
+            return value;
+        }
+
+        int readLength() throws IOException {
+            long length = readVarLong();
+            if (length < 0 || length > buffer.length - position) {
+                throw new IOException("Invalid length in compact value");
+            }
+            return (int) length;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.company.orchestrator.infrastructure.variable;
+
+import org.camunda.bpm.engine.impl.variable.serializer.AbstractObjectValueSerializer;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sérialiseur des variables objet {@code Map}/{@code List} ({@code formData},
+ * {@code documents}, {@code simulatorResponse}, {@code profitabilityResult}...) au
+ * format {@link CompactValueCodec}, à la place de la sérialisation Java. Les structures
+ * contenant d'autres types restent prises en charge par le sérialiseur Java du moteur,
+ * de même que les variables déjà stockées dans ce format.
+ */
+public class CompactValueSerializer extends AbstractObjectValueSerializer {
+
+    public static final String NAME = "compact";
+    public static final String DATA_FORMAT = "application/x-orchestrator-compact";
+
+    private final int compressionThreshold;
+
+    public CompactValueSerializer(int compressionThreshold) {
+        super(DATA_FORMAT);
+        this.compressionThreshold = compressionThreshold;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    protected String getTypeNameForDeserialized(Object deserializedObject) {
+        // Type restitué à la lecture, indépendant de l'implémentation d'origine
+        return deserializedObject instanceof List ? ArrayList.class.getName() : LinkedHashMap.class.getName();
+    }
+
+    @Override
+    protected byte[] serializeToByteArray(Object deserializedObject) {
+        return CompactValueCodec.encode(deserializedObject, compressionThreshold);
+    }
+
+    @Override
+    protected Object deserializeFromByteArray(byte[] object, String objectTypeName) throws Exception {
+        return CompactValueCodec.decode(object);
+    }
+
+    @Override
+    protected boolean isSerializationTextBased() {
+        return false;
+    }
+
+    @Override
+    protected boolean canSerializeValue(Object value) {
+        return (value instanceof Map || value instanceof List) && CompactValueCodec.isEncodable(value);
+    }
+}
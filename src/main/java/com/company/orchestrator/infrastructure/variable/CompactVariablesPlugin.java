@@ -0,0 +1,34 @@
+package com.company.orchestrator.infrastructure.variable;
+
+import org.camunda.bpm.engine.impl.cfg.AbstractProcessEnginePlugin;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+
+/**
+ * Enregistre {@link CompactValueSerializer} avant les sérialiseurs du moteur et en fait
+ * le format objet par défaut : quand lui et le sérialiseur Java acceptent une valeur,
+ * le moteur retient le format par défaut.
+ */
+@Component
+@ConditionalOnProperty(name = "orchestrator.variables.compact-serialization.enabled", havingValue = "true")
+public class CompactVariablesPlugin extends AbstractProcessEnginePlugin {
+
+    private final CompactValueSerializer serializer;
+
+    public CompactVariablesPlugin(@Value("${orchestrator.variables.compact-serialization.compression-threshold:2048}") int compressionThreshold) {
+        this.serializer = new CompactValueSerializer(compressionThreshold);
+    }
+
+    @Override
+    public void preInit(ProcessEngineConfigurationImpl configuration) {
+        if (configuration.getCustomPreVariableSerializers() == null) {
+            configuration.setCustomPreVariableSerializers(new ArrayList<>());
+        }
+        configuration.getCustomPreVariableSerializers().add(serializer);
+        configuration.setDefaultSerializationFormat(CompactValueSerializer.DATA_FORMAT);
+    }
+}
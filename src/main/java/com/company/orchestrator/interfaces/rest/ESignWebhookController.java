@@ -0,0 +1,106 @@
+package com.company.orchestrator.interfaces.rest;
+
+import com.company.orchestrator.infrastructure.esign.ESignCallbackDispatcher;
+import com.company.orchestrator.infrastructure.esign.ESignCallbackRepository;
+import com.company.orchestrator.infrastructure.esign.ESignWebhookVerifier;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Map;
+
+/**
+ * Notifications de signature E-Sign ({@code external.esign.webhook.url}). La requête
+ * est vérifiée puis enregistrée dans {@code app.esign_callback} et acquittée aussitôt ;
+ * la complétion des tâches de signature est faite par {@link ESignCallbackDispatcher}.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/webhook")
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "external.esign.webhook.enabled", havingValue = "true")
+public class ESignWebhookController {
+
+    private static final String STATUS_KEY = "status";
+    private static final String MESSAGE_KEY = "message";
+    private static final String DELIVERY_ID_KEY = "deliveryId";
+
+    private final ESignWebhookVerifier webhookVerifier;
+    private final ESignCallbackRepository callbackRepository;
+    private final ESignCallbackDispatcher callbackDispatcher;
+    private final ObjectMapper objectMapper;
+
+    @PostMapping("/esign")
+    public ResponseEntity<Map<String, Object>> receiveESignCallback(
+            @RequestBody byte[] body,
+            @RequestHeader(name = "X-ESign-Signature", required = false) String signature,
+            @RequestHeader(name = "X-ESign-Delivery-Id", required = false) String deliveryIdHeader) {
+
+        Map<String, Object> response = new HashMap<>();
+        if (!webhookVerifier.verify(body, signature)) {
+            log.warn("Rejected E-Sign callback with an invalid signature");
+            response.put(STATUS_KEY, "UNAUTHORIZED");
+            response.put(MESSAGE_KEY, "Invalid webhook signature");
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(response);
+        }
+
+        JsonNode payload;
+        try {
+            payload = objectMapper.readTree(body);
+        } catch (IOException e) {
+            payload = null;
+        }
+        String documentId = text(payload, "documentId");
+        String eventType = text(payload, "event") != null ? text(payload, "event") : text(payload, "status");
+        if (documentId == null || eventType == null) {
+            response.put(STATUS_KEY, "ERROR");
+            response.put(MESSAGE_KEY, "documentId and event (or status) are required");
+            return ResponseEntity.badRequest().body(response);
+        }
+
+        // Sans identifiant de livraison, une notification rejouée a le même corps
+        String deliveryId = deliveryIdHeader != null ? deliveryIdHeader
+                : text(payload, "eventId") != null ? text(payload, "eventId") : sha256(body);
+
+        boolean inserted = callbackRepository.insert(deliveryId, documentId, eventType.toUpperCase(),
+                text(payload, "signedAt"), new String(body, StandardCharsets.UTF_8));
+        if (inserted) {
+            callbackDispatcher.signal();
+            log.debug("E-Sign callback {} accepted for document {} ({})", deliveryId, documentId, eventType);
+        } else {
+            log.debug("E-Sign callback {} already received", deliveryId);
+        }
+
+        response.put(STATUS_KEY, inserted ? "ACCEPTED" : "DUPLICATE");
+        response.put(DELIVERY_ID_KEY, deliveryId);
+        return ResponseEntity.accepted().body(response);
+    }
+
+    private static String text(JsonNode payload, String field) {
+        JsonNode value = payload != null ? payload.get(field) : null;
+        return value != null && !value.isNull() && !value.asText().isBlank() ? value.asText() : null;
+    }
+
+    private static String sha256(byte[] body) {
+        try {
+            return "sha256:" + HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(body));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.company.orchestrator.interfaces.rest;
+
+import com.company.orchestrator.infrastructure.ingestion.SubmissionIngestion;
+import com.company.orchestrator.infrastructure.ingestion.SubmissionStatus;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Soumissions de formulaire acceptées en 202 : la requête est validée, journalisée et
+ * mise en file, l'instance est démarrée en arrière-plan par {@link SubmissionIngestion}.
+ * L'identifiant de suivi renvoyé permet de retrouver l'instance une fois démarrée.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/workflow/form-submission")
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "orchestrator.ingestion.enabled", havingValue = "true")
+public class FormSubmissionIngestionController {
+
+    private static final String STATUS_KEY = "status";
+    private static final String MESSAGE_KEY = "message";
+    private static final String TRACKING_ID_KEY = "trackingId";
+    private static final String RETRY_AFTER_SECONDS = "1";
+
+    private final SubmissionIngestion submissionIngestion;
+
+    @PostMapping("/submit")
+    public ResponseEntity<Map<String, Object>> submitFormSubmission(@RequestBody WorkflowController.FormSubmissionRequest request) {
+        String error = validate(request);
+        if (error != null) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put(STATUS_KEY, "ERROR");
+            errorResponse.put(MESSAGE_KEY, error);
+            return ResponseEntity.badRequest().body(errorResponse);
+        }
+
+        Optional<String> trackingId;
+        try {
+            trackingId = submissionIngestion.submit(WorkflowController.buildProcessVariables(request));
+        } catch (IllegalArgumentException e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put(STATUS_KEY, "ERROR");
+            errorResponse.put(MESSAGE_KEY, "Submission rejected: " + e.getMessage());
+            return ResponseEntity.badRequest().body(errorResponse);
+        } catch (Exception e) {
+            log.error("Error journaling form submission: {}", e.getMessage(), e);
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put(STATUS_KEY, "ERROR");
+            errorResponse.put(MESSAGE_KEY, "Failed to accept form submission: " + e.getMessage());
+            return ResponseEntity.internalServerError().body(errorResponse);
+        }
+
+        if (trackingId.isEmpty()) {
+            // File pleine : le client réessaie plus tard
+            Map<String, Object> response = new HashMap<>();
+            response.put(STATUS_KEY, "BUSY");
+            response.put(MESSAGE_KEY, "Submission queue is full, retry later");
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS)
+                    .body(response);
+        }
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put(TRACKING_ID_KEY, trackingId.get());
+        response.put(STATUS_KEY, SubmissionStatus.ACCEPTED);
+        response.put("statusUrl", "/api/workflow/form-submission/" + trackingId.get());
+        return ResponseEntity.accepted()
+                .header(HttpHeaders.LOCATION, "/api/workflow/form-submission/" + trackingId.get())
+                .body(response);
+    }
+
+    @GetMapping("/{trackingId}")
+    public ResponseEntity<Map<String, Object>> getSubmissionStatus(@PathVariable String trackingId) {
+        Optional<SubmissionStatus> status = submissionIngestion.status(trackingId);
+        if (status.isEmpty()) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put(TRACKING_ID_KEY, trackingId);
+            errorResponse.put(STATUS_KEY, "NOT_FOUND");
+            errorResponse.put(MESSAGE_KEY, "Unknown submission");
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
+        }
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put(TRACKING_ID_KEY, trackingId);
+        response.put(STATUS_KEY, status.get().status());
+        response.put("processInstanceId", status.get().processInstanceId());
+        response.put("acceptedAt", status.get().acceptedAt());
+        if (status.get().error() != null) {
+            response.put(MESSAGE_KEY, status.get().error());
+        }
+        return ResponseEntity.ok(response);
+    }
+
+    private static String validate(WorkflowController.FormSubmissionRequest request) {
+        if (request.getCustomerName() == null || request.getCustomerName().isBlank()) {
+            return "customerName is required";
+        }
+        if (request.getEmail() == null || !request.getEmail().contains("@")) {
+            return "A valid email is required";
+        }
+        if (request.getPremium() != null && request.getPremium() < 0) {
+            return "premium must not be negative";
+        }
+        return null;
+    }
+}
@@ -0,0 +1,54 @@
+package com.company.orchestrator.interfaces.rest;
+
+import com.company.orchestrator.infrastructure.audit.ProcessAuditProjector;
+import com.company.orchestrator.infrastructure.audit.ProcessAuditRebuilder;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/admin/process-audit")
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "orchestrator.process-audit.enabled", havingValue = "true")
+public class ProcessAuditController {
+
+    private final ProcessAuditProjector processAuditProjector;
+    private final ProcessAuditRebuilder processAuditRebuilder;
+
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> getStatus() {
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("queueSize", processAuditProjector.queueSize());
+        response.put("remainingCapacity", processAuditProjector.remainingCapacity());
+        response.put("droppedChanges", processAuditProjector.droppedChanges());
+        response.put("rebuild", processAuditRebuilder.status());
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/rebuild")
+    public ResponseEntity<Map<String, Object>> rebuild() {
+        Map<String, Object> response = new HashMap<>();
+        
+        if (!processAuditRebuilder.startRebuild()) {
+            response.put("status", "ALREADY_RUNNING");
+            response.put("message", "A process_audit rebuild is already in progress");
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+        }
+        
+        log.info("Process_audit rebuild requested");
+        response.put("status", "STARTED");
+        response.put("message", "Rebuilding process_audit from history");
+        return ResponseEntity.accepted().body(response);
+    }
+}
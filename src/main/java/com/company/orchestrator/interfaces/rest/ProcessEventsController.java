@@ -0,0 +1,106 @@
+package com.company.orchestrator.interfaces.rest;
+
+import com.company.orchestrator.infrastructure.audit.ProcessAudit;
+import com.company.orchestrator.infrastructure.progress.ProcessProgressEvent;
+import com.company.orchestrator.infrastructure.progress.ProcessProgressHub;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.camunda.bpm.engine.HistoryService;
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.history.HistoricProcessInstance;
+import org.camunda.bpm.engine.runtime.ProcessInstance;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Progression des instances poussée en Server-Sent Events, à la place du polling de
+ * {@code /process/{id}/status}. Le flux est ouvert avant la lecture de l'état courant,
+ * envoyé en événement {@code snapshot} : aucune étape validée entre les deux n'est perdue.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/workflow")
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "orchestrator.progress-events.enabled", havingValue = "true")
+public class ProcessEventsController {
+
+    private static final String CUSTOMER_ID_KEY = "customerId";
+
+    private final ProcessProgressHub processProgressHub;
+    private final RuntimeService runtimeService;
+    private final HistoryService historyService;
+
+    @Value("${orchestrator.progress-events.max-snapshot-instances:100}")
+    private int maxSnapshotInstances;
+
+    @GetMapping(path = "/process/{processInstanceId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamProcessEvents(@PathVariable String processInstanceId) {
+        Optional<ProcessProgressHub.Subscription> subscription = processProgressHub.subscribeToProcessInstance(processInstanceId);
+        if (subscription.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+
+        HistoricProcessInstance historicInstance = historyService.createHistoricProcessInstanceQuery()
+                .processInstanceId(processInstanceId)
+                .singleResult();
+        if (historicInstance == null) {
+            subscription.get().close();
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        }
+
+        log.debug("Progress event stream opened for process instance: {}", processInstanceId);
+        String status = ProcessAudit.statusOf(historicInstance.getState());
+        if (historicInstance.getEndTime() != null) {
+            // Instance déjà terminée : fin immédiate du flux
+            subscription.get().offer(ProcessProgressEvent.processEnd(processInstanceId,
+                    historicInstance.getProcessDefinitionKey(), null, status, historicInstance.getEndTime().toInstant()));
+        } else {
+            try {
+                subscription.get().offer(ProcessProgressEvent.snapshot(processInstanceId,
+                        historicInstance.getProcessDefinitionKey(), null, status,
+                        runtimeService.getActiveActivityIds(processInstanceId)));
+            } catch (ProcessEngineException e) {
+                // Terminée entre-temps : son process-end est déjà dans le flux
+                log.debug("Process instance {} ended before its snapshot: {}", processInstanceId, e.getMessage());
+            }
+        }
+        return ResponseEntity.ok(subscription.get().emitter());
+    }
+
+    @GetMapping(path = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamCustomerEvents(@RequestParam String customerId) {
+        Optional<ProcessProgressHub.Subscription> subscription = processProgressHub.subscribeToCustomer(customerId);
+        if (subscription.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+
+        List<ProcessInstance> processInstances = runtimeService.createProcessInstanceQuery()
+                .variableValueEquals(CUSTOMER_ID_KEY, customerId)
+                .listPage(0, maxSnapshotInstances);
+        log.debug("Progress event stream opened for customer {} ({} running instances)", customerId, processInstances.size());
+
+        for (ProcessInstance processInstance : processInstances) {
+            String status = processInstance.isSuspended() ? ProcessAudit.STATUS_SUSPENDED : ProcessAudit.STATUS_RUNNING;
+            try {
+                subscription.get().offer(ProcessProgressEvent.snapshot(processInstance.getId(), null, customerId, status,
+                        runtimeService.getActiveActivityIds(processInstance.getId())));
+            } catch (ProcessEngineException e) {
+                log.debug("Process instance {} ended before its snapshot: {}", processInstance.getId(), e.getMessage());
+            }
+        }
+        return ResponseEntity.ok(subscription.get().emitter());
+    }
+}
@@ -0,0 +1,62 @@
+package com.company.orchestrator.interfaces.rest;
+
+import com.company.orchestrator.infrastructure.tracing.ProcessTraces;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Trace d'une instance : chemin critique (activités, appels partenaires, temps moteur
+ * et attentes) et répartition de sa durée, pour analyser une instance lente.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/workflow")
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "orchestrator.tracing.enabled", havingValue = "true")
+public class ProcessTraceController {
+
+    private final ProcessTraces processTraces;
+
+    @GetMapping("/process/{processInstanceId}/trace")
+    public ResponseEntity<Map<String, Object>> getProcessTrace(@PathVariable String processInstanceId,
+                                                               @RequestParam(defaultValue = "true") boolean includeSpans) {
+        Optional<ProcessTraces.ProcessTrace> trace = processTraces.trace(processInstanceId);
+        if (trace.isEmpty()) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("processInstanceId", processInstanceId);
+            errorResponse.put("status", "NOT_FOUND");
+            errorResponse.put("message", "No trace for this process instance");
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
+        }
+
+        ProcessTraces.ProcessTrace processTrace = trace.get();
+        log.debug("Trace of process instance {}: {} spans, {} ms", processInstanceId,
+                processTrace.spans().size(), processTrace.durationMs());
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("processInstanceId", processTrace.processInstanceId());
+        response.put("traceId", processTrace.traceId());
+        response.put("processDefinitionKey", processTrace.processDefinitionKey());
+        response.put("start", processTrace.start());
+        response.put("end", processTrace.end());
+        response.put("durationMs", processTrace.durationMs());
+        response.put("breakdown", processTrace.breakdown());
+        response.put("criticalPath", processTrace.criticalPath());
+        if (includeSpans) {
+            response.put("spans", processTrace.spans());
+        }
+        return ResponseEntity.ok(response);
+    }
+}
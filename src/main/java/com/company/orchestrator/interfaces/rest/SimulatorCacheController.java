@@ -0,0 +1,40 @@
+package com.company.orchestrator.interfaces.rest;
+
+import com.company.orchestrator.infrastructure.cache.SimulatorResultCache;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/admin/simulator-cache")
+@RequiredArgsConstructor
+public class SimulatorCacheController {
+
+    private final SimulatorResultCache simulatorResultCache;
+
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> getStatistics() {
+        return ResponseEntity.ok(simulatorResultCache.statistics());
+    }
+
+    @DeleteMapping
+    public ResponseEntity<Map<String, Object>> invalidate() {
+        log.info("Invalidating simulator result cache");
+        
+        long invalidated = simulatorResultCache.invalidateAll();
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("status", "INVALIDATED");
+        response.put("invalidatedEntries", invalidated);
+        
+        return ResponseEntity.ok(response);
+    }
+}
@@ -0,0 +1,101 @@
+package com.company.orchestrator.interfaces.rest;
+
+import com.company.orchestrator.infrastructure.task.TaskInbox;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/workflow/tasks")
+@RequiredArgsConstructor
+public class TaskInboxController {
+
+    private static final String STATUS_KEY = "status";
+    private static final String MESSAGE_KEY = "message";
+
+    private final TaskInbox taskInbox;
+
+    @Value("${orchestrator.task-inbox.max-page-size:200}")
+    private int maxPageSize;
+
+    @Value("${orchestrator.task-inbox.max-bulk-size:1000}")
+    private int maxBulkSize;
+
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> getInbox(@RequestParam(required = false) String taskKey,
+                                                        @RequestParam(required = false) String cursor,
+                                                        @RequestParam(defaultValue = "50") int limit) {
+        if (taskKey != null && !taskInbox.taskKeys().contains(taskKey)) {
+            return badRequest("Unknown task key " + taskKey + ", supported keys: " + taskInbox.taskKeys());
+        }
+        if (limit < 1 || limit > maxPageSize) {
+            return badRequest("limit must be between 1 and " + maxPageSize);
+        }
+
+        TaskInbox.Page page;
+        try {
+            page = taskInbox.page(taskKey, cursor, limit);
+        } catch (IllegalArgumentException e) {
+            return badRequest(e.getMessage());
+        }
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("items", page.items());
+        response.put("nextCursor", page.nextCursor());
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/complete")
+    public ResponseEntity<Map<String, Object>> completeTasks(@RequestBody BulkCompletionRequest request) {
+        if (request.tasks() == null || request.tasks().isEmpty()) {
+            return badRequest("tasks must not be empty");
+        }
+        if (request.tasks().size() > maxBulkSize) {
+            return badRequest("At most " + maxBulkSize + " tasks can be completed per request");
+        }
+        if (request.tasks().stream().anyMatch(task -> task.taskId() == null)) {
+            return badRequest("Every task needs a taskId");
+        }
+
+        log.info("Bulk completion of {} inbox tasks", request.tasks().size());
+        List<TaskInbox.CompletionResult> results = taskInbox.complete(request.tasks().stream()
+                .map(task -> new TaskInbox.Completion(task.taskId(),
+                        task.variables() != null ? task.variables() : Map.of()))
+                .toList());
+
+        long completed = results.stream().filter(TaskInbox.CompletionResult::isCompleted).count();
+        log.info("Bulk completion finished. Completed: {}, failed: {}", completed, results.size() - completed);
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("completed", completed);
+        response.put("failed", results.size() - completed);
+        response.put("results", results);
+        return ResponseEntity.ok(response);
+    }
+
+    private static ResponseEntity<Map<String, Object>> badRequest(String message) {
+        Map<String, Object> errorResponse = new HashMap<>();
+        errorResponse.put(STATUS_KEY, "ERROR");
+        errorResponse.put(MESSAGE_KEY, message);
+        return ResponseEntity.badRequest().body(errorResponse);
+    }
+
+    public record BulkCompletionRequest(List<TaskCompletion> tasks) {
+    }
+
+    public record TaskCompletion(String taskId, Map<String, Object> variables) {
+    }
+}
@@ -1,15 +1,51 @@
 package com.company.orchestrator.interfaces.rest;
 
+import com.company.orchestrator.domain.workflow.FormSubmissionWorkflow;
+import com.company.orchestrator.infrastructure.audit.ProcessAudit;
+import com.company.orchestrator.infrastructure.audit.ProcessAuditRepository;
+import com.company.orchestrator.infrastructure.engine.TransactionalBatch;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.camunda.bpm.engine.HistoryService;
 import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.TaskService;
+import org.camunda.bpm.engine.history.HistoricProcessInstance;
 import org.camunda.bpm.engine.runtime.ProcessInstance;
+import org.camunda.bpm.engine.task.Task;
+import org.camunda.bpm.engine.variable.VariableMap;
+import org.camunda.bpm.engine.variable.value.BytesValue;
+import org.camunda.bpm.engine.variable.value.FileValue;
+import org.camunda.bpm.engine.variable.value.ObjectValue;
+import org.camunda.bpm.engine.variable.value.TypedValue;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
 
 @Slf4j
 @RestController
@@ -21,8 +57,58 @@ public class WorkflowController {
     private static final String PROCESS_INSTANCE_ID_KEY = "processInstanceId";
     private static final String STATUS_KEY = "status";
     private static final String MESSAGE_KEY = "message";
+    private static final String PROPOSE_QUOTE_TASK = "propose-quote";
+    private static final String NDJSON = "application/x-ndjson";
+    private static final String JSON_FORMAT = "application/json";
+    // Entrées du simulateur (clé du cache de verdicts) et des règles STP, lues au niveau du processus
+    private static final List<String> PROMOTED_FORM_FIELDS =
+            List.of("customerType", "requestedAmount", "requestedProduct", "riskProfile");
+    
+    // Champs du statut servis par le modèle de lecture app.process_audit
+    private static final Map<String, Function<ProcessAudit, Object>> AUDIT_FIELDS = new LinkedHashMap<>();
+    private static final Set<String> DEFAULT_STATUS_FIELDS;
+    private static final Set<String> STATUS_FIELDS;
+    static {
+        AUDIT_FIELDS.put(STATUS_KEY, ProcessAudit::status);
+        AUDIT_FIELDS.put("businessKey", ProcessAudit::businessKey);
+        AUDIT_FIELDS.put("processKey", ProcessAudit::processKey);
+        AUDIT_FIELDS.put(CUSTOMER_ID_KEY, ProcessAudit::customerId);
+        AUDIT_FIELDS.put("activeActivities", audit -> audit.currentActivity() != null ? List.of(audit.currentActivity()) : List.of());
+        AUDIT_FIELDS.put("simulatorResult", ProcessAudit::simulatorResult);
+        AUDIT_FIELDS.put("clientChoice", ProcessAudit::clientChoice);
+        AUDIT_FIELDS.put("profitabilityStatus", ProcessAudit::profitabilityStatus);
+        AUDIT_FIELDS.put("contractStatus", ProcessAudit::contractStatus);
+        AUDIT_FIELDS.put("eSignUploadStatus", ProcessAudit::eSignUploadStatus);
+        AUDIT_FIELDS.put("visionArchiveStatus", ProcessAudit::visionArchiveStatus);
+        AUDIT_FIELDS.put("startTime", ProcessAudit::startTime);
+        AUDIT_FIELDS.put("endTime", ProcessAudit::endTime);
+        AUDIT_FIELDS.put("updatedAt", ProcessAudit::updatedAt);
+        
+        DEFAULT_STATUS_FIELDS = Collections.unmodifiableSet(new LinkedHashSet<>(AUDIT_FIELDS.keySet()));
+        Set<String> statusFields = new LinkedHashSet<>(AUDIT_FIELDS.keySet());
+        statusFields.add("variables");
+        STATUS_FIELDS = Collections.unmodifiableSet(statusFields);
+    }
 
     private final RuntimeService runtimeService;
+    private final TaskService taskService;
+    private final TransactionalBatch transactionalBatch;
+    private final ObjectMapper objectMapper;
+    private final HistoryService historyService;
+    private final ProcessAuditRepository processAuditRepository;
+
+    @Value("${orchestrator.bulk-submission.batch-size:100}")
+    private int bulkBatchSize;
+
+    @Value("${orchestrator.process-audit.enabled:false}")
+    private boolean processAuditEnabled;
+
+    @PostConstruct
+    void validateBulkBatchSize() {
+        if (bulkBatchSize <= 0) {
+            throw new IllegalStateException("orchestrator.bulk-submission.batch-size must be positive: " + bulkBatchSize);
+        }
+    }
 
     @PostMapping("/form-submission/start")
     public ResponseEntity<Map<String, Object>> startFormSubmissionProcess(@RequestBody FormSubmissionRequest request) {
@@ -30,18 +116,11 @@ public class WorkflowController {
         
         try {
             // Prepare process variables
-            Map<String, Object> variables = new HashMap<>();
-            variables.put(CUSTOMER_ID_KEY, UUID.randomUUID().toString());
-            variables.put("customerName", request.getCustomerName());
-            variables.put("email", request.getEmail());
-            variables.put("formData", request.getFormData());
-            variables.put("requestedCoverage", request.getRequestedCoverage());
-            variables.put("premium", request.getPremium());
-            variables.put("documents", request.getDocuments());
+            Map<String, Object> variables = buildProcessVariables(request);
             
             // Start the process instance
             ProcessInstance processInstance = runtimeService.startProcessInstanceByKey(
-                    "onboarding-process", 
+                    FormSubmissionWorkflow.PROCESS_KEY, 
                     variables
             );
             
@@ -68,35 +147,104 @@ public class WorkflowController {
         }
     }
 
+    @PostMapping(value = "/form-submission/bulk", consumes = NDJSON, produces = NDJSON)
+    public void startFormSubmissionProcessesInBulk(HttpServletRequest httpRequest, HttpServletResponse httpResponse) throws IOException {
+        log.info("Starting bulk form submission (batch size: {})", bulkBatchSize);
+        
+        httpResponse.setStatus(HttpServletResponse.SC_OK);
+        httpResponse.setContentType(NDJSON);
+        httpResponse.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        
+        OutputStream out = httpResponse.getOutputStream();
+        List<BulkRecord> batch = new ArrayList<>(bulkBatchSize);
+        long lineNumber = 0;
+        long started = 0;
+        long failed = 0;
+        
+        // Read the body line by line: only the current batch is ever held in memory
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(httpRequest.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                
+                // Invalid records stay in the batch so results are written in input order
+                try {
+                    FormSubmissionRequest request = objectMapper.readValue(line, FormSubmissionRequest.class);
+                    batch.add(new BulkRecord(lineNumber, buildProcessVariables(request), null));
+                } catch (JsonProcessingException e) {
+                    batch.add(new BulkRecord(lineNumber, null, "Invalid record: " + e.getOriginalMessage()));
+                }
+                
+                if (batch.size() >= bulkBatchSize) {
+                    long batchStarted = flushBulkBatch(batch, out);
+                    started += batchStarted;
+                    failed += batch.size() - batchStarted;
+                    batch.clear();
+                }
+            }
+        }
+        
+        if (!batch.isEmpty()) {
+            long batchStarted = flushBulkBatch(batch, out);
+            started += batchStarted;
+            failed += batch.size() - batchStarted;
+        }
+        out.flush();
+        
+        log.info("Bulk form submission finished. Started: {}, failed: {}", started, failed);
+    }
+
     @GetMapping("/process/{processInstanceId}/status")
-    public ResponseEntity<Map<String, Object>> getProcessStatus(@PathVariable String processInstanceId) {
-        log.info("Getting status for process instance: {}", processInstanceId);
+    public ResponseEntity<Map<String, Object>> getProcessStatus(@PathVariable String processInstanceId,
+                                                                @RequestParam(required = false) List<String> fields) {
+        log.debug("Getting status for process instance: {}", processInstanceId);
+        
+        Set<String> selectedFields = fields == null || fields.isEmpty()
+                ? DEFAULT_STATUS_FIELDS
+                : new LinkedHashSet<>(fields);
+        if (!STATUS_FIELDS.containsAll(selectedFields)) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put(STATUS_KEY, "ERROR");
+            errorResponse.put(MESSAGE_KEY, "Unknown fields " + selectedFields.stream().filter(field -> !STATUS_FIELDS.contains(field)).toList()
+                    + ", supported fields: " + STATUS_FIELDS);
+            return ResponseEntity.badRequest().body(errorResponse);
+        }
         
         try {
-            ProcessInstance processInstance = runtimeService.createProcessInstanceQuery()
-                    .processInstanceId(processInstanceId)
-                    .singleResult();
+            Map<String, Object> response = new LinkedHashMap<>();
+            response.put(PROCESS_INSTANCE_ID_KEY, processInstanceId);
             
-            Map<String, Object> response = new HashMap<>();
+            // Cas courant : une lecture indexée du modèle de lecture
+            Optional<ProcessAudit> audit = processAuditEnabled
+                    ? processAuditRepository.findByProcessInstanceId(processInstanceId).filter(row -> row.status() != null)
+                    : Optional.empty();
             
-            if (processInstance != null) {
-                // Process is still running
-                response.put(PROCESS_INSTANCE_ID_KEY, processInstanceId);
-                response.put(STATUS_KEY, "RUNNING");
-                
-                // Get current activity
-                var executions = runtimeService.getActiveActivityIds(processInstanceId);
-                response.put("activeActivities", executions);
-                
-                // Get process variables
-                Map<String, Object> variables = runtimeService.getVariables(processInstanceId);
-                response.put("variables", variables);
-                
+            String status;
+            if (audit.isPresent()) {
+                status = audit.get().status();
+                AUDIT_FIELDS.forEach((field, accessor) -> {
+                    if (selectedFields.contains(field)) {
+                        response.put(field, accessor.apply(audit.get()));
+                    }
+                });
             } else {
-                // Process has ended - check historic instances
-                response.put(PROCESS_INSTANCE_ID_KEY, processInstanceId);
-                response.put(STATUS_KEY, "COMPLETED");
-                response.put(MESSAGE_KEY, "Process instance has completed");
+                status = putEngineStatus(response, processInstanceId, selectedFields);
+                if (status == null) {
+                    Map<String, Object> errorResponse = new HashMap<>();
+                    errorResponse.put(PROCESS_INSTANCE_ID_KEY, processInstanceId);
+                    errorResponse.put(STATUS_KEY, "NOT_FOUND");
+                    errorResponse.put(MESSAGE_KEY, "Process instance not found");
+                    return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
+                }
+            }
+            
+            // Variables : uniquement sur demande, sans désérialisation des objets
+            if (selectedFields.contains("variables") && !ProcessAudit.STATUS_COMPLETED.equals(status)
+                    && !ProcessAudit.STATUS_CANCELLED.equals(status)) {
+                response.put("variables", readVariables(processInstanceId));
             }
             
             return ResponseEntity.ok(response);
@@ -119,8 +267,20 @@ public class WorkflowController {
         log.info("Completing quote modification for process instance: {}", processInstanceId);
         
         try {
-            // Update process variables
-            runtimeService.setVariables(processInstanceId, variables);
+            // La proposition de devis en attente est complétée avec les variables reçues
+            Task proposeQuoteTask = taskService.createTaskQuery()
+                    .processInstanceId(processInstanceId)
+                    .taskDefinitionKey(PROPOSE_QUOTE_TASK)
+                    .active()
+                    .singleResult();
+            if (proposeQuoteTask == null) {
+                Map<String, Object> errorResponse = new HashMap<>();
+                errorResponse.put(PROCESS_INSTANCE_ID_KEY, processInstanceId);
+                errorResponse.put(STATUS_KEY, "NOT_FOUND");
+                errorResponse.put(MESSAGE_KEY, "No " + PROPOSE_QUOTE_TASK + " task waiting for this process instance");
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
+            }
+            taskService.complete(proposeQuoteTask.getId(), variables);
             
             Map<String, Object> response = new HashMap<>();
             response.put(PROCESS_INSTANCE_ID_KEY, processInstanceId);
@@ -140,6 +300,136 @@ public class WorkflowController {
         }
     }
     
+    static Map<String, Object> buildProcessVariables(FormSubmissionRequest request) {
+        Map<String, Object> variables = new HashMap<>();
+        variables.put(CUSTOMER_ID_KEY, UUID.randomUUID().toString());
+        variables.put("customerName", request.getCustomerName());
+        variables.put("email", request.getEmail());
+        variables.put("formData", request.getFormData());
+        variables.put("requestedCoverage", request.getRequestedCoverage());
+        variables.put("premium", request.getPremium());
+        variables.put("documents", request.getDocuments());
+        if (request.getFormData() != null) {
+            for (String field : PROMOTED_FORM_FIELDS) {
+                Object value = request.getFormData().get(field);
+                if (value != null) {
+                    variables.put(field, value);
+                }
+            }
+        }
+        return variables;
+    }
+    
+    /**
+     * Statut lu dans le moteur quand le modèle de lecture n'a pas (encore) de ligne :
+     * instance active d'abord, puis historique. Renvoie {@code null} si l'instance est inconnue.
+     */
+    private String putEngineStatus(Map<String, Object> response, String processInstanceId, Set<String> selectedFields) {
+        ProcessInstance processInstance = runtimeService.createProcessInstanceQuery()
+                .processInstanceId(processInstanceId)
+                .singleResult();
+        
+        if (processInstance != null) {
+            String status = processInstance.isSuspended() ? ProcessAudit.STATUS_SUSPENDED : ProcessAudit.STATUS_RUNNING;
+            putSelected(response, selectedFields, STATUS_KEY, status);
+            putSelected(response, selectedFields, "businessKey", processInstance.getBusinessKey());
+            if (selectedFields.contains("activeActivities")) {
+                response.put("activeActivities", runtimeService.getActiveActivityIds(processInstanceId));
+            }
+            return status;
+        }
+        
+        HistoricProcessInstance historicInstance = historyService.createHistoricProcessInstanceQuery()
+                .processInstanceId(processInstanceId)
+                .singleResult();
+        if (historicInstance == null) {
+            return null;
+        }
+        
+        String status = ProcessAudit.statusOf(historicInstance.getState());
+        putSelected(response, selectedFields, STATUS_KEY, status);
+        putSelected(response, selectedFields, "businessKey", historicInstance.getBusinessKey());
+        putSelected(response, selectedFields, "processKey", historicInstance.getProcessDefinitionKey());
+        putSelected(response, selectedFields, "activeActivities", List.of());
+        putSelected(response, selectedFields, "startTime", toInstant(historicInstance.getStartTime()));
+        putSelected(response, selectedFields, "endTime", toInstant(historicInstance.getEndTime()));
+        return status;
+    }
+    
+    private Map<String, Object> readVariables(String processInstanceId) throws JsonProcessingException {
+        VariableMap variables = runtimeService.getVariablesTyped(processInstanceId, false);
+        Map<String, Object> result = new LinkedHashMap<>();
+        for (String name : variables.keySet()) {
+            TypedValue value = variables.getValueTyped(name);
+            if (value instanceof ObjectValue objectValue) {
+                // Seuls les objets sérialisés en JSON sont exposés (lus sans classe Java)
+                if (JSON_FORMAT.equals(objectValue.getSerializationDataFormat()) && objectValue.getValueSerialized() != null) {
+                    result.put(name, objectMapper.readTree(objectValue.getValueSerialized()));
+                }
+            } else if (!(value instanceof BytesValue) && !(value instanceof FileValue)) {
+                result.put(name, value.getValue());
+            }
+        }
+        return result;
+    }
+    
+    private static void putSelected(Map<String, Object> response, Set<String> selectedFields, String field, Object value) {
+        if (selectedFields.contains(field)) {
+            response.put(field, value);
+        }
+    }
+    
+    private static Instant toInstant(Date date) {
+        return date != null ? date.toInstant() : null;
+    }
+    
+    private long flushBulkBatch(List<BulkRecord> batch, OutputStream out) throws IOException {
+        // One transaction per batch; failing records are retried on their own.
+        // send-to-simulator is asyncBefore: each start stops at its job, no partner call runs in the batch
+        List<BulkRecord> valid = batch.stream().filter(record -> record.error() == null).toList();
+        Iterator<TransactionalBatch.Outcome<BulkRecord, ProcessInstance>> outcomes = transactionalBatch.execute(valid,
+                record -> runtimeService.startProcessInstanceByKey(FormSubmissionWorkflow.PROCESS_KEY, record.variables()))
+                .iterator();
+        
+        // Outcomes come back in the order of the valid records
+        long started = 0;
+        for (BulkRecord record : batch) {
+            if (record.error() != null) {
+                writeBulkResult(out, record.lineNumber(), null, null, record.error());
+                continue;
+            }
+            TransactionalBatch.Outcome<BulkRecord, ProcessInstance> outcome = outcomes.next();
+            if (outcome.isSuccess()) {
+                started++;
+                writeBulkResult(out, record.lineNumber(), outcome.result().getId(),
+                        (String) record.variables().get(CUSTOMER_ID_KEY), null);
+            } else {
+                log.warn("Bulk record at line {} failed: {}", record.lineNumber(), outcome.error().getMessage());
+                writeBulkResult(out, record.lineNumber(), null, null, outcome.error().getMessage());
+            }
+        }
+        out.flush();
+        return started;
+    }
+    
+    private void writeBulkResult(OutputStream out, long lineNumber, String processInstanceId, String customerId, String error) throws IOException {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("line", lineNumber);
+        if (error == null) {
+            result.put(STATUS_KEY, "STARTED");
+            result.put(PROCESS_INSTANCE_ID_KEY, processInstanceId);
+            result.put(CUSTOMER_ID_KEY, customerId);
+        } else {
+            result.put(STATUS_KEY, "ERROR");
+            result.put(MESSAGE_KEY, error);
+        }
+        out.write(objectMapper.writeValueAsBytes(result));
+        out.write('\n');
+    }
+    
+    private record BulkRecord(long lineNumber, Map<String, Object> variables, String error) {
+    }
+    
     public static class FormSubmissionRequest {
         private String customerName;
         private String email;
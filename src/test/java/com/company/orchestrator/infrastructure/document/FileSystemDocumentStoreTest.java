@@ -0,0 +1,103 @@
+package com.company.orchestrator.infrastructure.document;
+
+import com.company.orchestrator.domain.document.DocumentReference;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FileSystemDocumentStoreTest {
+
+    private static final byte[] CONTRACT = "Contrat de prêt n° 42".getBytes(StandardCharsets.UTF_8);
+
+    @TempDir
+    Path directory;
+
+    private FileSystemDocumentStore store;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        store = new FileSystemDocumentStore(directory.toString());
+    }
+
+    @Test
+    void storedDocumentIsReadBackUnderItsDigest() throws IOException {
+        DocumentReference reference = store.store(CONTRACT);
+
+        assertThat(store.exists(reference)).isTrue();
+        assertThat(store.size(reference)).isEqualTo(CONTRACT.length);
+        assertThat(bytes(store.read(reference))).isEqualTo(CONTRACT);
+        assertThat(temporaryFiles()).isEmpty();
+    }
+
+    @Test
+    void identicalContentIsStoredOnce() throws IOException {
+        DocumentReference first = store.store(CONTRACT);
+        Path stored = storedFile(first);
+        long modified = Files.getLastModifiedTime(stored).toMillis();
+
+        DocumentReference second = store.store(CONTRACT.clone());
+
+        assertThat(second).isEqualTo(first);
+        assertThat(Files.getLastModifiedTime(stored).toMillis()).isEqualTo(modified);
+        assertThat(temporaryFiles()).isEmpty();
+    }
+
+    @Test
+    void truncatedCopyIsReplaced() throws IOException {
+        DocumentReference reference = store.store(CONTRACT);
+        // Arrêt brutal avant la synchronisation : fichier présent mais incomplet
+        Files.write(storedFile(reference), Arrays.copyOf(CONTRACT, 5));
+
+        assertThat(store.store(CONTRACT)).isEqualTo(reference);
+
+        assertThat(bytes(store.read(reference))).isEqualTo(CONTRACT);
+    }
+
+    @Test
+    void alteredCopyOfTheSameSizeIsReplaced() throws IOException {
+        DocumentReference reference = store.store(CONTRACT);
+        byte[] altered = CONTRACT.clone();
+        altered[0] ^= 0x20;
+        Files.write(storedFile(reference), altered);
+
+        store.store(CONTRACT);
+
+        assertThat(bytes(store.read(reference))).isEqualTo(CONTRACT);
+    }
+
+    @Test
+    void emptyDocumentIsStored() throws IOException {
+        DocumentReference reference = store.store(new byte[0]);
+
+        assertThat(store.store(new byte[0])).isEqualTo(reference);
+        assertThat(store.size(reference)).isZero();
+    }
+
+    private Path storedFile(DocumentReference reference) {
+        String digest = reference.sha256();
+        return directory.resolve(digest.substring(0, 2)).resolve(digest.substring(2, 4)).resolve(digest);
+    }
+
+    private List<Path> temporaryFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.getFileName().toString().endsWith(".tmp")).toList();
+        }
+    }
+
+    private static byte[] bytes(ByteBuffer buffer) {
+        byte[] content = new byte[buffer.remaining()];
+        buffer.get(content);
+        return content;
+    }
+}
@@ -0,0 +1,139 @@
+package com.company.orchestrator.infrastructure.http;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RequestCoalescerTest {
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void followerSharesTheLeaderResult() throws Exception {
+        RequestCoalescer<String> coalescer = coalescer(Duration.ofSeconds(5));
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<String> leader = executor.submit(() -> coalescer.execute("key", () -> {
+            leaderStarted.countDown();
+            await(release);
+            return "leader";
+        }));
+        leaderStarted.await(5, TimeUnit.SECONDS);
+        Future<String> follower = executor.submit(() -> coalescer.execute("key", () -> "follower"));
+        awaitCoalesced(1);
+        release.countDown();
+
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("leader");
+        assertThat(follower.get(5, TimeUnit.SECONDS)).isEqualTo("leader");
+    }
+
+    @Test
+    void errorInLeaderReleasesFollowers() throws Exception {
+        RequestCoalescer<String> coalescer = coalescer(Duration.ofSeconds(30));
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<String> leader = executor.submit(() -> coalescer.execute("key", () -> {
+            leaderStarted.countDown();
+            await(release);
+            throw new AssertionError("client library failure");
+        }));
+        leaderStarted.await(5, TimeUnit.SECONDS);
+        Future<String> follower = executor.submit(() -> coalescer.execute("key", () -> "follower"));
+        awaitCoalesced(1);
+        release.countDown();
+
+        assertThatThrownBy(() -> leader.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(AssertionError.class);
+        assertThatThrownBy(() -> follower.get(5, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(CompletionException.class)
+                .hasRootCauseInstanceOf(AssertionError.class);
+    }
+
+    @Test
+    void followerWaitIsBounded() throws Exception {
+        RequestCoalescer<String> coalescer = coalescer(Duration.ofMillis(100));
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<String> leader = executor.submit(() -> coalescer.execute("key", () -> {
+            leaderStarted.countDown();
+            await(release);
+            return "leader";
+        }));
+        leaderStarted.await(5, TimeUnit.SECONDS);
+
+        assertThatThrownBy(() -> coalescer.execute("key", () -> "follower"))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("did not complete within");
+        release.countDown();
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("leader");
+    }
+
+    @Test
+    void submissionsWithTheSameBusinessPayloadShareAKey() {
+        RequestCoalescer<String> coalescer = new RequestCoalescer<>(ExternalPartner.SIMULATOR, true,
+                List.of("processInstanceId", "activityId", "submissionTimestamp", "customerId", "formSubmissionId"),
+                Duration.ofSeconds(5), meterRegistry);
+
+        Object first = coalescer.keyFor("/simulate", submission("pid-1", "CUST-1", "FORM-1", 250000));
+        Object second = coalescer.keyFor("/simulate", submission("pid-2", "CUST-2", "FORM-2", 250000));
+        Object otherAmount = coalescer.keyFor("/simulate", submission("pid-3", "CUST-1", "FORM-3", 300000));
+
+        assertThat(second).isEqualTo(first);
+        assertThat(otherAmount).isNotEqualTo(first);
+    }
+
+    private static Map<String, Object> submission(String processInstanceId, String customerId, String formSubmissionId,
+                                                  int requestedAmount) {
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("processInstanceId", processInstanceId);
+        payload.put("activityId", "send-to-simulator");
+        payload.put("submissionTimestamp", System.nanoTime());
+        payload.put("customerId", customerId);
+        payload.put("formSubmissionId", formSubmissionId);
+        payload.put("customerType", "individual");
+        payload.put("requestedAmount", requestedAmount);
+        return payload;
+    }
+
+    private RequestCoalescer<String> coalescer(Duration maxWait) {
+        return new RequestCoalescer<>(ExternalPartner.SIMULATOR, true, List.of(), maxWait, meterRegistry);
+    }
+
+    private void awaitCoalesced(int calls) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.counter("partner.requests.coalesced", "partner", "simulator").count() < calls
+                && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.company.orchestrator.infrastructure.ingestion;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SubmissionJournalTest {
+
+    // Enregistrement de soumission : en-tête 8 + type 1 + longueur 2 + id 2 + date 8 + variables 4
+    private static final int SUBMISSION_RECORD = 25;
+    private static final byte[] VARIABLES = {1, 2, 3, 4};
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void replayReturnsUnresolvedSubmissionsInAcceptanceOrder() throws IOException {
+        try (SubmissionJournal journal = new SubmissionJournal(directory, 4096, false)) {
+            assertThat(journal.open()).isEmpty();
+            journal.appendSubmission("s1", 1000L, VARIABLES);
+            journal.appendSubmission("s2", 2000L, new byte[] {9});
+            journal.appendSubmission("s3", 3000L, VARIABLES);
+            journal.appendStarted("s1", "pid-1");
+            journal.appendFailed("s3", null);
+        }
+
+        List<SubmissionJournal.JournalEntry> pending = reopen(4096);
+
+        assertThat(pending).extracting(SubmissionJournal.JournalEntry::trackingId).containsExactly("s2");
+        assertThat(pending.get(0).acceptedAt()).isEqualTo(2000L);
+        assertThat(pending.get(0).variables()).containsExactly(9);
+    }
+
+    @Test
+    void interruptedRecordIsIgnoredOnReplay() throws IOException {
+        Path segment = writeThreeSubmissions();
+        // Arrêt avant l'écriture de la longueur : l'enregistrement est resté à zéro
+        patchInt(segment, 2 * SUBMISSION_RECORD, 0);
+
+        assertThat(reopen(4096)).extracting(SubmissionJournal.JournalEntry::trackingId).containsExactly("s1", "s2");
+    }
+
+    @Test
+    void lengthBeyondTheSegmentEndsReplay() throws IOException {
+        Path segment = writeThreeSubmissions();
+        patchInt(segment, 2 * SUBMISSION_RECORD, Integer.MAX_VALUE);
+
+        assertThat(reopen(4096)).extracting(SubmissionJournal.JournalEntry::trackingId).containsExactly("s1", "s2");
+    }
+
+    @Test
+    void corruptedRecordEndsItsSegmentButLaterSegmentsReplay() throws IOException {
+        Path segment = writeThreeSubmissions();
+        byte[] content = Files.readAllBytes(segment);
+        content[SUBMISSION_RECORD + 8 + 5] ^= 0x7F;
+        Files.write(segment, content);
+
+        try (SubmissionJournal journal = new SubmissionJournal(directory, 4096, false)) {
+            assertThat(journal.open()).extracting(SubmissionJournal.JournalEntry::trackingId).containsExactly("s1");
+            journal.appendSubmission("s4", 4000L, VARIABLES);
+        }
+
+        assertThat(reopen(4096)).extracting(SubmissionJournal.JournalEntry::trackingId).containsExactly("s1", "s4");
+    }
+
+    @Test
+    void resolvedLeadingSegmentsAreReleased() throws IOException {
+        // Deux soumissions par segment
+        try (SubmissionJournal journal = new SubmissionJournal(directory, 64, false)) {
+            journal.open();
+            journal.appendSubmission("s1", 1L, VARIABLES);
+            journal.appendSubmission("s2", 2L, VARIABLES);
+            journal.appendSubmission("s3", 3L, VARIABLES);
+            assertThat(journal.segmentCount()).isEqualTo(2);
+
+            journal.appendStarted("s1", "pid-1");
+            assertThat(journal.segmentCount()).isEqualTo(2);
+
+            journal.appendStarted("s2", "pid-2");
+            assertThat(journal.segmentCount()).isEqualTo(2);
+            assertThat(segmentFile(1)).doesNotExist();
+            assertThat(segmentFile(2)).exists();
+        }
+    }
+
+    @Test
+    void pendingSegmentIsKeptAcrossRestartAndReleasedOnceResolved() throws IOException {
+        try (SubmissionJournal journal = new SubmissionJournal(directory, 64, false)) {
+            journal.open();
+            journal.appendSubmission("s1", 1L, VARIABLES);
+            journal.appendSubmission("s2", 2L, VARIABLES);
+            journal.appendSubmission("s3", 3L, VARIABLES);
+            // Résolution écrite dans un autre segment que la soumission
+            journal.appendStarted("s2", "pid-2");
+        }
+
+        try (SubmissionJournal journal = new SubmissionJournal(directory, 64, false)) {
+            assertThat(journal.open()).extracting(SubmissionJournal.JournalEntry::trackingId)
+                    .containsExactly("s1", "s3");
+            int segments = journal.segmentCount();
+
+            journal.appendStarted("s3", "pid-3");
+            assertThat(journal.segmentCount()).isEqualTo(segments);
+
+            journal.appendFailed("s1", "Unknown process definition");
+            assertThat(journal.segmentCount()).isEqualTo(1);
+        }
+
+        assertThat(reopen(64)).isEmpty();
+    }
+
+    private Path writeThreeSubmissions() throws IOException {
+        try (SubmissionJournal journal = new SubmissionJournal(directory, 4096, false)) {
+            journal.open();
+            journal.appendSubmission("s1", 1L, VARIABLES);
+            journal.appendSubmission("s2", 2L, VARIABLES);
+            journal.appendSubmission("s3", 3L, VARIABLES);
+        }
+        return segmentFile(1);
+    }
+
+    private List<SubmissionJournal.JournalEntry> reopen(int segmentSize) throws IOException {
+        try (SubmissionJournal journal = new SubmissionJournal(directory, segmentSize, false)) {
+            return journal.open();
+        }
+    }
+
+    private Path segmentFile(long sequence) {
+        return directory.resolve(String.format("journal-%012d.log", sequence));
+    }
+
+    private static void patchInt(Path file, int position, int value) throws IOException {
+        byte[] content = Files.readAllBytes(file);
+        ByteBuffer.wrap(content).putInt(position, value);
+        Files.write(file, content);
+    }
+}
@@ -0,0 +1,124 @@
+package com.company.orchestrator.infrastructure.outbox;
+
+import com.company.orchestrator.WorkflowOrchestratorApplication;
+import org.camunda.bpm.engine.RepositoryService;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.runtime.Incident;
+import org.camunda.bpm.engine.runtime.ProcessInstance;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Le dispatcher ne réserve rien sur H2 (SKIP LOCKED) : seul le gestionnaire d'incident agit sur la table
+@SpringBootTest(classes = WorkflowOrchestratorApplication.class, properties = {
+        "orchestrator.service-tasks.execution-mode=outbox",
+        "orchestrator.outbox.flush-interval=600000"})
+@ActiveProfiles("test")
+class OutboundRequestIncidentHandlerTest {
+
+    private static final String PROCESS_KEY = "outbound-incident-test";
+
+    @Autowired
+    private RuntimeService runtimeService;
+
+    @Autowired
+    private RepositoryService repositoryService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String deploymentId;
+
+    @BeforeEach
+    void setUp() {
+        // Le schéma app (init-db.sql) n'existe pas sur H2
+        jdbcTemplate.execute("CREATE SCHEMA IF NOT EXISTS app");
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS app.outbound_request ("
+                + "id BIGINT AUTO_INCREMENT PRIMARY KEY, idempotency_key VARCHAR(255) NOT NULL, "
+                + "process_instance_id VARCHAR(64) NOT NULL, execution_id VARCHAR(64) NOT NULL, "
+                + "activity_id VARCHAR(255) NOT NULL, handler VARCHAR(100) NOT NULL, "
+                + "status VARCHAR(20) NOT NULL DEFAULT 'PENDING', attempts INT NOT NULL DEFAULT 0, "
+                + "next_attempt_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP, last_error VARCHAR(4000), "
+                + "updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP)");
+        jdbcTemplate.update("DELETE FROM app.outbound_request");
+
+        deploymentId = repositoryService.createDeployment()
+                .addModelInstance(PROCESS_KEY + ".bpmn", Bpmn.createExecutableProcess(PROCESS_KEY)
+                        .camundaHistoryTimeToLive(1)
+                        .startEvent().userTask("wait").endEvent().done())
+                .deploy().getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        repositoryService.deleteDeployment(deploymentId, true);
+    }
+
+    @Test
+    void resolvingTheIncidentReschedulesTheRequest() {
+        ProcessInstance instance = runtimeService.startProcessInstanceByKey(PROCESS_KEY);
+        long id = insertFailedRequest(instance.getId());
+        Incident incident = runtimeService.createIncident(OutboundRequestDispatcher.INCIDENT_TYPE,
+                instance.getId(), String.valueOf(id), "Outbound request failed after 5 attempts");
+
+        runtimeService.resolveIncident(incident.getId());
+
+        Map<String, Object> row = row(id);
+        assertThat(row.get("STATUS")).isEqualTo(OutboundRequestRepository.STATUS_PENDING);
+        assertThat(row.get("ATTEMPTS")).isEqualTo(0);
+        assertThat(row.get("LAST_ERROR")).isNull();
+        assertThat(runtimeService.createIncidentQuery().processInstanceId(instance.getId()).count()).isZero();
+    }
+
+    @Test
+    void resolvingTwiceDoesNotResetARequestAlreadyRetried() {
+        ProcessInstance instance = runtimeService.startProcessInstanceByKey(PROCESS_KEY);
+        long id = insertFailedRequest(instance.getId());
+        Incident incident = runtimeService.createIncident(OutboundRequestDispatcher.INCIDENT_TYPE,
+                instance.getId(), String.valueOf(id), "Outbound request failed after 5 attempts");
+        runtimeService.resolveIncident(incident.getId());
+        // Nouvelle tentative en cours sur le dispatcher
+        jdbcTemplate.update("UPDATE app.outbound_request SET status = 'IN_PROGRESS', attempts = 1 WHERE id = ?", id);
+
+        Incident second = runtimeService.createIncident(OutboundRequestDispatcher.INCIDENT_TYPE,
+                instance.getId(), String.valueOf(id), "Duplicate incident");
+        runtimeService.resolveIncident(second.getId());
+
+        assertThat(row(id).get("STATUS")).isEqualTo(OutboundRequestRepository.STATUS_IN_PROGRESS);
+        assertThat(row(id).get("ATTEMPTS")).isEqualTo(1);
+    }
+
+    @Test
+    void cancellingTheInstanceOrphansTheRequest() {
+        ProcessInstance instance = runtimeService.startProcessInstanceByKey(PROCESS_KEY);
+        long id = insertFailedRequest(instance.getId());
+        runtimeService.createIncident(OutboundRequestDispatcher.INCIDENT_TYPE,
+                instance.getId(), String.valueOf(id), "Outbound request failed after 5 attempts");
+
+        runtimeService.deleteProcessInstance(instance.getId(), "cancelled");
+
+        assertThat(row(id).get("STATUS")).isEqualTo(OutboundRequestRepository.STATUS_ORPHANED);
+    }
+
+    private long insertFailedRequest(String processInstanceId) {
+        jdbcTemplate.update("INSERT INTO app.outbound_request (idempotency_key, process_instance_id, execution_id, "
+                        + "activity_id, handler, status, attempts, last_error) VALUES (?, ?, ?, ?, ?, 'FAILED', 5, ?)",
+                processInstanceId + ":send-to-simulator", processInstanceId, processInstanceId, "send-to-simulator",
+                "externalSimulatorDelegate", "Connection refused");
+        return jdbcTemplate.queryForObject("SELECT id FROM app.outbound_request WHERE process_instance_id = ?",
+                Long.class, processInstanceId);
+    }
+
+    private Map<String, Object> row(long id) {
+        return jdbcTemplate.queryForMap("SELECT status, attempts, last_error FROM app.outbound_request WHERE id = ?", id);
+    }
+}
@@ -0,0 +1,99 @@
+package com.company.orchestrator.infrastructure.stp;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.camunda.bpm.engine.ProcessEngine;
+import org.camunda.bpm.engine.ProcessEngineConfiguration;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.TaskService;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.runtime.ProcessInstance;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Processus réel sur un moteur en mémoire : seul stpRulesDelegate est exécuté
+class StpRoutingTest {
+
+    private static final String RULES = """
+            {"rules": [{"id": "home-low-risk", "when": "#requestedCoverage == 'HOME' and #riskProfile == 'LOW'",
+                        "clientChoice": "QUOTE", "variables": {"appliedTariff": "STANDARD"}}]}""";
+
+    @TempDir
+    static Path directory;
+
+    private static ProcessEngine processEngine;
+    private static RuntimeService runtimeService;
+    private static TaskService taskService;
+
+    @BeforeAll
+    static void startEngine() throws IOException {
+        Path rules = Files.writeString(directory.resolve("stp-rules.json"), RULES);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        StpRuleEngine ruleEngine = new StpRuleEngine(new DefaultResourceLoader(), new ObjectMapper(), meterRegistry,
+                true, "file:" + rules);
+
+        ProcessEngineConfigurationImpl configuration = (ProcessEngineConfigurationImpl) ProcessEngineConfiguration
+                .createStandaloneInMemProcessEngineConfiguration()
+                .setJdbcUrl("jdbc:h2:mem:stp-routing;DB_CLOSE_DELAY=-1")
+                .setJobExecutorActivate(false);
+        Map<Object, Object> beans = new HashMap<>();
+        beans.put("stpRulesDelegate", new StpRulesDelegate(ruleEngine, meterRegistry));
+        configuration.setBeans(beans);
+        processEngine = configuration.buildProcessEngine();
+        processEngine.getRepositoryService().createDeployment()
+                .addClasspathResource("onboarding-process.bpmn")
+                .deploy();
+        runtimeService = processEngine.getRuntimeService();
+        taskService = processEngine.getTaskService();
+    }
+
+    @AfterAll
+    static void stopEngine() {
+        processEngine.close();
+    }
+
+    @Test
+    void noMatchingRuleRoutesToApplyStandardTariff() {
+        ProcessInstance instance = startAtStpRules("HOME", "HIGH");
+
+        assertThat(activeTask(instance)).isEqualTo("apply-standard-tariff");
+        assertThat(runtimeService.getVariable(instance.getId(), StpRulesDelegate.STP_DECISION_VARIABLE))
+                .isEqualTo(StpRulesDelegate.DECISION_MANUAL);
+        assertThat(runtimeService.getVariable(instance.getId(), StpRulesDelegate.STP_RULE_ID_VARIABLE)).isNull();
+    }
+
+    @Test
+    void matchingRuleSkipsTheTariffTask() {
+        ProcessInstance instance = startAtStpRules("HOME", "LOW");
+
+        // clientChoice=QUOTE posé par la règle : l'instance attend directement la proposition de devis
+        assertThat(activeTask(instance)).isEqualTo("propose-quote");
+        assertThat(runtimeService.getVariables(instance.getId()))
+                .containsEntry(StpRulesDelegate.STP_DECISION_VARIABLE, StpRulesDelegate.DECISION_AUTO)
+                .containsEntry(StpRulesDelegate.STP_RULE_ID_VARIABLE, "home-low-risk")
+                .containsEntry("appliedTariff", "STANDARD");
+    }
+
+    private static ProcessInstance startAtStpRules(String coverage, String riskProfile) {
+        return runtimeService.createProcessInstanceByKey("form-submission-workflow")
+                .startBeforeActivity("evaluate-stp-rules")
+                .setVariable("requestedCoverage", coverage)
+                .setVariable("riskProfile", riskProfile)
+                .execute();
+    }
+
+    private static String activeTask(ProcessInstance instance) {
+        return taskService.createTaskQuery().processInstanceId(instance.getId()).singleResult().getTaskDefinitionKey();
+    }
+}
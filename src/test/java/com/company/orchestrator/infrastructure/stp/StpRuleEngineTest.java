@@ -0,0 +1,203 @@
+package com.company.orchestrator.infrastructure.stp;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class StpRuleEngineTest {
+
+    private static final String HOME_LOW_RISK = """
+            {"id": "home-low-risk", "when": "#requestedCoverage == 'HOME' and #riskProfile == 'LOW' and #premium <= 1500",
+             "clientChoice": "CONTRACT",
+             "variables": {"appliedTariff": "STANDARD", "contractDuration": 36},
+             "expressions": {"expectedRevenue": "#premium * 0.1"}}""";
+
+    private static final String ANY_LOW_RISK = """
+            {"id": "any-low-risk", "when": "#riskProfile == 'LOW'", "clientChoice": "QUOTE",
+             "variables": {"appliedTariff": "STANDARD_QUOTE"}}""";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @TempDir
+    Path directory;
+
+    private StpRuleEngine engine;
+
+    @AfterEach
+    void tearDown() {
+        if (engine != null) {
+            engine.stop();
+        }
+    }
+
+    @Test
+    void matchingRuleSetsItsVariablesAndClientChoice() throws IOException {
+        engine = engine(rules(HOME_LOW_RISK));
+
+        Optional<StpDecision> decision = engine.evaluate(variables("HOME", "LOW", 1000));
+
+        assertThat(decision).isPresent();
+        assertThat(decision.get().ruleId()).isEqualTo("home-low-risk");
+        assertThat(decision.get().variables())
+                .containsEntry("appliedTariff", "STANDARD")
+                .containsEntry("contractDuration", 36)
+                .containsEntry("expectedRevenue", 100.0)
+                .containsEntry(StpRuleEngine.CLIENT_CHOICE_VARIABLE, "CONTRACT");
+    }
+
+    @Test
+    void firstMatchingRuleWins() throws IOException {
+        engine = engine(rules(HOME_LOW_RISK, ANY_LOW_RISK));
+
+        assertThat(engine.evaluate(variables("HOME", "LOW", 1000))).map(StpDecision::ruleId).contains("home-low-risk");
+        // La première règle ne s'applique pas : la suivante prend le relais
+        assertThat(engine.evaluate(variables("HOME", "LOW", 5000))).map(StpDecision::ruleId).contains("any-low-risk");
+        assertThat(engine.evaluate(variables("AUTO", "LOW", 1000))).map(StpDecision::ruleId).contains("any-low-risk");
+    }
+
+    @Test
+    void orderInTheFileDecidesPrecedence() throws IOException {
+        engine = engine(rules(ANY_LOW_RISK, HOME_LOW_RISK));
+
+        assertThat(engine.evaluate(variables("HOME", "LOW", 1000))).map(StpDecision::ruleId).contains("any-low-risk");
+    }
+
+    @Test
+    void disabledRuleIsSkipped() throws IOException {
+        engine = engine(rules(HOME_LOW_RISK.replace("\"id\": \"home-low-risk\",", "\"id\": \"home-low-risk\", \"enabled\": false,"),
+                ANY_LOW_RISK));
+
+        assertThat(engine.getRules()).extracting(StpRule::getId).containsExactly("any-low-risk");
+        assertThat(engine.evaluate(variables("HOME", "LOW", 1000))).map(StpDecision::ruleId).contains("any-low-risk");
+    }
+
+    @Test
+    void noMatchingRuleFallsThrough() throws IOException {
+        engine = engine(rules(HOME_LOW_RISK, ANY_LOW_RISK));
+
+        assertThat(engine.evaluate(variables("HOME", "HIGH", 1000))).isEmpty();
+    }
+
+    @Test
+    void ruleThatCannotBeEvaluatedFallsThroughToTheNextRule() throws IOException {
+        engine = engine(rules(HOME_LOW_RISK, ANY_LOW_RISK));
+
+        // #premium absent : la comparaison échoue, la règle suivante est évaluée
+        assertThat(engine.evaluate(variables("HOME", "LOW", null))).map(StpDecision::ruleId).contains("any-low-risk");
+        assertThat(meterRegistry.counter("orchestrator.stp.rule.errors", "rule", "home-low-risk").count()).isEqualTo(1);
+    }
+
+    @Test
+    void onlyReferencedVariablesAreRead() throws IOException {
+        engine = engine(rules(ANY_LOW_RISK));
+        Map<String, Integer> reads = new HashMap<>();
+
+        engine.evaluate(name -> {
+            reads.merge(name, 1, Integer::sum);
+            return "LOW";
+        });
+
+        assertThat(reads).containsOnly(Map.entry("riskProfile", 1));
+    }
+
+    @Test
+    void invalidRulesAreRejectedAtStartup() throws IOException {
+        Path duplicate = rules(ANY_LOW_RISK, ANY_LOW_RISK);
+        Path reserved = rules(ANY_LOW_RISK.replace("\"appliedTariff\"", "\"stpDecision\""));
+        Path badChoice = rules(ANY_LOW_RISK.replace("\"QUOTE\"", "\"MAYBE\""));
+
+        assertThatThrownBy(() -> engine(duplicate)).isInstanceOf(IllegalStateException.class).hasMessageContaining("unique");
+        assertThatThrownBy(() -> engine(reserved)).isInstanceOf(IllegalStateException.class).hasMessageContaining("stpDecision");
+        assertThatThrownBy(() -> engine(badChoice)).isInstanceOf(IllegalStateException.class).hasMessageContaining("clientChoice");
+    }
+
+    @Test
+    void modifiedFileIsReloaded() throws Exception {
+        Path file = rules(HOME_LOW_RISK);
+        engine = engine(file);
+        ReflectionTestUtils.setField(engine, "reloadInterval", 20L);
+        engine.start();
+
+        rewrite(file, ANY_LOW_RISK);
+
+        awaitCondition(() -> engine.getRules().stream().anyMatch(rule -> rule.getId().equals("any-low-risk")));
+        assertThat(engine.getRules()).extracting(StpRule::getId).containsExactly("any-low-risk");
+        assertThat(engine.evaluate(variables("AUTO", "LOW", 1000))).map(StpDecision::ruleId).contains("any-low-risk");
+        assertThat(meterRegistry.counter("orchestrator.stp.rules.reloads", "outcome", "success").count()).isEqualTo(1);
+    }
+
+    @Test
+    void invalidReloadKeepsTheRulesInPlace() throws Exception {
+        Path file = rules(HOME_LOW_RISK);
+        engine = engine(file);
+        ReflectionTestUtils.setField(engine, "reloadInterval", 20L);
+        engine.start();
+
+        rewrite(file, "{\"id\": \"broken\", \"when\": \"#premium <=\", \"clientChoice\": \"CONTRACT\"}");
+
+        awaitCondition(() -> meterRegistry.counter("orchestrator.stp.rules.reloads", "outcome", "error").count() == 1);
+        assertThat(engine.getRules()).extracting(StpRule::getId).containsExactly("home-low-risk");
+        assertThat(engine.evaluate(variables("HOME", "LOW", 1000))).map(StpDecision::ruleId).contains("home-low-risk");
+    }
+
+    @Test
+    void disabledEngineAppliesNoRule() throws IOException {
+        engine = new StpRuleEngine(new DefaultResourceLoader(), new ObjectMapper(), meterRegistry, false,
+                "file:" + rules(ANY_LOW_RISK));
+
+        assertThat(engine.evaluate(variables("HOME", "LOW", 1000))).isEmpty();
+    }
+
+    private StpRuleEngine engine(Path rules) {
+        return new StpRuleEngine(new DefaultResourceLoader(), new ObjectMapper(), meterRegistry, true, "file:" + rules);
+    }
+
+    private Path rules(String... definitions) throws IOException {
+        return Files.writeString(Files.createTempFile(directory, "stp-rules-", ".json"), rulesFile(definitions));
+    }
+
+    private static void rewrite(Path file, String... definitions) throws IOException {
+        FileTime previous = Files.getLastModifiedTime(file);
+        Files.writeString(file, rulesFile(definitions));
+        // La résolution de la date de modification peut être d'une seconde
+        Files.setLastModifiedTime(file, FileTime.fromMillis(previous.toMillis() + 2000));
+    }
+
+    private static String rulesFile(String... definitions) {
+        return "{\"rules\": [" + String.join(", ", definitions) + "]}";
+    }
+
+    private static Function<String, Object> variables(String coverage, String riskProfile, Integer premium) {
+        Map<String, Object> variables = new HashMap<>();
+        variables.put("requestedCoverage", coverage);
+        variables.put("riskProfile", riskProfile);
+        variables.put("premium", premium);
+        return variables::get;
+    }
+
+    private static void awaitCondition(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(condition.getAsBoolean()).isTrue();
+    }
+}
@@ -0,0 +1,147 @@
+package com.company.orchestrator.infrastructure.task;
+
+import org.camunda.bpm.engine.ProcessEngine;
+import org.camunda.bpm.engine.ProcessEngineConfiguration;
+import org.camunda.bpm.engine.TaskService;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.util.ClockUtil;
+import org.camunda.bpm.engine.task.Task;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Moteur en mémoire : la pagination est exécutée par la requête native réelle
+class TaskInboxTest {
+
+    private static final String PROCESS_KEY = "task-inbox-test";
+    private static final Instant T0 = Instant.parse("2026-03-02T09:00:00.123Z");
+
+    private static ProcessEngine processEngine;
+    private static TaskService taskService;
+    private static JdbcTemplate jdbcTemplate;
+
+    private TaskInbox inbox;
+
+    @BeforeAll
+    static void startEngine() {
+        ProcessEngineConfigurationImpl configuration = (ProcessEngineConfigurationImpl) ProcessEngineConfiguration
+                .createStandaloneInMemProcessEngineConfiguration()
+                .setJdbcUrl("jdbc:h2:mem:task-inbox;DB_CLOSE_DELAY=-1")
+                .setJobExecutorActivate(false);
+        processEngine = configuration.buildProcessEngine();
+        processEngine.getRepositoryService().createDeployment()
+                .addModelInstance(PROCESS_KEY + ".bpmn", Bpmn.createExecutableProcess(PROCESS_KEY)
+                        .camundaHistoryTimeToLive(1)
+                        .startEvent()
+                        .userTask("apply-standard-tariff").camundaAssignee("ca-agent")
+                        .endEvent()
+                        .done())
+                .deploy();
+        taskService = processEngine.getTaskService();
+        jdbcTemplate = new JdbcTemplate(configuration.getDataSource());
+    }
+
+    @AfterAll
+    static void stopEngine() {
+        processEngine.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        inbox = new TaskInbox(taskService, processEngine.getRuntimeService(), processEngine.getManagementService(),
+                null, jdbcTemplate);
+        ReflectionTestUtils.setField(inbox, "assignee", "ca-agent");
+        ReflectionTestUtils.setField(inbox, "taskKeys", Set.of("apply-standard-tariff"));
+        ReflectionTestUtils.setField(inbox, "projectedVariables", List.of());
+    }
+
+    @AfterEach
+    void tearDown() {
+        ClockUtil.reset();
+        processEngine.getRuntimeService().createProcessInstanceQuery().processDefinitionKey(PROCESS_KEY).list()
+                .forEach(instance -> processEngine.getRuntimeService().deleteProcessInstance(instance.getId(), "test"));
+    }
+
+    @Test
+    void cursorRoundTrips() {
+        TaskInbox.Cursor cursor = new TaskInbox.Cursor(T0, "7f3c-task:with:colons");
+
+        assertThat(TaskInbox.Cursor.decode(cursor.encode())).isEqualTo(cursor);
+        assertThat(TaskInbox.Cursor.decode(null)).isNull();
+        assertThatThrownBy(() -> TaskInbox.Cursor.decode("not-a-cursor")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void pagesWalkEveryTaskOnceAcrossCreateTimeTies() {
+        // Cinq tâches créées à la même milliseconde, encadrées par deux autres
+        startAt(T0.minusSeconds(1), 1);
+        startAt(T0, 5);
+        startAt(T0.plusSeconds(1), 1);
+
+        List<String> read = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            TaskInbox.Page page = inbox.page(null, cursor, 2);
+            page.items().forEach(item -> read.add(item.taskId()));
+            cursor = page.nextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertThat(pages).isEqualTo(4);
+        assertThat(read).containsExactlyElementsOf(expectedOrder());
+    }
+
+    @Test
+    void completedTaskDoesNotShiftTheNextPage() {
+        startAt(T0, 4);
+        List<String> expected = expectedOrder();
+
+        TaskInbox.Page first = inbox.page("apply-standard-tariff", null, 2);
+        // Tâche de la première page complétée avant la lecture de la suivante
+        taskService.complete(first.items().get(0).taskId());
+        TaskInbox.Page second = inbox.page("apply-standard-tariff", first.nextCursor(), 2);
+
+        assertThat(first.items()).extracting(TaskInbox.InboxTask::taskId).containsExactlyElementsOf(expected.subList(0, 2));
+        assertThat(second.items()).extracting(TaskInbox.InboxTask::taskId).containsExactlyElementsOf(expected.subList(2, 4));
+        assertThat(second.nextCursor()).isNull();
+    }
+
+    @Test
+    void keysetIndexIsCreatedOnce() {
+        inbox.createKeysetIndex();
+        inbox.createKeysetIndex();
+
+        assertThat(jdbcTemplate.queryForList("SELECT INDEX_NAME FROM INFORMATION_SCHEMA.INDEXES WHERE INDEX_NAME = ?",
+                String.class, TaskInbox.KEYSET_INDEX)).hasSize(1);
+    }
+
+    private static void startAt(Instant createTime, int count) {
+        ClockUtil.setCurrentTime(Date.from(createTime));
+        for (int i = 0; i < count; i++) {
+            processEngine.getRuntimeService().startProcessInstanceByKey(PROCESS_KEY);
+        }
+    }
+
+    private static List<String> expectedOrder() {
+        return taskService.createTaskQuery().processDefinitionKey(PROCESS_KEY).list().stream()
+                .sorted(Comparator.comparing(Task::getCreateTime).thenComparing(Task::getId))
+                .map(Task::getId)
+                .toList();
+    }
+}
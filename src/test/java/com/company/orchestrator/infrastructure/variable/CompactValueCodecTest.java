@@ -0,0 +1,218 @@
+package com.company.orchestrator.infrastructure.variable;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CompactValueCodecTest {
+
+    private static final int NO_COMPRESSION = 0;
+    private static final int COMPRESSION_THRESHOLD = 512;
+
+    static Stream<Object> values() {
+        Map<String, Object> nested = new LinkedHashMap<>();
+        nested.put("z", 1);
+        nested.put("a", null);
+        nested.put("items", List.of("x", 2L, Map.of("deep", true)));
+
+        return Stream.of(
+                "",
+                "Société générale — 東京",
+                Boolean.TRUE,
+                Boolean.FALSE,
+                0,
+                -1,
+                Integer.MIN_VALUE,
+                Integer.MAX_VALUE,
+                0L,
+                Long.MIN_VALUE,
+                Long.MAX_VALUE,
+                (short) -12,
+                Short.MAX_VALUE,
+                3.14159,
+                -0.0,
+                Double.NaN,
+                Double.MAX_VALUE,
+                1.5f,
+                Float.MIN_VALUE,
+                -0.0f,
+                new BigDecimal("250000.00"),
+                new BigDecimal("-0.000123"),
+                new BigDecimal("1E+12"),
+                new BigInteger("-123456789012345678901234567890"),
+                BigInteger.ZERO,
+                new Date(0),
+                new Date(-86_400_000L),
+                new Date(1_700_000_000_123L),
+                new byte[0],
+                new byte[] {0, -1, 127, -128},
+                Map.of(),
+                nested,
+                List.of(),
+                Arrays.asList(null, "a", 1, 1L, (short) 1, 1.0, 1.0f, BigDecimal.ONE, BigInteger.ONE,
+                        new Date(42), List.of(), Map.of()));
+    }
+
+    @ParameterizedTest
+    @MethodSource("values")
+    void roundTripKeepsValueAndType(Object value) throws IOException {
+        Object decoded = CompactValueCodec.decode(CompactValueCodec.encode(value, NO_COMPRESSION));
+
+        assertRoundTrip(decoded, value);
+    }
+
+    @Test
+    void roundTripKeepsNull() throws IOException {
+        assertThat(CompactValueCodec.decode(CompactValueCodec.encode(null, NO_COMPRESSION))).isNull();
+    }
+
+    @Test
+    void roundTripKeepsBigDecimalScale() throws IOException {
+        Object decoded = CompactValueCodec.decode(CompactValueCodec.encode(new BigDecimal("10.500"), NO_COMPRESSION));
+
+        assertThat(decoded).isInstanceOf(BigDecimal.class);
+        assertThat(((BigDecimal) decoded).scale()).isEqualTo(3);
+    }
+
+    @Test
+    void roundTripKeepsMapOrder() throws IOException {
+        Map<String, Object> map = new LinkedHashMap<>();
+        for (int i = 20; i > 0; i--) {
+            map.put("key" + i, i);
+        }
+
+        Object decoded = CompactValueCodec.decode(CompactValueCodec.encode(map, NO_COMPRESSION));
+
+        assertThat(List.copyOf(((Map<?, ?>) decoded).keySet())).isEqualTo(List.copyOf(map.keySet()));
+    }
+
+    @Test
+    void largeBodyIsDeflatedAndRoundTrips() throws IOException {
+        Map<String, Object> simulatorResponse = largeResponse();
+        byte[] raw = CompactValueCodec.encode(simulatorResponse, NO_COMPRESSION);
+
+        byte[] compressed = CompactValueCodec.encode(simulatorResponse, COMPRESSION_THRESHOLD);
+
+        assertThat(compressed[1]).isEqualTo((byte) 1);
+        assertThat(compressed.length).isLessThan(raw.length);
+        assertThat(CompactValueCodec.decode(compressed)).isEqualTo(simulatorResponse);
+    }
+
+    @ParameterizedTest
+    @MethodSource("values")
+    void everyTagRoundTripsThroughTheDeflatedBody(Object value) throws IOException {
+        List<Object> repeated = new ArrayList<>();
+        // Le corps dépasse le seuil même pour les valeurs de deux octets
+        for (int i = 0; i < COMPRESSION_THRESHOLD; i++) {
+            repeated.add(value);
+        }
+
+        byte[] compressed = CompactValueCodec.encode(repeated, COMPRESSION_THRESHOLD);
+        List<?> decoded = (List<?>) CompactValueCodec.decode(compressed);
+
+        assertThat(compressed[1]).isEqualTo((byte) 1);
+        assertThat(decoded).hasSize(repeated.size());
+        assertRoundTrip(decoded.get(repeated.size() - 1), value);
+    }
+
+    @Test
+    void bodyBelowThresholdIsNotDeflated() throws IOException {
+        byte[] encoded = CompactValueCodec.encode(Map.of("result", "STANDARD"), COMPRESSION_THRESHOLD);
+
+        assertThat(encoded[1]).isZero();
+        assertThat(CompactValueCodec.decode(encoded)).isEqualTo(Map.of("result", "STANDARD"));
+    }
+
+    @Test
+    void incompressibleBodyIsKeptRaw() throws IOException {
+        byte[] noise = new byte[4096];
+        new Random(7).nextBytes(noise);
+
+        byte[] encoded = CompactValueCodec.encode(noise, COMPRESSION_THRESHOLD);
+
+        assertThat(encoded[1]).isZero();
+        assertThat(CompactValueCodec.decode(encoded)).isEqualTo(noise);
+    }
+
+    @Test
+    void rejectsUnknownVersion() {
+        byte[] encoded = CompactValueCodec.encode("value", NO_COMPRESSION);
+        encoded[0] = 2;
+
+        assertThatThrownBy(() -> CompactValueCodec.decode(encoded)).isInstanceOf(IOException.class);
+    }
+
+    @Test
+    void rejectsTruncatedValue() {
+        byte[] encoded = CompactValueCodec.encode(Map.of("amount", new BigDecimal("250000.00")), NO_COMPRESSION);
+
+        assertThatThrownBy(() -> CompactValueCodec.decode(Arrays.copyOf(encoded, encoded.length - 1)))
+                .isInstanceOf(IOException.class);
+    }
+
+    @Test
+    void rejectsTrailingBytes() {
+        byte[] encoded = CompactValueCodec.encode(1L, NO_COMPRESSION);
+
+        assertThatThrownBy(() -> CompactValueCodec.decode(Arrays.copyOf(encoded, encoded.length + 1)))
+                .isInstanceOf(IOException.class);
+    }
+
+    @Test
+    void rejectsUnknownTag() {
+        assertThatThrownBy(() -> CompactValueCodec.decode(new byte[] {1, 0, 99}))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("99");
+    }
+
+    @Test
+    void onlySupportedStructuresAreEncodable() {
+        assertThat(CompactValueCodec.isEncodable(largeResponse())).isTrue();
+        assertThat(CompactValueCodec.isEncodable(Map.of(1, "value"))).isFalse();
+        assertThat(CompactValueCodec.isEncodable(List.of(new StringBuilder("value")))).isFalse();
+        assertThat(CompactValueCodec.isEncodable(new java.sql.Timestamp(0))).isFalse();
+    }
+
+    // Les collections sont relues en LinkedHashMap / ArrayList, les scalaires avec leur type d'origine
+    private static void assertRoundTrip(Object decoded, Object value) {
+        assertThat(decoded).isEqualTo(value);
+        if (value instanceof Map) {
+            assertThat(decoded).isInstanceOf(Map.class);
+        } else if (value instanceof List) {
+            assertThat(decoded).isInstanceOf(List.class);
+        } else {
+            assertThat(decoded).hasSameClassAs(value);
+        }
+    }
+
+    private static Map<String, Object> largeResponse() {
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("result", "STANDARD");
+        response.put("score", 0.72);
+        List<Object> adjustments = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            Map<String, Object> adjustment = new LinkedHashMap<>();
+            adjustment.put("code", "LOYALTY_" + (i % 5));
+            adjustment.put("rate", new BigDecimal("0.0125"));
+            adjustment.put("appliedAt", new Date(1_700_000_000_000L + i));
+            adjustments.add(adjustment);
+        }
+        response.put("adjustments", adjustments);
+        return response;
+    }
+}
@@ -0,0 +1,67 @@
+package com.company.orchestrator.interfaces.rest;
+
+import com.company.orchestrator.WorkflowOrchestratorApplication;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(classes = WorkflowOrchestratorApplication.class, properties = "orchestrator.bulk-submission.batch-size=2")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class BulkFormSubmissionTest {
+
+    private static final String SUBMISSION = "{\"customerName\": \"Jean Dupont\", \"email\": \"jean.dupont@example.com\", "
+            + "\"requestedCoverage\": \"HOME\", \"formData\": {\"customerType\": \"individual\", \"requestedAmount\": 250000}}";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private WorkflowController workflowController;
+
+    @Test
+    void resultsFollowInputOrderAcrossBatches() throws Exception {
+        // Lot 1 : lignes 1 et 2 ; la ligne 3 est vide ; lot 2 : lignes 4 et 5
+        String body = String.join("\n", SUBMISSION, "{not json", "", SUBMISSION, "[1, 2]") + "\n";
+
+        String response = mockMvc.perform(post("/api/workflow/form-submission/bulk")
+                        .contentType("application/x-ndjson")
+                        .accept("application/x-ndjson")
+                        .content(body.getBytes(StandardCharsets.UTF_8)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+
+        List<String> results = response.lines().toList();
+        assertThat(results).extracting(result -> JsonPath.<Integer>read(result, "$.line")).containsExactly(1, 2, 4, 5);
+        assertThat(results).extracting(result -> JsonPath.<String>read(result, "$.status"))
+                .containsExactly("STARTED", "ERROR", "STARTED", "ERROR");
+        assertThat(JsonPath.<String>read(results.get(1), "$.message")).startsWith("Invalid record");
+    }
+
+    @Test
+    void nonPositiveBatchSizeIsRejected() {
+        Object batchSize = ReflectionTestUtils.getField(workflowController, "bulkBatchSize");
+        try {
+            ReflectionTestUtils.setField(workflowController, "bulkBatchSize", 0);
+
+            assertThatThrownBy(workflowController::validateBulkBatchSize)
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessageContaining("orchestrator.bulk-submission.batch-size");
+        } finally {
+            ReflectionTestUtils.setField(workflowController, "bulkBatchSize", batchSize);
+        }
+    }
+}
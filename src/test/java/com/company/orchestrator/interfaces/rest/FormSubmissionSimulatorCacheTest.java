@@ -0,0 +1,116 @@
+package com.company.orchestrator.interfaces.rest;
+
+import com.company.orchestrator.WorkflowOrchestratorApplication;
+import com.company.orchestrator.infrastructure.cache.SimulatorResultCache;
+import com.jayway.jsonpath.JsonPath;
+import com.sun.net.httpserver.HttpServer;
+import org.camunda.bpm.engine.RuntimeService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(classes = WorkflowOrchestratorApplication.class)
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class FormSubmissionSimulatorCacheTest {
+
+    private static final byte[] SIMULATOR_RESPONSE =
+            "{\"result\": \"STANDARD\", \"tariffType\": \"STANDARD\"}".getBytes(StandardCharsets.UTF_8);
+
+    // Corps des requêtes reçues par le simulateur
+    private static final List<String> simulatorRequests = new CopyOnWriteArrayList<>();
+    private static HttpServer simulator;
+
+    private static final String SUBMISSION = """
+            {"customerName": "Jean Dupont", "email": "jean.dupont@example.com", "requestedCoverage": "HOME",
+             "formData": {"customerType": "individual", "requestedAmount": 250000, "requestedProduct": "home_insurance",
+                          "riskProfile": "MEDIUM"}}""";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private RuntimeService runtimeService;
+
+    @Autowired
+    private SimulatorResultCache simulatorResultCache;
+
+    @DynamicPropertySource
+    static void simulatorUrl(DynamicPropertyRegistry registry) throws IOException {
+        simulator = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        simulator.createContext("/simulate", exchange -> {
+            simulatorRequests.add(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+            exchange.getResponseHeaders().add("Content-Type", MediaType.APPLICATION_JSON_VALUE);
+            exchange.sendResponseHeaders(200, SIMULATOR_RESPONSE.length);
+            exchange.getResponseBody().write(SIMULATOR_RESPONSE);
+            exchange.close();
+        });
+        simulator.start();
+        registry.add("external.simulator.api.url",
+                () -> "http://localhost:" + simulator.getAddress().getPort() + "/simulate");
+    }
+
+    @AfterAll
+    static void stopSimulator() {
+        simulator.stop(0);
+    }
+
+    @BeforeEach
+    void setUp() {
+        simulatorRequests.clear();
+        simulatorResultCache.invalidateAll();
+    }
+
+    @Test
+    void secondIdenticalSubmissionIsServedFromCache() throws Exception {
+        String first = start();
+        assertThat(awaitVariable(first, "simulatorResultCached")).isEqualTo(false);
+
+        String second = start();
+        assertThat(awaitVariable(second, "simulatorResultCached")).isEqualTo(true);
+        assertThat(awaitVariable(second, "simulatorResult")).isEqualTo("STANDARD");
+
+        assertThat(simulatorRequests).hasSize(1);
+        assertThat((String) JsonPath.read(simulatorRequests.get(0), "$.customerType")).isEqualTo("individual");
+    }
+
+    private String start() throws Exception {
+        String response = mockMvc.perform(post("/api/workflow/form-submission/start")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(SUBMISSION))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return JsonPath.read(response, "$.processInstanceId");
+    }
+
+    // send-to-simulator est une continuation asynchrone : le résultat arrive par le job executor,
+    // l'instance attend ensuite à apply-standard-tariff
+    private Object awaitVariable(String processInstanceId, String name) throws InterruptedException {
+        for (int i = 0; i < 100; i++) {
+            Object value = runtimeService.getVariable(processInstanceId, name);
+            if (value != null) {
+                return value;
+            }
+            Thread.sleep(100);
+        }
+        throw new AssertionError("Variable " + name + " not set on process instance " + processInstanceId);
+    }
+}